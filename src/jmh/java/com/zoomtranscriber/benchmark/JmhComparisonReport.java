@@ -0,0 +1,147 @@
+package com.zoomtranscriber.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and writes a Markdown report.
+ * <p>
+ * A change is reported as a regression or improvement only when it exceeds both
+ * {@value #SIGNIFICANT_CHANGE} relative difference and the combined score errors.
+ * Allocation per operation comes from the {@code gc} profiler.
+ * <p>
+ * Usage: {@code JmhComparisonReport <baseline.json> <results.json> <report.md>}
+ */
+public final class JmhComparisonReport {
+
+    private static final double SIGNIFICANT_CHANGE = 0.05;
+
+    private JmhComparisonReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("Usage: JmhComparisonReport <baseline.json> <results.json> <report.md>");
+            System.exit(2);
+        }
+        var baselinePath = Path.of(args[0]);
+        var baseline = Files.exists(baselinePath) ? read(baselinePath) : Map.<String, Result>of();
+        var current = read(Path.of(args[1]));
+        var report = render(baseline, current);
+
+        var output = Path.of(args[2]);
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, report);
+        System.out.print(report);
+    }
+
+    /**
+     * Reads results keyed by benchmark name, mode and parameters.
+     */
+    static Map<String, Result> read(Path path) throws IOException {
+        var results = new LinkedHashMap<String, Result>();
+        for (var entry : new ObjectMapper().readTree(path.toFile())) {
+            var params = new TreeMap<String, String>();
+            entry.path("params").fields().forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+            var primary = entry.path("primaryMetric");
+            var result = new Result(
+                entry.path("benchmark").asText(),
+                entry.path("mode").asText(),
+                params.toString(),
+                primary.path("score").asDouble(),
+                finiteOrZero(primary.path("scoreError")),
+                primary.path("scoreUnit").asText(),
+                allocation(entry.path("secondaryMetrics"))
+            );
+            results.put(result.key(), result);
+        }
+        return results;
+    }
+
+    /**
+     * Renders the comparison table.
+     */
+    static String render(Map<String, Result> baseline, Map<String, Result> current) {
+        var out = new StringBuilder();
+        out.append("# JMH comparison\n\n");
+        out.append("| Benchmark | Params | Baseline | Current | Change | Alloc B/op (base -> current) | Verdict |\n");
+        out.append("|---|---|---:|---:|---:|---:|---|\n");
+
+        var regressions = 0;
+        for (var result : current.values()) {
+            var base = baseline.get(result.key());
+            var name = result.benchmark().substring(result.benchmark().lastIndexOf('.', result.benchmark().lastIndexOf('.') - 1) + 1);
+            var params = result.params().equals("{}") ? "" : result.params();
+            if (base == null) {
+                out.append(String.format("| %s | %s | - | %s | - | - -> %s | new |\n",
+                    name, params, result.formatScore(), formatBytes(result.allocBytesPerOp())));
+                continue;
+            }
+
+            var change = base.score() == 0 ? 0.0 : (result.score() - base.score()) / base.score();
+            var significant = Math.abs(change) > SIGNIFICANT_CHANGE
+                && Math.abs(result.score() - base.score()) > result.scoreError() + base.scoreError();
+            var better = result.mode().equals("thrpt") ? change > 0 : change < 0;
+            var verdict = !significant ? "~" : better ? "improvement" : "**regression**";
+            if (significant && !better) {
+                regressions++;
+            }
+            out.append(String.format("| %s | %s | %s | %s | %+.1f%% | %s -> %s | %s |\n",
+                name, params, base.formatScore(), result.formatScore(), change * 100,
+                formatBytes(base.allocBytesPerOp()), formatBytes(result.allocBytesPerOp()), verdict));
+        }
+
+        out.append(String.format("%n%d benchmarks, %d significant regressions (threshold %.0f%% and outside error).%n",
+            current.size(), regressions, SIGNIFICANT_CHANGE * 100));
+        return out.toString();
+    }
+
+    private static double allocation(JsonNode secondaryMetrics) {
+        var fields = secondaryMetrics.fields();
+        while (fields.hasNext()) {
+            var field = fields.next();
+            // Older JMH versions prefix profiler metrics with a middle dot
+            if (field.getKey().endsWith("gc.alloc.rate.norm")) {
+                return field.getValue().path("score").asDouble();
+            }
+        }
+        return Double.NaN;
+    }
+
+    private static double finiteOrZero(JsonNode node) {
+        var value = node.asDouble();
+        return Double.isFinite(value) ? value : 0.0;
+    }
+
+    private static String formatBytes(double bytes) {
+        return Double.isNaN(bytes) ? "-" : String.format("%.0f", bytes);
+    }
+
+    /**
+     * One benchmark result.
+     */
+    record Result(
+        String benchmark,
+        String mode,
+        String params,
+        double score,
+        double scoreError,
+        String unit,
+        double allocBytesPerOp
+    ) {
+        String key() {
+            return benchmark + " " + mode + " " + params;
+        }
+
+        String formatScore() {
+            return String.format("%.3f +/- %.3f %s", score, scoreError, unit);
+        }
+    }
+}
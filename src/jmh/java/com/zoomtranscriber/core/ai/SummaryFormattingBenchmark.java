@@ -0,0 +1,56 @@
+package com.zoomtranscriber.core.ai;
+
+import com.zoomtranscriber.core.transcription.TranscriptionSegment;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building the summary prompt text from a meeting's segments.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SummaryFormattingBenchmark {
+
+    @Param({"100", "2000"})
+    public int segmentCount;
+
+    private SummaryGenerator summaryGenerator;
+    private List<TranscriptionSegment> segments;
+
+    @Setup
+    public void setUp() {
+        summaryGenerator = new SummaryGenerator(null, null, new SummaryGenerator.SummaryConfig());
+        var meetingId = UUID.randomUUID();
+        var start = LocalDateTime.of(2024, 1, 15, 10, 0);
+        segments = new ArrayList<>(segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments.add(new TranscriptionSegment(
+                UUID.randomUUID(),
+                meetingId,
+                start.plusSeconds(i * 3L),
+                "Speaker_" + (i % 4 + 1),
+                "Segment " + i + " covers the release plan and the open questions from the review.",
+                0.9,
+                i + 1,
+                true,
+                Duration.ofSeconds(3),
+                "en-US"
+            ));
+        }
+    }
+
+    @Benchmark
+    public String formatTranscriptionForSummary() {
+        return summaryGenerator.formatTranscriptionForSummary(segments);
+    }
+}
@@ -0,0 +1,55 @@
+package com.zoomtranscriber.core.audio;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-meeting processing path on 100ms chunks of 16 kHz mono audio.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class AudioProcessorBenchmark {
+
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+
+    @Param({"false", "true"})
+    public boolean useVectorKernels;
+
+    private AudioProcessor processor;
+    private AudioDspKernel dspKernel;
+    private byte[] chunk;
+    private byte[] scratch;
+
+    @Setup
+    public void setUp() {
+        var kernels = SampleKernels.select(useVectorKernels);
+        processor = new AudioProcessor(UUID.randomUUID(), kernels);
+        dspKernel = new AudioDspKernel(kernels);
+        chunk = BenchmarkAudio.tone(FORMAT, 100);
+        scratch = new byte[chunk.length];
+    }
+
+    /**
+     * Full reactive call: buffering, slicing and DSP for one chunk.
+     */
+    @Benchmark
+    public Object processAudio() {
+        return processor.processAudio(chunk, FORMAT).collectList().block();
+    }
+
+    /**
+     * Filter, gain and metering only, without the reactive hop.
+     */
+    @Benchmark
+    public double dspKernel() {
+        System.arraycopy(chunk, 0, scratch, 0, chunk.length);
+        return dspKernel.process(scratch, FORMAT, true, true);
+    }
+}
@@ -0,0 +1,45 @@
+package com.zoomtranscriber.core.audio;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Deterministic PCM test signals for benchmarks.
+ */
+public final class BenchmarkAudio {
+
+    private BenchmarkAudio() {
+    }
+
+    /**
+     * Generates a speech-band tone with a little noise in the given 16-bit format.
+     *
+     * @param format signed 16-bit PCM format
+     * @param millis duration in milliseconds
+     * @return PCM data
+     */
+    public static byte[] tone(AudioFormat format, int millis) {
+        var frames = (int) (format.getSampleRate() * millis / 1000);
+        var channels = format.getChannels();
+        var data = new byte[frames * channels * 2];
+        var seed = 0x2545F491L;
+        for (int i = 0; i < frames; i++) {
+            seed ^= seed << 13;
+            seed ^= seed >>> 7;
+            seed ^= seed << 17;
+            var noise = (seed % 1000) / 1000.0 * 400;
+            var value = (int) (8000 * Math.sin(2 * Math.PI * 220 * i / format.getSampleRate())
+                + 3000 * Math.sin(2 * Math.PI * 1250 * i / format.getSampleRate()) + noise);
+            for (int c = 0; c < channels; c++) {
+                var index = (i * channels + c) * 2;
+                if (format.isBigEndian()) {
+                    data[index] = (byte) (value >> 8);
+                    data[index + 1] = (byte) value;
+                } else {
+                    data[index] = (byte) value;
+                    data[index + 1] = (byte) (value >> 8);
+                }
+            }
+        }
+        return data;
+    }
+}
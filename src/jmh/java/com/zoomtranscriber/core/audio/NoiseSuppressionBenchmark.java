@@ -0,0 +1,42 @@
+package com.zoomtranscriber.core.audio;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the DSP kernel with each noise reduction mode on 100ms chunks of 16 kHz mono audio.
+ * The gc profiler should report no allocation for either mode.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class NoiseSuppressionBenchmark {
+
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+
+    @Param({"FILTER", "SPECTRAL"})
+    public AudioDspKernel.NoiseReductionMode noiseReductionMode;
+
+    private AudioDspKernel dspKernel;
+    private byte[] chunk;
+    private byte[] scratch;
+
+    @Setup
+    public void setUp() {
+        dspKernel = new AudioDspKernel();
+        dspKernel.setNoiseReductionMode(noiseReductionMode);
+        chunk = BenchmarkAudio.tone(FORMAT, 100);
+        scratch = new byte[chunk.length];
+    }
+
+    @Benchmark
+    public double noiseReduction() {
+        System.arraycopy(chunk, 0, scratch, 0, chunk.length);
+        return dspKernel.process(scratch, FORMAT, true, false);
+    }
+}
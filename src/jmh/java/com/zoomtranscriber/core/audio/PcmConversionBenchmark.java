@@ -0,0 +1,56 @@
+package com.zoomtranscriber.core.audio;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks PCM decoding and conversion of 100ms capture chunks to the recognition format.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class PcmConversionBenchmark {
+
+    private static final AudioFormat CAPTURE = new AudioFormat(48000, 16, 2, true, false);
+    private static final AudioFormat RECOGNITION = new AudioFormat(16000, 16, 1, true, false);
+
+    @Param({"false", "true"})
+    public boolean useVectorKernels;
+
+    private SampleKernels kernels;
+    private StreamingResampler resampler;
+    private byte[] captureChunk;
+    private byte[] recognitionChunk;
+    private float[] samples;
+
+    @Setup
+    public void setUp() {
+        kernels = SampleKernels.select(useVectorKernels);
+        resampler = new StreamingResampler(CAPTURE, 16000);
+        captureChunk = BenchmarkAudio.tone(CAPTURE, 100);
+        recognitionChunk = BenchmarkAudio.tone(RECOGNITION, 100);
+        samples = new float[recognitionChunk.length / 2];
+    }
+
+    /**
+     * 48 kHz stereo to 16 kHz mono downmix and polyphase resampling.
+     */
+    @Benchmark
+    public byte[] resample48kStereoTo16kMono() {
+        return resampler.process(captureChunk);
+    }
+
+    /**
+     * Little-endian PCM16 to float decoding.
+     */
+    @Benchmark
+    public float[] decodePcm16() {
+        kernels.decodePcm16(recognitionChunk, samples, samples.length);
+        return samples;
+    }
+}
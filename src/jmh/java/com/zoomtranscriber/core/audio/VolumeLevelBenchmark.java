@@ -0,0 +1,44 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.monitoring.PerformanceMonitor;
+import com.zoomtranscriber.core.monitoring.PipelineLatency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-chunk volume metering done on the capture thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class VolumeLevelBenchmark {
+
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+
+    @Param({"false", "true"})
+    public boolean useVectorKernels;
+
+    private DefaultAudioCaptureService captureService;
+    private byte[] chunk;
+
+    @Setup
+    public void setUp() {
+        var config = new AudioConfig();
+        config.setUseVectorKernels(useVectorKernels);
+        captureService = new DefaultAudioCaptureService(config, new PipelineLatency(),
+            new PerformanceMonitor(new SimpleMeterRegistry()), new AudioDeviceRegistry(config));
+        chunk = BenchmarkAudio.tone(FORMAT, 100);
+    }
+
+    @Benchmark
+    public double calculateVolumeLevel() {
+        return captureService.calculateVolumeLevel(chunk, chunk.length, FORMAT);
+    }
+}
@@ -0,0 +1,65 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.audio.BenchmarkAudio;
+import com.zoomtranscriber.core.monitoring.PipelineLatency;
+import org.openjdk.jmh.annotations.*;
+
+import javax.sound.sampled.AudioFormat;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks recognition input handling for one 100ms chunk: format conversion,
+ * voice activity detection and the recognition call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class SpeechRecognizerBenchmark {
+
+    private static final AudioFormat CAPTURE = new AudioFormat(48000, 16, 2, true, false);
+    private static final AudioFormat RECOGNITION = new AudioFormat(16000, 16, 1, true, false);
+
+    @Param({"true", "false"})
+    public boolean voiceActivityDetection;
+
+    private RecognitionBatcher batcher;
+    private SpeechRecognizer recognizer;
+    private String sessionId;
+    private byte[] captureChunk;
+    private byte[] recognitionChunk;
+
+    @Setup
+    public void setUp() {
+        var config = new AudioConfig();
+        config.setEnableVoiceActivityDetection(voiceActivityDetection);
+        batcher = new RecognitionBatcher(new ReferenceRecognitionEngine(), 1, Duration.ZERO);
+        recognizer = new SpeechRecognizer(config, new PipelineLatency(), batcher);
+        recognizer.initialize().block();
+        sessionId = UUID.randomUUID().toString();
+        recognizer.startSession(sessionId, SpeechRecognizer.RecognitionConfig.defaultConfig()).block();
+        captureChunk = BenchmarkAudio.tone(CAPTURE, 100);
+        recognitionChunk = BenchmarkAudio.tone(RECOGNITION, 100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        recognizer.stopSession(sessionId).block();
+        batcher.close();
+    }
+
+    @Benchmark
+    public Object processRecognitionFormat() {
+        return recognizer.processAudio(sessionId, recognitionChunk).collectList().block();
+    }
+
+    @Benchmark
+    public Object processCaptureFormat() {
+        return recognizer.processAudio(sessionId, captureChunk, CAPTURE).collectList().block();
+    }
+}
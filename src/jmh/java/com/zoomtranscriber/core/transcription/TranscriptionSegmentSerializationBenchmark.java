@@ -0,0 +1,60 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JSON serialization of transcription segments as sent to WebSocket and REST clients.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TranscriptionSegmentSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TranscriptionSegment segment;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same settings as Spring Boot's auto-configured mapper
+        objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        segment = new TranscriptionSegment(
+            UUID.randomUUID(),
+            UUID.randomUUID(),
+            LocalDateTime.of(2024, 1, 15, 10, 30),
+            "Speaker_2",
+            "Let's discuss the agenda and review the action items from last week.",
+            0.87,
+            42,
+            true,
+            Duration.ofMillis(2400),
+            "en-US"
+        );
+        json = objectMapper.writeValueAsBytes(segment);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(segment);
+    }
+
+    @Benchmark
+    public TranscriptionSegment deserialize() throws Exception {
+        return objectMapper.readValue(json, TranscriptionSegment.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.zoomtranscriber.api;
+
+import com.zoomtranscriber.core.exceptions.ValidationException;
+import com.zoomtranscriber.core.transcription.FileIngestService;
+import com.zoomtranscriber.core.transcription.SpeechRecognizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import javax.sound.sampled.AudioFormat;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * REST API controller for batch transcription of recorded audio.
+ * Provides an endpoint that transcribes a stored recording faster than real time.
+ */
+@RestController
+@RequestMapping("/api/ingest")
+@CrossOrigin(origins = "*")
+public class IngestController {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestController.class);
+
+    private final FileIngestService fileIngestService;
+
+    public IngestController(FileIngestService fileIngestService) {
+        this.fileIngestService = fileIngestService;
+    }
+
+    /**
+     * Transcribes a recording from the ingest directory.
+     * WAV files describe their own format; headerless PCM requires sampleRate.
+     *
+     * @param request ingest request
+     * @return ingest summary
+     */
+    @PostMapping("/file")
+    public Mono<ResponseEntity<IngestResponse>> ingestFile(@RequestBody IngestFileRequest request) {
+        var meetingId = request.meetingId() != null ? request.meetingId() : UUID.randomUUID();
+        logger.info("Ingest requested for {} (meeting: {})", request.path(), meetingId);
+
+        var defaults = SpeechRecognizer.RecognitionConfig.defaultConfig();
+        var config = new SpeechRecognizer.RecognitionConfig(
+            request.language() != null ? request.language() : defaults.language(),
+            defaults.enableSpeakerDiarization(),
+            defaults.sensitivityThreshold(),
+            defaults.enablePunctuation(),
+            defaults.enableCapitalization(),
+            defaults.model(),
+            defaults.maxAlternatives()
+        );
+        var rawFormat = request.sampleRate() == null ? null : new AudioFormat(
+            request.sampleRate(),
+            request.sampleSizeInBits() != null ? request.sampleSizeInBits() : 16,
+            request.channels() != null ? request.channels() : 1,
+            true,
+            Boolean.TRUE.equals(request.bigEndian())
+        );
+
+        return Mono.defer(() -> fileIngestService.ingestFile(meetingId, request.path(), rawFormat, config))
+            .map(result -> ResponseEntity.ok(new IngestResponse(
+                true,
+                "Ingest completed",
+                result.meetingId(),
+                result.windows(),
+                result.failedWindows(),
+                result.segments().size(),
+                result.persistedSegments(),
+                result.audioDuration(),
+                result.processingTime(),
+                result.getSpeedup()
+            )))
+            .onErrorResume(ValidationException.class, error -> Mono.just(ResponseEntity.badRequest()
+                .body(IngestResponse.failure(meetingId, error.getMessage()))))
+            .onErrorResume(error -> {
+                logger.error("Failed to ingest {}", request.path(), error);
+                return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(IngestResponse.failure(meetingId, "Failed to ingest: " + error.getMessage())));
+            });
+    }
+
+    // Request DTOs
+    public record IngestFileRequest(
+        UUID meetingId,
+        String path,
+        String language,
+        Integer sampleRate,
+        Integer channels,
+        Integer sampleSizeInBits,
+        Boolean bigEndian
+    ) {}
+
+    // Response DTOs
+    public record IngestResponse(
+        boolean success,
+        String message,
+        UUID meetingId,
+        int windows,
+        int failedWindows,
+        int segments,
+        int persistedSegments,
+        Duration audioDuration,
+        Duration processingTime,
+        double speedup
+    ) {
+        static IngestResponse failure(UUID meetingId, String message) {
+            return new IngestResponse(false, message, meetingId, 0, 0, 0, 0, Duration.ZERO, Duration.ZERO, 0.0);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.zoomtranscriber.config;
 
 import com.zoomtranscriber.core.audio.AudioCaptureService;
+import com.zoomtranscriber.core.audio.AudioChunkRing;
+import com.zoomtranscriber.core.audio.AudioDspKernel;
 import com.zoomtranscriber.core.audio.AudioProcessor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -47,7 +49,9 @@ public class AudioConfig {
     // Quality settings
     private AudioQuality defaultQuality = AudioQuality.MEDIUM;
     private boolean enableNoiseReduction = true;
+    private AudioDspKernel.NoiseReductionMode noiseReductionMode = AudioDspKernel.NoiseReductionMode.FILTER; // SPECTRAL adds ~32ms latency
     private boolean enableEchoCancellation = false;
+    private int echoTailMs = 128; // Longest speaker-to-mic echo path the canceller models
     private boolean enableAutomaticGainControl = true;
     private double noiseThreshold = 0.01;
     private double gainLevel = 1.0;
@@ -58,6 +62,21 @@ public class AudioConfig {
     private int processingThreadPoolSize = 2;
     private boolean useAsyncProcessing = true;
     private long processingTimeoutMs = 5000;
+    private boolean useVectorKernels = false; // Requires --add-modules jdk.incubator.vector
+    private long processorIdleTimeoutMs = 300000; // Reclaim per-meeting processors after 5 minutes idle
+    private int captureQueueFrames = 64; // ~6.4s of 100ms frames between capture and subscribers
+    private AudioChunkRing.OverflowPolicy captureOverflowPolicy = AudioChunkRing.OverflowPolicy.DROP_OLDEST;
+    private long captureBlockTimeoutMs = 20; // Upper bound on capture thread wait for BLOCK policy
+    private int captureRestartAttempts = 5; // Consecutive restarts of a dead parec/arecord before giving up
+    private long captureRestartBackoffMs = 500; // Doubles after each failed restart, capped at 30s
+    private long multiSourceMaxSkewMs = 200; // Wait for a lagging source before padding it with silence
+    private boolean adaptiveChunkSizing = true; // Grow recognition chunks when the recognizer falls behind
+    private int recognitionChunkMinMs = 100; // Chunk duration when the recognizer keeps up
+    private int recognitionChunkMaxMs = 2000; // Upper bound while catching up
+    private long deviceRefreshIntervalMs = 60000; // Full device enumeration even without a change signal
+    private long deviceWatchIntervalMs = 2000; // Polling interval of the cheap device change signal
+    private long interimUpdateIntervalMs = 300; // Least time between interim updates of one session
+    private double recognitionOverlapRatio = 0.25; // Share of each window re-recognized by the next; 0 disables
     
     // Platform-specific configurations
     private PlatformAudioConfig windows = new PlatformAudioConfig();
@@ -80,11 +99,16 @@ public class AudioConfig {
     
     // Recording settings
     private boolean enableRecording = false;
-    private String recordingFormat = "wav";
+    private String recordingFormat = "wav"; // wav (PCM) or adpcm (IMA-ADPCM, ~4:1)
     private String recordingDirectory = "./recordings";
     private long maxRecordingSizeBytes = 100 * 1024 * 1024; // 100MB
     private int maxRecordingDurationMinutes = 120; // 2 hours
     
+    // File ingest settings
+    private String ingestDirectory = "./recordings"; // Files outside this directory are rejected
+    private int ingestWindowSeconds = 30; // Independent windows transcribed in parallel
+    private int ingestParallelism = Runtime.getRuntime().availableProcessors();
+    
     /**
      * Audio quality enumeration.
      */
@@ -400,9 +424,19 @@ public class AudioConfig {
     public boolean isEnableNoiseReduction() { return enableNoiseReduction; }
     public void setEnableNoiseReduction(boolean enableNoiseReduction) { this.enableNoiseReduction = enableNoiseReduction; }
     
+    public AudioDspKernel.NoiseReductionMode getNoiseReductionMode() { return noiseReductionMode; }
+    public void setNoiseReductionMode(AudioDspKernel.NoiseReductionMode noiseReductionMode) { 
+        if (noiseReductionMode != null) this.noiseReductionMode = noiseReductionMode;
+    }
+    
     public boolean isEnableEchoCancellation() { return enableEchoCancellation; }
     public void setEnableEchoCancellation(boolean enableEchoCancellation) { this.enableEchoCancellation = enableEchoCancellation; }
     
+    public int getEchoTailMs() { return echoTailMs; }
+    public void setEchoTailMs(int echoTailMs) { 
+        if (echoTailMs > 0) this.echoTailMs = echoTailMs;
+    }
+    
     public boolean isEnableAutomaticGainControl() { return enableAutomaticGainControl; }
     public void setEnableAutomaticGainControl(boolean enableAutomaticGainControl) { this.enableAutomaticGainControl = enableAutomaticGainControl; }
     
@@ -439,6 +473,77 @@ public class AudioConfig {
         if (processingTimeoutMs > 0) this.processingTimeoutMs = processingTimeoutMs;
     }
     
+    public boolean isUseVectorKernels() { return useVectorKernels; }
+    public void setUseVectorKernels(boolean useVectorKernels) { this.useVectorKernels = useVectorKernels; }
+    
+    public long getProcessorIdleTimeoutMs() { return processorIdleTimeoutMs; }
+    public void setProcessorIdleTimeoutMs(long processorIdleTimeoutMs) { 
+        if (processorIdleTimeoutMs > 0) this.processorIdleTimeoutMs = processorIdleTimeoutMs;
+    }
+    
+    public int getCaptureQueueFrames() { return captureQueueFrames; }
+    public void setCaptureQueueFrames(int captureQueueFrames) { 
+        if (captureQueueFrames > 0) this.captureQueueFrames = captureQueueFrames;
+    }
+    
+    public AudioChunkRing.OverflowPolicy getCaptureOverflowPolicy() { return captureOverflowPolicy; }
+    public void setCaptureOverflowPolicy(AudioChunkRing.OverflowPolicy captureOverflowPolicy) { 
+        if (captureOverflowPolicy != null) this.captureOverflowPolicy = captureOverflowPolicy;
+    }
+    
+    public long getCaptureBlockTimeoutMs() { return captureBlockTimeoutMs; }
+    public void setCaptureBlockTimeoutMs(long captureBlockTimeoutMs) { 
+        if (captureBlockTimeoutMs >= 0) this.captureBlockTimeoutMs = captureBlockTimeoutMs;
+    }
+    
+    public int getCaptureRestartAttempts() { return captureRestartAttempts; }
+    public void setCaptureRestartAttempts(int captureRestartAttempts) { 
+        if (captureRestartAttempts >= 0) this.captureRestartAttempts = captureRestartAttempts;
+    }
+    
+    public long getCaptureRestartBackoffMs() { return captureRestartBackoffMs; }
+    public void setCaptureRestartBackoffMs(long captureRestartBackoffMs) { 
+        if (captureRestartBackoffMs > 0) this.captureRestartBackoffMs = captureRestartBackoffMs;
+    }
+    
+    public long getMultiSourceMaxSkewMs() { return multiSourceMaxSkewMs; }
+    public void setMultiSourceMaxSkewMs(long multiSourceMaxSkewMs) { 
+        if (multiSourceMaxSkewMs > 0) this.multiSourceMaxSkewMs = multiSourceMaxSkewMs;
+    }
+    
+    public boolean isAdaptiveChunkSizing() { return adaptiveChunkSizing; }
+    public void setAdaptiveChunkSizing(boolean adaptiveChunkSizing) { this.adaptiveChunkSizing = adaptiveChunkSizing; }
+    
+    public int getRecognitionChunkMinMs() { return recognitionChunkMinMs; }
+    public void setRecognitionChunkMinMs(int recognitionChunkMinMs) { 
+        if (recognitionChunkMinMs > 0) this.recognitionChunkMinMs = recognitionChunkMinMs;
+    }
+    
+    public int getRecognitionChunkMaxMs() { return recognitionChunkMaxMs; }
+    public void setRecognitionChunkMaxMs(int recognitionChunkMaxMs) { 
+        if (recognitionChunkMaxMs > 0) this.recognitionChunkMaxMs = recognitionChunkMaxMs;
+    }
+    
+    public long getDeviceRefreshIntervalMs() { return deviceRefreshIntervalMs; }
+    public void setDeviceRefreshIntervalMs(long deviceRefreshIntervalMs) { 
+        if (deviceRefreshIntervalMs > 0) this.deviceRefreshIntervalMs = deviceRefreshIntervalMs;
+    }
+    
+    public long getDeviceWatchIntervalMs() { return deviceWatchIntervalMs; }
+    public void setDeviceWatchIntervalMs(long deviceWatchIntervalMs) { 
+        if (deviceWatchIntervalMs > 0) this.deviceWatchIntervalMs = deviceWatchIntervalMs;
+    }
+    
+    public long getInterimUpdateIntervalMs() { return interimUpdateIntervalMs; }
+    public void setInterimUpdateIntervalMs(long interimUpdateIntervalMs) { 
+        if (interimUpdateIntervalMs >= 0) this.interimUpdateIntervalMs = interimUpdateIntervalMs;
+    }
+    
+    public double getRecognitionOverlapRatio() { return recognitionOverlapRatio; }
+    public void setRecognitionOverlapRatio(double recognitionOverlapRatio) { 
+        if (recognitionOverlapRatio >= 0.0 && recognitionOverlapRatio < 1.0) this.recognitionOverlapRatio = recognitionOverlapRatio;
+    }
+    
     public PlatformAudioConfig getWindows() { return windows; }
     public void setWindows(PlatformAudioConfig windows) { this.windows = windows; }
     
@@ -520,4 +625,21 @@ public class AudioConfig {
     public void setMaxRecordingDurationMinutes(int maxRecordingDurationMinutes) { 
         if (maxRecordingDurationMinutes > 0) this.maxRecordingDurationMinutes = maxRecordingDurationMinutes;
     }
-}
\ No newline at end of file
+    
+    public String getIngestDirectory() { return ingestDirectory; }
+    public void setIngestDirectory(String ingestDirectory) { 
+        if (ingestDirectory != null && !ingestDirectory.isEmpty()) {
+            this.ingestDirectory = ingestDirectory;
+        }
+    }
+    
+    public int getIngestWindowSeconds() { return ingestWindowSeconds; }
+    public void setIngestWindowSeconds(int ingestWindowSeconds) { 
+        if (ingestWindowSeconds > 0) this.ingestWindowSeconds = ingestWindowSeconds;
+    }
+    
+    public int getIngestParallelism() { return ingestParallelism; }
+    public void setIngestParallelism(int ingestParallelism) { 
+        if (ingestParallelism > 0) this.ingestParallelism = ingestParallelism;
+    }
+}
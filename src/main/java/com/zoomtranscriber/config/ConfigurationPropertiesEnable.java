@@ -11,7 +11,9 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties({
     // Application-level configurations
     AudioConfig.class,
-    OllamaConfig.class
+    OllamaConfig.class,
+    RecognitionEngineConfig.class,
+    SegmentStoreConfig.class
 })
 public class ConfigurationPropertiesEnable {
     // This class only serves to enable all configuration properties
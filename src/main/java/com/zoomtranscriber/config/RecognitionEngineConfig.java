@@ -0,0 +1,111 @@
+package com.zoomtranscriber.config;
+
+import com.zoomtranscriber.core.transcription.RecognitionBatcher;
+import com.zoomtranscriber.core.transcription.RecognitionEngine;
+import com.zoomtranscriber.core.transcription.ReferenceRecognitionEngine;
+import com.zoomtranscriber.core.transcription.WorkerProcessRecognitionEngine;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spring Boot configuration class for the speech recognition engine.
+ * Selects the in-JVM reference engine or a pool of recognizer worker processes, and
+ * sizes the micro-batches that windows from all meetings are grouped into.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "zoom.transcriber.recognition")
+public class RecognitionEngineConfig {
+
+    // Engine selection: "reference" or "worker"
+    private String engine = "reference";
+
+    // Worker pool settings
+    private List<String> workerCommand = new ArrayList<>(); // recognizer binary and arguments
+    private int workerPoolSize = 2;
+    private long requestTimeoutMs = 10000;
+    private long healthCheckIntervalMs = 5000;
+    private long restartBackoffMs = 500;
+
+    // Micro-batching across meetings
+    private int batchMaxSize = 8;
+    private long batchMaxWaitMs = 20;
+
+    /**
+     * Creates the configured recognition engine.
+     *
+     * @return recognition engine
+     * @throws IllegalArgumentException if the engine is unknown or the worker command is missing
+     */
+    @Bean(destroyMethod = "close")
+    public RecognitionEngine recognitionEngine() {
+        return switch (engine) {
+            case "reference" -> new ReferenceRecognitionEngine();
+            case "worker" -> new WorkerProcessRecognitionEngine(
+                workerCommand,
+                workerPoolSize,
+                Duration.ofMillis(requestTimeoutMs),
+                Duration.ofMillis(healthCheckIntervalMs),
+                Duration.ofMillis(restartBackoffMs)
+            );
+            default -> throw new IllegalArgumentException("Unknown recognition engine: " + engine);
+        };
+    }
+
+    /**
+     * Creates the batcher that groups recognition windows across meetings.
+     *
+     * @param recognitionEngine engine the batches are dispatched to
+     * @return recognition batcher
+     */
+    @Bean(destroyMethod = "close")
+    public RecognitionBatcher recognitionBatcher(RecognitionEngine recognitionEngine) {
+        return new RecognitionBatcher(recognitionEngine, batchMaxSize, Duration.ofMillis(batchMaxWaitMs));
+    }
+
+    // Getters and setters with validation
+
+    public String getEngine() { return engine; }
+    public void setEngine(String engine) {
+        if (engine != null && !engine.isEmpty()) this.engine = engine;
+    }
+
+    public List<String> getWorkerCommand() { return workerCommand; }
+    public void setWorkerCommand(List<String> workerCommand) {
+        this.workerCommand = workerCommand != null ? workerCommand : new ArrayList<>();
+    }
+
+    public int getWorkerPoolSize() { return workerPoolSize; }
+    public void setWorkerPoolSize(int workerPoolSize) {
+        if (workerPoolSize > 0) this.workerPoolSize = workerPoolSize;
+    }
+
+    public long getRequestTimeoutMs() { return requestTimeoutMs; }
+    public void setRequestTimeoutMs(long requestTimeoutMs) {
+        if (requestTimeoutMs > 0) this.requestTimeoutMs = requestTimeoutMs;
+    }
+
+    public long getHealthCheckIntervalMs() { return healthCheckIntervalMs; }
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) {
+        if (healthCheckIntervalMs > 0) this.healthCheckIntervalMs = healthCheckIntervalMs;
+    }
+
+    public long getRestartBackoffMs() { return restartBackoffMs; }
+    public void setRestartBackoffMs(long restartBackoffMs) {
+        if (restartBackoffMs > 0) this.restartBackoffMs = restartBackoffMs;
+    }
+
+    public int getBatchMaxSize() { return batchMaxSize; }
+    public void setBatchMaxSize(int batchMaxSize) {
+        if (batchMaxSize > 0) this.batchMaxSize = batchMaxSize;
+    }
+
+    public long getBatchMaxWaitMs() { return batchMaxWaitMs; }
+    public void setBatchMaxWaitMs(long batchMaxWaitMs) {
+        if (batchMaxWaitMs >= 0) this.batchMaxWaitMs = batchMaxWaitMs;
+    }
+}
@@ -0,0 +1,49 @@
+package com.zoomtranscriber.config;
+
+import com.zoomtranscriber.core.storage.MeetingRepository;
+import com.zoomtranscriber.core.storage.TranscriptionRepository;
+import com.zoomtranscriber.core.transcription.RepositorySegmentArchive;
+import com.zoomtranscriber.core.transcription.SegmentStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot configuration class for the per-meeting segment history.
+ * Bounds how many segments of a meeting stay in memory before older ones are moved to
+ * the transcriptions table.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "zoom.transcriber.segments")
+public class SegmentStoreConfig {
+
+    private int chunkSize = 256; // Segments per in-memory chunk
+    private int maxResidentSegments = 4096; // Segments per meeting kept in memory before spilling
+
+    /**
+     * Creates the segment store, spilling to the database when it is available.
+     *
+     * @param meetingRepository meeting repository, if persistence is available
+     * @param transcriptionRepository transcription repository, if persistence is available
+     * @return segment store
+     */
+    @Bean(destroyMethod = "close")
+    public SegmentStore segmentStore(ObjectProvider<MeetingRepository> meetingRepository,
+                                     ObjectProvider<TranscriptionRepository> transcriptionRepository) {
+        return new SegmentStore(chunkSize, Math.max(chunkSize, maxResidentSegments),
+            new RepositorySegmentArchive(meetingRepository, transcriptionRepository));
+    }
+
+    // Getters and setters with validation
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize > 0) this.chunkSize = chunkSize;
+    }
+
+    public int getMaxResidentSegments() { return maxResidentSegments; }
+    public void setMaxResidentSegments(int maxResidentSegments) {
+        if (maxResidentSegments > 0) this.maxResidentSegments = maxResidentSegments;
+    }
+}
@@ -241,7 +241,7 @@ public class SummaryGenerator {
      * @param segments list of transcription segments
      * @return formatted transcription text
      */
-    private String formatTranscriptionForSummary(List<TranscriptionSegment> segments) {
+    String formatTranscriptionForSummary(List<TranscriptionSegment> segments) {
         return segments.stream()
             .<String>map(segment -> {
                 String speaker = segment.getSpeakerId() != null ? segment.getSpeakerId() + ": " : "";
@@ -0,0 +1,254 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.core.exceptions.AudioException;
+import reactor.core.publisher.Flux;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Reads IMA-ADPCM WAV files written by {@link AdpcmWavWriter}.
+ * <p>
+ * Blocks are fixed-size and decode independently, so reading from any time position
+ * costs one positional read of the containing block; nothing before it is decoded.
+ * Decoded audio is mono PCM16 little-endian at the recorded sample rate, which
+ * {@code SpeechRecognizer} accepts directly for reprocessing.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class AdpcmWavReader implements AutoCloseable {
+
+    private final Path path;
+    private final FileChannel channel;
+    private final AudioFormat format;
+    private final long dataOffset;
+    private final long sampleCount;
+    private final ByteBuffer block = ByteBuffer.allocate(ImaAdpcmCodec.BLOCK_BYTES);
+    private final short[] decoded = new short[ImaAdpcmCodec.SAMPLES_PER_BLOCK];
+    private long decodedBlock = -1;
+
+    /**
+     * Opens a file and parses its header.
+     *
+     * @param path IMA-ADPCM WAV file
+     * @throws IOException if the file cannot be read or is not in the expected layout
+     */
+    public AdpcmWavReader(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            var riff = readAt(0, 12);
+            if (riff.getInt(0) != fourCc("RIFF") || riff.getInt(8) != fourCc("WAVE")) {
+                throw new IOException("Not a WAV file: " + path);
+            }
+
+            var sampleRate = 0;
+            var factSamples = -1L;
+            var data = -1L;
+            var dataSize = 0L;
+            var position = 12L;
+            while (data < 0 && position + 8 <= channel.size()) {
+                var chunk = readAt(position, 8);
+                var id = chunk.getInt(0);
+                var size = Integer.toUnsignedLong(chunk.getInt(4));
+                if (id == fourCc("fmt ")) {
+                    var fmt = readAt(position + 8, 20);
+                    if (fmt.getShort(0) != 0x0011 || fmt.getShort(2) != 1
+                        || fmt.getShort(12) != ImaAdpcmCodec.BLOCK_BYTES
+                        || fmt.getShort(18) != (short) ImaAdpcmCodec.SAMPLES_PER_BLOCK) {
+                        throw new IOException("Unsupported ADPCM layout in " + path);
+                    }
+                    sampleRate = fmt.getInt(4);
+                } else if (id == fourCc("fact")) {
+                    factSamples = Integer.toUnsignedLong(readAt(position + 8, 4).getInt(0));
+                } else if (id == fourCc("data")) {
+                    data = position + 8;
+                    dataSize = Math.min(size, channel.size() - data);
+                }
+                position += 8 + size + (size & 1);
+            }
+            if (sampleRate <= 0 || data < 0) {
+                throw new IOException("Missing fmt or data chunk in " + path);
+            }
+
+            this.format = new AudioFormat(sampleRate, 16, 1, true, false);
+            this.dataOffset = data;
+            var blockSamples = dataSize / ImaAdpcmCodec.BLOCK_BYTES * ImaAdpcmCodec.SAMPLES_PER_BLOCK;
+            this.sampleCount = factSamples >= 0 ? Math.min(factSamples, blockSamples) : blockSamples;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams a file back as audio chunks, closing it when the stream terminates.
+     *
+     * @param path IMA-ADPCM WAV file
+     * @param start position to start from
+     * @param chunkDuration duration of each chunk
+     * @return cold stream of mono PCM16 chunks; timestamps are milliseconds from the start of the file
+     */
+    public static Flux<AudioCaptureService.AudioChunk> replay(Path path, Duration start, Duration chunkDuration) {
+        return Flux.using(() -> new AdpcmWavReader(path),
+            reader -> reader.stream(start, chunkDuration),
+            AdpcmWavReader::closeQuietly);
+    }
+
+    /**
+     * Streams the file as audio chunks. The reader must stay open until the stream terminates.
+     *
+     * @param start position to start from
+     * @param chunkDuration duration of each chunk
+     * @return cold stream of mono PCM16 chunks; timestamps are milliseconds from the start of the file
+     *         and sample offsets count samples from the start of the file
+     */
+    public Flux<AudioCaptureService.AudioChunk> stream(Duration start, Duration chunkDuration) {
+        var chunkSamples = (int) Math.max(1, sampleRate() * chunkDuration.toNanos() / 1_000_000_000L);
+        return Flux.generate(() -> sampleAt(start), (position, sink) -> {
+            if (position >= sampleCount) {
+                sink.complete();
+                return position;
+            }
+            try {
+                var count = (int) Math.min(chunkSamples, sampleCount - position);
+                var pcm = read(position, count);
+                sink.next(new AudioCaptureService.AudioChunk(pcm, format,
+                    Duration.ofNanos(count * 1_000_000_000L / sampleRate()),
+                    position * 1000L / sampleRate(), volumeLevel(pcm), position, System.nanoTime()));
+            } catch (IOException e) {
+                sink.error(new AudioException("Failed to read recording " + path, e,
+                    "RECORDING_READ_FAILED", "AdpcmWavReader"));
+            }
+            return position + chunkSamples;
+        });
+    }
+
+    /**
+     * Decodes a range of samples.
+     *
+     * @param startSample index of the first sample
+     * @param count maximum number of samples
+     * @return mono PCM16 little-endian data, shorter than requested at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    public byte[] read(long startSample, int count) throws IOException {
+        var available = (int) Math.max(0, Math.min(count, sampleCount - startSample));
+        var out = ByteBuffer.allocate(available * 2).order(ByteOrder.LITTLE_ENDIAN);
+        var position = startSample;
+        while (out.hasRemaining()) {
+            var blockIndex = position / ImaAdpcmCodec.SAMPLES_PER_BLOCK;
+            decodeBlock(blockIndex);
+            var from = (int) (position - blockIndex * ImaAdpcmCodec.SAMPLES_PER_BLOCK);
+            var n = Math.min(ImaAdpcmCodec.SAMPLES_PER_BLOCK - from, out.remaining() / 2);
+            for (int i = 0; i < n; i++) {
+                out.putShort(decoded[from + i]);
+            }
+            position += n;
+        }
+        return out.array();
+    }
+
+    /**
+     * Converts a time position to a sample index, clamped to the file length.
+     *
+     * @param time position from the start of the file
+     * @return sample index
+     */
+    public long sampleAt(Duration time) {
+        var sample = sampleRate() * Math.max(0, time.toNanos()) / 1_000_000_000L;
+        return Math.min(sample, sampleCount);
+    }
+
+    /**
+     * Gets the decoded audio format.
+     *
+     * @return mono PCM16 little-endian format
+     */
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Gets the number of recorded samples.
+     *
+     * @return sample count
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Gets the recorded duration.
+     *
+     * @return duration
+     */
+    public Duration getDuration() {
+        return Duration.ofNanos(sampleCount * 1_000_000_000L / sampleRate());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long sampleRate() {
+        return Math.round(format.getSampleRate());
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            // Nothing was written; the channel is released regardless
+        }
+    }
+
+    private void decodeBlock(long blockIndex) throws IOException {
+        if (blockIndex == decodedBlock) {
+            return;
+        }
+        block.clear();
+        var offset = dataOffset + blockIndex * ImaAdpcmCodec.BLOCK_BYTES;
+        while (block.hasRemaining()) {
+            if (channel.read(block, offset + block.position()) < 0) {
+                throw new IOException("Truncated ADPCM block " + blockIndex + " in " + path);
+            }
+        }
+        ImaAdpcmCodec.decodeBlock(block.array(), 0, decoded, 0);
+        decodedBlock = blockIndex;
+    }
+
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        var buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated WAV header in " + path);
+            }
+        }
+        return buffer;
+    }
+
+    private static int fourCc(String id) {
+        return (id.charAt(0) & 0xFF) | (id.charAt(1) & 0xFF) << 8 | (id.charAt(2) & 0xFF) << 16 | (id.charAt(3) & 0xFF) << 24;
+    }
+
+    private static double volumeLevel(byte[] pcm) {
+        var samples = pcm.length / 2;
+        if (samples == 0) {
+            return 0.0;
+        }
+        var energy = 0.0;
+        for (int i = 0; i < samples; i++) {
+            var sample = (short) ((pcm[2 * i + 1] << 8) | (pcm[2 * i] & 0xFF));
+            energy += (double) sample * sample;
+        }
+        return Math.min(1.0, Math.sqrt(energy / samples) / 32768.0);
+    }
+}
@@ -0,0 +1,233 @@
+package com.zoomtranscriber.core.audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes one IMA-ADPCM WAV file (format tag 0x0011) from a stream of PCM audio.
+ * <p>
+ * Input is downmixed to mono 16-bit at its own sample rate, encoded in fixed-size
+ * {@link ImaAdpcmCodec} blocks and written in batches through a file channel, giving
+ * roughly a 4:1 reduction over mono PCM16. Because every block holds the same number
+ * of samples and decodes independently, a time position maps directly to a file
+ * offset; see {@link AdpcmWavReader}. Capacity is expressed in input PCM bytes so
+ * segments rotate on the same boundaries as uncompressed recordings.
+ * <p>
+ * The header carries the sizes of complete blocks as of the last {@link #force()};
+ * a trailing partial block is padded and written on {@link #close()}.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class AdpcmWavWriter implements SegmentWriter {
+
+    public static final int HEADER_BYTES = 60;
+
+    private static final int WRITE_BATCH_BLOCKS = 32;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final StreamingResampler downmixer;
+    private final ImaAdpcmCodec codec = new ImaAdpcmCodec();
+    private final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final ByteBuffer encoded = ByteBuffer.allocate(WRITE_BATCH_BLOCKS * ImaAdpcmCodec.BLOCK_BYTES);
+    private final short[] pending = new short[ImaAdpcmCodec.SAMPLES_PER_BLOCK];
+    private final int capacity;
+
+    private int pendingSamples;
+    private int inputBytes;
+    private long sampleCount;
+    private long writtenBytes;
+    private boolean closed;
+
+    /**
+     * Creates the file and writes its header.
+     *
+     * @param path file to create or overwrite
+     * @param format PCM format of the input (8 or 16 bit, any channel count)
+     * @param dataCapacity maximum number of input bytes
+     * @throws IOException if the file cannot be created
+     */
+    public AdpcmWavWriter(Path path, AudioFormat format, int dataCapacity) throws IOException {
+        if (dataCapacity <= 0) {
+            throw new IllegalArgumentException("Invalid ADPCM input capacity: " + dataCapacity);
+        }
+        this.path = path;
+        this.capacity = dataCapacity;
+        this.downmixer = new StreamingResampler(format, Math.round(format.getSampleRate()));
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE);
+        try {
+            writeHeader(header, Math.round(format.getSampleRate()));
+            patchSizes();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Encodes as much of the data as fits.
+     *
+     * @param data source bytes; its position advances by the number written
+     * @return number of bytes written
+     */
+    @Override
+    public int write(ByteBuffer data) {
+        var count = Math.min(data.remaining(), getRemaining());
+        if (count <= 0) {
+            return 0;
+        }
+        var bytes = new byte[count];
+        data.get(bytes);
+        inputBytes += count;
+
+        var pcm = downmixer.process(bytes);
+        for (int i = 0; i + 1 < pcm.length; i += 2) {
+            pending[pendingSamples++] = (short) ((pcm[i + 1] << 8) | (pcm[i] & 0xFF));
+            if (pendingSamples == pending.length) {
+                encodePending();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes complete blocks, updates the header sizes and flushes to the storage device.
+     */
+    @Override
+    public void force() {
+        if (closed) {
+            return;
+        }
+        try {
+            flushEncoded();
+            patchSizes();
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush ADPCM segment " + path, e);
+        }
+    }
+
+    /**
+     * Encodes the trailing partial block, patches the header and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (pendingSamples > 0) {
+                encodePending();
+            }
+            flushEncoded();
+            patchSizes();
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gets the number of input PCM bytes accepted.
+     *
+     * @return input length
+     */
+    @Override
+    public int getDataBytes() {
+        return inputBytes;
+    }
+
+    /**
+     * Gets the remaining input capacity.
+     *
+     * @return free input bytes
+     */
+    @Override
+    public int getRemaining() {
+        return capacity - inputBytes;
+    }
+
+    /**
+     * Gets the maximum number of input bytes.
+     *
+     * @return input capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of mono samples encoded so far, including the pending block.
+     *
+     * @return sample count
+     */
+    public long getSampleCount() {
+        return sampleCount + pendingSamples;
+    }
+
+    /**
+     * Gets the file path.
+     *
+     * @return path
+     */
+    @Override
+    public Path getPath() {
+        return path;
+    }
+
+    private void encodePending() {
+        if (!encoded.hasRemaining()) {
+            try {
+                flushEncoded();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write ADPCM segment " + path, e);
+            }
+        }
+        codec.encodeBlock(pending, 0, pendingSamples, encoded.array(), encoded.position());
+        encoded.position(encoded.position() + ImaAdpcmCodec.BLOCK_BYTES);
+        sampleCount += pendingSamples;
+        pendingSamples = 0;
+    }
+
+    private void flushEncoded() throws IOException {
+        encoded.flip();
+        while (encoded.hasRemaining()) {
+            writtenBytes += channel.write(encoded, HEADER_BYTES + writtenBytes);
+        }
+        encoded.clear();
+    }
+
+    private void patchSizes() throws IOException {
+        header.putInt(4, (int) (HEADER_BYTES - 8 + writtenBytes));
+        header.putInt(48, (int) sampleCount);
+        header.putInt(56, (int) writtenBytes);
+        channel.write(header.clear(), 0);
+    }
+
+    private static void writeHeader(ByteBuffer header, int sampleRate) {
+        header.put(0, new byte[]{'R', 'I', 'F', 'F'});
+        header.put(8, new byte[]{'W', 'A', 'V', 'E', 'f', 'm', 't', ' '});
+        header.putInt(16, 20);
+        header.putShort(20, (short) 0x0011); // IMA-ADPCM
+        header.putShort(22, (short) 1);
+        header.putInt(24, sampleRate);
+        header.putInt(28, (int) ((long) sampleRate * ImaAdpcmCodec.BLOCK_BYTES / ImaAdpcmCodec.SAMPLES_PER_BLOCK));
+        header.putShort(32, (short) ImaAdpcmCodec.BLOCK_BYTES);
+        header.putShort(34, (short) 4);
+        header.putShort(36, (short) 2);
+        header.putShort(38, (short) ImaAdpcmCodec.SAMPLES_PER_BLOCK);
+        header.put(40, new byte[]{'f', 'a', 'c', 't'});
+        header.putInt(44, 4);
+        header.put(52, new byte[]{'d', 'a', 't', 'a'});
+    }
+}
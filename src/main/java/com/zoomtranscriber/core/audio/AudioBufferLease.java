@@ -0,0 +1,133 @@
+package com.zoomtranscriber.core.audio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference-counted lease on an audio buffer, usually taken from an AudioBufferPool.
+ * <p>
+ * A lease starts with one reference owned by whoever acquired it. Every stage that keeps
+ * the buffer beyond the call that handed it over must {@link #retain()} it and later
+ * {@link #release()} it; when the count reaches zero the buffer goes back to its pool.
+ * The buffer's position is 0 and its limit is the number of valid bytes; readers should
+ * use absolute gets or {@link ByteBuffer#duplicate()} and must not write to it.
+ */
+public final class AudioBufferLease {
+
+    private final ByteBuffer buffer;
+    private final AudioBufferPool pool;
+    private final AtomicInteger references = new AtomicInteger();
+
+    AudioBufferLease(ByteBuffer buffer, AudioBufferPool pool) {
+        this.buffer = buffer;
+        this.pool = pool;
+    }
+
+    /**
+     * Wraps a heap array in an unpooled lease.
+     *
+     * @param data audio bytes; not copied
+     * @return lease holding one reference
+     */
+    public static AudioBufferLease wrap(byte[] data) {
+        var lease = new AudioBufferLease(ByteBuffer.wrap(data), null);
+        lease.references.set(1);
+        return lease;
+    }
+
+    /**
+     * Gets the leased buffer.
+     *
+     * @return buffer with position 0 and limit at the end of the valid data
+     */
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Gets the number of valid bytes.
+     *
+     * @return data length
+     */
+    public int length() {
+        return buffer.limit();
+    }
+
+    /**
+     * Checks whether the buffer is off-heap.
+     *
+     * @return true for direct buffers
+     */
+    public boolean isDirect() {
+        return buffer.isDirect();
+    }
+
+    /**
+     * Copies the valid bytes into a new array, or returns the backing array of an
+     * unpooled heap lease that covers it exactly.
+     *
+     * @return audio bytes
+     */
+    public byte[] toByteArray() {
+        if (pool == null && buffer.hasArray() && buffer.arrayOffset() == 0
+                && buffer.array().length == buffer.limit()) {
+            return buffer.array();
+        }
+        var data = new byte[buffer.limit()];
+        buffer.get(0, data);
+        return data;
+    }
+
+    /**
+     * Adds a reference.
+     *
+     * @return this lease
+     * @throws IllegalStateException if the lease was already fully released
+     */
+    public AudioBufferLease retain() {
+        while (true) {
+            var current = references.get();
+            if (current <= 0) {
+                throw new IllegalStateException("Audio buffer lease already released");
+            }
+            if (references.compareAndSet(current, current + 1)) {
+                return this;
+            }
+        }
+    }
+
+    /**
+     * Drops a reference and returns the buffer to its pool when none remain.
+     *
+     * @return true if this call released the last reference
+     * @throws IllegalStateException if the lease was already fully released
+     */
+    public boolean release() {
+        var remaining = references.decrementAndGet();
+        if (remaining < 0) {
+            references.incrementAndGet();
+            throw new IllegalStateException("Audio buffer lease already released");
+        }
+        if (remaining == 0 && pool != null) {
+            pool.recycle(this);
+        }
+        return remaining == 0;
+    }
+
+    /**
+     * Gets the current reference count.
+     *
+     * @return reference count
+     */
+    public int referenceCount() {
+        return references.get();
+    }
+
+    /**
+     * Prepares a recycled lease for a new owner.
+     */
+    void activate(int length) {
+        buffer.clear().limit(length);
+        references.set(1);
+    }
+}
@@ -0,0 +1,130 @@
+package com.zoomtranscriber.core.audio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed pool of equally sized audio buffers handed out as reference-counted leases.
+ * <p>
+ * Buffers are allocated once, either off-heap (direct) or on the heap. When every
+ * buffer is leased out, {@link #acquire(byte[], int)} falls back to a one-off heap
+ * buffer and counts a miss, so capture keeps running while a consumer holds on to
+ * leases. Leases that are never released are simply lost to the pool.
+ */
+public final class AudioBufferPool {
+
+    private final ArrayBlockingQueue<AudioBufferLease> available;
+    private final int bufferBytes;
+    private final boolean direct;
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a pool and allocates all of its buffers.
+     *
+     * @param bufferCount number of pooled buffers
+     * @param bufferBytes capacity of each buffer
+     * @param direct true for off-heap buffers
+     */
+    public AudioBufferPool(int bufferCount, int bufferBytes, boolean direct) {
+        if (bufferCount <= 0 || bufferBytes <= 0) {
+            throw new IllegalArgumentException("Buffer count and size must be positive");
+        }
+        this.available = new ArrayBlockingQueue<>(bufferCount);
+        this.bufferBytes = bufferBytes;
+        this.direct = direct;
+        for (int i = 0; i < bufferCount; i++) {
+            var buffer = direct ? ByteBuffer.allocateDirect(bufferBytes) : ByteBuffer.allocate(bufferBytes);
+            available.offer(new AudioBufferLease(buffer, this));
+        }
+    }
+
+    /**
+     * Leases a buffer and fills it with a copy of the given bytes.
+     *
+     * @param source audio bytes
+     * @param length number of bytes to copy; at most the buffer size
+     * @return lease holding one reference
+     */
+    public AudioBufferLease acquire(byte[] source, int length) {
+        if (length > bufferBytes) {
+            throw new IllegalArgumentException("Data length " + length + " exceeds buffer size " + bufferBytes);
+        }
+
+        var lease = lease(length);
+        lease.buffer().put(0, source, 0, length);
+        return lease;
+    }
+
+    /**
+     * Leases an empty buffer for a producer that fills it in place, such as a channel read.
+     * The limit starts at full capacity; the producer sets it to the number of valid bytes
+     * before handing the lease on.
+     *
+     * @return lease holding one reference
+     */
+    public AudioBufferLease acquire() {
+        return lease(bufferBytes);
+    }
+
+    /**
+     * Gets the capacity of each pooled buffer.
+     *
+     * @return buffer size in bytes
+     */
+    public int getBufferBytes() {
+        return bufferBytes;
+    }
+
+    /**
+     * Checks whether pooled buffers are off-heap.
+     *
+     * @return true for direct buffers
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Gets the number of buffers currently in the pool.
+     *
+     * @return available buffer count
+     */
+    public int getAvailableCount() {
+        return available.size();
+    }
+
+    /**
+     * Gets the total number of acquisitions.
+     *
+     * @return acquisition count
+     */
+    public long getAcquiredCount() {
+        return acquired.get();
+    }
+
+    /**
+     * Gets the number of acquisitions that found the pool empty.
+     *
+     * @return miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    private AudioBufferLease lease(int length) {
+        acquired.incrementAndGet();
+        var lease = available.poll();
+        if (lease == null) {
+            misses.incrementAndGet();
+            lease = new AudioBufferLease(ByteBuffer.allocate(length), null);
+        }
+        lease.activate(length);
+        return lease;
+    }
+
+    void recycle(AudioBufferLease lease) {
+        available.offer(lease);
+    }
+}
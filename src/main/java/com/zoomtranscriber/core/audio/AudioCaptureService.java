@@ -43,6 +43,18 @@ public interface AudioCaptureService {
      */
     Flux<AudioChunk> getAudioStream();
     
+    /**
+     * Gets a stream of audio chunks backed by leased buffers.
+     * Each subscriber owns one reference to every chunk it receives and must call
+     * {@link PooledAudioChunk#release()} once it no longer needs the data.
+     * The default implementation wraps the heap chunks of {@link #getAudioStream()}.
+     * 
+     * @return Flux of PooledAudioChunk objects
+     */
+    default Flux<PooledAudioChunk> getPooledAudioStream() {
+        return getAudioStream().map(PooledAudioChunk::wrap);
+    }
+    
     /**
      * Gets the current audio format being used.
      * 
@@ -102,16 +114,65 @@ public interface AudioCaptureService {
      */
     boolean isNoiseReductionEnabled();
     
+    /**
+     * Common view of captured audio used by capture queues.
+     */
+    interface CapturedAudio {
+        
+        /**
+         * Gets the volume level of the audio.
+         * 
+         * @return volume level (0.0 to 1.0)
+         */
+        double volumeLevel();
+        
+        /**
+         * Releases any resources held by the audio. Heap chunks hold none.
+         */
+        default void release() {
+        }
+    }
+    
     /**
      * Represents a chunk of captured audio data.
+     * <p>
+     * {@code timestamp} is the wall-clock time of the first sample in milliseconds,
+     * {@code sampleOffset} the number of sample frames captured before it in the same
+     * stream, and {@code captureNanos} the {@link System#nanoTime()} instant at which its
+     * last sample became available, which later stages subtract to measure latency.
      */
     record AudioChunk(
         byte[] data,
         AudioFormat format,
         Duration duration,
         long timestamp,
-        double volumeLevel
-    ) {
+        double volumeLevel,
+        long sampleOffset,
+        long captureNanos
+    ) implements CapturedAudio {
+        
+        /**
+         * Creates a chunk that is not part of a positioned stream, captured now.
+         * 
+         * @param data audio data
+         * @param format audio format
+         * @param duration audio duration
+         * @param timestamp wall-clock time of the first sample in milliseconds
+         * @param volumeLevel volume level (0.0 to 1.0)
+         */
+        public AudioChunk(byte[] data, AudioFormat format, Duration duration, long timestamp, double volumeLevel) {
+            this(data, format, duration, timestamp, volumeLevel, 0L, System.nanoTime());
+        }
+        
+        /**
+         * Gets the stream position of the first sample.
+         * 
+         * @return offset in seconds from the start of the stream
+         */
+        public double getStartSeconds() {
+            return format != null && format.getSampleRate() > 0 ? sampleOffset / (double) format.getSampleRate() : 0.0;
+        }
+        
         /**
          * Gets the size of the audio data in bytes.
          * 
@@ -140,6 +201,70 @@ public interface AudioCaptureService {
         }
     }
     
+    /**
+     * Represents a chunk of captured audio held in a leased, possibly off-heap, buffer.
+     * Timing components have the same meaning as in {@link AudioChunk}.
+     */
+    record PooledAudioChunk(
+        AudioBufferLease lease,
+        AudioFormat format,
+        Duration duration,
+        long timestamp,
+        double volumeLevel,
+        long sampleOffset,
+        long captureNanos
+    ) implements CapturedAudio {
+        
+        /**
+         * Creates a pooled chunk that is not part of a positioned stream, captured now.
+         * 
+         * @param lease leased audio data
+         * @param format audio format
+         * @param duration audio duration
+         * @param timestamp wall-clock time of the first sample in milliseconds
+         * @param volumeLevel volume level (0.0 to 1.0)
+         */
+        public PooledAudioChunk(AudioBufferLease lease, AudioFormat format, Duration duration, long timestamp,
+                                double volumeLevel) {
+            this(lease, format, duration, timestamp, volumeLevel, 0L, System.nanoTime());
+        }
+        
+        /**
+         * Wraps a heap chunk without copying.
+         * 
+         * @param chunk heap audio chunk
+         * @return pooled chunk holding one reference
+         */
+        public static PooledAudioChunk wrap(AudioChunk chunk) {
+            return new PooledAudioChunk(AudioBufferLease.wrap(chunk.data()), chunk.format(),
+                chunk.duration(), chunk.timestamp(), chunk.volumeLevel(), chunk.sampleOffset(), chunk.captureNanos());
+        }
+        
+        /**
+         * Adds a reference for another owner.
+         * 
+         * @return this chunk
+         */
+        public PooledAudioChunk retain() {
+            lease.retain();
+            return this;
+        }
+        
+        @Override
+        public void release() {
+            lease.release();
+        }
+        
+        /**
+         * Copies the audio into a heap chunk. Does not release this chunk.
+         * 
+         * @return heap audio chunk
+         */
+        public AudioChunk toAudioChunk() {
+            return new AudioChunk(lease.toByteArray(), format, duration, timestamp, volumeLevel, sampleOffset, captureNanos);
+        }
+    }
+    
     /**
      * Represents an available audio input source.
      */
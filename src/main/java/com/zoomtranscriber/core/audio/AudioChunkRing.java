@@ -0,0 +1,224 @@
+package com.zoomtranscriber.core.audio;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free ring of audio chunks between one producer (the capture thread)
+ * and one draining consumer.
+ * <p>
+ * The producer never waits indefinitely: when the ring is full the configured
+ * {@link OverflowPolicy} decides which frame is discarded, and every discarded frame
+ * is counted and released. Both sides advance the head with CAS, so the producer can
+ * evict the oldest frame while the consumer is polling.
+ *
+ * @param <T> type of queued audio
+ */
+public final class AudioChunkRing<T extends AudioCaptureService.CapturedAudio> {
+
+    /**
+     * What to do when the producer finds the ring full.
+     */
+    public enum OverflowPolicy {
+        /** Discard the oldest queued frame. */
+        DROP_OLDEST,
+        /** Discard the incoming frame if it is silent, otherwise the oldest queued frame. */
+        DROP_SILENT_FIRST,
+        /** Wait for the consumer up to the block timeout, then discard the oldest frame. */
+        BLOCK
+    }
+
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final OverflowPolicy policy;
+    private final double silenceVolumeLevel;
+    private final long blockTimeoutNanos;
+
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong offeredFrames = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong droppedSilentFrames = new AtomicLong();
+    private final AtomicLong blockedNanos = new AtomicLong();
+
+    /**
+     * Creates a ring.
+     *
+     * @param minCapacity minimum number of frames; rounded up to a power of two
+     * @param policy overflow policy
+     * @param silenceVolumeLevel volume level below which a frame counts as silent
+     * @param blockTimeoutMs maximum producer wait for {@link OverflowPolicy#BLOCK}
+     */
+    public AudioChunkRing(int minCapacity, OverflowPolicy policy, double silenceVolumeLevel, long blockTimeoutMs) {
+        if (minCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + minCapacity);
+        }
+        var capacity = minCapacity == 1 ? 1 : Integer.highestOneBit(minCapacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.policy = policy;
+        this.silenceVolumeLevel = silenceVolumeLevel;
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+    }
+
+    /**
+     * Enqueues a chunk, taking ownership of it. Must only be called from the producer thread.
+     *
+     * @param chunk audio chunk
+     * @return true if the chunk was enqueued, false if it was the one discarded
+     */
+    public boolean offer(T chunk) {
+        offeredFrames.incrementAndGet();
+        var t = tail.get();
+
+        if (t - head.get() >= slots.length()) {
+            switch (policy) {
+                case DROP_SILENT_FIRST -> {
+                    if (chunk.volumeLevel() < silenceVolumeLevel) {
+                        droppedFrames.incrementAndGet();
+                        droppedSilentFrames.incrementAndGet();
+                        chunk.release();
+                        return false;
+                    }
+                    evictOldest(t);
+                }
+                case BLOCK -> {
+                    if (!awaitSpace(t)) {
+                        evictOldest(t);
+                    }
+                }
+                default -> evictOldest(t);
+            }
+        }
+
+        slots.set((int) (t & mask), chunk);
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Removes the oldest chunk; the caller takes ownership of it.
+     *
+     * @return the oldest chunk or null if the ring is empty
+     */
+    public T poll() {
+        while (true) {
+            var h = head.get();
+            if (h >= tail.get()) {
+                return null;
+            }
+            var chunk = slots.get((int) (h & mask));
+            if (head.compareAndSet(h, h + 1)) {
+                return chunk;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of queued chunks.
+     *
+     * @return queue depth
+     */
+    public int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Gets the ring capacity in frames.
+     *
+     * @return capacity
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * Releases all queued chunks without counting them as dropped.
+     */
+    public void clear() {
+        T chunk;
+        while ((chunk = poll()) != null) {
+            chunk.release();
+        }
+    }
+
+    /**
+     * Gets the overflow policy.
+     *
+     * @return overflow policy
+     */
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gets overflow and throughput counters.
+     *
+     * @return ring statistics
+     */
+    public Stats getStats() {
+        return new Stats(
+            offeredFrames.get(),
+            droppedFrames.get(),
+            droppedSilentFrames.get(),
+            size(),
+            slots.length(),
+            TimeUnit.NANOSECONDS.toMillis(blockedNanos.get())
+        );
+    }
+
+    private void evictOldest(long t) {
+        var h = head.get();
+        while (t - h >= slots.length()) {
+            var evicted = slots.get((int) (h & mask));
+            if (head.compareAndSet(h, h + 1)) {
+                droppedFrames.incrementAndGet();
+                if (evicted.volumeLevel() < silenceVolumeLevel) {
+                    droppedSilentFrames.incrementAndGet();
+                }
+                evicted.release();
+                return;
+            }
+            h = head.get();
+        }
+    }
+
+    private boolean awaitSpace(long t) {
+        var start = System.nanoTime();
+        var deadline = start + blockTimeoutNanos;
+        while (t - head.get() >= slots.length()) {
+            if (System.nanoTime() >= deadline || Thread.currentThread().isInterrupted()) {
+                blockedNanos.addAndGet(System.nanoTime() - start);
+                return false;
+            }
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        blockedNanos.addAndGet(System.nanoTime() - start);
+        return true;
+    }
+
+    /**
+     * Snapshot of ring counters.
+     */
+    public record Stats(
+        long offeredFrames,
+        long droppedFrames,
+        long droppedSilentFrames,
+        int queueDepth,
+        int capacity,
+        long blockedMillis
+    ) {
+        /**
+         * Gets the fraction of offered frames that were dropped.
+         *
+         * @return drop ratio (0.0 to 1.0)
+         */
+        public double getDropRatio() {
+            return offeredFrames > 0 ? (double) droppedFrames / offeredFrames : 0.0;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.TargetDataLine;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cache of the capture devices known to Java Sound.
+ * <p>
+ * Walking every mixer and line is slow, so it happens once and then only when the device
+ * set may have changed. Lookups are served from an immutable {@link Snapshot} that is
+ * replaced atomically. A cheap change signal is polled every
+ * {@code deviceWatchIntervalMs}: on Linux, the card list in {@code /proc/asound/cards}
+ * and the device nodes that udev creates in {@code /dev/snd}. A change in the signal, or
+ * {@code deviceRefreshIntervalMs} since the last walk, triggers a new enumeration. Where
+ * no signal exists, only the periodic walk runs. Snapshots whose sources differ from the
+ * previous one are published on {@link #getChanges()}.
+ */
+@Component
+public class AudioDeviceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(AudioDeviceRegistry.class);
+
+    private static final Path ASOUND_CARDS = Paths.get("/proc/asound/cards");
+    private static final Path DEV_SND = Paths.get("/dev/snd");
+
+    private final Supplier<List<AudioCaptureService.AudioSource>> enumerator;
+    private final Supplier<String> changeSignal;
+    private final long refreshIntervalNanos;
+    private final Sinks.Many<Snapshot> changes = Sinks.many().multicast().directBestEffort();
+    private volatile Snapshot snapshot;
+    private String lastSignal;
+    private long lastRefreshNanos;
+
+    /**
+     * Creates the registry over Java Sound with the refresh interval from configuration.
+     *
+     * @param audioConfig audio configuration
+     */
+    @Autowired
+    public AudioDeviceRegistry(AudioConfig audioConfig) {
+        this(AudioDeviceRegistry::enumerateJavaSound, AudioDeviceRegistry::readChangeSignal,
+            Duration.ofMillis(audioConfig.getDeviceRefreshIntervalMs()));
+    }
+
+    /**
+     * Creates a registry over an arbitrary device source.
+     *
+     * @param enumerator full device enumeration
+     * @param changeSignal cheap value that changes when devices may have changed, or null if unavailable
+     * @param refreshInterval longest time between full enumerations
+     */
+    AudioDeviceRegistry(Supplier<List<AudioCaptureService.AudioSource>> enumerator, Supplier<String> changeSignal,
+                        Duration refreshInterval) {
+        this.enumerator = enumerator;
+        this.changeSignal = changeSignal;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    /**
+     * Gets the current snapshot, enumerating devices on first use.
+     *
+     * @return device snapshot
+     */
+    public Snapshot getSnapshot() {
+        var current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    /**
+     * Looks up a device in the current snapshot.
+     *
+     * @param id source identifier
+     * @return the source, if known
+     */
+    public Optional<AudioCaptureService.AudioSource> find(String id) {
+        return getSnapshot().find(id);
+    }
+
+    /**
+     * Enumerates devices now and publishes the result if it changed.
+     *
+     * @return the new snapshot
+     */
+    public synchronized Snapshot refresh() {
+        var started = System.nanoTime();
+        List<AudioCaptureService.AudioSource> sources;
+        try {
+            sources = List.copyOf(enumerator.get());
+        } catch (RuntimeException e) {
+            logger.warn("Audio device enumeration failed; keeping previous snapshot", e);
+            lastRefreshNanos = System.nanoTime();
+            return snapshot != null ? snapshot : Snapshot.of(List.of(), 0);
+        }
+        lastRefreshNanos = System.nanoTime();
+
+        var previous = snapshot;
+        if (previous != null && previous.sources().equals(sources)) {
+            return previous;
+        }
+        var next = Snapshot.of(sources, previous != null ? previous.generation() + 1 : 1);
+        snapshot = next;
+        logger.info("Found {} audio sources in {} ms", sources.size(), (lastRefreshNanos - started) / 1_000_000);
+        changes.tryEmitNext(next);
+        return next;
+    }
+
+    /**
+     * Re-enumerates devices if the change signal moved or the refresh interval elapsed.
+     */
+    @Scheduled(fixedDelayString = "${zoom.transcriber.audio.device-watch-interval-ms:2000}")
+    public synchronized void poll() {
+        var signal = changeSignal.get();
+        var signalChanged = !Objects.equals(signal, lastSignal);
+        lastSignal = signal;
+        if (snapshot == null || signalChanged || System.nanoTime() - lastRefreshNanos >= refreshIntervalNanos) {
+            if (snapshot != null && signalChanged) {
+                logger.debug("Audio device change signalled; re-enumerating");
+            }
+            refresh();
+        }
+    }
+
+    /**
+     * Gets snapshots as the device set changes.
+     *
+     * @return Flux of changed snapshots
+     */
+    public Flux<Snapshot> getChanges() {
+        return changes.asFlux();
+    }
+
+    /**
+     * Walks Java Sound mixers for capture lines; the first mixer is the default.
+     */
+    private static List<AudioCaptureService.AudioSource> enumerateJavaSound() {
+        var sources = new ArrayList<AudioCaptureService.AudioSource>();
+        var mixers = AudioSystem.getMixerInfo();
+        for (int i = 0; i < mixers.length; i++) {
+            var mixerInfo = mixers[i];
+            var mixer = AudioSystem.getMixer(mixerInfo);
+            for (var lineInfo : mixer.getTargetLineInfo()) {
+                if (lineInfo.getLineClass().equals(TargetDataLine.class)) {
+                    sources.add(new AudioCaptureService.AudioSource(
+                        mixerInfo.getName(),
+                        mixerInfo.getName(),
+                        mixerInfo.getDescription(),
+                        AudioCaptureService.AudioSource.AudioSourceType.MICROPHONE,
+                        i == 0,
+                        true
+                    ));
+                    break;
+                }
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Reads the ALSA card list and device node names, or returns null off Linux.
+     */
+    private static String readChangeSignal() {
+        if (!Files.exists(ASOUND_CARDS)) {
+            return null;
+        }
+        try (var nodes = Files.exists(DEV_SND) ? Files.list(DEV_SND) : Stream.<Path>empty()) {
+            return Files.readString(ASOUND_CARDS) + nodes.map(Path::getFileName).map(Path::toString)
+                .sorted().collect(Collectors.joining(","));
+        } catch (IOException e) {
+            logger.debug("Failed to read audio device change signal", e);
+            return null;
+        }
+    }
+
+    /**
+     * Immutable view of the devices at one enumeration.
+     *
+     * @param sources sources in enumeration order
+     * @param byId sources by identifier
+     * @param generation number of distinct device sets seen so far
+     * @param refreshedAt when the devices were enumerated
+     */
+    public record Snapshot(
+        List<AudioCaptureService.AudioSource> sources,
+        Map<String, AudioCaptureService.AudioSource> byId,
+        long generation,
+        Instant refreshedAt
+    ) {
+
+        static Snapshot of(List<AudioCaptureService.AudioSource> sources, long generation) {
+            var byId = new LinkedHashMap<String, AudioCaptureService.AudioSource>();
+            sources.forEach(source -> byId.putIfAbsent(source.id(), source));
+            return new Snapshot(List.copyOf(sources), Map.copyOf(byId), generation, Instant.now());
+        }
+
+        /**
+         * Looks up a source.
+         *
+         * @param id source identifier
+         * @return the source, if present
+         */
+        public Optional<AudioCaptureService.AudioSource> find(String id) {
+            return Optional.ofNullable(id != null ? byId.get(id) : null);
+        }
+
+        /**
+         * Gets the default source, or the first one if none is marked default.
+         *
+         * @return default source, or null if there are no sources
+         */
+        public AudioCaptureService.AudioSource defaultSource() {
+            return sources.stream()
+                .filter(AudioCaptureService.AudioSource::isDefault)
+                .findFirst()
+                .orElse(sources.isEmpty() ? null : sources.get(0));
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.zoomtranscriber.core.audio;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Fused per-chunk DSP kernel for PCM audio.
+ * Decodes a chunk once into a reusable float scratch buffer, then runs the noise filter,
+ * automatic gain control, RMS energy and volume metering in two passes before encoding
+ * the result back into the same byte array.
+ * <p>
+ * The kernel keeps filter and gain state between chunks, so one instance must be
+ * used by a single audio stream at a time. Instances are not thread-safe.
+ * <p>
+ * PCM16 sample loops are delegated to {@link SampleKernels}; the recursive noise filter
+ * and the 8-bit path always run scalar.
+ * <p>
+ * Noise reduction uses either the single-pole filter or a {@link SpectralNoiseSuppressor}
+ * per channel, selected with {@link #setNoiseReductionMode}. The spectral mode delays the
+ * audio by one STFT frame (about 32 ms).
+ * <p>
+ * When echo cancellation is enabled, mono chunks first pass through an {@link EchoCanceller}
+ * fed with {@link #offerEchoReference}, before any other stage.
+ */
+public final class AudioDspKernel {
+
+    private static final float FILTER_ALPHA = 0.95f;
+    private static final double TARGET_AMPLITUDE = 0.8;
+    private static final double GAIN_SMOOTHING_FACTOR = 0.1;
+    private static final double PCM16_FULL_SCALE_SQUARED = 32768.0 * 32768.0;
+    private static final double PCM8_FULL_SCALE_SQUARED = 128.0 * 128.0;
+    private static final SpectralNoiseSuppressor[] NO_SUPPRESSORS = new SpectralNoiseSuppressor[0];
+
+    private final SampleKernels kernels;
+    private float[] scratch = new float[0];
+    private float filterState;
+    private NoiseReductionMode noiseReductionMode = NoiseReductionMode.FILTER;
+    private SpectralNoiseSuppressor[] suppressors = NO_SUPPRESSORS;
+    private float suppressorSampleRate;
+    private int echoTailMillis;
+    private EchoCanceller echoCanceller;
+    private float[] referenceScratch = new float[0];
+    private double currentGain = 1.0;
+    private double lastRms;
+    private double lastPeak;
+
+    /**
+     * Creates a kernel that uses the scalar sample loops.
+     */
+    public AudioDspKernel() {
+        this(ScalarSampleKernels.INSTANCE);
+    }
+
+    /**
+     * Creates a kernel that uses the given sample loops.
+     *
+     * @param kernels sample loop implementation
+     */
+    public AudioDspKernel(SampleKernels kernels) {
+        this.kernels = kernels;
+    }
+
+    /**
+     * Processes a chunk of PCM data in place.
+     *
+     * @param audioData PCM data; overwritten with the processed samples
+     * @param format audio format of the data
+     * @param noiseReduction true to apply the noise filter
+     * @param autoGainControl true to apply automatic gain control
+     * @return RMS energy of the processed chunk (0.0 to 1.0)
+     */
+    public double process(byte[] audioData, AudioFormat format, boolean noiseReduction, boolean autoGainControl) {
+        var bitsPerSample = format.getSampleSizeInBits();
+        if (bitsPerSample != 8 && bitsPerSample != 16) {
+            lastRms = 0.0;
+            lastPeak = 0.0;
+            return 0.0;
+        }
+
+        var sampleCount = audioData.length / (bitsPerSample / 8);
+        if (sampleCount == 0) {
+            lastRms = 0.0;
+            lastPeak = 0.0;
+            return 0.0;
+        }
+        var samples = ensureScratch(sampleCount);
+
+        var fullScaleSquared = bitsPerSample == 16 ? PCM16_FULL_SCALE_SQUARED : PCM8_FULL_SCALE_SQUARED;
+
+        // Pass 1: decode, filter and find the peak
+        if (bitsPerSample == 16) {
+            kernels.decodePcm16(audioData, samples, sampleCount);
+        } else {
+            decodePcm8(audioData, samples, sampleCount);
+        }
+        var echoCancelled = cancelEcho(samples, sampleCount, format);
+        if (!noiseReduction && !autoGainControl && !echoCancelled) {
+            // Metering only; leave the caller's bytes untouched
+            var energy = bitsPerSample == 16 ? kernels.pcm16Energy(audioData, sampleCount) : pcm8Energy(audioData);
+            lastPeak = kernels.peak(samples, sampleCount);
+            lastRms = Math.sqrt(energy / fullScaleSquared / sampleCount);
+            return lastRms;
+        }
+        var peak = !noiseReduction ? kernels.peak(samples, sampleCount)
+            : noiseReductionMode == NoiseReductionMode.SPECTRAL ? suppressAndPeak(samples, sampleCount, format)
+            : filterAndPeak(samples, sampleCount);
+
+        var gain = 1.0;
+        if (autoGainControl) {
+            var targetGain = peak > 0 ? TARGET_AMPLITUDE / peak : 1.0;
+            currentGain = GAIN_SMOOTHING_FACTOR * targetGain + (1 - GAIN_SMOOTHING_FACTOR) * currentGain;
+            gain = currentGain;
+        }
+
+        // Pass 2: apply gain, clamp, meter and encode
+        var energy = bitsPerSample == 16
+            ? kernels.gainAndEncodePcm16(samples, sampleCount, (float) gain, audioData)
+            : gainAndEncodePcm8(samples, sampleCount, (float) gain, audioData);
+
+        lastPeak = Math.min(1.0, peak * gain);
+        lastRms = Math.sqrt(energy / fullScaleSquared / sampleCount);
+        return lastRms;
+    }
+
+    /**
+     * Gets the RMS energy of the last processed chunk.
+     *
+     * @return RMS energy (0.0 to 1.0)
+     */
+    public double getLastRms() {
+        return lastRms;
+    }
+
+    /**
+     * Gets the peak amplitude of the last processed chunk after gain.
+     *
+     * @return peak amplitude (0.0 to 1.0)
+     */
+    public double getLastPeak() {
+        return lastPeak;
+    }
+
+    /**
+     * Gets the smoothed gain applied by automatic gain control.
+     *
+     * @return current gain
+     */
+    public double getCurrentGain() {
+        return currentGain;
+    }
+
+    /**
+     * Selects the noise reduction algorithm used when noise reduction is requested.
+     *
+     * @param mode noise reduction mode
+     */
+    public void setNoiseReductionMode(NoiseReductionMode mode) {
+        if (mode != null && mode != noiseReductionMode) {
+            noiseReductionMode = mode;
+            suppressors = NO_SUPPRESSORS;
+        }
+    }
+
+    /**
+     * Gets the selected noise reduction algorithm.
+     *
+     * @return noise reduction mode
+     */
+    public NoiseReductionMode getNoiseReductionMode() {
+        return noiseReductionMode;
+    }
+
+    /**
+     * Enables or disables echo cancellation.
+     *
+     * @param tailMillis longest echo path to cancel, or 0 to disable
+     */
+    public void setEchoCancellation(int tailMillis) {
+        if (tailMillis != echoTailMillis) {
+            echoTailMillis = Math.max(0, tailMillis);
+            echoCanceller = null;
+        }
+    }
+
+    /**
+     * Checks if echo cancellation is enabled.
+     *
+     * @return true if echo cancellation is enabled
+     */
+    public boolean isEchoCancellationEnabled() {
+        return echoTailMillis > 0;
+    }
+
+    /**
+     * Queues far-end audio for echo cancellation. Dropped until the first microphone chunk
+     * has fixed the stream format.
+     *
+     * @param monoPcm16 mono 16-bit little-endian PCM at the microphone sample rate
+     */
+    public void offerEchoReference(byte[] monoPcm16) {
+        if (echoCanceller == null) {
+            return;
+        }
+        var count = monoPcm16.length / 2;
+        if (referenceScratch.length < count) {
+            referenceScratch = new float[count];
+        }
+        kernels.decodePcm16(monoPcm16, referenceScratch, count);
+        echoCanceller.offerReference(referenceScratch, 0, count);
+    }
+
+    /**
+     * Gets the echo canceller for the current stream.
+     *
+     * @return echo canceller, or null if disabled or no audio has been processed
+     */
+    public EchoCanceller getEchoCanceller() {
+        return echoCanceller;
+    }
+
+    /**
+     * Resets filter and gain state, e.g. when the stream format changes.
+     */
+    public void reset() {
+        filterState = 0.0f;
+        suppressors = NO_SUPPRESSORS;
+        echoCanceller = null;
+        currentGain = 1.0;
+        lastRms = 0.0;
+        lastPeak = 0.0;
+    }
+
+    private float[] ensureScratch(int sampleCount) {
+        if (scratch.length < sampleCount) {
+            scratch = new float[sampleCount];
+        }
+        return scratch;
+    }
+
+    private static void decodePcm8(byte[] source, float[] samples, int count) {
+        for (int i = 0; i < count; i++) {
+            samples[i] = source[i] / 128.0f;
+        }
+    }
+
+    private float filterAndPeak(float[] samples, int count) {
+        var previous = filterState;
+        var peak = 0.0f;
+        for (int i = 0; i < count; i++) {
+            previous = FILTER_ALPHA * previous + (1 - FILTER_ALPHA) * samples[i];
+            samples[i] = previous;
+            peak = Math.max(peak, Math.abs(previous));
+        }
+        filterState = previous;
+        return peak;
+    }
+
+    private boolean cancelEcho(float[] samples, int count, AudioFormat format) {
+        if (echoTailMillis == 0 || format.getChannels() != 1) {
+            return false;
+        }
+        if (echoCanceller == null) {
+            echoCanceller = new EchoCanceller(format.getSampleRate(), echoTailMillis);
+        }
+        echoCanceller.process(samples, 0, count);
+        return true;
+    }
+
+    private float suppressAndPeak(float[] samples, int count, AudioFormat format) {
+        var channels = Math.max(1, format.getChannels());
+        if (suppressors.length != channels || suppressorSampleRate != format.getSampleRate()) {
+            suppressors = new SpectralNoiseSuppressor[channels];
+            for (int c = 0; c < channels; c++) {
+                suppressors[c] = new SpectralNoiseSuppressor(format.getSampleRate());
+            }
+            suppressorSampleRate = format.getSampleRate();
+        }
+        var frames = count / channels;
+        for (int c = 0; c < channels; c++) {
+            suppressors[c].process(samples, c, frames, channels);
+        }
+        return kernels.peak(samples, count);
+    }
+
+    private static double pcm8Energy(byte[] source) {
+        var energy = 0L;
+        for (var sample : source) {
+            energy += sample * sample;
+        }
+        return energy;
+    }
+
+    private static double gainAndEncodePcm8(float[] samples, int count, float gain, byte[] target) {
+        var energy = 0.0;
+        for (int i = 0; i < count; i++) {
+            var value = Math.max(-1.0f, Math.min(1.0f, samples[i] * gain));
+            var encoded = (byte) (value * 127);
+            energy += encoded * encoded;
+            target[i] = encoded;
+        }
+        return energy;
+    }
+
+    /**
+     * Noise reduction algorithms.
+     */
+    public enum NoiseReductionMode {
+        /** Single-pole recursive filter; cheap, but also dulls speech. */
+        FILTER,
+        /** STFT Wiener suppression against a tracked noise floor. */
+        SPECTRAL
+    }
+}
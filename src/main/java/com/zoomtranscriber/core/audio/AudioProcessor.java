@@ -2,158 +2,160 @@ package com.zoomtranscriber.core.audio;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import javax.sound.sampled.AudioFormat;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.time.Duration;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Processes audio data for real-time transcription.
  * Handles audio format conversion, noise reduction, and chunking.
+ * <p>
+ * Each instance holds the DSP state of a single meeting; obtain instances from
+ * {@link AudioProcessorFactory} rather than sharing one across meetings.
+ * <p>
+ * Output chunks keep the stream position of their input: the sample offset of the first
+ * buffered frame is carried across calls, and each chunk's capture instant is derived
+ * from that of the input holding its last sample.
  */
-@Component
 public class AudioProcessor {
     
     private static final Logger logger = LoggerFactory.getLogger(AudioProcessor.class);
     
-    private static final int OVERLAP_SAMPLES = 512;
     private static final double NOISE_THRESHOLD = 0.01;
     private static final double SILENCE_THRESHOLD = 0.001;
     private static final Duration SILENCE_TIMEOUT = Duration.ofSeconds(2);
+    private static final int INITIAL_BUFFER_BYTES = 1 << 16; // ~2s of 16kHz mono PCM16
     
-    private final ConcurrentLinkedQueue<byte[]> audioBuffer = new ConcurrentLinkedQueue<>();
+    private final UUID meetingId;
+    private final PcmRingBuffer audioBuffer = new PcmRingBuffer(INITIAL_BUFFER_BYTES);
+    private final AudioDspKernel dspKernel;
+    private StreamingResampler referenceResampler;
     private AudioFormat currentFormat;
     private com.zoomtranscriber.core.audio.AudioCaptureService.AudioQuality currentQuality;
     private boolean noiseReductionEnabled = true;
     private boolean autoGainControlEnabled = true;
-    private double currentGain = 1.0;
     private long lastAudioTime = System.currentTimeMillis();
+    private volatile long lastActivityNanos = System.nanoTime();
+    private long bufferStartOffset;
+    private long inputEndOffset;
+    private long inputCaptureNanos;
+    private long originMillis = Long.MIN_VALUE;
+    private volatile ChunkSizeController chunkSizeController = ChunkSizeController.fixed(Duration.ofMillis(100));
     
     /**
-     * Processes raw audio data and returns processed chunks.
+     * Creates an audio processor for a single meeting.
      * 
-     * @param audioData raw audio data
-     * @param format audio format
-     * @return Flux of processed AudioChunk objects
+     * @param meetingId meeting identifier
+     * @param sampleKernels sample loop implementation
      */
-    public Flux<AudioCaptureService.AudioChunk> processAudio(byte[] audioData, AudioFormat format) {
-        return Mono.fromCallable(() -> {
-            if (currentFormat == null || !currentFormat.matches(format)) {
-                currentFormat = format;
-                logger.info("Audio format changed to: {}", format);
-            }
-            
-            // Add to buffer
-            audioBuffer.offer(audioData);
-            
-            // Process if we have enough data
-            var chunkSize = calculateChunkSize(format);
-            var totalSize = audioBuffer.stream().mapToInt(arr -> arr.length).sum();
-            
-            if (totalSize >= chunkSize) {
-                return createProcessedChunk(chunkSize);
-            }
-            
-            return null;
-        })
-        .filter(chunk -> chunk != null)
-        .flux()
-        .subscribeOn(Schedulers.boundedElastic());
+    public AudioProcessor(UUID meetingId, SampleKernels sampleKernels) {
+        this(meetingId, sampleKernels, AudioDspKernel.NoiseReductionMode.FILTER);
     }
     
     /**
-     * Applies noise reduction to audio data.
+     * Creates an audio processor for a single meeting with the given noise reduction algorithm.
      * 
-     * @param audioData raw audio data
-     * @param format audio format
-     * @return noise-reduced audio data
+     * @param meetingId meeting identifier
+     * @param sampleKernels sample loop implementation
+     * @param noiseReductionMode noise reduction algorithm
      */
-    private byte[] applyNoiseReduction(byte[] audioData, AudioFormat format) {
-        if (!noiseReductionEnabled) {
-            return audioData;
-        }
-        
-        var samples = convertToSamples(audioData, format);
-        var filteredSamples = new double[samples.length];
-        
-        // Simple high-pass filter for noise reduction
-        var alpha = 0.95;
-        var previousSample = 0.0;
-        
-        for (int i = 0; i < samples.length; i++) {
-            var currentSample = samples[i];
-            filteredSamples[i] = alpha * previousSample + (1 - alpha) * currentSample;
-            previousSample = filteredSamples[i];
-        }
-        
-        return convertFromSamples(filteredSamples, format);
+    public AudioProcessor(UUID meetingId, SampleKernels sampleKernels, AudioDspKernel.NoiseReductionMode noiseReductionMode) {
+        this.meetingId = meetingId;
+        this.dspKernel = new AudioDspKernel(sampleKernels);
+        this.dspKernel.setNoiseReductionMode(noiseReductionMode);
     }
     
     /**
-     * Applies automatic gain control to audio data.
+     * Processes raw audio data and returns processed chunks.
+     * The data continues the stream of earlier calls and is treated as captured now.
      * 
      * @param audioData raw audio data
      * @param format audio format
-     * @return gain-adjusted audio data
+     * @return Flux of processed AudioChunk objects
      */
-    private byte[] applyAutoGainControl(byte[] audioData, AudioFormat format) {
-        if (!autoGainControlEnabled) {
-            return audioData;
-        }
-        
-        var samples = convertToSamples(audioData, format);
-        var maxAmplitude = 0.0;
-        
-        // Find maximum amplitude
-        for (var sample : samples) {
-            maxAmplitude = Math.max(maxAmplitude, Math.abs(sample));
-        }
-        
-        // Calculate target gain
-        var targetAmplitude = 0.8;
-        var newGain = maxAmplitude > 0 ? targetAmplitude / maxAmplitude : 1.0;
-        
-        // Smooth gain changes
-        var gainSmoothingFactor = 0.1;
-        currentGain = gainSmoothingFactor * newGain + (1 - gainSmoothingFactor) * currentGain;
-        
-        // Apply gain
-        for (int i = 0; i < samples.length; i++) {
-            samples[i] *= currentGain;
-        }
-        
-        return convertFromSamples(samples, format);
+    public Flux<AudioCaptureService.AudioChunk> processAudio(byte[] audioData, AudioFormat format) {
+        return process(audioData, format, -1L, System.nanoTime(), -1L);
     }
     
     /**
-     * Detects voice activity in audio data.
+     * Processes a captured chunk and returns processed chunks positioned on its stream.
      * 
-     * @param audioData raw audio data
-     * @param format audio format
-     * @return true if voice activity is detected
+     * @param chunk captured audio chunk
+     * @return Flux of processed AudioChunk objects
      */
-    private boolean detectVoiceActivity(byte[] audioData, AudioFormat format) {
-        var samples = convertToSamples(audioData, format);
-        var energy = 0.0;
-        
-        for (var sample : samples) {
-            energy += sample * sample;
-        }
-        
-        var rmsEnergy = Math.sqrt(energy / samples.length);
-        var hasVoiceActivity = rmsEnergy > NOISE_THRESHOLD;
-        
-        if (hasVoiceActivity) {
-            lastAudioTime = System.currentTimeMillis();
+    public Flux<AudioCaptureService.AudioChunk> processAudio(AudioCaptureService.AudioChunk chunk) {
+        return process(chunk.data(), chunk.format(), chunk.sampleOffset(), chunk.captureNanos(), chunk.timestamp());
+    }
+    
+    private Flux<AudioCaptureService.AudioChunk> process(byte[] audioData, AudioFormat format, long sampleOffset,
+                                                         long captureNanos, long timestampMillis) {
+        return Mono.fromCallable(() -> {
+            // Only this meeting's pipeline uses the monitor, so it is uncontended in practice
+            synchronized (audioBuffer) {
+                lastActivityNanos = System.nanoTime();
+                if (currentFormat == null || !currentFormat.matches(format)) {
+                    currentFormat = format;
+                    dspKernel.reset();
+                    logger.info("Audio format changed to: {}", format);
+                }
+                
+                // Position the buffer on the input stream; a partially filled buffer stays contiguous
+                var frameSize = Math.max(1, format.getFrameSize());
+                var sampleRate = format.getSampleRate();
+                if (sampleOffset >= 0 && audioBuffer.size() == 0) {
+                    bufferStartOffset = sampleOffset;
+                }
+                if (timestampMillis >= 0) {
+                    originMillis = timestampMillis - (long) (bufferEndOffset(frameSize) * 1000.0 / sampleRate);
+                } else if (originMillis == Long.MIN_VALUE) {
+                    originMillis = System.currentTimeMillis() - (long) (bufferStartOffset * 1000.0 / sampleRate);
+                }
+                
+                // Add to buffer
+                audioBuffer.write(audioData);
+                inputEndOffset = bufferEndOffset(frameSize);
+                inputCaptureNanos = captureNanos;
+                
+                // Slice every complete chunk; any remainder stays buffered for the next call
+                var chunkSize = calculateChunkSize(format);
+                List<AudioCaptureService.AudioChunk> chunks = new ArrayList<>(audioBuffer.size() / chunkSize);
+                while (audioBuffer.size() >= chunkSize) {
+                    chunks.add(createProcessedChunk(chunkSize));
+                }
+                
+                return chunks;
+            }
+        })
+        .flatMapIterable(chunks -> chunks)
+        .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    /**
+     * Feeds far-end audio, such as captured system audio, to the echo canceller. The
+     * reference is converted to the microphone's sample rate and must share its sample
+     * clock. Ignored unless echo cancellation is enabled and microphone audio has arrived.
+     * 
+     * @param referenceData far-end PCM data
+     * @param format format of the far-end data
+     */
+    public void processReference(byte[] referenceData, AudioFormat format) {
+        synchronized (audioBuffer) {
+            if (!dspKernel.isEchoCancellationEnabled() || currentFormat == null) {
+                return;
+            }
+            var targetRate = (int) currentFormat.getSampleRate();
+            if (referenceResampler == null || !referenceResampler.getSourceFormat().matches(format)
+                    || referenceResampler.getTargetFormat().getSampleRate() != targetRate) {
+                referenceResampler = new StreamingResampler(format, targetRate);
+            }
+            dspKernel.offerEchoReference(referenceResampler.process(referenceData));
         }
-        
-        return hasVoiceActivity;
     }
     
     /**
@@ -164,120 +166,60 @@ public class AudioProcessor {
      */
     private AudioCaptureService.AudioChunk createProcessedChunk(int chunkSize) {
         var chunkData = new byte[chunkSize];
-        var bytesWritten = 0;
+        var sampleRate = currentFormat.getSampleRate();
+        var frames = chunkSize / Math.max(1, currentFormat.getFrameSize());
+        var sampleOffset = bufferStartOffset;
+        bufferStartOffset += frames;
+        var captureNanos = inputCaptureNanos - (long) ((inputEndOffset - bufferStartOffset) * 1_000_000_000.0 / sampleRate);
         
-        // Collect data from buffer
-        while (bytesWritten < chunkSize && !audioBuffer.isEmpty()) {
-            var data = audioBuffer.poll();
-            if (data != null) {
-                var copyLength = Math.min(data.length, chunkSize - bytesWritten);
-                System.arraycopy(data, 0, chunkData, bytesWritten, copyLength);
-                bytesWritten += copyLength;
-            }
-        }
-        
-        // Apply processing
-        if (currentFormat != null) {
-            chunkData = applyNoiseReduction(chunkData, currentFormat);
-            chunkData = applyAutoGainControl(chunkData, currentFormat);
-        }
+        // Collect exactly one chunk from the buffer
+        audioBuffer.read(chunkData, 0, chunkSize);
         
-        // Calculate volume level
-        var volumeLevel = calculateVolumeLevel(chunkData, currentFormat);
+        // Filter, gain and meter the chunk in place with a single decode/encode
+        var rmsEnergy = dspKernel.process(chunkData, currentFormat, noiseReductionEnabled, autoGainControlEnabled);
+        var volumeLevel = Math.min(1.0, rmsEnergy * 10); // Scale for better visibility
         
         // Update last audio time if there's voice activity
-        if (detectVoiceActivity(chunkData, currentFormat)) {
+        if (rmsEnergy > NOISE_THRESHOLD) {
             lastAudioTime = System.currentTimeMillis();
         }
         
         return new AudioCaptureService.AudioChunk(
             chunkData,
             currentFormat,
-            Duration.ofMillis((long) (chunkSize * 1000.0 / (currentFormat.getSampleRate() * currentFormat.getChannels() * currentFormat.getSampleSizeInBits() / 8))),
-            System.currentTimeMillis(),
-            volumeLevel
+            Duration.ofNanos((long) (frames * 1_000_000_000.0 / sampleRate)),
+            originMillis + (long) (sampleOffset * 1000.0 / sampleRate),
+            volumeLevel,
+            sampleOffset,
+            captureNanos
         );
     }
     
     /**
-     * Converts raw audio data to sample array.
-     * 
-     * @param audioData raw audio data
-     * @param format audio format
-     * @return array of sample values
-     */
-    private double[] convertToSamples(byte[] audioData, AudioFormat format) {
-        var samples = new double[audioData.length / (format.getSampleSizeInBits() / 8)];
-        var buffer = ByteBuffer.wrap(audioData).order(ByteOrder.LITTLE_ENDIAN);
-        
-        if (format.getSampleSizeInBits() == 16) {
-            for (int i = 0; i < samples.length; i++) {
-                samples[i] = buffer.getShort() / 32768.0;
-            }
-        } else if (format.getSampleSizeInBits() == 8) {
-            for (int i = 0; i < samples.length; i++) {
-                samples[i] = buffer.get() / 128.0;
-            }
-        }
-        
-        return samples;
-    }
-    
-    /**
-     * Converts sample array back to raw audio data.
-     * 
-     * @param samples array of sample values
-     * @param format audio format
-     * @return raw audio data
+     * Gets the stream position just past the buffered audio.
      */
-    private byte[] convertFromSamples(double[] samples, AudioFormat format) {
-        var audioData = new byte[samples.length * (format.getSampleSizeInBits() / 8)];
-        var buffer = ByteBuffer.wrap(audioData).order(ByteOrder.LITTLE_ENDIAN);
-        
-        if (format.getSampleSizeInBits() == 16) {
-            for (var sample : samples) {
-                var clampedSample = Math.max(-1.0, Math.min(1.0, sample));
-                buffer.putShort((short) (clampedSample * 32767));
-            }
-        } else if (format.getSampleSizeInBits() == 8) {
-            for (var sample : samples) {
-                var clampedSample = Math.max(-1.0, Math.min(1.0, sample));
-                buffer.put((byte) (clampedSample * 127));
-            }
-        }
-        
-        return audioData;
+    private long bufferEndOffset(int frameSize) {
+        return bufferStartOffset + audioBuffer.size() / frameSize;
     }
     
     /**
-     * Calculates the volume level of audio data.
+     * Calculates the chunk size for the current window duration.
      * 
-     * @param audioData raw audio data
      * @param format audio format
-     * @return volume level (0.0 to 1.0)
+     * @return chunk size in bytes
      */
-    private double calculateVolumeLevel(byte[] audioData, AudioFormat format) {
-        var samples = convertToSamples(audioData, format);
-        var sum = 0.0;
-        
-        for (var sample : samples) {
-            sum += sample * sample;
-        }
-        
-        var rms = Math.sqrt(sum / samples.length);
-        return Math.min(1.0, rms * 10); // Scale for better visibility
+    private int calculateChunkSize(AudioFormat format) {
+        return chunkSizeController.getChunkBytes(format);
     }
     
     /**
-     * Calculates optimal chunk size based on audio format.
+     * Sets the controller that decides the duration of output chunks, typically the one
+     * the speech recognizer tunes for this meeting. Without one, chunks are 100 ms.
      * 
-     * @param format audio format
-     * @return chunk size in bytes
+     * @param controller chunk size controller
      */
-    private int calculateChunkSize(AudioFormat format) {
-        var bytesPerSample = format.getSampleSizeInBits() / 8;
-        var samplesPerChunk = (int) (format.getSampleRate() * 0.1); // 100ms chunks
-        return samplesPerChunk * format.getChannels() * bytesPerSample;
+    public void setChunkSizeController(ChunkSizeController controller) {
+        this.chunkSizeController = controller;
     }
     
     /**
@@ -328,6 +270,64 @@ public class AudioProcessor {
         return noiseReductionEnabled;
     }
     
+    /**
+     * Selects the noise reduction algorithm.
+     * 
+     * @param mode noise reduction mode
+     */
+    public void setNoiseReductionMode(AudioDspKernel.NoiseReductionMode mode) {
+        synchronized (audioBuffer) {
+            dspKernel.setNoiseReductionMode(mode);
+        }
+        logger.info("Noise reduction mode set to: {}", mode);
+    }
+    
+    /**
+     * Gets the selected noise reduction algorithm.
+     * 
+     * @return noise reduction mode
+     */
+    public AudioDspKernel.NoiseReductionMode getNoiseReductionMode() {
+        synchronized (audioBuffer) {
+            return dspKernel.getNoiseReductionMode();
+        }
+    }
+    
+    /**
+     * Enables or disables echo cancellation against audio from {@link #processReference}.
+     * 
+     * @param tailMillis longest echo path to cancel, or 0 to disable
+     */
+    public void setEchoCancellation(int tailMillis) {
+        synchronized (audioBuffer) {
+            dspKernel.setEchoCancellation(tailMillis);
+        }
+        logger.info("Echo cancellation {}", tailMillis > 0 ? "enabled (" + tailMillis + " ms tail)" : "disabled");
+    }
+    
+    /**
+     * Checks if echo cancellation is enabled.
+     * 
+     * @return true if echo cancellation is enabled
+     */
+    public boolean isEchoCancellationEnabled() {
+        synchronized (audioBuffer) {
+            return dspKernel.isEchoCancellationEnabled();
+        }
+    }
+    
+    /**
+     * Gets the echo return loss enhancement achieved so far.
+     * 
+     * @return ERLE in dB, or 0 if echo cancellation has not adapted yet
+     */
+    public double getEchoReturnLossEnhancement() {
+        synchronized (audioBuffer) {
+            var canceller = dspKernel.getEchoCanceller();
+            return canceller != null ? canceller.getErleDb() : 0.0;
+        }
+    }
+    
     /**
      * Enables or disables automatic gain control.
      * 
@@ -351,7 +351,10 @@ public class AudioProcessor {
      * Clears the audio buffer.
      */
     public void clearBuffer() {
-        audioBuffer.clear();
+        synchronized (audioBuffer) {
+            audioBuffer.clear();
+            bufferStartOffset = inputEndOffset;
+        }
         logger.debug("Audio buffer cleared");
     }
     
@@ -361,6 +364,26 @@ public class AudioProcessor {
      * @return buffer size
      */
     public int getBufferSize() {
-        return audioBuffer.stream().mapToInt(arr -> arr.length).sum();
+        synchronized (audioBuffer) {
+            return audioBuffer.size();
+        }
+    }
+    
+    /**
+     * Gets the meeting this processor belongs to.
+     * 
+     * @return meeting identifier
+     */
+    public UUID getMeetingId() {
+        return meetingId;
+    }
+    
+    /**
+     * Gets the time elapsed since audio was last submitted.
+     * 
+     * @return idle duration
+     */
+    public Duration getIdleTime() {
+        return Duration.ofNanos(System.nanoTime() - lastActivityNanos);
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.detection.ZoomDetectionService;
+import com.zoomtranscriber.core.transcription.SpeechRecognizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out one AudioProcessor per meeting.
+ * Each processor owns its own buffer, filter and gain state, so meetings processed
+ * in parallel never share mutable DSP state. Processors are released when the
+ * meeting ends or after they have been idle for the configured timeout.
+ * <p>
+ * A meeting's processor cuts chunks as long as the speech recognizer's chunk size
+ * controller for that meeting decides, so chunk sizes follow recognition latency.
+ */
+@Component
+public class AudioProcessorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(AudioProcessorFactory.class);
+
+    private final ConcurrentHashMap<UUID, AudioProcessor> processors = new ConcurrentHashMap<>();
+    private final SampleKernels sampleKernels;
+    private final AudioDspKernel.NoiseReductionMode noiseReductionMode;
+    private final int echoTailMillis;
+    private final Duration idleTimeout;
+    private final ObjectProvider<SpeechRecognizer> speechRecognizer;
+
+    /**
+     * Creates the factory and subscribes to meeting-ended events when detection is available.
+     *
+     * @param audioConfig audio configuration
+     * @param detectionService meeting detection service, if present
+     * @param speechRecognizer speech recognizer whose chunk size controllers size meeting chunks, if present
+     */
+    public AudioProcessorFactory(AudioConfig audioConfig, ObjectProvider<ZoomDetectionService> detectionService,
+                                 ObjectProvider<SpeechRecognizer> speechRecognizer) {
+        this.speechRecognizer = speechRecognizer;
+        this.sampleKernels = SampleKernels.select(audioConfig.isUseVectorKernels());
+        this.noiseReductionMode = audioConfig.getNoiseReductionMode();
+        this.echoTailMillis = audioConfig.isEnableEchoCancellation() ? audioConfig.getEchoTailMs() : 0;
+        this.idleTimeout = Duration.ofMillis(audioConfig.getProcessorIdleTimeoutMs());
+
+        detectionService.ifAvailable(service -> service.getMeetingEvents()
+            .filter(event -> event.eventType() == ZoomDetectionService.MeetingEvent.MeetingEventType.MEETING_ENDED)
+            .subscribe(
+                event -> release(event.meetingId()),
+                error -> logger.warn("Meeting event stream failed; relying on idle reclamation", error)
+            ));
+    }
+
+    /**
+     * Gets the processor for a meeting, creating it on first use and wiring it to the
+     * meeting's chunk size controller.
+     *
+     * @param meetingId meeting identifier
+     * @return the meeting's AudioProcessor
+     */
+    public AudioProcessor forMeeting(UUID meetingId) {
+        return processors.computeIfAbsent(meetingId, id -> {
+            logger.info("Creating audio processor for meeting: {}", id);
+            var processor = configure(new AudioProcessor(id, sampleKernels, noiseReductionMode));
+            speechRecognizer.ifAvailable(recognizer ->
+                processor.setChunkSizeController(recognizer.getChunkSizeController(id.toString())));
+            return processor;
+        });
+    }
+
+    /**
+     * Creates a processor that the factory does not track, for one-off work such as
+     * transcribing a window of a recorded file. The caller owns its lifetime.
+     *
+     * @param id identifier used in the processor's logs
+     * @return a new AudioProcessor
+     */
+    public AudioProcessor createDetached(UUID id) {
+        return configure(new AudioProcessor(id, sampleKernels, noiseReductionMode));
+    }
+
+    private AudioProcessor configure(AudioProcessor processor) {
+        if (echoTailMillis > 0) {
+            processor.setEchoCancellation(echoTailMillis);
+        }
+        return processor;
+    }
+
+    /**
+     * Releases the processor for a meeting and discards its buffered audio.
+     *
+     * @param meetingId meeting identifier
+     * @return true if a processor was released
+     */
+    public boolean release(UUID meetingId) {
+        if (meetingId == null) {
+            return false;
+        }
+
+        var processor = processors.remove(meetingId);
+        if (processor != null) {
+            processor.clearBuffer();
+            logger.info("Released audio processor for meeting: {}", meetingId);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of meetings with a live processor.
+     *
+     * @return active processor count
+     */
+    public int getActiveProcessorCount() {
+        return processors.size();
+    }
+
+    /**
+     * Reclaims processors that have not received audio within the idle timeout.
+     */
+    @Scheduled(fixedRate = 60000) // Every minute
+    public void reclaimIdleProcessors() {
+        processors.forEach((meetingId, processor) -> {
+            if (processor.getIdleTime().compareTo(idleTimeout) > 0
+                    && processors.remove(meetingId, processor)) {
+                processor.clearBuffer();
+                logger.info("Reclaimed idle audio processor for meeting: {}", meetingId);
+            }
+        });
+    }
+}
@@ -0,0 +1,194 @@
+package com.zoomtranscriber.core.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects capture problems of one input device from the capture loop's view of it.
+ * <p>
+ * Before each read the loop reports how full the line buffer is; a buffer at or above
+ * {@link #OVERRUN_FILL} of its size is about to overflow, and the line discards audio
+ * when it does. After each read it reports how many frames it got and how many are
+ * still buffered. The read interval is compared to the audio it returned: the smoothed
+ * deviation is the capture jitter (RFC 3550 style), and an interval of more than
+ * {@link #STALL_FACTOR} times the audio duration is a stall. The elapsed time since the
+ * capture started is compared to all audio read or buffered so far; a shortfall beyond
+ * the tolerance means the line dropped audio, which is reported as a discontinuity so
+ * the loop can advance its sample clock over the gap.
+ * <p>
+ * Reports come from the capture thread only; the statistics may be read from any thread.
+ */
+public final class CaptureHealth {
+
+    static final double OVERRUN_FILL = 0.9;
+    static final int STALL_FACTOR = 2;
+    private static final long MIN_TOLERANCE_NANOS = 20_000_000L;
+
+    private final String device;
+    private final AtomicLong overruns = new AtomicLong();
+    private final AtomicLong stalls = new AtomicLong();
+    private final AtomicLong discontinuities = new AtomicLong();
+    private final AtomicLong lostFrames = new AtomicLong();
+    private volatile double fillLevel;
+    private volatile double jitterNanos;
+    private volatile int lineBufferBytes;
+
+    private float sampleRate;
+    private boolean started;
+    private long startNanos;
+    private long lastReadNanos;
+    private long framesRead;
+
+    /**
+     * Creates the statistics of a device.
+     *
+     * @param device device identifier used to tag metrics
+     */
+    public CaptureHealth(String device) {
+        this.device = device;
+    }
+
+    /**
+     * Starts tracking a new capture of the device; counters keep accumulating.
+     *
+     * @param sampleRate capture sample rate in Hz
+     * @param lineBufferBytes size of the line buffer
+     */
+    public void begin(float sampleRate, int lineBufferBytes) {
+        this.sampleRate = sampleRate;
+        this.lineBufferBytes = lineBufferBytes;
+        this.started = false;
+        this.framesRead = 0;
+        this.fillLevel = 0.0;
+    }
+
+    /**
+     * Reports the line buffer fill level before a read.
+     *
+     * @param availableBytes bytes waiting in the line buffer
+     * @param bufferBytes size of the line buffer
+     * @return true if the buffer is close to overflowing
+     */
+    public boolean recordFill(int availableBytes, int bufferBytes) {
+        lineBufferBytes = bufferBytes;
+        var fill = bufferBytes > 0 ? (double) availableBytes / bufferBytes : 0.0;
+        fillLevel = fill;
+        if (fill >= OVERRUN_FILL) {
+            overruns.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Reports a completed read.
+     *
+     * @param readEndNanos {@link System#nanoTime()} when the read returned
+     * @param frames frames returned by the read
+     * @param bufferedFrames frames still waiting in the line buffer
+     * @return frames the line dropped since the previous read, 0 if none
+     */
+    public long recordRead(long readEndNanos, long frames, long bufferedFrames) {
+        var audioNanos = toNanos(frames);
+        if (!started) {
+            started = true;
+            startNanos = readEndNanos - audioNanos - toNanos(bufferedFrames);
+            lastReadNanos = readEndNanos;
+            framesRead = frames;
+            return 0;
+        }
+
+        var interval = readEndNanos - lastReadNanos;
+        lastReadNanos = readEndNanos;
+        jitterNanos += (Math.abs(interval - audioNanos) - jitterNanos) / 16.0;
+        if (interval > STALL_FACTOR * audioNanos) {
+            stalls.incrementAndGet();
+        }
+
+        framesRead += frames;
+        var shortfall = readEndNanos - startNanos - toNanos(framesRead + bufferedFrames);
+        if (shortfall > Math.max(MIN_TOLERANCE_NANOS, STALL_FACTOR * audioNanos)) {
+            var lost = (long) (shortfall * (double) sampleRate / 1_000_000_000L);
+            framesRead += lost;
+            discontinuities.incrementAndGet();
+            lostFrames.addAndGet(lost);
+            return lost;
+        }
+        return 0;
+    }
+
+    private long toNanos(long frames) {
+        return (long) (frames * 1_000_000_000.0 / sampleRate);
+    }
+
+    /**
+     * Gets the device identifier.
+     *
+     * @return device identifier
+     */
+    public String getDevice() {
+        return device;
+    }
+
+    /**
+     * Gets the number of reads that found the line buffer close to overflowing.
+     *
+     * @return overrun count
+     */
+    public long getOverruns() {
+        return overruns.get();
+    }
+
+    /**
+     * Gets the number of reads that returned much later than the audio they delivered.
+     *
+     * @return stall count
+     */
+    public long getStalls() {
+        return stalls.get();
+    }
+
+    /**
+     * Gets the number of gaps detected in the captured audio.
+     *
+     * @return discontinuity count
+     */
+    public long getDiscontinuities() {
+        return discontinuities.get();
+    }
+
+    /**
+     * Gets the number of frames lost in detected gaps.
+     *
+     * @return lost frames
+     */
+    public long getLostFrames() {
+        return lostFrames.get();
+    }
+
+    /**
+     * Gets the line buffer fill level seen before the last read.
+     *
+     * @return fill level (0.0 to 1.0)
+     */
+    public double getFillLevel() {
+        return fillLevel;
+    }
+
+    /**
+     * Gets the smoothed deviation of read intervals from the audio they returned.
+     *
+     * @return jitter in milliseconds
+     */
+    public double getJitterMillis() {
+        return jitterNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the current size of the line buffer.
+     *
+     * @return line buffer size in bytes
+     */
+    public int getLineBufferBytes() {
+        return lineBufferBytes;
+    }
+}
@@ -0,0 +1,130 @@
+package com.zoomtranscriber.core.audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.time.Duration;
+
+/**
+ * Tunes the duration of the chunks handed to speech recognition from how well the
+ * recognizer keeps up.
+ * <p>
+ * Each recognized chunk reports its audio duration, the time spent recognizing it and
+ * how long it waited after capture. The processing ratio is smoothed, and the wait is
+ * converted to a queue depth in chunks. When the recognizer is close to real time or
+ * chunks pile up, the window grows by half so that per-call overhead is amortised over
+ * more audio; when it is comfortably idle the window shrinks by a fifth to cut latency.
+ * Changes are spaced a few observations apart so the effect of one change is seen before
+ * the next, and the duration always stays within the configured bounds.
+ * <p>
+ * Instances are thread-safe: the recognizer reports and the processor reads concurrently.
+ */
+public final class ChunkSizeController {
+
+    static final double BEHIND_RATIO = 0.8;
+    static final double IDLE_RATIO = 0.4;
+    static final int BEHIND_QUEUE_DEPTH = 2;
+    static final int SETTLE_OBSERVATIONS = 3;
+    private static final double SMOOTHING = 0.3;
+
+    private final long minNanos;
+    private final long maxNanos;
+    private volatile long chunkNanos;
+    private double processingRatio = -1.0;
+    private int sinceChange;
+    private long adjustments;
+
+    /**
+     * Creates a controller that starts at the smallest window.
+     *
+     * @param min smallest chunk duration
+     * @param max largest chunk duration
+     */
+    public ChunkSizeController(Duration min, Duration max) {
+        if (min.isNegative() || min.isZero() || max.compareTo(min) < 0) {
+            throw new IllegalArgumentException("Invalid chunk duration bounds: " + min + " to " + max);
+        }
+        this.minNanos = min.toNanos();
+        this.maxNanos = max.toNanos();
+        this.chunkNanos = minNanos;
+    }
+
+    /**
+     * Creates a controller that never changes the chunk duration.
+     *
+     * @param duration chunk duration
+     * @return fixed controller
+     */
+    public static ChunkSizeController fixed(Duration duration) {
+        return new ChunkSizeController(duration, duration);
+    }
+
+    /**
+     * Reports one recognized chunk.
+     *
+     * @param audioNanos duration of the chunk's audio
+     * @param processingNanos time spent recognizing the chunk
+     * @param waitNanos time between the capture of the chunk's last sample and the start of recognition
+     */
+    public synchronized void record(long audioNanos, long processingNanos, long waitNanos) {
+        if (audioNanos <= 0) {
+            return;
+        }
+        var ratio = (double) Math.max(0, processingNanos) / audioNanos;
+        processingRatio = processingRatio < 0 ? ratio : processingRatio + SMOOTHING * (ratio - processingRatio);
+        if (++sinceChange < SETTLE_OBSERVATIONS || minNanos == maxNanos) {
+            return;
+        }
+
+        var current = chunkNanos;
+        var queued = Math.max(0, waitNanos) / current;
+        var next = current;
+        if (processingRatio > BEHIND_RATIO || queued >= BEHIND_QUEUE_DEPTH) {
+            next = current + current / 2;
+        } else if (processingRatio < IDLE_RATIO && queued == 0) {
+            next = current - current / 5;
+        }
+        next = Math.max(minNanos, Math.min(maxNanos, next));
+        if (next != current) {
+            chunkNanos = next;
+            sinceChange = 0;
+            adjustments++;
+        }
+    }
+
+    /**
+     * Gets the current chunk duration.
+     *
+     * @return chunk duration
+     */
+    public Duration getChunkDuration() {
+        return Duration.ofNanos(chunkNanos);
+    }
+
+    /**
+     * Gets the current chunk size in whole frames of a format.
+     *
+     * @param format audio format
+     * @return chunk size in bytes, at least one frame
+     */
+    public int getChunkBytes(AudioFormat format) {
+        var frames = Math.max(1, Math.round((double) format.getSampleRate() * chunkNanos / 1_000_000_000.0));
+        return (int) (frames * Math.max(1, format.getFrameSize()));
+    }
+
+    /**
+     * Gets the smoothed ratio of recognition time to audio time.
+     *
+     * @return processing ratio, or -1 before the first report
+     */
+    public synchronized double getProcessingRatio() {
+        return processingRatio;
+    }
+
+    /**
+     * Gets the number of times the chunk duration has changed.
+     *
+     * @return adjustment count
+     */
+    public synchronized long getAdjustments() {
+        return adjustments;
+    }
+}
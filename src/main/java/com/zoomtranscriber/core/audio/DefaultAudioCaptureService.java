@@ -1,11 +1,15 @@
 package com.zoomtranscriber.core.audio;
 
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.monitoring.PerformanceMonitor;
+import com.zoomtranscriber.core.monitoring.PipelineLatency;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import javax.sound.sampled.AudioFormat;
@@ -15,27 +19,95 @@ import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.Mixer;
 import javax.sound.sampled.TargetDataLine;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Default implementation of AudioCaptureService.
  * Uses Java Sound API for audio capture from system devices.
+ * <p>
+ * The capture thread only enqueues chunks into a bounded AudioChunkRing; a separate
+ * drain task fans them out to a bounded queue per subscriber and delivers each queue as
+ * its subscriber requests more. A slow subscriber therefore causes counted drops of its
+ * own frames according to the configured overflow policy, instead of unbounded
+ * buffering, a stalled capture line or starving the other subscribers.
+ * <p>
+ * With {@code useDirectBuffers} enabled, each read is copied into a buffer leased from
+ * an off-heap AudioBufferPool of {@code bufferCount} buffers, so the capture thread does
+ * not allocate. Pooled subscribers receive their own reference to each lease; heap
+ * subscribers receive a copy made on the drain worker.
+ * <p>
+ * Chunks are stamped from the sample count of the capture rather than the wall clock at
+ * delivery: {@code sampleOffset} counts the frames read since capture started, the
+ * timestamp is the capture start plus that offset, and {@code captureNanos} is taken as
+ * each read returns.
+ * <p>
+ * Before each read the capture loop checks how full the line buffer is, and after it
+ * compares the audio read so far with the elapsed time, tracking overruns, stalls, jitter
+ * and gaps per device in a {@link CaptureHealth} exported through PerformanceMonitor. A
+ * detected gap advances the sample offset so timestamps stay true to the capture clock,
+ * and an overrun reopens the line with twice the buffer, up to {@code maxBufferSizeMs}.
  */
 @Service
 public class DefaultAudioCaptureService implements AudioCaptureService {
     
     private static final Logger logger = LoggerFactory.getLogger(DefaultAudioCaptureService.class);
     
-    private final ConcurrentHashMap<String, AudioSource> availableSources = new ConcurrentHashMap<>();
-    private final Sinks.Many<AudioChunk> audioSink = Sinks.many().multicast().onBackpressureBuffer();
+    private static final double SILENT_VOLUME_LEVEL = 0.01;
+    
+    private final AudioDeviceRegistry deviceRegistry;
     private final AtomicBoolean isCapturing = new AtomicBoolean(false);
+    private final Object lineLock = new Object();
     private volatile TargetDataLine targetLine;
     private volatile Thread captureThread;
     private volatile AudioSource currentSource;
     private volatile AudioFormat currentFormat;
     private volatile AudioQuality currentQuality;
     private volatile boolean noiseReductionEnabled = true;
+    private volatile AudioBufferPool bufferPool;
+    private final SampleKernels sampleKernels;
+    private final boolean useDirectBuffers;
+    private final int bufferCount;
+    private final int readMillis;
+    private final int maxLineBufferMillis;
+    private final ConcurrentHashMap<String, CaptureHealth> captureHealth = new ConcurrentHashMap<>();
+    private final PerformanceMonitor performanceMonitor;
+    private final AudioChunkRing<PooledAudioChunk> chunkRing;
+    private final PipelineLatency pipelineLatency;
+    private final ChunkDispatcher dispatcher = new ChunkDispatcher();
+    private final Flux<PooledAudioChunk> pooledStream = Flux.create(dispatcher::attach);
+    
+    /**
+     * Creates the capture service using the sample kernels and capture queue settings from configuration.
+     * 
+     * @param audioConfig audio configuration
+     * @param pipelineLatency latency tracker updated as chunks reach subscribers
+     * @param performanceMonitor monitor exporting per-device capture statistics
+     * @param deviceRegistry cached device enumeration
+     */
+    public DefaultAudioCaptureService(AudioConfig audioConfig, PipelineLatency pipelineLatency,
+                                      PerformanceMonitor performanceMonitor, AudioDeviceRegistry deviceRegistry) {
+        this.deviceRegistry = deviceRegistry;
+        this.pipelineLatency = pipelineLatency;
+        this.performanceMonitor = performanceMonitor;
+        this.sampleKernels = SampleKernels.select(audioConfig.isUseVectorKernels());
+        this.useDirectBuffers = audioConfig.isUseDirectBuffers();
+        this.bufferCount = audioConfig.getBufferCount();
+        // Device reads use the capture chunk duration; recognition windows are sized downstream
+        this.readMillis = Math.max(audioConfig.getMinBufferSizeMs(),
+            Math.min(audioConfig.getMaxBufferSizeMs(), audioConfig.getBufferSizeMs()));
+        this.maxLineBufferMillis = Math.max(2 * readMillis, audioConfig.getMaxBufferSizeMs());
+        this.chunkRing = new AudioChunkRing<>(
+            audioConfig.getCaptureQueueFrames(),
+            audioConfig.getCaptureOverflowPolicy(),
+            SILENT_VOLUME_LEVEL,
+            audioConfig.getCaptureBlockTimeoutMs()
+        );
+    }
     
     @Override
     public Mono<Void> startCapture(String sourceId, AudioFormat format) {
@@ -49,24 +121,27 @@ public class DefaultAudioCaptureService implements AudioCaptureService {
             
             try {
                 currentFormat = format;
+                chunkRing.clear();
                 
                 // Find and open the audio line
-                TargetDataLine line = getTargetDataLine(sourceId, format);
-                line.open(format);
+                TargetDataLine line = openLine(sourceId, format);
+                line.open(format, bytesFor(format, Math.min(maxLineBufferMillis, 4 * readMillis)));
                 line.start();
                 
                 targetLine = line;
                 isCapturing.set(true);
                 
                 // Start capture thread
-                startCaptureThread(line, format);
+                var health = captureHealth.computeIfAbsent(sourceId != null ? sourceId : "default", device -> {
+                    var created = new CaptureHealth(device);
+                    performanceMonitor.registerCaptureDevice(created);
+                    return created;
+                });
+                startCaptureThread(line, format, health);
                 
                 // Update current source
-                if (sourceId != null) {
-                    currentSource = availableSources.get(sourceId);
-                } else {
-                    currentSource = getDefaultSource();
-                }
+                var devices = deviceRegistry.getSnapshot();
+                currentSource = sourceId != null ? devices.find(sourceId).orElse(null) : devices.defaultSource();
                 
                 logger.info("Audio capture started successfully");
                 
@@ -94,21 +169,35 @@ public class DefaultAudioCaptureService implements AudioCaptureService {
             
             isCapturing.set(false);
             
-            // Stop and close the audio line
-            if (targetLine != null) {
-                targetLine.stop();
-                targetLine.close();
-                targetLine = null;
+            // Stop and close the audio line; a buffer grow in progress finishes first
+            synchronized (lineLock) {
+                if (targetLine != null) {
+                    targetLine.stop();
+                    targetLine.close();
+                    targetLine = null;
+                }
             }
             
-            // Stop capture thread
-            if (captureThread != null) {
-                captureThread.interrupt();
-                captureThread = null;
+            // Stop capture thread and let it queue its last chunk
+            var thread = captureThread;
+            captureThread = null;
+            if (thread != null) {
+                thread.interrupt();
+                try {
+                    thread.join(TimeUnit.SECONDS.toMillis(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
             }
             
-            // Complete the audio stream
-            audioSink.tryEmitComplete();
+            // Complete the audio stream once queued chunks are delivered
+            dispatcher.terminate(null);
+            
+            var stats = chunkRing.getStats();
+            if (stats.droppedFrames() > 0) {
+                logger.warn("Dropped {} of {} captured frames ({} silent) under {} policy",
+                    stats.droppedFrames(), stats.offeredFrames(), stats.droppedSilentFrames(), chunkRing.getPolicy());
+            }
             
             logger.info("Audio capture stopped successfully");
         })
@@ -123,7 +212,20 @@ public class DefaultAudioCaptureService implements AudioCaptureService {
     
     @Override
     public Flux<AudioChunk> getAudioStream() {
-        return audioSink.asFlux()
+        return pooledStream
+            .map(chunk -> {
+                try {
+                    return chunk.toAudioChunk();
+                } finally {
+                    chunk.release();
+                }
+            })
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @Override
+    public Flux<PooledAudioChunk> getPooledAudioStream() {
+        return pooledStream
             .subscribeOn(Schedulers.boundedElastic());
     }
     
@@ -134,21 +236,17 @@ public class DefaultAudioCaptureService implements AudioCaptureService {
     
     @Override
     public Flux<AudioSource> getAvailableSources() {
-        return Mono.fromCallable(() -> {
-            refreshAvailableSources();
-            return null;
-        })
-        .flatMapMany(ignored -> Flux.fromIterable(availableSources.values()))
-        .subscribeOn(Schedulers.boundedElastic());
+        return Mono.fromCallable(deviceRegistry::getSnapshot)
+            .flatMapMany(devices -> Flux.fromIterable(devices.sources()))
+            .subscribeOn(Schedulers.boundedElastic());
     }
     
     @Override
     public Mono<Void> setAudioSource(String sourceId) {
         return Mono.fromRunnable(() -> {
-            AudioSource source = availableSources.get(sourceId);
-            if (source == null) {
-                throw new IllegalArgumentException("Audio source not found: " + sourceId);
-            }
+            AudioSource source = deviceRegistry.find(sourceId)
+                .or(() -> deviceRegistry.refresh().find(sourceId))
+                .orElseThrow(() -> new IllegalArgumentException("Audio source not found: " + sourceId));
             
             // If currently capturing, stop and restart with new source
             boolean wasCapturing = isCapturing.get();
@@ -210,39 +308,88 @@ public class DefaultAudioCaptureService implements AudioCaptureService {
         return noiseReductionEnabled;
     }
     
+    /**
+     * Gets the capture queue counters, including frames dropped on overflow.
+     * 
+     * @return capture queue statistics
+     */
+    public AudioChunkRing.Stats getCaptureQueueStats() {
+        return chunkRing.getStats();
+    }
+    
+    /**
+     * Gets the buffer pool of the current or last capture.
+     * 
+     * @return buffer pool, or null if direct buffers are disabled or capture never started
+     */
+    public AudioBufferPool getBufferPool() {
+        return bufferPool;
+    }
+    
+    /**
+     * Gets the capture statistics of a device.
+     * 
+     * @param device source identifier, or "default" for the default device
+     * @return capture statistics, or null if the device was never captured
+     */
+    public CaptureHealth getCaptureHealth(String device) {
+        return captureHealth.get(device);
+    }
+    
+    private static int bytesFor(AudioFormat format, int millis) {
+        return Math.max(1, (int) (format.getSampleRate() * millis / 1000f)) * Math.max(1, format.getFrameSize());
+    }
+    
     /**
      * Starts the audio capture thread.
      */
-    private void startCaptureThread(TargetDataLine line, AudioFormat format) {
+    private void startCaptureThread(TargetDataLine line, AudioFormat format, CaptureHealth health) {
         captureThread = new Thread(() -> {
-            var bufferSize = (int) (format.getSampleRate() * format.getChannels() * 
-                (format.getSampleSizeInBits() / 8) * 0.1); // 100ms buffer
+            var bufferSize = bytesFor(format, readMillis);
             var buffer = new byte[bufferSize];
+            var pool = useDirectBuffers ? new AudioBufferPool(bufferCount, bufferSize, true) : null;
+            bufferPool = pool;
+            var frameSize = Math.max(1, format.getFrameSize());
+            var sampleRate = format.getSampleRate();
+            var startMillis = System.currentTimeMillis();
+            var capturedFrames = 0L;
+            health.begin(sampleRate, line.getBufferSize());
             
             while (isCapturing.get() && !Thread.currentThread().isInterrupted()) {
                 try {
+                    if (health.recordFill(line.available(), line.getBufferSize())) {
+                        growLineBuffer(line, format);
+                    }
                     var bytesRead = line.read(buffer, 0, buffer.length);
+                    var captureNanos = System.nanoTime();
                     if (bytesRead > 0) {
-                        var audioData = new byte[bytesRead];
-                        System.arraycopy(buffer, 0, audioData, 0, bytesRead);
+                        // Skip the sample clock over audio the line dropped
+                        capturedFrames += health.recordRead(captureNanos, bytesRead / frameSize, line.available() / frameSize);
+                        
+                        var lease = pool != null
+                            ? pool.acquire(buffer, bytesRead)
+                            : AudioBufferLease.wrap(Arrays.copyOf(buffer, bytesRead));
                         
                         // Create audio chunk
-                        var chunk = new AudioChunk(
-                            audioData,
+                        var chunk = new PooledAudioChunk(
+                            lease,
                             format,
-                            Duration.ofMillis((long) (bytesRead * 1000.0 / 
-                                (format.getSampleRate() * format.getChannels() * format.getSampleSizeInBits() / 8))),
-                            System.currentTimeMillis(),
-                            calculateVolumeLevel(audioData, format)
+                            Duration.ofNanos((long) (bytesRead / frameSize * 1_000_000_000.0 / sampleRate)),
+                            startMillis + (long) (capturedFrames * 1000.0 / sampleRate),
+                            calculateVolumeLevel(buffer, bytesRead, format),
+                            capturedFrames,
+                            captureNanos
                         );
+                        capturedFrames += bytesRead / frameSize;
                         
-                        // Emit to stream
-                        audioSink.tryEmitNext(chunk);
+                        // Hand off to subscribers without waiting on them
+                        chunkRing.offer(chunk);
+                        dispatcher.signal();
                     }
                 } catch (Exception e) {
                     if (isCapturing.get()) {
                         logger.error("Error in audio capture thread", e);
-                        audioSink.tryEmitError(e);
+                        dispatcher.terminate(e);
                     }
                     break;
                 }
@@ -253,10 +400,186 @@ public class DefaultAudioCaptureService implements AudioCaptureService {
         captureThread.start();
     }
     
+    /**
+     * Reopens the line with twice its buffer, up to the configured maximum. The audio
+     * buffered in the line is lost and shows up as a gap on the next read.
+     */
+    private void growLineBuffer(TargetDataLine line, AudioFormat format) throws LineUnavailableException {
+        var current = line.getBufferSize();
+        var target = Math.min(bytesFor(format, maxLineBufferMillis), 2 * current);
+        if (target <= current) {
+            return;
+        }
+        synchronized (lineLock) {
+            // stopCapture clears the flag before taking the lock, so a stopped line is never reopened
+            if (!isCapturing.get() || targetLine != line) {
+                return;
+            }
+            logger.warn("Capture buffer overrun on {}; growing line buffer from {} to {} bytes",
+                currentSource != null ? currentSource.id() : "default", current, target);
+            line.stop();
+            line.close();
+            line.open(format, target);
+            line.start();
+        }
+    }
+    
+    /**
+     * Delivers queued chunks to all subscribers on a single worker.
+     * Each chunk taken from the capture ring is fanned out to a bounded queue per
+     * subscriber, which gets its own reference, and each queue is drained as its
+     * subscriber requests more. A slow subscriber therefore only drops its own oldest
+     * frames and never holds back the others.
+     */
+    private final class ChunkDispatcher {
+        
+        private final CopyOnWriteArrayList<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final Scheduler.Worker worker = Schedulers.boundedElastic().createWorker();
+        private final AtomicInteger wip = new AtomicInteger();
+        
+        private void attach(FluxSink<PooledAudioChunk> sink) {
+            var subscriber = new Subscriber(sink);
+            subscribers.add(subscriber);
+            sink.onRequest(n -> signal());
+            sink.onDispose(() -> {
+                subscriber.disposed = true;
+                signal();
+            });
+        }
+        
+        private void signal() {
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(this::drain);
+            }
+        }
+        
+        /**
+         * Completes or fails the current subscribers once each has received the chunks still
+         * in the capture ring and its own queue. Subscribers attached afterwards belong to the
+         * next capture.
+         */
+        private void terminate(Throwable cause) {
+            for (var subscriber : subscribers) {
+                if (!subscriber.stopRequested) {
+                    subscriber.error = cause;
+                    subscriber.stopRequested = true;
+                }
+            }
+            signal();
+        }
+        
+        private void drain() {
+            var missed = 1;
+            do {
+                // Subscribers stopped before this pass still get every chunk the ring holds now
+                for (var subscriber : subscribers) {
+                    subscriber.lastPass = subscriber.stopRequested;
+                }
+                
+                // Fan out only while someone listens; otherwise chunks wait in the capture ring
+                PooledAudioChunk chunk;
+                while (hasOpenSubscriber() && (chunk = chunkRing.poll()) != null) {
+                    for (var subscriber : subscribers) {
+                        if (!subscriber.disposed && !subscriber.terminated) {
+                            subscriber.queue.offer(chunk.retain());
+                        }
+                    }
+                    pipelineLatency.record(PipelineLatency.Stage.DELIVERED, chunk.captureNanos());
+                    chunk.release();
+                }
+                
+                for (var subscriber : subscribers) {
+                    subscriber.terminated |= subscriber.lastPass;
+                    subscriber.drain();
+                }
+                
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+        
+        private boolean hasOpenSubscriber() {
+            for (var subscriber : subscribers) {
+                if (!subscriber.disposed && !subscriber.terminated) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * One subscriber and its queue, touched only by the dispatcher worker.
+         */
+        private final class Subscriber {
+            
+            private final FluxSink<PooledAudioChunk> sink;
+            private final AudioChunkRing<PooledAudioChunk> queue;
+            private volatile boolean disposed;
+            private volatile boolean stopRequested;
+            private volatile Throwable error;
+            private boolean lastPass;
+            private boolean terminated;
+            
+            private Subscriber(FluxSink<PooledAudioChunk> sink) {
+                this.sink = sink;
+                // The dispatcher must not wait on a subscriber, so blocking degrades to dropping
+                var policy = chunkRing.getPolicy() == AudioChunkRing.OverflowPolicy.BLOCK
+                    ? AudioChunkRing.OverflowPolicy.DROP_OLDEST
+                    : chunkRing.getPolicy();
+                this.queue = new AudioChunkRing<>(chunkRing.capacity(), policy, SILENT_VOLUME_LEVEL, 0);
+            }
+            
+            private void drain() {
+                if (disposed) {
+                    close();
+                    return;
+                }
+                while (sink.requestedFromDownstream() > 0) {
+                    var chunk = queue.poll();
+                    if (chunk == null) {
+                        break;
+                    }
+                    sink.next(chunk);
+                }
+                
+                if (terminated && (queue.size() == 0 || error != null)) {
+                    close();
+                    if (error != null) {
+                        sink.error(error);
+                    } else {
+                        sink.complete();
+                    }
+                }
+            }
+            
+            private void close() {
+                subscribers.remove(this);
+                queue.clear();
+                var dropped = queue.getStats().droppedFrames();
+                if (dropped > 0) {
+                    logger.warn("Dropped {} captured frames for a slow subscriber", dropped);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Opens the line to capture from; tests substitute a scripted line.
+     */
+    TargetDataLine openLine(String sourceId, AudioFormat format) throws LineUnavailableException {
+        return getTargetDataLine(sourceId, format);
+    }
+    
+    /**
+     * Gets the number of attached stream subscribers that have not completed.
+     */
+    int getSubscriberCount() {
+        return dispatcher.subscribers.size();
+    }
+    
     /**
      * Gets a TargetDataLine for the specified source.
      */
-    private TargetDataLine getTargetDataLine(String sourceId, AudioFormat format) throws LineUnavailableException {
+    static TargetDataLine getTargetDataLine(String sourceId, AudioFormat format) throws LineUnavailableException {
         Mixer.Info mixerInfo = null;
         
         if (sourceId != null) {
@@ -292,68 +615,28 @@ public class DefaultAudioCaptureService implements AudioCaptureService {
     }
     
     /**
-     * Refreshes the list of available audio sources.
+     * Calculates the volume level of the first {@code length} bytes of audio data.
      */
-    private void refreshAvailableSources() {
-        availableSources.clear();
-        
-        var mixers = AudioSystem.getMixerInfo();
-        for (int i = 0; i < mixers.length; i++) {
-            var mixerInfo = mixers[i];
-            var mixer = AudioSystem.getMixer(mixerInfo);
-            
-            var targetLines = mixer.getTargetLineInfo();
-            for (var lineInfo : targetLines) {
-                if (lineInfo.getLineClass().equals(TargetDataLine.class)) {
-                    var source = new AudioSource(
-                        mixerInfo.getName(),
-                        mixerInfo.getName(),
-                        mixerInfo.getDescription(),
-                        AudioSource.AudioSourceType.MICROPHONE,
-                        i == 0, // First mixer is default
-                        true
-                    );
-                    
-                    availableSources.put(source.id(), source);
-                    logger.debug("Found audio source: {}", source.name());
-                }
-            }
+    double calculateVolumeLevel(byte[] audioData, int length, AudioFormat format) {
+        var bytesPerSample = format.getSampleSizeInBits() / 8;
+        var samples = length / bytesPerSample;
+        if (samples == 0) {
+            return 0.0;
         }
         
-        logger.info("Found {} audio sources", availableSources.size());
-    }
-    
-    /**
-     * Gets the default audio source.
-     */
-    private AudioSource getDefaultSource() {
-        refreshAvailableSources();
-        return availableSources.values().stream()
-            .filter(AudioSource::isDefault)
-            .findFirst()
-            .orElse(availableSources.values().stream().findFirst().orElse(null));
-    }
-    
-    /**
-     * Calculates the volume level of audio data.
-     */
-    private double calculateVolumeLevel(byte[] audioData, AudioFormat format) {
-        var sum = 0.0;
-        var samples = audioData.length / (format.getSampleSizeInBits() / 8);
-        
+        var energy = 0.0;
+        var fullScale = 1.0;
         if (format.getSampleSizeInBits() == 16) {
-            for (int i = 0; i < audioData.length - 1; i += 2) {
-                var sample = (short) ((audioData[i + 1] << 8) | (audioData[i] & 0xff));
-                sum += (sample / 32768.0) * (sample / 32768.0);
-            }
+            energy = sampleKernels.pcm16Energy(audioData, samples);
+            fullScale = 32768.0;
         } else if (format.getSampleSizeInBits() == 8) {
-            for (byte sample : audioData) {
-                var normalized = sample / 128.0;
-                sum += normalized * normalized;
+            for (int i = 0; i < length; i++) {
+                energy += audioData[i] * audioData[i];
             }
+            fullScale = 128.0;
         }
         
-        var rms = Math.sqrt(sum / samples);
+        var rms = Math.sqrt(energy / samples) / fullScale;
         return Math.min(1.0, rms * 10); // Scale for better visibility
     }
 }
\ No newline at end of file
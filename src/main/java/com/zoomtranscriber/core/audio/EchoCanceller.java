@@ -0,0 +1,317 @@
+package com.zoomtranscriber.core.audio;
+
+import java.util.Arrays;
+
+/**
+ * Acoustic echo canceller built on a partitioned-block frequency-domain adaptive filter
+ * (PBFDAF, also called MDF).
+ * <p>
+ * The far-end signal, usually the captured system or playback audio, is queued with
+ * {@link #offerReference}. Every microphone sample passed to {@link #process} is paired
+ * with the next queued reference sample, so both streams must share a sample clock.
+ * While the queue is empty the microphone is paired with silence. A constant offset
+ * between the streams is absorbed by the filter as long as it fits in the tail.
+ * <p>
+ * The filter models {@code tailMillis} of echo path as {@code P} partitions of one
+ * block each. It is updated with a per-bin normalised step, and each block applies the
+ * gradient constraint to one partition in turn. A Geigel detector freezes adaptation
+ * while the near end talks over the far end.
+ * <p>
+ * Each block costs five FFTs of twice the block size plus {@code O(P * block)}
+ * multiply-adds, whatever the signal. Output lags input by one block (about 8 ms).
+ * Buffers are allocated by the constructor. Instances are not thread-safe.
+ */
+public final class EchoCanceller {
+
+    private static final double BLOCK_SECONDS = 0.008;
+    private static final int MIN_BLOCK_SIZE = 32;
+    private static final float STEP_SIZE = 0.5f;
+    private static final float POWER_SMOOTHING = 0.9f;
+    private static final float GEIGEL_THRESHOLD = 0.5f; // Assumes at least 6 dB echo path loss
+    private static final float SILENT_REFERENCE = 1e-4f;
+    private static final float MIN_POWER = 1e-6f;
+    private static final float ERLE_SMOOTHING = 0.95f;
+
+    private final Fft fft;
+    private final int blockSize;
+    private final int fftSize;
+    private final int bins;
+    private final int partitions;
+
+    private final float[] referenceQueue;
+    private final int queueMask;
+    private long queueWrite;
+    private long queueRead;
+
+    private final float[] nearBlock;
+    private final float[] outputBlock;
+    private final float[] referenceWindow;
+    private final float[] referencePeaks;
+    private final float[][] spectraRe;
+    private final float[][] spectraIm;
+    private final float[][] weightsRe;
+    private final float[][] weightsIm;
+    private final float[] power;
+    private final float[] re;
+    private final float[] im;
+    private final float[] errorRe;
+    private final float[] errorIm;
+    private int newest;
+    private int constrainNext;
+    private int filled;
+    private double nearPower;
+    private double errorPower;
+    private long adaptedBlocks;
+
+    /**
+     * Creates an echo canceller for a mono stream.
+     *
+     * @param sampleRate samples per second of both streams
+     * @param tailMillis longest echo path to model
+     */
+    public EchoCanceller(float sampleRate, int tailMillis) {
+        if (sampleRate <= 0 || tailMillis <= 0) {
+            throw new IllegalArgumentException("Sample rate and echo tail must be positive");
+        }
+        var target = Math.max(MIN_BLOCK_SIZE, (int) Math.ceil(sampleRate * BLOCK_SECONDS));
+        this.blockSize = Integer.highestOneBit(target - 1) << 1;
+        this.fftSize = blockSize * 2;
+        this.bins = blockSize + 1;
+        this.partitions = Math.max(1, (int) Math.ceil(sampleRate * tailMillis / 1000.0 / blockSize));
+        this.fft = new Fft(fftSize);
+
+        // One second of reference, enough to absorb scheduling jitter between the streams
+        var queueSize = Integer.highestOneBit(Math.max(fftSize, (int) sampleRate) - 1) << 1;
+        this.referenceQueue = new float[queueSize];
+        this.queueMask = queueSize - 1;
+
+        this.nearBlock = new float[blockSize];
+        this.outputBlock = new float[blockSize];
+        this.referenceWindow = new float[fftSize];
+        this.referencePeaks = new float[partitions];
+        this.spectraRe = new float[partitions][bins];
+        this.spectraIm = new float[partitions][bins];
+        this.weightsRe = new float[partitions][bins];
+        this.weightsIm = new float[partitions][bins];
+        this.power = new float[bins];
+        this.re = new float[fftSize];
+        this.im = new float[fftSize];
+        this.errorRe = new float[bins];
+        this.errorIm = new float[bins];
+    }
+
+    /**
+     * Queues far-end reference samples.
+     *
+     * @param samples reference samples in the range -1.0 to 1.0
+     * @param offset index of the first sample
+     * @param count number of samples
+     */
+    public void offerReference(float[] samples, int offset, int count) {
+        for (int i = 0; i < count; i++) {
+            referenceQueue[(int) (queueWrite++ & queueMask)] = samples[offset + i];
+        }
+        if (queueWrite - queueRead > referenceQueue.length) {
+            // Reference has drifted more than the queue ahead of the microphone
+            queueRead = queueWrite - referenceQueue.length;
+        }
+    }
+
+    /**
+     * Removes the echo of the queued reference from microphone samples in place.
+     *
+     * @param samples microphone samples; overwritten with output delayed by one block
+     * @param offset index of the first sample
+     * @param count number of samples
+     */
+    public void process(float[] samples, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            nearBlock[filled] = samples[i];
+            referenceWindow[blockSize + filled] = queueRead < queueWrite
+                ? referenceQueue[(int) (queueRead++ & queueMask)]
+                : 0.0f;
+            samples[i] = outputBlock[filled];
+            if (++filled == blockSize) {
+                processBlock();
+                filled = 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the block length, which is also the processing latency.
+     *
+     * @return block size in samples
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Gets the number of filter partitions.
+     *
+     * @return partition count
+     */
+    public int getPartitionCount() {
+        return partitions;
+    }
+
+    /**
+     * Gets the smoothed echo return loss enhancement over blocks where the filter adapted.
+     *
+     * @return ERLE in dB, or 0 before the first adaptation
+     */
+    public double getErleDb() {
+        if (adaptedBlocks == 0 || errorPower <= 0) {
+            return 0.0;
+        }
+        return 10 * Math.log10(nearPower / errorPower);
+    }
+
+    /**
+     * Clears the filter, the reference queue and the signal history.
+     */
+    public void reset() {
+        queueWrite = 0;
+        queueRead = 0;
+        Arrays.fill(referenceWindow, 0.0f);
+        Arrays.fill(referencePeaks, 0.0f);
+        Arrays.fill(outputBlock, 0.0f);
+        Arrays.fill(power, 0.0f);
+        for (int p = 0; p < partitions; p++) {
+            Arrays.fill(spectraRe[p], 0.0f);
+            Arrays.fill(spectraIm[p], 0.0f);
+            Arrays.fill(weightsRe[p], 0.0f);
+            Arrays.fill(weightsIm[p], 0.0f);
+        }
+        filled = 0;
+        nearPower = 0.0;
+        errorPower = 0.0;
+        adaptedBlocks = 0;
+    }
+
+    private void processBlock() {
+        // Spectrum of the last two reference blocks becomes the newest partition
+        newest = newest == 0 ? partitions - 1 : newest - 1;
+        System.arraycopy(referenceWindow, 0, re, 0, fftSize);
+        Arrays.fill(im, 0.0f);
+        fft.forward(re, im);
+        var newestRe = spectraRe[newest];
+        var newestIm = spectraIm[newest];
+        for (int k = 0; k < bins; k++) {
+            newestRe[k] = re[k];
+            newestIm[k] = im[k];
+            power[k] = POWER_SMOOTHING * power[k] + (1 - POWER_SMOOTHING) * (re[k] * re[k] + im[k] * im[k]);
+        }
+
+        var peak = 0.0f;
+        for (int i = blockSize; i < fftSize; i++) {
+            peak = Math.max(peak, Math.abs(referenceWindow[i]));
+        }
+        referencePeaks[newest] = peak;
+        System.arraycopy(referenceWindow, blockSize, referenceWindow, 0, blockSize);
+
+        // Echo estimate: sum of partition spectra times weights, last block of the inverse
+        Arrays.fill(re, 0.0f);
+        Arrays.fill(im, 0.0f);
+        for (int p = 0; p < partitions; p++) {
+            var xRe = spectraRe[(newest + p) % partitions];
+            var xIm = spectraIm[(newest + p) % partitions];
+            var wRe = weightsRe[p];
+            var wIm = weightsIm[p];
+            for (int k = 0; k < bins; k++) {
+                re[k] += wRe[k] * xRe[k] - wIm[k] * xIm[k];
+                im[k] += wRe[k] * xIm[k] + wIm[k] * xRe[k];
+            }
+        }
+        mirror();
+        fft.inverse(re, im);
+
+        var nearPeak = 0.0f;
+        var blockNear = 0.0;
+        var blockError = 0.0;
+        for (int i = 0; i < blockSize; i++) {
+            var near = nearBlock[i];
+            var error = near - re[blockSize + i];
+            outputBlock[i] = error;
+            nearPeak = Math.max(nearPeak, Math.abs(near));
+            blockNear += near * near;
+            blockError += error * error;
+        }
+
+        var farPeak = 0.0f;
+        for (var value : referencePeaks) {
+            farPeak = Math.max(farPeak, value);
+        }
+        var doubleTalk = nearPeak > GEIGEL_THRESHOLD * farPeak;
+        if (farPeak < SILENT_REFERENCE || doubleTalk) {
+            return;
+        }
+
+        nearPower = ERLE_SMOOTHING * nearPower + (1 - ERLE_SMOOTHING) * blockNear;
+        errorPower = ERLE_SMOOTHING * errorPower + (1 - ERLE_SMOOTHING) * blockError;
+        adaptedBlocks++;
+        adapt();
+    }
+
+    private void adapt() {
+        // Error spectrum with the first half zero-padded
+        Arrays.fill(re, 0, blockSize, 0.0f);
+        for (int i = 0; i < blockSize; i++) {
+            re[blockSize + i] = outputBlock[i];
+        }
+        Arrays.fill(im, 0.0f);
+        fft.forward(re, im);
+
+        var floor = MIN_POWER * fftSize;
+        for (int k = 0; k < bins; k++) {
+            var step = STEP_SIZE / (partitions * power[k] + floor);
+            errorRe[k] = re[k] * step;
+            errorIm[k] = im[k] * step;
+        }
+
+        for (int p = 0; p < partitions; p++) {
+            var xRe = spectraRe[(newest + p) % partitions];
+            var xIm = spectraIm[(newest + p) % partitions];
+            var wRe = weightsRe[p];
+            var wIm = weightsIm[p];
+            for (int k = 0; k < bins; k++) {
+                // W += conj(X) * E * step
+                wRe[k] += xRe[k] * errorRe[k] + xIm[k] * errorIm[k];
+                wIm[k] += xRe[k] * errorIm[k] - xIm[k] * errorRe[k];
+            }
+        }
+
+        constrain(constrainNext);
+        constrainNext = (constrainNext + 1) % partitions;
+    }
+
+    /**
+     * Zeroes the second half of a partition's impulse response so it stays a linear convolution.
+     */
+    private void constrain(int partition) {
+        var wRe = weightsRe[partition];
+        var wIm = weightsIm[partition];
+        System.arraycopy(wRe, 0, re, 0, bins);
+        System.arraycopy(wIm, 0, im, 0, bins);
+        mirror();
+        fft.inverse(re, im);
+        Arrays.fill(re, blockSize, fftSize, 0.0f);
+        Arrays.fill(im, 0.0f);
+        fft.forward(re, im);
+        System.arraycopy(re, 0, wRe, 0, bins);
+        System.arraycopy(im, 0, wIm, 0, bins);
+    }
+
+    /**
+     * Fills the upper half of the spectrum from the lower half by conjugate symmetry.
+     */
+    private void mirror() {
+        for (int k = 1; k < blockSize; k++) {
+            re[fftSize - k] = re[k];
+            im[fftSize - k] = -im[k];
+        }
+        im[0] = 0.0f;
+        im[blockSize] = 0.0f;
+    }
+}
@@ -0,0 +1,105 @@
+package com.zoomtranscriber.core.audio;
+
+/**
+ * In-place iterative radix-2 complex FFT with precomputed twiddle and bit-reversal tables.
+ * Instances are immutable and may be shared between threads; the arrays passed to
+ * {@link #forward} and {@link #inverse} are owned by the caller.
+ */
+public final class Fft {
+
+    private final int size;
+    private final float[] cos;
+    private final float[] sin;
+    private final int[] bitReverse;
+
+    /**
+     * Creates an FFT of the given size.
+     *
+     * @param size transform length; must be a power of two
+     */
+    public Fft(int size) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("FFT size must be a power of two: " + size);
+        }
+        this.size = size;
+        this.cos = new float[size / 2];
+        this.sin = new float[size / 2];
+        for (int i = 0; i < size / 2; i++) {
+            var angle = -2 * Math.PI * i / size;
+            cos[i] = (float) Math.cos(angle);
+            sin[i] = (float) Math.sin(angle);
+        }
+
+        this.bitReverse = new int[size];
+        var bits = Integer.numberOfTrailingZeros(size);
+        for (int i = 0; i < size; i++) {
+            bitReverse[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+    }
+
+    /**
+     * Gets the transform length.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Computes the forward transform in place.
+     *
+     * @param re real parts, length at least {@link #size()}
+     * @param im imaginary parts, length at least {@link #size()}
+     */
+    public void forward(float[] re, float[] im) {
+        transform(re, im, false);
+    }
+
+    /**
+     * Computes the inverse transform in place, including the 1/N scaling.
+     *
+     * @param re real parts, length at least {@link #size()}
+     * @param im imaginary parts, length at least {@link #size()}
+     */
+    public void inverse(float[] re, float[] im) {
+        transform(re, im, true);
+        var scale = 1.0f / size;
+        for (int i = 0; i < size; i++) {
+            re[i] *= scale;
+            im[i] *= scale;
+        }
+    }
+
+    private void transform(float[] re, float[] im, boolean inverse) {
+        for (int i = 0; i < size; i++) {
+            var j = bitReverse[i];
+            if (j > i) {
+                var t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+
+        for (int half = 1; half < size; half <<= 1) {
+            var step = size / (half << 1);
+            for (int start = 0; start < size; start += half << 1) {
+                for (int k = 0; k < half; k++) {
+                    var wr = cos[k * step];
+                    var wi = inverse ? -sin[k * step] : sin[k * step];
+                    var a = start + k;
+                    var b = a + half;
+                    var tr = wr * re[b] - wi * im[b];
+                    var ti = wr * im[b] + wi * re[b];
+                    re[b] = re[a] - tr;
+                    im[b] = im[a] - ti;
+                    re[a] += tr;
+                    im[a] += ti;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.zoomtranscriber.core.audio;
+
+/**
+ * Removes far-end echo from the microphone channels of multi-source frames before they
+ * are mixed.
+ * <p>
+ * Channels captured from system or application audio are summed into the reference, and
+ * every microphone channel has its own {@link EchoCanceller}. Frames share one sample
+ * clock, so each frame's reference is queued just before its microphone audio is
+ * processed. Cancelled channels replace the originals in the returned frame and their
+ * levels are recomputed, so speaker attribution no longer credits far-end speech to the
+ * microphone. Microphone channels lag the others by one canceller block.
+ * <p>
+ * Instances hold the filter state of one capture session and are not thread-safe.
+ */
+final class FrameEchoCanceller {
+
+    private final boolean[] nearEnd;
+    private final EchoCanceller[] cancellers;
+    private float[] reference = new float[0];
+    private float[] samples = new float[0];
+
+    /**
+     * Creates a canceller for frames with the given channel roles.
+     *
+     * @param sampleRate sample rate of every channel
+     * @param tailMillis longest echo path to cancel
+     * @param nearEnd per channel, true for microphones and false for far-end sources
+     */
+    FrameEchoCanceller(float sampleRate, int tailMillis, boolean[] nearEnd) {
+        this.nearEnd = nearEnd.clone();
+        this.cancellers = new EchoCanceller[nearEnd.length];
+        var hasFarEnd = false;
+        for (var near : nearEnd) {
+            hasFarEnd |= !near;
+        }
+        for (int c = 0; c < nearEnd.length && hasFarEnd; c++) {
+            if (nearEnd[c]) {
+                cancellers[c] = new EchoCanceller(sampleRate, tailMillis);
+            }
+        }
+    }
+
+    /**
+     * Cancels the far-end channels' echo from the microphone channels of a frame.
+     *
+     * @param frame time-aligned frame in the channel order given at construction
+     * @return frame with cancelled microphone channels, or the same frame if it has no
+     *         microphone or no far-end channel
+     */
+    MultiSourceMixer.Frame process(MultiSourceMixer.Frame frame) {
+        var channels = frame.format().getChannels();
+        if (channels != cancellers.length || !hasCancellers()) {
+            return frame;
+        }
+
+        var count = frame.getSamples();
+        var data = frame.data();
+        if (reference.length < count) {
+            reference = new float[count];
+            samples = new float[count];
+        }
+        for (int i = 0; i < count; i++) {
+            var sum = 0.0f;
+            for (int c = 0; c < channels; c++) {
+                if (!nearEnd[c]) {
+                    sum += sample(data, (i * channels + c) * 2);
+                }
+            }
+            reference[i] = Math.max(-1.0f, Math.min(1.0f, sum));
+        }
+
+        var output = data.clone();
+        var levels = frame.channelLevels().clone();
+        for (int c = 0; c < channels; c++) {
+            if (cancellers[c] == null) {
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                samples[i] = sample(data, (i * channels + c) * 2);
+            }
+            cancellers[c].offerReference(reference, 0, count);
+            cancellers[c].process(samples, 0, count);
+
+            var energy = 0.0;
+            for (int i = 0, o = c * 2; i < count; i++, o += channels * 2) {
+                var value = (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(samples[i] * 32768.0f)));
+                output[o] = (byte) value;
+                output[o + 1] = (byte) (value >> 8);
+                energy += (double) value * value;
+            }
+            levels[c] = count > 0 ? Math.sqrt(energy / count) / 32768.0 : 0.0;
+        }
+        return new MultiSourceMixer.Frame(frame.startSample(), frame.format(), frame.channelLabels(), output, levels,
+            frame.captureNanos());
+    }
+
+    /**
+     * Gets the echo canceller of a channel.
+     *
+     * @param channel channel index
+     * @return echo canceller, or null if the channel is not a cancelled microphone
+     */
+    EchoCanceller getEchoCanceller(int channel) {
+        return cancellers[channel];
+    }
+
+    private boolean hasCancellers() {
+        for (var canceller : cancellers) {
+            if (canceller != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static float sample(byte[] data, int offset) {
+        return (short) ((data[offset] & 0xFF) | (data[offset + 1] << 8)) / 32768.0f;
+    }
+}
@@ -0,0 +1,142 @@
+package com.zoomtranscriber.core.audio;
+
+/**
+ * IMA-ADPCM block codec for mono 16-bit PCM, compatible with WAV format tag 0x0011.
+ * <p>
+ * Each block starts with a 4-byte header (first sample and step index) followed by
+ * 4-bit codes, two per byte with the low nibble first. Blocks decode independently,
+ * so any block can be located from a sample position in constant time. The encoder
+ * carries its step index across blocks and is therefore not thread-safe; decoding is
+ * stateless.
+ */
+public final class ImaAdpcmCodec {
+
+    public static final int BLOCK_BYTES = 1024;
+    public static final int SAMPLES_PER_BLOCK = (BLOCK_BYTES - 4) * 2 + 1;
+
+    private static final int[] INDEX_TABLE = {
+        -1, -1, -1, -1, 2, 4, 6, 8,
+        -1, -1, -1, -1, 2, 4, 6, 8
+    };
+
+    private static final int[] STEP_TABLE = {
+        7, 8, 9, 10, 11, 12, 13, 14, 16, 17, 19, 21, 23, 25, 28, 31, 34, 37, 41, 45,
+        50, 55, 60, 66, 73, 80, 88, 97, 107, 118, 130, 143, 157, 173, 190, 209, 230,
+        253, 279, 307, 337, 371, 408, 449, 494, 544, 598, 658, 724, 796, 876, 963,
+        1060, 1166, 1282, 1411, 1552, 1707, 1878, 2066, 2272, 2499, 2749, 3024, 3327,
+        3660, 4026, 4428, 4871, 5358, 5894, 6484, 7132, 7845, 8630, 9493, 10442, 11487,
+        12635, 13899, 15289, 16818, 18500, 20350, 22385, 24623, 27086, 29794, 32767
+    };
+
+    private int stepIndex;
+
+    /**
+     * Encodes one block. Samples beyond {@code count} are encoded as repeats of the
+     * last sample.
+     *
+     * @param samples source samples
+     * @param offset index of the first sample
+     * @param count number of samples, at most {@link #SAMPLES_PER_BLOCK}
+     * @param block destination of {@link #BLOCK_BYTES} bytes
+     * @param blockOffset position of the block in the destination
+     */
+    public void encodeBlock(short[] samples, int offset, int count, byte[] block, int blockOffset) {
+        if (count <= 0 || count > SAMPLES_PER_BLOCK) {
+            throw new IllegalArgumentException("Invalid block sample count: " + count);
+        }
+
+        var predictor = (int) samples[offset];
+        block[blockOffset] = (byte) predictor;
+        block[blockOffset + 1] = (byte) (predictor >> 8);
+        block[blockOffset + 2] = (byte) stepIndex;
+        block[blockOffset + 3] = 0;
+
+        var last = samples[offset + count - 1];
+        var index = stepIndex;
+        for (int i = 1; i < SAMPLES_PER_BLOCK; i++) {
+            var sample = i < count ? samples[offset + i] : last;
+            var step = STEP_TABLE[index];
+            var diff = sample - predictor;
+            var code = 0;
+            if (diff < 0) {
+                code = 8;
+                diff = -diff;
+            }
+
+            var delta = step >> 3;
+            if (diff >= step) {
+                code |= 4;
+                diff -= step;
+                delta += step;
+            }
+            step >>= 1;
+            if (diff >= step) {
+                code |= 2;
+                diff -= step;
+                delta += step;
+            }
+            step >>= 1;
+            if (diff >= step) {
+                code |= 1;
+                delta += step;
+            }
+
+            predictor = clamp(predictor + ((code & 8) != 0 ? -delta : delta));
+            index = Math.max(0, Math.min(88, index + INDEX_TABLE[code]));
+
+            var position = blockOffset + 4 + (i - 1) / 2;
+            if ((i & 1) == 1) {
+                block[position] = (byte) code;
+            } else {
+                block[position] |= (byte) (code << 4);
+            }
+        }
+        stepIndex = index;
+    }
+
+    /**
+     * Decodes one block into {@link #SAMPLES_PER_BLOCK} samples.
+     *
+     * @param block source bytes
+     * @param blockOffset position of the block in the source
+     * @param samples destination
+     * @param offset index of the first decoded sample
+     */
+    public static void decodeBlock(byte[] block, int blockOffset, short[] samples, int offset) {
+        var predictor = (int) (short) ((block[blockOffset + 1] << 8) | (block[blockOffset] & 0xFF));
+        var index = Math.max(0, Math.min(88, block[blockOffset + 2] & 0xFF));
+        samples[offset] = (short) predictor;
+
+        for (int i = 1; i < SAMPLES_PER_BLOCK; i++) {
+            var packed = block[blockOffset + 4 + (i - 1) / 2];
+            var code = (i & 1) == 1 ? packed & 0x0F : (packed >> 4) & 0x0F;
+            var step = STEP_TABLE[index];
+
+            var delta = step >> 3;
+            if ((code & 4) != 0) {
+                delta += step;
+            }
+            if ((code & 2) != 0) {
+                delta += step >> 1;
+            }
+            if ((code & 1) != 0) {
+                delta += step >> 2;
+            }
+
+            predictor = clamp(predictor + ((code & 8) != 0 ? -delta : delta));
+            index = Math.max(0, Math.min(88, index + INDEX_TABLE[code]));
+            samples[offset + i] = (short) predictor;
+        }
+    }
+
+    /**
+     * Resets the encoder's step index.
+     */
+    public void reset() {
+        stepIndex = 0;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value));
+    }
+}
@@ -0,0 +1,228 @@
+package com.zoomtranscriber.core.audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes one PCM WAV file through a memory-mapped, preallocated region.
+ * <p>
+ * The file is sized for the header plus the full data capacity up front, so appends
+ * are plain memory copies with no system calls. The RIFF and data chunk sizes are
+ * patched on {@link #close()}, and the file is unmapped and truncated to its real length;
+ * until then the header carries the size written so far as of the last {@link #force()}.
+ * If the mapping cannot be released the file keeps its preallocated length, which players
+ * ignore because the header sizes are exact.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class MappedWavWriter implements SegmentWriter {
+
+    public static final int HEADER_BYTES = 44;
+
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            var type = Class.forName("sun.misc.Unsafe");
+            var field = type.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            invokeCleaner = type.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Mappings are then released by the garbage collector
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final int capacity;
+    private boolean closed;
+
+    /**
+     * Creates the file and maps it for writing.
+     *
+     * @param path file to create or overwrite
+     * @param format PCM format of the data
+     * @param dataCapacity maximum number of data bytes
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public MappedWavWriter(Path path, AudioFormat format, int dataCapacity) throws IOException {
+        if (dataCapacity <= 0 || dataCapacity > Integer.MAX_VALUE - HEADER_BYTES) {
+            throw new IllegalArgumentException("Invalid WAV data capacity: " + dataCapacity);
+        }
+        this.path = path;
+        this.capacity = dataCapacity;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + (long) dataCapacity);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        mapped.order(ByteOrder.LITTLE_ENDIAN);
+        writeHeader(mapped, format);
+        mapped.position(HEADER_BYTES);
+    }
+
+    /**
+     * Appends as much of the data as fits.
+     *
+     * @param data source bytes; its position advances by the number written
+     * @return number of bytes written
+     */
+    @Override
+    public int write(ByteBuffer data) {
+        if (closed) {
+            return 0;
+        }
+        var count = Math.min(data.remaining(), mapped.remaining());
+        if (count > 0) {
+            mapped.put(mapped.position(), data, data.position(), count);
+            mapped.position(mapped.position() + count);
+            data.position(data.position() + count);
+        }
+        return count;
+    }
+
+    /**
+     * Appends as much of the data as fits.
+     *
+     * @param data source bytes
+     * @param offset start offset
+     * @param length number of bytes
+     * @return number of bytes written
+     */
+    public int write(byte[] data, int offset, int length) {
+        if (closed) {
+            return 0;
+        }
+        var count = Math.min(length, mapped.remaining());
+        mapped.put(data, offset, count);
+        return count;
+    }
+
+    /**
+     * Updates the header sizes and flushes written data to the storage device.
+     */
+    @Override
+    public void force() {
+        if (!closed) {
+            patchSizes();
+            mapped.force();
+        }
+    }
+
+    /**
+     * Patches the header, flushes, unmaps, and truncates the file to the written length.
+     * The file is only truncated once its mapping is released.
+     *
+     * @throws IOException if truncation fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            patchSizes();
+            mapped.force();
+            if (unmap(mapped)) {
+                channel.truncate(HEADER_BYTES + (long) getDataBytes());
+            }
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Gets the number of data bytes written.
+     *
+     * @return data length
+     */
+    @Override
+    public int getDataBytes() {
+        return mapped.position() - HEADER_BYTES;
+    }
+
+    /**
+     * Gets the remaining data capacity.
+     *
+     * @return free bytes
+     */
+    @Override
+    public int getRemaining() {
+        return mapped.remaining();
+    }
+
+    /**
+     * Gets the maximum number of data bytes.
+     *
+     * @return data capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the file path.
+     *
+     * @return path
+     */
+    @Override
+    public Path getPath() {
+        return path;
+    }
+
+    private static boolean unmap(MappedByteBuffer buffer) {
+        if (INVOKE_CLEANER == null) {
+            return false;
+        }
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, buffer);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    private void patchSizes() {
+        var dataBytes = getDataBytes();
+        mapped.putInt(4, 36 + dataBytes);
+        mapped.putInt(40, dataBytes);
+    }
+
+    private static void writeHeader(ByteBuffer header, AudioFormat format) {
+        var channels = format.getChannels();
+        var sampleRate = Math.round(format.getSampleRate());
+        var bitsPerSample = format.getSampleSizeInBits();
+        var blockAlign = channels * bitsPerSample / 8;
+
+        header.put(0, new byte[]{'R', 'I', 'F', 'F'});
+        header.putInt(4, 36);
+        header.put(8, new byte[]{'W', 'A', 'V', 'E', 'f', 'm', 't', ' '});
+        header.putInt(16, 16);
+        header.putShort(20, (short) 1); // PCM
+        header.putShort(22, (short) channels);
+        header.putInt(24, sampleRate);
+        header.putInt(28, sampleRate * blockAlign);
+        header.putShort(32, (short) blockAlign);
+        header.putShort(34, (short) bitsPerSample);
+        header.put(36, new byte[]{'d', 'a', 't', 'a'});
+        header.putInt(40, 0);
+    }
+}
@@ -0,0 +1,397 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.detection.ZoomDetectionService;
+import com.zoomtranscriber.core.exceptions.AudioException;
+import com.zoomtranscriber.core.storage.MeetingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records meeting audio to WAV segment files.
+ * <p>
+ * Each meeting writes to {@code <recordingDirectory>/<meetingId>-<n>.wav}. A segment holds
+ * at most {@code maxRecordingSizeBytes} or {@code maxRecordingDurationMinutes} of audio,
+ * whichever is smaller; when it fills up the header is patched, the file is closed and
+ * recording continues in the next segment. Audio is queued to a single writer thread,
+ * which does all copying, segment rotation and scheduled flushing, so a slow disk never
+ * holds up the thread that delivers capture chunks. The first segment's path is stored
+ * in {@code MeetingSession.audioFilePath} when the meeting is persisted.
+ * <p>
+ * {@code recordingFormat} selects the segment encoding: {@code wav} writes PCM through
+ * {@link MappedWavWriter}; {@code adpcm} writes mono IMA-ADPCM through
+ * {@link AdpcmWavWriter} at about a quarter of the size, which can be replayed with
+ * {@link AdpcmWavReader}.
+ * <p>
+ * When {@code enableRecording} is set, meetings are recorded automatically from the
+ * pooled capture stream between their started and ended events.
+ */
+@Component
+public class MeetingAudioRecorder implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MeetingAudioRecorder.class);
+    private static final String ADPCM_FORMAT = "adpcm";
+
+    private final ConcurrentHashMap<UUID, Recording> recordings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, Disposable> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService writeExecutor =
+        Executors.newSingleThreadExecutor(Thread.ofPlatform().name("meeting-recorder").daemon().factory());
+    private final AudioConfig audioConfig;
+    private final ObjectProvider<MeetingRepository> meetingRepository;
+    private final ObjectProvider<AudioCaptureService> captureService;
+
+    /**
+     * Creates the recorder and, when recording is enabled, follows meeting events.
+     *
+     * @param audioConfig audio configuration
+     * @param meetingRepository meeting repository, if persistence is available
+     * @param captureService audio capture service, if present
+     * @param detectionService meeting detection service, if present
+     */
+    public MeetingAudioRecorder(AudioConfig audioConfig,
+                                ObjectProvider<MeetingRepository> meetingRepository,
+                                ObjectProvider<AudioCaptureService> captureService,
+                                ObjectProvider<ZoomDetectionService> detectionService) {
+        this.audioConfig = audioConfig;
+        this.meetingRepository = meetingRepository;
+        this.captureService = captureService;
+
+        if (audioConfig.isEnableRecording()) {
+            detectionService.ifAvailable(service -> service.getMeetingEvents()
+                .subscribe(this::onMeetingEvent,
+                    error -> logger.warn("Meeting event stream failed; automatic recording stopped", error)));
+        }
+    }
+
+    /**
+     * Starts recording a meeting.
+     *
+     * @param meetingId meeting identifier
+     * @param format PCM format of the audio that will be appended
+     * @return path of the first segment
+     * @throws AudioException if the segment cannot be created
+     */
+    public Path startRecording(UUID meetingId, AudioFormat format) {
+        if (!isCompressed() && format.getSampleSizeInBits() > 8 && format.isBigEndian()) {
+            throw new IllegalArgumentException("WAV recording requires little-endian PCM: " + format);
+        }
+
+        var recording = recordings.computeIfAbsent(meetingId, id -> new Recording(id, format));
+        var path = recording.firstSegment();
+        linkToMeeting(meetingId, path);
+        logger.info("Recording meeting {} to {}", meetingId, path);
+        return path;
+    }
+
+    /**
+     * Queues audio to be appended to a meeting recording.
+     *
+     * @param meetingId meeting identifier
+     * @param data PCM data in the recording format; it is copied and its position is not changed
+     * @return true if the meeting is being recorded
+     */
+    public boolean append(UUID meetingId, ByteBuffer data) {
+        var recording = recordings.get(meetingId);
+        if (recording == null) {
+            return false;
+        }
+        var copy = ByteBuffer.allocate(data.remaining()).put(data.duplicate()).flip();
+        try {
+            writeExecutor.execute(() -> recording.append(copy));
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Records a pooled audio stream until it completes, releasing every chunk.
+     * Chunks are held until the writer thread has copied them out.
+     *
+     * @param meetingId meeting identifier
+     * @param stream pooled audio chunks in the recording format
+     * @return subscription that can be disposed to stop consuming the stream
+     */
+    public Disposable record(UUID meetingId, Flux<AudioCaptureService.PooledAudioChunk> stream) {
+        return stream.subscribe(
+            chunk -> {
+                var recording = recordings.get(meetingId);
+                if (recording == null) {
+                    chunk.release();
+                    return;
+                }
+                try {
+                    writeExecutor.execute(() -> {
+                        try {
+                            recording.append(chunk.lease().buffer().duplicate());
+                        } finally {
+                            chunk.release();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    chunk.release();
+                }
+            },
+            error -> logger.error("Recording stream failed for meeting: {}", meetingId, error)
+        );
+    }
+
+    /**
+     * Stops recording a meeting and finalizes its current segment once the audio queued
+     * before the call is written.
+     *
+     * @param meetingId meeting identifier
+     * @return paths of all segments written, in order
+     */
+    public List<Path> stopRecording(UUID meetingId) {
+        var recording = recordings.remove(meetingId);
+        if (recording == null) {
+            return List.of();
+        }
+        var segments = onWriter(recording::close);
+        logger.info("Stopped recording meeting {} ({} segments)", meetingId, segments.size());
+        return segments;
+    }
+
+    /**
+     * Checks whether a meeting is being recorded.
+     *
+     * @param meetingId meeting identifier
+     * @return true if recording
+     */
+    public boolean isRecording(UUID meetingId) {
+        return recordings.containsKey(meetingId);
+    }
+
+    /**
+     * Flushes all active segments to disk on the writer thread, after the audio queued
+     * before the call.
+     */
+    @Scheduled(fixedRate = 5000) // Every 5 seconds
+    public void flushRecordings() {
+        onWriter(() -> {
+            recordings.values().forEach(Recording::force);
+            return null;
+        });
+    }
+
+    /**
+     * Finalizes all recordings and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        recordings.keySet().forEach(this::stopRecording);
+        writeExecutor.shutdown();
+        try {
+            if (!writeExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Recording writes did not finish before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs a task on the writer thread and waits for it, or runs it on the caller once
+     * the writer has shut down.
+     */
+    private <T> T onWriter(Supplier<T> task) {
+        try {
+            return writeExecutor.submit(task::get).get();
+        } catch (RejectedExecutionException e) {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AudioException("Interrupted while waiting for recording writes", e,
+                "RECORDING_INTERRUPTED", "MeetingAudioRecorder");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new AudioException("Recording write failed", e.getCause(),
+                "RECORDING_WRITE_FAILED", "MeetingAudioRecorder");
+        }
+    }
+
+    private void onMeetingEvent(ZoomDetectionService.MeetingEvent event) {
+        switch (event.eventType()) {
+            case MEETING_STARTED -> captureService.ifAvailable(capture -> {
+                var format = capture.getCurrentFormat();
+                if (format == null) {
+                    logger.warn("Audio capture is not active; not recording meeting {}", event.meetingId());
+                    return;
+                }
+                try {
+                    startRecording(event.meetingId(), format);
+                    subscriptions.put(event.meetingId(), record(event.meetingId(), capture.getPooledAudioStream()));
+                } catch (RuntimeException e) {
+                    logger.error("Failed to start recording meeting {}", event.meetingId(), e);
+                }
+            });
+            case MEETING_ENDED -> {
+                var subscription = subscriptions.remove(event.meetingId());
+                if (subscription != null) {
+                    subscription.dispose();
+                }
+                stopRecording(event.meetingId());
+            }
+            default -> {
+                // Other events do not affect recording
+            }
+        }
+    }
+
+    /**
+     * Computes the input capacity of one segment from the size and duration limits.
+     * For ADPCM the size limit applies to the encoded file, so it admits one input
+     * frame per encoded sample.
+     */
+    int segmentCapacity(AudioFormat format) {
+        var frameSize = Math.max(1, format.getChannels() * format.getSampleSizeInBits() / 8);
+        var bytesPerSecond = (long) format.getSampleRate() * frameSize;
+        var byDuration = bytesPerSecond * 60L * audioConfig.getMaxRecordingDurationMinutes();
+        var bySize = audioConfig.getMaxRecordingSizeBytes() - MappedWavWriter.HEADER_BYTES;
+        if (isCompressed()) {
+            var blocks = Math.max(1, (audioConfig.getMaxRecordingSizeBytes() - AdpcmWavWriter.HEADER_BYTES)
+                / ImaAdpcmCodec.BLOCK_BYTES);
+            bySize = blocks * ImaAdpcmCodec.SAMPLES_PER_BLOCK * frameSize;
+        }
+        var capacity = Math.min(Math.min(byDuration, bySize), Integer.MAX_VALUE - MappedWavWriter.HEADER_BYTES);
+        return (int) Math.max(frameSize, capacity - capacity % frameSize);
+    }
+
+    private boolean isCompressed() {
+        return ADPCM_FORMAT.equalsIgnoreCase(audioConfig.getRecordingFormat());
+    }
+
+    private void linkToMeeting(UUID meetingId, Path path) {
+        meetingRepository.ifAvailable(repository -> {
+            try {
+                repository.findById(meetingId).ifPresent(meeting -> {
+                    meeting.setAudioFilePath(path.toString());
+                    repository.save(meeting);
+                });
+            } catch (Exception e) {
+                logger.warn("Failed to store audio file path for meeting: {}", meetingId, e);
+            }
+        });
+    }
+
+    /**
+     * Segment sequence of one meeting. After construction it is only touched by the
+     * writer thread.
+     */
+    private final class Recording {
+
+        private final UUID meetingId;
+        private final AudioFormat format;
+        private final int capacity;
+        private final List<Path> segments = new ArrayList<>();
+        private final boolean compressed;
+        private final Path firstSegment;
+        private SegmentWriter writer;
+
+        private Recording(UUID meetingId, AudioFormat format) {
+            this.meetingId = meetingId;
+            this.format = format;
+            this.capacity = segmentCapacity(format);
+            this.compressed = isCompressed();
+            openSegment();
+            this.firstSegment = segments.get(0);
+        }
+
+        private Path firstSegment() {
+            return firstSegment;
+        }
+
+        private void append(ByteBuffer data) {
+            try {
+                while (data.hasRemaining() && writer != null) {
+                    writer.write(data);
+                    if (writer.getRemaining() == 0) {
+                        closeSegment();
+                        openSegment();
+                    }
+                }
+            } catch (RuntimeException e) {
+                logger.error("Failed to write recording for meeting {}", meetingId, e);
+            }
+        }
+
+        private void force() {
+            if (writer != null) {
+                try {
+                    writer.force();
+                } catch (UncheckedIOException e) {
+                    logger.warn("Failed to flush recording segment {}", writer.getPath(), e);
+                }
+            }
+        }
+
+        private List<Path> close() {
+            var emptyRotation = writer != null && writer.getDataBytes() == 0 && segments.size() > 1;
+            closeSegment();
+            if (emptyRotation) {
+                // Drop the segment opened by a rotation that nothing was written to
+                try {
+                    Files.deleteIfExists(segments.remove(segments.size() - 1));
+                } catch (IOException e) {
+                    logger.warn("Failed to delete empty recording segment for meeting {}", meetingId, e);
+                }
+            }
+            return List.copyOf(segments);
+        }
+
+        private void openSegment() {
+            try {
+                var directory = Paths.get(audioConfig.getRecordingDirectory());
+                Files.createDirectories(directory);
+                var path = directory.resolve(String.format("%s-%03d.wav", meetingId, segments.size() + 1));
+                writer = compressed ? new AdpcmWavWriter(path, format, capacity)
+                    : new MappedWavWriter(path, format, capacity);
+                segments.add(path);
+            } catch (IOException e) {
+                writer = null;
+                throw new AudioException("Failed to open recording segment for meeting " + meetingId, e,
+                    "RECORDING_OPEN_FAILED", "MeetingAudioRecorder");
+            }
+        }
+
+        private void closeSegment() {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.close();
+                logger.debug("Closed recording segment {} ({} bytes)", writer.getPath(), writer.getDataBytes());
+            } catch (IOException e) {
+                logger.error("Failed to finalize recording segment {}", writer.getPath(), e);
+            } finally {
+                writer = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.exceptions.AudioCaptureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures several audio sources at once, e.g. the local microphone and Zoom's
+ * application audio, and aligns them on one sample clock.
+ * <p>
+ * Every source is read on its own virtual thread, converted to mono at the default
+ * sample rate and written to a {@link MultiSourceMixer} at the clock position implied by
+ * its arrival time. A further virtual thread cuts aligned frames every half frame and
+ * publishes them. Consumers either take the tagged multi-channel frames, which keep local
+ * and remote speech on separate channels for speaker attribution, or a mixed or
+ * interleaved {@link AudioCaptureService.AudioChunk} stream.
+ * <p>
+ * With echo cancellation enabled, every frame's device channels are cleaned of the echo
+ * of the system and application channels before it is published, so far-end speech
+ * picked up by the microphone is neither recognized twice in a mixdown nor attributed to
+ * the local speaker.
+ * <p>
+ * Device sources are opened through Java Sound; system and application sources come from
+ * the {@link PlatformAudioService} of the current operating system.
+ */
+@Service
+public class MultiSourceCaptureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiSourceCaptureService.class);
+
+    private final AudioConfig audioConfig;
+    private final ObjectProvider<PlatformAudioService> platformAudioServices;
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private volatile CaptureSession session;
+
+    /**
+     * Creates the multi-source capture service.
+     *
+     * @param audioConfig audio configuration providing frame size, clock rate and skew tolerance
+     * @param platformAudioServices platform audio services for system and application sources
+     */
+    public MultiSourceCaptureService(AudioConfig audioConfig, ObjectProvider<PlatformAudioService> platformAudioServices) {
+        this.audioConfig = audioConfig;
+        this.platformAudioServices = platformAudioServices;
+    }
+
+    /**
+     * Starts capturing all sources. Channel order follows the source list.
+     *
+     * @param sources sources to capture, each with a distinct label
+     * @param captureFormat format requested from every source
+     * @return Mono that completes once every source thread has started
+     */
+    public Mono<Void> startCapture(List<CaptureSource> sources, AudioFormat captureFormat) {
+        return Mono.fromRunnable(() -> {
+            synchronized (this) {
+                if (session != null) {
+                    logger.warn("Multi-source capture is already active");
+                    return;
+                }
+                if (sources.isEmpty()) {
+                    throw new IllegalArgumentException("At least one capture source is required");
+                }
+
+                var sampleRate = audioConfig.getDefaultSampleRate();
+                var labels = sources.stream().map(CaptureSource::label).toList();
+                var mixer = new MultiSourceMixer(
+                    sampleRate,
+                    labels,
+                    (int) ((long) sampleRate * audioConfig.getBufferSizeMs() / 1000),
+                    (long) sampleRate * audioConfig.getMultiSourceMaxSkewMs() / 1000
+                );
+
+                logger.info("Starting multi-source capture of {} with format: {}", labels, captureFormat);
+                var newSession = new CaptureSession(mixer, createEchoCanceller(sources, sampleRate));
+                for (int i = 0; i < sources.size(); i++) {
+                    var channel = i;
+                    var source = sources.get(i);
+                    newSession.threads.add(Thread.ofVirtual()
+                        .name("capture-" + source.label())
+                        .start(() -> runSource(newSession, channel, source, captureFormat)));
+                }
+                newSession.threads.add(Thread.ofVirtual()
+                    .name("capture-mixer")
+                    .start(() -> runMixer(newSession)));
+                session = newSession;
+            }
+        })
+        .subscribeOn(Schedulers.boundedElastic())
+        .then();
+    }
+
+    /**
+     * Stops all sources, emits the frames still buffered and completes the streams.
+     *
+     * @return Mono that completes when capture has stopped
+     */
+    public Mono<Void> stopCapture() {
+        return Mono.fromRunnable(() -> {
+            CaptureSession stopping;
+            synchronized (this) {
+                stopping = session;
+                session = null;
+            }
+            if (stopping == null) {
+                logger.warn("Multi-source capture is not active");
+                return;
+            }
+
+            logger.info("Stopping multi-source capture");
+            stopping.running = false;
+            for (var thread : stopping.threads) {
+                thread.interrupt();
+            }
+            for (var thread : stopping.threads) {
+                try {
+                    thread.join(TimeUnit.SECONDS.toMillis(1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            MultiSourceMixer.Frame frame;
+            while ((frame = stopping.mixer.poll(Long.MAX_VALUE)) != null) {
+                emit(stopping, frame);
+            }
+            stopping.sink.tryEmitComplete();
+
+            logger.info("Multi-source capture stopped ({} samples padded, {} dropped, {} frames lost to slow subscribers)",
+                stopping.mixer.getPaddedSamples(), stopping.mixer.getDroppedSamples(), droppedFrames.get());
+        })
+        .subscribeOn(Schedulers.boundedElastic())
+        .then();
+    }
+
+    /**
+     * Checks whether a multi-source capture is running.
+     *
+     * @return true if capturing
+     */
+    public boolean isCapturing() {
+        return session != null;
+    }
+
+    /**
+     * Gets the time-aligned frames of the running capture, one channel per source.
+     *
+     * @return Flux of frames that completes when capture stops
+     */
+    public Flux<MultiSourceMixer.Frame> getFrameStream() {
+        return Flux.defer(() -> currentSession().sink.asFlux());
+    }
+
+    /**
+     * Gets the running capture as audio chunks timestamped from the shared sample clock.
+     *
+     * @param mode whether to sum sources into one channel or keep them interleaved
+     * @return Flux of audio chunks that completes when capture stops
+     */
+    public Flux<AudioCaptureService.AudioChunk> getAudioStream(OutputMode mode) {
+        return Flux.defer(() -> {
+            var current = currentSession();
+            return current.sink.asFlux().map(frame -> {
+                var mixed = mode == OutputMode.MIXED;
+                var format = mixed
+                    ? new AudioFormat(frame.format().getSampleRate(), 16, 1, true, false)
+                    : frame.format();
+                return new AudioCaptureService.AudioChunk(
+                    mixed ? frame.mixdown() : frame.data(),
+                    format,
+                    frame.getDuration(),
+                    current.timestampMillis(frame.startSample()),
+                    frame.getVolumeLevel(),
+                    frame.startSample(),
+                    frame.captureNanos()
+                );
+            });
+        });
+    }
+
+    /**
+     * Gets the channel labels of the running capture.
+     *
+     * @return labels in channel order, or an empty list if not capturing
+     */
+    public List<String> getChannelLabels() {
+        var current = session;
+        return current != null ? current.mixer.getChannelLabels() : List.of();
+    }
+
+    /**
+     * Gets the number of frames not delivered because subscribers fell behind.
+     *
+     * @return dropped frame count
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Reads one source until capture stops, writing its audio to the mixer.
+     */
+    private void runSource(CaptureSession session, int channel, CaptureSource source, AudioFormat format) {
+        var resampler = new StreamingResampler(format, session.mixer.getSampleRate());
+        try {
+            if (source.kind() == SourceKind.DEVICE) {
+                readDevice(session, channel, source, format, resampler);
+            } else {
+                readPlatform(session, channel, source, format, resampler);
+            }
+        } catch (Exception e) {
+            if (session.running) {
+                logger.error("Capture source {} failed; its channel will be silent", source.label(), e);
+            }
+        }
+    }
+
+    private void readDevice(CaptureSession session, int channel, CaptureSource source, AudioFormat format,
+                            StreamingResampler resampler) throws Exception {
+        var line = DefaultAudioCaptureService.getTargetDataLine(source.target(), format);
+        line.open(format);
+        line.start();
+        try {
+            var buffer = new byte[format.getFrameSize() * (int) (format.getFrameRate() * audioConfig.getBufferSizeMs() / 1000)];
+            while (session.running) {
+                var bytesRead = line.read(buffer, 0, buffer.length);
+                if (bytesRead > 0) {
+                    write(session, channel, resampler.process(Arrays.copyOf(buffer, bytesRead)));
+                }
+            }
+        } finally {
+            line.stop();
+            line.close();
+        }
+    }
+
+    private void readPlatform(CaptureSession session, int channel, CaptureSource source, AudioFormat format,
+                              StreamingResampler resampler) {
+        var platform = platformAudioService();
+        var flux = source.kind() == SourceKind.SYSTEM
+            ? platform.captureSystemAudio(format)
+            : platform.captureApplicationAudio(source.target(), format);
+
+        // Closing the stream cancels the platform capture
+        try (var stream = flux.toStream(4)) {
+            var iterator = stream.iterator();
+            while (session.running && iterator.hasNext()) {
+                write(session, channel, resampler.process(iterator.next()));
+            }
+        }
+    }
+
+    /**
+     * Places audio that has just arrived so that its last sample falls on the current clock position.
+     */
+    private void write(CaptureSession session, int channel, byte[] pcm) {
+        if (pcm.length < 2) {
+            return;
+        }
+        session.mixer.write(channel, session.clockSample() - pcm.length / 2, pcm);
+    }
+
+    private void runMixer(CaptureSession session) {
+        var intervalMs = Math.max(1, audioConfig.getBufferSizeMs() / 2);
+        while (session.running) {
+            try {
+                Thread.sleep(intervalMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            MultiSourceMixer.Frame frame;
+            while ((frame = session.mixer.poll(session.clockSample())) != null) {
+                emit(session, frame);
+            }
+        }
+    }
+
+    /**
+     * Creates the canceller that removes far-end echo from device channels.
+     *
+     * @return canceller, or null if echo cancellation is disabled
+     */
+    private FrameEchoCanceller createEchoCanceller(List<CaptureSource> sources, int sampleRate) {
+        if (!audioConfig.isEnableEchoCancellation()) {
+            return null;
+        }
+        var nearEnd = new boolean[sources.size()];
+        for (int i = 0; i < nearEnd.length; i++) {
+            nearEnd[i] = sources.get(i).kind() == SourceKind.DEVICE;
+        }
+        return new FrameEchoCanceller(sampleRate, audioConfig.getEchoTailMs(), nearEnd);
+    }
+
+    private void emit(CaptureSession session, MultiSourceMixer.Frame frame) {
+        frame = frame.withCaptureNanos(session.captureNanos(frame.startSample() + frame.getSamples()));
+        if (session.echoCanceller != null) {
+            frame = session.echoCanceller.process(frame);
+        }
+        if (session.sink.tryEmitNext(frame).isFailure()) {
+            droppedFrames.incrementAndGet();
+        }
+    }
+
+    private CaptureSession currentSession() {
+        var current = session;
+        if (current == null) {
+            throw new IllegalStateException("No active multi-source capture");
+        }
+        return current;
+    }
+
+    /**
+     * Selects the platform audio service of the running operating system.
+     */
+    private PlatformAudioService platformAudioService() {
+        var os = audioConfig.getCurrentOS();
+        return platformAudioServices.orderedStream()
+            .filter(service -> service.getClass().getSimpleName().toLowerCase().startsWith(os))
+            .findFirst()
+            .orElseThrow(() -> new AudioCaptureException("No platform audio service for " + os));
+    }
+
+    /**
+     * State of one running capture.
+     */
+    private static final class CaptureSession {
+
+        private final MultiSourceMixer mixer;
+        private final FrameEchoCanceller echoCanceller;
+        private final long originNanos = System.nanoTime();
+        private final long originMillis = System.currentTimeMillis();
+        private final List<Thread> threads = new ArrayList<>();
+        private final Sinks.Many<MultiSourceMixer.Frame> sink = Sinks.many().multicast().onBackpressureBuffer();
+        private volatile boolean running = true;
+
+        private CaptureSession(MultiSourceMixer mixer, FrameEchoCanceller echoCanceller) {
+            this.mixer = mixer;
+            this.echoCanceller = echoCanceller;
+        }
+
+        private long clockSample() {
+            return (System.nanoTime() - originNanos) * mixer.getSampleRate() / 1_000_000_000L;
+        }
+
+        private long timestampMillis(long sample) {
+            return originMillis + sample * 1000 / mixer.getSampleRate();
+        }
+
+        private long captureNanos(long sample) {
+            return originNanos + sample * 1_000_000_000L / mixer.getSampleRate();
+        }
+    }
+
+    /**
+     * Kind of audio source.
+     */
+    public enum SourceKind {
+        /** Java Sound input device; the target is a mixer name or null for the default device. */
+        DEVICE,
+        /** Everything the system plays; the target is ignored. */
+        SYSTEM,
+        /** Audio played by one application; the target is the application name. */
+        APPLICATION
+    }
+
+    /**
+     * How captured sources are combined into audio chunks.
+     */
+    public enum OutputMode {
+        /** All sources summed into one mono channel. */
+        MIXED,
+        /** One interleaved channel per source. */
+        MULTICHANNEL
+    }
+
+    /**
+     * One source to capture.
+     *
+     * @param label channel label, used as the speaker attribution of the channel
+     * @param kind kind of source
+     * @param target device or application name, depending on the kind
+     */
+    public record CaptureSource(String label, SourceKind kind, String target) {
+
+        /**
+         * Creates the local microphone source.
+         *
+         * @param deviceId mixer name, or null for the default input device
+         * @return microphone source labelled "local"
+         */
+        public static CaptureSource microphone(String deviceId) {
+            return new CaptureSource("local", SourceKind.DEVICE, deviceId);
+        }
+
+        /**
+         * Creates the remote participants source from an application's audio.
+         *
+         * @param applicationName application name, e.g. "zoom"
+         * @return application source labelled "remote"
+         */
+        public static CaptureSource application(String applicationName) {
+            return new CaptureSource("remote", SourceKind.APPLICATION, applicationName);
+        }
+
+        /**
+         * Creates the remote participants source from everything the system plays.
+         *
+         * @return system audio source labelled "remote"
+         */
+        public static CaptureSource systemAudio() {
+            return new CaptureSource("remote", SourceKind.SYSTEM, null);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.zoomtranscriber.core.audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aligns several mono PCM16 streams on a shared sample clock and cuts them into frames.
+ * <p>
+ * Sample index 0 is the start of the capture session. Each write carries the clock
+ * position of its first sample as estimated by the caller from arrival time. The first
+ * write of a channel is placed exactly there, padding with silence or dropping audio
+ * that predates already emitted frames. Later writes are treated as contiguous unless
+ * the estimate differs from the channel's position by more than {@code maxSkewSamples},
+ * in which case the gap is filled with silence or the overlap dropped, so a stalled or
+ * restarted source re-aligns instead of drifting.
+ * <p>
+ * A frame is emitted once every channel has audio for it, or once the clock is more than
+ * {@code maxSkewSamples} past its end, in which case lagging channels are padded with
+ * silence. Buffered audio of every channel always starts at the next frame to emit, and
+ * while nothing is buffered the clock skips ahead in whole frames rather than filling
+ * the gap with silence.
+ * <p>
+ * Instances are thread-safe; writers and the frame consumer may run on different threads.
+ */
+public final class MultiSourceMixer {
+
+    private final int sampleRate;
+    private final List<String> channelLabels;
+    private final int frameSamples;
+    private final long maxSkewSamples;
+    private final PcmRingBuffer[] buffers;
+    private final boolean[] started;
+    private final byte[] scratch;
+    private long emittedSamples;
+    private long paddedSamples;
+    private long droppedSamples;
+
+    /**
+     * Creates a mixer.
+     *
+     * @param sampleRate sample rate of every channel in Hz
+     * @param channelLabels one label per channel, e.g. "local" and "remote"
+     * @param frameSamples samples per channel in each emitted frame
+     * @param maxSkewSamples tolerated timing error before a channel is re-aligned or padded
+     */
+    public MultiSourceMixer(int sampleRate, List<String> channelLabels, int frameSamples, long maxSkewSamples) {
+        if (channelLabels.isEmpty() || frameSamples <= 0 || sampleRate <= 0 || maxSkewSamples < 0) {
+            throw new IllegalArgumentException("Invalid mixer settings: " + channelLabels.size() + " channels, "
+                + frameSamples + " samples per frame at " + sampleRate + " Hz");
+        }
+        this.sampleRate = sampleRate;
+        this.channelLabels = List.copyOf(channelLabels);
+        this.frameSamples = frameSamples;
+        this.maxSkewSamples = maxSkewSamples;
+        this.buffers = new PcmRingBuffer[channelLabels.size()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = new PcmRingBuffer((int) Math.min(1 << 20, 4L * (frameSamples + maxSkewSamples)));
+        }
+        this.started = new boolean[channelLabels.size()];
+        this.scratch = new byte[frameSamples * 2];
+    }
+
+    /**
+     * Adds audio to a channel.
+     *
+     * @param channel channel index
+     * @param startSample estimated clock position of the first sample
+     * @param pcm mono PCM16 little-endian audio at the mixer rate
+     */
+    public synchronized void write(int channel, long startSample, byte[] pcm) {
+        if (startSample - emittedSamples >= frameSamples && isEmpty()) {
+            // Nothing is pending, so skip whole silent frames instead of buffering them
+            emittedSamples += (startSample - emittedSamples) / frameSamples * frameSamples;
+        }
+        var buffer = buffers[channel];
+        var position = emittedSamples + buffer.size() / 2;
+        var gap = startSample - position;
+        if (started[channel] && Math.abs(gap) <= maxSkewSamples) {
+            gap = 0;
+        }
+        started[channel] = true;
+
+        var offset = 0;
+        if (gap > 0) {
+            padSilence(buffer, gap);
+            paddedSamples += gap;
+        } else if (gap < 0) {
+            var drop = (int) Math.min(-gap, pcm.length / 2);
+            offset = drop * 2;
+            droppedSamples += drop;
+        }
+        buffer.write(pcm, offset, (pcm.length & ~1) - offset);
+    }
+
+    /**
+     * Cuts the next frame if it is complete or overdue.
+     *
+     * @param clockSample current clock position
+     * @return next frame, or null if no frame is due
+     */
+    public synchronized Frame poll(long clockSample) {
+        var frameBytes = frameSamples * 2;
+        var complete = true;
+        var anyBuffered = false;
+        for (var buffer : buffers) {
+            complete &= buffer.size() >= frameBytes;
+            anyBuffered |= buffer.size() > 0;
+        }
+        var overdue = clockSample - maxSkewSamples >= emittedSamples + frameSamples;
+        if (!complete && !(overdue && anyBuffered)) {
+            return null;
+        }
+
+        var channels = buffers.length;
+        var data = new byte[frameBytes * channels];
+        var levels = new double[channels];
+        for (int c = 0; c < channels; c++) {
+            var read = buffers[c].read(scratch, 0, frameBytes);
+            Arrays.fill(scratch, read, frameBytes, (byte) 0);
+            paddedSamples += (frameBytes - read) / 2;
+
+            var energy = 0.0;
+            for (int i = 0, o = c * 2; i < frameBytes; i += 2, o += channels * 2) {
+                data[o] = scratch[i];
+                data[o + 1] = scratch[i + 1];
+                var sample = (short) ((scratch[i] & 0xFF) | (scratch[i + 1] << 8));
+                energy += (double) sample * sample;
+            }
+            levels[c] = Math.sqrt(energy / frameSamples) / 32768.0;
+        }
+
+        var frame = new Frame(emittedSamples, new AudioFormat(sampleRate, 16, channels, true, false),
+            channelLabels, data, levels);
+        emittedSamples += frameSamples;
+        return frame;
+    }
+
+    /**
+     * Gets the clock position of the next frame to emit.
+     *
+     * @return sample index
+     */
+    public synchronized long getEmittedSamples() {
+        return emittedSamples;
+    }
+
+    /**
+     * Gets the number of silent samples inserted for late, stalled or missing channels.
+     *
+     * @return padded samples summed over channels
+     */
+    public synchronized long getPaddedSamples() {
+        return paddedSamples;
+    }
+
+    /**
+     * Gets the number of samples discarded because they arrived after their frame.
+     *
+     * @return dropped samples summed over channels
+     */
+    public synchronized long getDroppedSamples() {
+        return droppedSamples;
+    }
+
+    /**
+     * Gets the channel labels in channel order.
+     *
+     * @return channel labels
+     */
+    public List<String> getChannelLabels() {
+        return channelLabels;
+    }
+
+    /**
+     * Gets the sample rate of every channel.
+     *
+     * @return sample rate in Hz
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    private boolean isEmpty() {
+        for (var buffer : buffers) {
+            if (buffer.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void padSilence(PcmRingBuffer buffer, long samples) {
+        var remaining = samples * 2;
+        Arrays.fill(scratch, (byte) 0);
+        while (remaining > 0) {
+            var length = (int) Math.min(remaining, scratch.length);
+            buffer.write(scratch, 0, length);
+            remaining -= length;
+        }
+    }
+
+    /**
+     * One time-aligned frame of every channel.
+     *
+     * @param startSample clock position of the first sample
+     * @param format interleaved PCM16 little-endian format with one channel per source
+     * @param channelLabels labels in channel order
+     * @param data interleaved audio
+     * @param channelLevels RMS level of each channel (0.0 to 1.0)
+     * @param captureNanos {@link System#nanoTime()} at which the last sample was captured
+     */
+    public record Frame(
+        long startSample,
+        AudioFormat format,
+        List<String> channelLabels,
+        byte[] data,
+        double[] channelLevels,
+        long captureNanos
+    ) {
+
+        /**
+         * Creates a frame stamped as captured now, for sources without a capture clock.
+         */
+        public Frame(long startSample, AudioFormat format, List<String> channelLabels, byte[] data,
+                     double[] channelLevels) {
+            this(startSample, format, channelLabels, data, channelLevels, System.nanoTime());
+        }
+
+        /**
+         * Returns this frame with another capture instant.
+         *
+         * @param captureNanos {@link System#nanoTime()} at which the last sample was captured
+         * @return frame with the given capture instant
+         */
+        public Frame withCaptureNanos(long captureNanos) {
+            return new Frame(startSample, format, channelLabels, data, channelLevels, captureNanos);
+        }
+
+        /**
+         * Gets the number of samples per channel.
+         *
+         * @return samples per channel
+         */
+        public int getSamples() {
+            return data.length / (2 * format.getChannels());
+        }
+
+        /**
+         * Gets the frame duration.
+         *
+         * @return duration
+         */
+        public java.time.Duration getDuration() {
+            return java.time.Duration.ofNanos(getSamples() * 1_000_000_000L / (long) format.getSampleRate());
+        }
+
+        /**
+         * Extracts one channel.
+         *
+         * @param channel channel index
+         * @return mono PCM16 little-endian audio
+         */
+        public byte[] channel(int channel) {
+            var channels = format.getChannels();
+            var mono = new byte[getSamples() * 2];
+            for (int i = 0, o = channel * 2; i < mono.length; i += 2, o += channels * 2) {
+                mono[i] = data[o];
+                mono[i + 1] = data[o + 1];
+            }
+            return mono;
+        }
+
+        /**
+         * Sums all channels into one, saturating at full scale.
+         *
+         * @return mono PCM16 little-endian audio
+         */
+        public byte[] mixdown() {
+            var channels = format.getChannels();
+            if (channels == 1) {
+                return data.clone();
+            }
+            var mono = new byte[getSamples() * 2];
+            for (int i = 0, o = 0; i < mono.length; i += 2) {
+                var sum = 0;
+                for (int c = 0; c < channels; c++, o += 2) {
+                    sum += (short) ((data[o] & 0xFF) | (data[o + 1] << 8));
+                }
+                var clipped = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sum));
+                mono[i] = (byte) clipped;
+                mono[i + 1] = (byte) (clipped >> 8);
+            }
+            return mono;
+        }
+
+        /**
+         * Finds the loudest channel, which on separate local and remote channels
+         * identifies who is speaking without voice embedding.
+         *
+         * @param minLevel level below which a channel counts as silent
+         * @return index of the loudest channel, or -1 if all are silent
+         */
+        public int dominantChannel(double minLevel) {
+            var best = -1;
+            var bestLevel = minLevel;
+            for (int c = 0; c < channelLevels.length; c++) {
+                if (channelLevels[c] > bestLevel) {
+                    best = c;
+                    bestLevel = channelLevels[c];
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Gets the overall level as the loudest channel level.
+         *
+         * @return level (0.0 to 1.0)
+         */
+        public double getVolumeLevel() {
+            var max = 0.0;
+            for (var level : channelLevels) {
+                max = Math.max(max, level);
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.zoomtranscriber.core.audio;
+
+/**
+ * Preallocated byte ring buffer for raw PCM data.
+ * Capacity is always a power of two so that positions wrap with a mask,
+ * and the fill level is tracked with two running counters for O(1) size queries.
+ * <p>
+ * Instances are not thread-safe; callers must confine a buffer to one thread
+ * or guard it externally.
+ */
+public final class PcmRingBuffer {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private byte[] data;
+    private int mask;
+    private long writePosition;
+    private long readPosition;
+
+    /**
+     * Creates a ring buffer able to hold at least the given number of bytes.
+     *
+     * @param minCapacity minimum capacity in bytes
+     */
+    public PcmRingBuffer(int minCapacity) {
+        var capacity = capacityFor(minCapacity);
+        this.data = new byte[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Appends bytes to the buffer, growing it if there is not enough free space.
+     * Growth only happens when a producer outruns the consumer, so steady-state
+     * writes never allocate.
+     *
+     * @param source source array
+     * @param offset offset into the source array
+     * @param length number of bytes to append
+     */
+    public void write(byte[] source, int offset, int length) {
+        if (length <= 0) {
+            return;
+        }
+        if (length > remaining()) {
+            grow(size() + length);
+        }
+
+        var start = (int) (writePosition & mask);
+        var firstPart = Math.min(length, data.length - start);
+        System.arraycopy(source, offset, data, start, firstPart);
+        if (firstPart < length) {
+            System.arraycopy(source, offset + firstPart, data, 0, length - firstPart);
+        }
+        writePosition += length;
+    }
+
+    /**
+     * Appends a whole array to the buffer.
+     *
+     * @param source source array
+     */
+    public void write(byte[] source) {
+        write(source, 0, source.length);
+    }
+
+    /**
+     * Removes bytes from the buffer into the destination array.
+     *
+     * @param destination destination array
+     * @param offset offset into the destination array
+     * @param length maximum number of bytes to read
+     * @return number of bytes actually read
+     */
+    public int read(byte[] destination, int offset, int length) {
+        var count = peek(destination, offset, length);
+        readPosition += count;
+        return count;
+    }
+
+    /**
+     * Copies bytes from the head of the buffer without consuming them.
+     *
+     * @param destination destination array
+     * @param offset offset into the destination array
+     * @param length maximum number of bytes to copy
+     * @return number of bytes copied
+     */
+    public int peek(byte[] destination, int offset, int length) {
+        var count = Math.min(length, size());
+        if (count <= 0) {
+            return 0;
+        }
+
+        var start = (int) (readPosition & mask);
+        var firstPart = Math.min(count, data.length - start);
+        System.arraycopy(data, start, destination, offset, firstPart);
+        if (firstPart < count) {
+            System.arraycopy(data, 0, destination, offset + firstPart, count - firstPart);
+        }
+        return count;
+    }
+
+    /**
+     * Discards bytes from the head of the buffer.
+     *
+     * @param length number of bytes to discard
+     * @return number of bytes actually discarded
+     */
+    public int skip(int length) {
+        var count = Math.min(length, size());
+        if (count > 0) {
+            readPosition += count;
+        }
+        return Math.max(count, 0);
+    }
+
+    /**
+     * Gets the number of readable bytes.
+     *
+     * @return buffered byte count
+     */
+    public int size() {
+        return (int) (writePosition - readPosition);
+    }
+
+    /**
+     * Gets the number of bytes that can be written without growing.
+     *
+     * @return free space in bytes
+     */
+    public int remaining() {
+        return data.length - size();
+    }
+
+    /**
+     * Gets the current capacity.
+     *
+     * @return capacity in bytes
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * Gets the total number of bytes ever written.
+     *
+     * @return running write offset
+     */
+    public long totalWritten() {
+        return writePosition;
+    }
+
+    /**
+     * Gets the total number of bytes ever consumed.
+     *
+     * @return running read offset
+     */
+    public long totalRead() {
+        return readPosition;
+    }
+
+    /**
+     * Discards all buffered data.
+     */
+    public void clear() {
+        readPosition = writePosition;
+    }
+
+    private void grow(int required) {
+        var newCapacity = capacityFor(required);
+        var contents = new byte[size()];
+        peek(contents, 0, contents.length);
+
+        // Keep the running positions so totalRead()/totalWritten() stay monotonic
+        data = new byte[newCapacity];
+        mask = newCapacity - 1;
+        var start = (int) (readPosition & mask);
+        var firstPart = Math.min(contents.length, newCapacity - start);
+        System.arraycopy(contents, 0, data, start, firstPart);
+        if (firstPart < contents.length) {
+            System.arraycopy(contents, firstPart, data, 0, contents.length - firstPart);
+        }
+    }
+
+    private static int capacityFor(int minCapacity) {
+        if (minCapacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive: " + minCapacity);
+        }
+        if (minCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity too large: " + minCapacity);
+        }
+        return minCapacity == 1 ? 1 : Integer.highestOneBit(minCapacity - 1) << 1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.zoomtranscriber.core.audio;
+
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteOrder;
+
+/**
+ * Inner sample loops used by the audio DSP stages.
+ * Implementations must produce bit-identical results: energies are returned as exact
+ * sums of squared integer sample values so that they do not depend on summation order.
+ * All PCM data is 16-bit signed little-endian.
+ */
+public interface SampleKernels {
+
+    /**
+     * Decodes PCM16 samples into floats in the range [-1.0, 1.0).
+     *
+     * @param source PCM16 little-endian bytes
+     * @param target destination array
+     * @param count number of samples to decode
+     */
+    void decodePcm16(byte[] source, float[] target, int count);
+
+    /**
+     * Finds the largest absolute sample value.
+     *
+     * @param samples sample array
+     * @param count number of samples to scan
+     * @return peak amplitude
+     */
+    float peak(float[] samples, int count);
+
+    /**
+     * Applies gain, clamps to [-1.0, 1.0] and encodes samples as PCM16.
+     *
+     * @param samples sample array
+     * @param count number of samples to encode
+     * @param gain gain factor
+     * @param target destination PCM16 little-endian bytes
+     * @return sum of the squared encoded sample values
+     */
+    double gainAndEncodePcm16(float[] samples, int count, float gain, byte[] target);
+
+    /**
+     * Computes the energy of PCM16 data without decoding it to floats.
+     *
+     * @param source PCM16 little-endian bytes
+     * @param count number of samples
+     * @return sum of the squared sample values
+     */
+    double pcm16Energy(byte[] source, int count);
+
+    /**
+     * Gets the implementation name for logging and metrics.
+     *
+     * @return implementation name
+     */
+    String name();
+
+    /**
+     * Selects the kernel implementation.
+     * The vector implementation is only used when requested, when the
+     * {@code jdk.incubator.vector} module is present, and on little-endian hardware.
+     *
+     * @param preferVector true to use the Vector API when available
+     * @return selected kernels
+     */
+    static SampleKernels select(boolean preferVector) {
+        if (!preferVector) {
+            return ScalarSampleKernels.INSTANCE;
+        }
+        
+        var logger = LoggerFactory.getLogger(SampleKernels.class);
+        var vectorModulePresent = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+        if (!vectorModulePresent || ByteOrder.nativeOrder() != ByteOrder.LITTLE_ENDIAN) {
+            logger.warn("Vector kernels requested but jdk.incubator.vector is unavailable, using scalar kernels");
+            return ScalarSampleKernels.INSTANCE;
+        }
+        
+        try {
+            var kernels = new VectorSampleKernels();
+            logger.info("Using {} audio sample kernels", kernels.name());
+            return kernels;
+        } catch (LinkageError e) {
+            logger.warn("Failed to load vector kernels, using scalar kernels", e);
+            return ScalarSampleKernels.INSTANCE;
+        }
+    }
+}
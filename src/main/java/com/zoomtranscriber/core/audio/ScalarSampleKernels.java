@@ -0,0 +1,75 @@
+package com.zoomtranscriber.core.audio;
+
+/**
+ * Portable scalar implementation of SampleKernels.
+ * Serves as the reference for the vectorized implementation, which reuses
+ * the range helpers here for its loop tails.
+ */
+public final class ScalarSampleKernels implements SampleKernels {
+
+    public static final ScalarSampleKernels INSTANCE = new ScalarSampleKernels();
+
+    private ScalarSampleKernels() {
+    }
+
+    @Override
+    public void decodePcm16(byte[] source, float[] target, int count) {
+        decodePcm16(source, target, 0, count);
+    }
+
+    @Override
+    public float peak(float[] samples, int count) {
+        return peak(samples, 0, count, 0.0f);
+    }
+
+    @Override
+    public double gainAndEncodePcm16(float[] samples, int count, float gain, byte[] target) {
+        return gainAndEncodePcm16(samples, 0, count, gain, target);
+    }
+
+    @Override
+    public double pcm16Energy(byte[] source, int count) {
+        return pcm16Energy(source, 0, count);
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    static void decodePcm16(byte[] source, float[] target, int from, int to) {
+        for (int i = from, j = 2 * from; i < to; i++, j += 2) {
+            var sample = (short) ((source[j + 1] << 8) | (source[j] & 0xff));
+            target[i] = sample / 32768.0f;
+        }
+    }
+
+    static float peak(float[] samples, int from, int to, float initialPeak) {
+        var peak = initialPeak;
+        for (int i = from; i < to; i++) {
+            peak = Math.max(peak, Math.abs(samples[i]));
+        }
+        return peak;
+    }
+
+    static double gainAndEncodePcm16(float[] samples, int from, int to, float gain, byte[] target) {
+        var energy = 0.0;
+        for (int i = from, j = 2 * from; i < to; i++, j += 2) {
+            var value = Math.max(-1.0f, Math.min(1.0f, samples[i] * gain));
+            var encoded = (short) (value * 32767);
+            energy += (double) encoded * encoded;
+            target[j] = (byte) encoded;
+            target[j + 1] = (byte) (encoded >> 8);
+        }
+        return energy;
+    }
+
+    static double pcm16Energy(byte[] source, int from, int to) {
+        var energy = 0L;
+        for (int i = from, j = 2 * from; i < to; i++, j += 2) {
+            var sample = (short) ((source[j + 1] << 8) | (source[j] & 0xff));
+            energy += sample * sample;
+        }
+        return energy;
+    }
+}
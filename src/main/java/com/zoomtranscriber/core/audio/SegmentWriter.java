@@ -0,0 +1,53 @@
+package com.zoomtranscriber.core.audio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Writer for one recording segment file with a fixed capacity of input PCM bytes.
+ */
+interface SegmentWriter extends AutoCloseable {
+
+    /**
+     * Appends as much of the data as fits.
+     *
+     * @param data source PCM bytes; its position advances by the number written
+     * @return number of bytes written
+     */
+    int write(ByteBuffer data);
+
+    /**
+     * Updates the file header and flushes written data to the storage device.
+     */
+    void force();
+
+    /**
+     * Finalizes the header and closes the file.
+     *
+     * @throws IOException if the file cannot be finalized
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Gets the number of input PCM bytes accepted.
+     *
+     * @return bytes written
+     */
+    int getDataBytes();
+
+    /**
+     * Gets the remaining input capacity.
+     *
+     * @return free bytes
+     */
+    int getRemaining();
+
+    /**
+     * Gets the file path.
+     *
+     * @return path
+     */
+    Path getPath();
+}
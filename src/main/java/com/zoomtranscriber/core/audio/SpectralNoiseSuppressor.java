@@ -0,0 +1,190 @@
+package com.zoomtranscriber.core.audio;
+
+import java.util.Arrays;
+
+/**
+ * Streaming STFT noise suppressor that applies a Wiener gain per frequency bin.
+ * <p>
+ * Audio is analysed in frames of about 32 ms with 50% overlap. A square-root Hann window
+ * is used for both analysis and synthesis, so a frame with unit gain reconstructs the
+ * input exactly. The noise power of each bin is tracked from the smoothed frame power.
+ * It follows drops immediately but rises by at most {@value #NOISE_RISE_DB_PER_SECOND} dB
+ * per second, so steady fan or HVAC noise is learned within seconds while speech barely
+ * moves it. The a priori SNR uses the decision-directed estimate, and gains are floored
+ * to keep musical noise down.
+ * <p>
+ * Output lags input by one frame. All buffers are allocated by the constructor, so
+ * {@link #process} never allocates. Each instance holds the state of one mono stream
+ * and is not thread-safe.
+ */
+public final class SpectralNoiseSuppressor {
+
+    private static final double FRAME_SECONDS = 0.032;
+    private static final int MIN_FRAME_SIZE = 64;
+    private static final float POWER_SMOOTHING = 0.7f;
+    private static final double NOISE_RISE_DB_PER_SECOND = 5.0;
+    private static final float DECISION_DIRECTED = 0.98f;
+    private static final float GAIN_FLOOR = 0.1f; // -20 dB
+    private static final int WARMUP_FRAMES = 8;
+    private static final float MIN_POWER = 1e-10f;
+
+    private final Fft fft;
+    private final int frameSize;
+    private final int hop;
+    private final float noiseRise;
+    private final float[] window;
+    private final float[] input;
+    private final float[] overlap;
+    private final float[] ready;
+    private final float[] re;
+    private final float[] im;
+    private final float[] smoothedPower;
+    private final float[] noisePower;
+    private final float[] previousClean;
+    private int filled;
+    private long frames;
+
+    /**
+     * Creates a suppressor for a stream at the given sample rate.
+     *
+     * @param sampleRate samples per second of the stream
+     */
+    public SpectralNoiseSuppressor(float sampleRate) {
+        if (sampleRate <= 0) {
+            throw new IllegalArgumentException("Sample rate must be positive: " + sampleRate);
+        }
+        var target = Math.max(MIN_FRAME_SIZE, (int) Math.ceil(sampleRate * FRAME_SECONDS));
+        this.frameSize = Integer.highestOneBit(target - 1) << 1;
+        this.hop = frameSize / 2;
+        this.fft = new Fft(frameSize);
+        this.noiseRise = (float) Math.pow(10, NOISE_RISE_DB_PER_SECOND / 10 * hop / sampleRate);
+
+        this.window = new float[frameSize];
+        for (int i = 0; i < frameSize; i++) {
+            window[i] = (float) Math.sqrt(0.5 - 0.5 * Math.cos(2 * Math.PI * i / frameSize));
+        }
+        this.input = new float[frameSize];
+        this.overlap = new float[frameSize];
+        this.ready = new float[hop];
+        this.re = new float[frameSize];
+        this.im = new float[frameSize];
+
+        var bins = frameSize / 2 + 1;
+        this.smoothedPower = new float[bins];
+        this.noisePower = new float[bins];
+        this.previousClean = new float[bins];
+    }
+
+    /**
+     * Suppresses noise in place. Samples of other channels are skipped by {@code stride},
+     * so one suppressor per channel can work on the same interleaved buffer.
+     *
+     * @param samples sample buffer; overwritten with output delayed by one frame
+     * @param offset index of the first sample of this stream
+     * @param count number of samples of this stream to process
+     * @param stride distance between consecutive samples of this stream
+     */
+    public void process(float[] samples, int offset, int count, int stride) {
+        for (int i = 0, index = offset; i < count; i++, index += stride) {
+            input[hop + filled] = samples[index];
+            samples[index] = ready[filled];
+            if (++filled == hop) {
+                processFrame();
+                filled = 0;
+            }
+        }
+    }
+
+    /**
+     * Gets the STFT frame length.
+     *
+     * @return frame size in samples
+     */
+    public int getFrameSize() {
+        return frameSize;
+    }
+
+    /**
+     * Gets the delay between a sample entering and leaving the suppressor.
+     *
+     * @return latency in samples
+     */
+    public int getLatencySamples() {
+        return frameSize;
+    }
+
+    /**
+     * Gets the current noise power estimate of a frequency bin.
+     *
+     * @param bin bin index from 0 to frameSize / 2
+     * @return noise power in squared sample units
+     */
+    public float getNoisePower(int bin) {
+        return noisePower[bin];
+    }
+
+    /**
+     * Clears the signal history and the noise estimate.
+     */
+    public void reset() {
+        Arrays.fill(input, 0.0f);
+        Arrays.fill(overlap, 0.0f);
+        Arrays.fill(ready, 0.0f);
+        Arrays.fill(smoothedPower, 0.0f);
+        Arrays.fill(noisePower, 0.0f);
+        Arrays.fill(previousClean, 0.0f);
+        filled = 0;
+        frames = 0;
+    }
+
+    private void processFrame() {
+        for (int i = 0; i < frameSize; i++) {
+            re[i] = input[i] * window[i];
+            im[i] = 0.0f;
+        }
+        fft.forward(re, im);
+        applyGains();
+        fft.inverse(re, im);
+
+        for (int i = 0; i < frameSize; i++) {
+            overlap[i] += re[i] * window[i];
+        }
+        System.arraycopy(overlap, 0, ready, 0, hop);
+        System.arraycopy(overlap, hop, overlap, 0, hop);
+        Arrays.fill(overlap, hop, frameSize, 0.0f);
+        System.arraycopy(input, hop, input, 0, hop);
+        frames++;
+    }
+
+    private void applyGains() {
+        var half = frameSize / 2;
+        for (int k = 0; k <= half; k++) {
+            var power = re[k] * re[k] + im[k] * im[k];
+            var smoothed = frames == 0 ? power : POWER_SMOOTHING * smoothedPower[k] + (1 - POWER_SMOOTHING) * power;
+            smoothedPower[k] = smoothed;
+
+            var noise = noisePower[k];
+            if (frames < WARMUP_FRAMES) {
+                // Running mean over the first frames, which are usually room noise
+                noise += (smoothed - noise) / (frames + 1);
+            } else {
+                noise = Math.min(smoothed, Math.max(noise, MIN_POWER) * noiseRise);
+            }
+            noisePower[k] = noise;
+
+            var floor = Math.max(noise, MIN_POWER);
+            var posterior = power / floor;
+            var prior = DECISION_DIRECTED * previousClean[k] / floor
+                + (1 - DECISION_DIRECTED) * Math.max(posterior - 1, 0.0f);
+            var gain = Math.max(prior / (1 + prior), GAIN_FLOOR);
+            previousClean[k] = gain * gain * power;
+
+            re[k] *= gain;
+            im[k] *= gain;
+            if (k > 0 && k < half) {
+                re[frameSize - k] *= gain;
+                im[frameSize - k] *= gain;
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.zoomtranscriber.core.audio;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming downmixer and polyphase resampler producing mono PCM16 little-endian audio.
+ * <p>
+ * Input frames are averaged to mono, then resampled by the rational factor
+ * {@code L/M = targetRate/sourceRate} with a windowed-sinc FIR split into L phases.
+ * Filter history, the current phase and any partial input frame are carried across
+ * calls, so chunk boundaries do not produce clicks or drift. Filter tables depend only
+ * on L and M and are shared between instances.
+ * <p>
+ * Instances keep per-stream state and are not thread-safe.
+ */
+public final class StreamingResampler {
+
+    private static final int TAPS_PER_PHASE = 32;
+    private static final double CUTOFF_RATIO = 0.45; // Fraction of the lower rate kept as passband
+    private static final Map<Long, float[][]> FILTER_CACHE = new ConcurrentHashMap<>();
+
+    private final AudioFormat sourceFormat;
+    private final AudioFormat targetFormat;
+    private final int upFactor;
+    private final int downFactor;
+    private final float[][] phases;
+    private final int frameSize;
+    private final int bytesPerSample;
+
+    private final byte[] pendingFrame;
+    private int pendingBytes;
+    private float[] work;
+    private int phase;
+    private int baseOffset;
+
+    /**
+     * Creates a resampler for one audio stream.
+     *
+     * @param sourceFormat format of the incoming PCM data (8 or 16 bit)
+     * @param targetSampleRate output sample rate in Hz
+     */
+    public StreamingResampler(AudioFormat sourceFormat, int targetSampleRate) {
+        var sampleSize = sourceFormat.getSampleSizeInBits();
+        if (sampleSize != 8 && sampleSize != 16) {
+            throw new IllegalArgumentException("Unsupported sample size: " + sampleSize);
+        }
+        if (sourceFormat.getChannels() <= 0 || sourceFormat.getSampleRate() <= 0 || targetSampleRate <= 0) {
+            throw new IllegalArgumentException("Invalid resampling formats: " + sourceFormat + " -> " + targetSampleRate);
+        }
+
+        var sourceRate = Math.round(sourceFormat.getSampleRate());
+        var gcd = gcd(sourceRate, targetSampleRate);
+        this.sourceFormat = sourceFormat;
+        this.targetFormat = new AudioFormat(targetSampleRate, 16, 1, true, false);
+        this.upFactor = targetSampleRate / gcd;
+        this.downFactor = sourceRate / gcd;
+        this.phases = upFactor == downFactor ? null : FILTER_CACHE.computeIfAbsent(
+            ((long) upFactor << 32) | downFactor, key -> designFilter(upFactor, downFactor));
+        this.bytesPerSample = sampleSize / 8;
+        this.frameSize = bytesPerSample * sourceFormat.getChannels();
+        this.pendingFrame = new byte[frameSize];
+        this.work = new float[TAPS_PER_PHASE - 1];
+    }
+
+    /**
+     * Converts the next chunk of the stream.
+     *
+     * @param data PCM data in the source format; need not be frame aligned
+     * @return mono PCM16 little-endian data at the target rate
+     */
+    public byte[] process(byte[] data) {
+        if (isPassthrough()) {
+            return data;
+        }
+
+        var history = TAPS_PER_PHASE - 1;
+        var frames = (pendingBytes + data.length) / frameSize;
+        ensureWorkCapacity(history + frames);
+        var produced = downmix(data, work, history);
+
+        if (phases == null) {
+            var out = new byte[produced * 2];
+            for (int i = 0; i < produced; i++) {
+                writePcm16(work[history + i], out, i);
+            }
+            System.arraycopy(work, produced, work, 0, history);
+            return out;
+        }
+
+        var outputs = countOutputs(produced);
+        var out = new byte[outputs * 2];
+        for (int n = 0; n < outputs; n++) {
+            var coefficients = phases[phase];
+            var base = baseOffset + history;
+            var acc = 0.0f;
+            for (int j = 0; j < TAPS_PER_PHASE; j++) {
+                acc += coefficients[j] * work[base - j];
+            }
+            writePcm16(acc, out, n);
+
+            phase += downFactor;
+            baseOffset += phase / upFactor;
+            phase %= upFactor;
+        }
+
+        baseOffset -= produced;
+        System.arraycopy(work, produced, work, 0, history);
+        return out;
+    }
+
+    /**
+     * Clears filter history and any partial frame, e.g. after a discontinuity.
+     */
+    public void reset() {
+        Arrays.fill(work, 0.0f);
+        pendingBytes = 0;
+        phase = 0;
+        baseOffset = 0;
+    }
+
+    /**
+     * Checks whether the source already matches the target format.
+     *
+     * @return true if data is returned unchanged
+     */
+    public boolean isPassthrough() {
+        return upFactor == downFactor
+            && sourceFormat.getChannels() == 1
+            && bytesPerSample == 2
+            && !sourceFormat.isBigEndian()
+            && sourceFormat.getEncoding() == AudioFormat.Encoding.PCM_SIGNED;
+    }
+
+    /**
+     * Gets the source format.
+     *
+     * @return source format
+     */
+    public AudioFormat getSourceFormat() {
+        return sourceFormat;
+    }
+
+    /**
+     * Gets the output format.
+     *
+     * @return mono PCM16 little-endian format at the target rate
+     */
+    public AudioFormat getTargetFormat() {
+        return targetFormat;
+    }
+
+    /**
+     * Counts outputs available from the buffered input without advancing state.
+     */
+    private int countOutputs(int inputSamples) {
+        var count = 0;
+        var p = phase;
+        var offset = baseOffset;
+        while (offset < inputSamples) {
+            count++;
+            p += downFactor;
+            offset += p / upFactor;
+            p %= upFactor;
+        }
+        return count;
+    }
+
+    /**
+     * Decodes whole frames (including a carried partial frame) into mono floats.
+     *
+     * @return number of mono samples written at {@code offset}
+     */
+    private int downmix(byte[] data, float[] target, int offset) {
+        var channels = sourceFormat.getChannels();
+        var scale = 1.0f / channels;
+        var written = 0;
+        var position = 0;
+
+        if (pendingBytes > 0) {
+            var needed = Math.min(frameSize - pendingBytes, data.length);
+            System.arraycopy(data, 0, pendingFrame, pendingBytes, needed);
+            pendingBytes += needed;
+            position = needed;
+            if (pendingBytes < frameSize) {
+                return 0;
+            }
+            target[offset + written++] = decodeFrame(pendingFrame, 0, channels) * scale;
+            pendingBytes = 0;
+        }
+
+        while (position + frameSize <= data.length) {
+            target[offset + written++] = decodeFrame(data, position, channels) * scale;
+            position += frameSize;
+        }
+
+        pendingBytes = data.length - position;
+        System.arraycopy(data, position, pendingFrame, 0, pendingBytes);
+        return written;
+    }
+
+    private float decodeFrame(byte[] data, int position, int channels) {
+        var sum = 0.0f;
+        for (int c = 0; c < channels; c++) {
+            var index = position + c * bytesPerSample;
+            if (bytesPerSample == 2) {
+                var sample = sourceFormat.isBigEndian()
+                    ? (short) ((data[index] << 8) | (data[index + 1] & 0xFF))
+                    : (short) ((data[index + 1] << 8) | (data[index] & 0xFF));
+                sum += sample / 32768.0f;
+            } else if (sourceFormat.getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED) {
+                sum += ((data[index] & 0xFF) - 128) / 128.0f;
+            } else {
+                sum += data[index] / 128.0f;
+            }
+        }
+        return sum;
+    }
+
+    private void ensureWorkCapacity(int samples) {
+        if (work.length < samples) {
+            var grown = new float[Math.max(samples, work.length * 2)];
+            System.arraycopy(work, 0, grown, 0, TAPS_PER_PHASE - 1);
+            work = grown;
+        }
+    }
+
+    private static void writePcm16(float sample, byte[] target, int index) {
+        var value = Math.round(Math.max(-1.0f, Math.min(1.0f, sample)) * 32767.0f);
+        target[2 * index] = (byte) value;
+        target[2 * index + 1] = (byte) (value >> 8);
+    }
+
+    /**
+     * Designs a Blackman-windowed sinc low-pass split into {@code up} polyphase branches.
+     * Branch {@code p} holds taps {@code h[p + up * j]}, each scaled so the DC gain is 1.
+     */
+    private static float[][] designFilter(int up, int down) {
+        var length = up * TAPS_PER_PHASE;
+        var cutoff = CUTOFF_RATIO / Math.max(up, down); // Cycles per upsampled sample
+        var center = (length - 1) / 2.0;
+        var prototype = new double[length];
+        var sum = 0.0;
+
+        for (int k = 0; k < length; k++) {
+            var t = k - center;
+            var sinc = t == 0 ? 2 * cutoff : Math.sin(2 * Math.PI * cutoff * t) / (Math.PI * t);
+            var window = 0.42 - 0.5 * Math.cos(2 * Math.PI * k / (length - 1))
+                + 0.08 * Math.cos(4 * Math.PI * k / (length - 1));
+            prototype[k] = sinc * window;
+            sum += prototype[k];
+        }
+
+        var filter = new float[up][TAPS_PER_PHASE];
+        for (int p = 0; p < up; p++) {
+            for (int j = 0; j < TAPS_PER_PHASE; j++) {
+                filter[p][j] = (float) (prototype[p + up * j] * up / sum);
+            }
+        }
+        return filter;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            var t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
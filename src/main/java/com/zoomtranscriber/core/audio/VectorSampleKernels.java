@@ -0,0 +1,97 @@
+package com.zoomtranscriber.core.audio;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of SampleKernels using the JDK Vector API.
+ * Processes one preferred-width float vector of samples per iteration and finishes
+ * the tail with the scalar loops, so results are bit-identical to ScalarSampleKernels.
+ * Byte-to-short reinterpretation assumes little-endian hardware; use
+ * {@link SampleKernels#select(boolean)} rather than constructing this directly.
+ */
+final class VectorSampleKernels implements SampleKernels {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorShape HALF_SHAPE = VectorShape.forBitSize(FLOATS.vectorBitSize() / 2);
+    private static final VectorSpecies<Short> SHORTS = VectorSpecies.of(short.class, HALF_SHAPE);
+    private static final VectorSpecies<Byte> BYTES = VectorSpecies.of(byte.class, HALF_SHAPE);
+    private static final VectorSpecies<Double> DOUBLES = VectorSpecies.of(double.class, FLOATS.vectorShape());
+    private static final float DECODE_SCALE = 1.0f / 32768.0f;
+
+    @Override
+    public void decodePcm16(byte[] source, float[] target, int count) {
+        var bound = FLOATS.loopBound(count);
+        var i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            decode(source, 2 * i).intoArray(target, i);
+        }
+        ScalarSampleKernels.decodePcm16(source, target, i, count);
+    }
+
+    @Override
+    public float peak(float[] samples, int count) {
+        var bound = FLOATS.loopBound(count);
+        var max = FloatVector.zero(FLOATS);
+        var i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            max = max.max(FloatVector.fromArray(FLOATS, samples, i).abs());
+        }
+        return ScalarSampleKernels.peak(samples, i, count, max.reduceLanes(VectorOperators.MAX));
+    }
+
+    @Override
+    public double gainAndEncodePcm16(float[] samples, int count, float gain, byte[] target) {
+        var bound = FLOATS.loopBound(count);
+        var energy = 0.0;
+        var i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            var scaled = FloatVector.fromArray(FLOATS, samples, i)
+                .mul(gain)
+                .min(1.0f)
+                .max(-1.0f)
+                .mul(32767.0f);
+            var encoded = (ShortVector) scaled.convertShape(VectorOperators.F2S, SHORTS, 0);
+            encoded.reinterpretAsBytes().intoArray(target, 2 * i);
+            energy += squaredSum((FloatVector) encoded.convertShape(VectorOperators.S2F, FLOATS, 0));
+        }
+        return energy + ScalarSampleKernels.gainAndEncodePcm16(samples, i, count, gain, target);
+    }
+
+    @Override
+    public double pcm16Energy(byte[] source, int count) {
+        var bound = FLOATS.loopBound(count);
+        var energy = 0.0;
+        var i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            var shorts = ByteVector.fromArray(BYTES, source, 2 * i).reinterpretAsShorts();
+            energy += squaredSum((FloatVector) shorts.convertShape(VectorOperators.S2F, FLOATS, 0));
+        }
+        return energy + ScalarSampleKernels.pcm16Energy(source, i, count);
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + FLOATS.vectorBitSize();
+    }
+
+    private static FloatVector decode(byte[] source, int byteOffset) {
+        var shorts = ByteVector.fromArray(BYTES, source, byteOffset).reinterpretAsShorts();
+        return ((FloatVector) shorts.convertShape(VectorOperators.S2F, FLOATS, 0)).mul(DECODE_SCALE);
+    }
+
+    /**
+     * Sums squares of integer-valued lanes in double precision.
+     * Each square is below 2^31, so the sum is exact and independent of lane order.
+     */
+    private static double squaredSum(FloatVector integerValues) {
+        var low = (DoubleVector) integerValues.convertShape(VectorOperators.F2D, DOUBLES, 0);
+        var high = (DoubleVector) integerValues.convertShape(VectorOperators.F2D, DOUBLES, 1);
+        return low.mul(low).add(high.mul(high)).reduceLanes(VectorOperators.ADD);
+    }
+}
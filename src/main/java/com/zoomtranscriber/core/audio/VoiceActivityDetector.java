@@ -0,0 +1,265 @@
+package com.zoomtranscriber.core.audio;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Frame-level voice activity detector for 16 kHz mono PCM16 little-endian audio.
+ * <p>
+ * Each 20 ms frame is scored on three features: energy above an adaptive noise floor,
+ * zero-crossing rate and spectral flatness over the speech band. Energy is required;
+ * the weighted score must also reach the configured threshold. A hangover state machine
+ * then turns frame decisions into utterances: speech must persist for the minimum
+ * duration before it is forwarded (frames from the onset are forwarded with it), and an
+ * utterance ends after the maximum silence. Only frames inside utterances are returned.
+ * <p>
+ * Instances keep per-stream state and are not thread-safe.
+ */
+public final class VoiceActivityDetector {
+
+    public static final int SAMPLE_RATE = 16000;
+
+    private static final int FRAME_MS = 20;
+    private static final int FRAME_SAMPLES = SAMPLE_RATE * FRAME_MS / 1000;
+    private static final int FRAME_BYTES = FRAME_SAMPLES * 2;
+    private static final Fft FFT = new Fft(512);
+    private static final int LOW_BIN = 4; // 125 Hz
+    private static final int HIGH_BIN = 128; // 4 kHz
+    private static final double MIN_SPEECH_ENERGY = 1.0e-5; // Mean square, about -50 dBFS
+    private static final double ENERGY_RATIO = 4.0; // About 6 dB above the noise floor
+    private static final double MAX_SPEECH_ZCR = 0.25; // Crossings per sample
+    private static final double MAX_SPEECH_FLATNESS = 0.4; // White noise is about 0.56
+    private static final double ENERGY_WEIGHT = 0.4;
+    private static final double ZCR_WEIGHT = 0.3;
+    private static final double FLATNESS_WEIGHT = 0.3;
+    private static final int ONSET_MAX_GAP_FRAMES = 3;
+
+    private enum State { SILENCE, ONSET, SPEECH, HANGOVER }
+
+    private final double threshold;
+    private final int minSpeechFrames;
+    private final int maxSilenceFrames;
+
+    private final byte[] pendingFrame = new byte[FRAME_BYTES];
+    private final float[] re = new float[FFT.size()];
+    private final float[] im = new float[FFT.size()];
+    private final ByteArrayOutputStream onsetFrames = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    private int pendingBytes;
+    private State state = State.SILENCE;
+    private int speechRun;
+    private int silenceRun;
+    private double noiseFloor = MIN_SPEECH_ENERGY / ENERGY_RATIO;
+    private long framesProcessed;
+    private long framesForwarded;
+
+    /**
+     * Creates a detector.
+     *
+     * @param threshold minimum weighted feature score for a speech frame (0.0 to 1.0)
+     * @param minSpeechDurationMs speech needed before an utterance starts
+     * @param maxSilenceMs silence that ends an utterance
+     */
+    public VoiceActivityDetector(double threshold, int minSpeechDurationMs, int maxSilenceMs) {
+        this.threshold = threshold;
+        this.minSpeechFrames = Math.max(1, minSpeechDurationMs / FRAME_MS);
+        this.maxSilenceFrames = Math.max(1, maxSilenceMs / FRAME_MS);
+    }
+
+    /**
+     * Feeds the next chunk of the stream.
+     *
+     * @param pcm 16 kHz mono PCM16 little-endian data; need not be frame aligned
+     * @return speech to forward and utterance boundaries seen in this chunk
+     */
+    public Result process(byte[] pcm) {
+        output.reset();
+        var utteranceEnded = false;
+        var position = 0;
+
+        while (position < pcm.length) {
+            var count = Math.min(FRAME_BYTES - pendingBytes, pcm.length - position);
+            System.arraycopy(pcm, position, pendingFrame, pendingBytes, count);
+            pendingBytes += count;
+            position += count;
+
+            if (pendingBytes == FRAME_BYTES) {
+                utteranceEnded |= processFrame(pendingFrame);
+                pendingBytes = 0;
+            }
+        }
+
+        return new Result(output.toByteArray(), isSpeechActive(), utteranceEnded);
+    }
+
+    /**
+     * Checks whether an utterance is in progress.
+     *
+     * @return true while speech or its hangover is being forwarded
+     */
+    public boolean isSpeechActive() {
+        return state == State.SPEECH || state == State.HANGOVER;
+    }
+
+    /**
+     * Gets the fraction of processed frames that were forwarded.
+     *
+     * @return forwarded ratio (0.0 to 1.0)
+     */
+    public double getForwardedRatio() {
+        return framesProcessed > 0 ? (double) framesForwarded / framesProcessed : 0.0;
+    }
+
+    /**
+     * Clears all state, including the learned noise floor.
+     */
+    public void reset() {
+        pendingBytes = 0;
+        state = State.SILENCE;
+        speechRun = 0;
+        silenceRun = 0;
+        noiseFloor = MIN_SPEECH_ENERGY / ENERGY_RATIO;
+        onsetFrames.reset();
+        framesProcessed = 0;
+        framesForwarded = 0;
+    }
+
+    /**
+     * Advances the state machine by one frame.
+     *
+     * @return true if this frame ended an utterance
+     */
+    private boolean processFrame(byte[] frame) {
+        framesProcessed++;
+        var speech = isSpeechFrame(frame);
+
+        switch (state) {
+            case SILENCE -> {
+                if (speech) {
+                    state = State.ONSET;
+                    speechRun = 1;
+                    silenceRun = 0;
+                    onsetFrames.write(frame, 0, FRAME_BYTES);
+                    promoteOnset();
+                }
+            }
+            case ONSET -> {
+                onsetFrames.write(frame, 0, FRAME_BYTES);
+                if (speech) {
+                    speechRun++;
+                    silenceRun = 0;
+                    promoteOnset();
+                } else if (++silenceRun > ONSET_MAX_GAP_FRAMES) {
+                    state = State.SILENCE;
+                    onsetFrames.reset();
+                }
+            }
+            case SPEECH, HANGOVER -> {
+                forward(frame, 0, FRAME_BYTES);
+                if (speech) {
+                    state = State.SPEECH;
+                    silenceRun = 0;
+                } else if (++silenceRun >= maxSilenceFrames) {
+                    state = State.SILENCE;
+                    silenceRun = 0;
+                    return true;
+                } else {
+                    state = State.HANGOVER;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void promoteOnset() {
+        if (speechRun >= minSpeechFrames) {
+            state = State.SPEECH;
+            var buffered = onsetFrames.toByteArray();
+            forward(buffered, 0, buffered.length);
+            onsetFrames.reset();
+        }
+    }
+
+    private void forward(byte[] data, int offset, int length) {
+        output.write(data, offset, length);
+        framesForwarded += length / FRAME_BYTES;
+    }
+
+    /**
+     * Scores one frame and updates the noise floor from non-speech frames.
+     */
+    private boolean isSpeechFrame(byte[] frame) {
+        var energy = 0.0;
+        var crossings = 0;
+        var previous = 0.0f;
+        for (int i = 0; i < FRAME_SAMPLES; i++) {
+            var sample = (short) ((frame[2 * i + 1] << 8) | (frame[2 * i] & 0xFF)) / 32768.0f;
+            energy += sample * sample;
+            if (i > 0 && (sample >= 0) != (previous >= 0)) {
+                crossings++;
+            }
+            previous = sample;
+            re[i] = sample;
+            im[i] = 0.0f;
+        }
+        energy /= FRAME_SAMPLES;
+
+        var energyVote = energy > Math.max(MIN_SPEECH_ENERGY, noiseFloor * ENERGY_RATIO);
+        var zcrVote = (double) crossings / FRAME_SAMPLES < MAX_SPEECH_ZCR;
+        var flatnessVote = energyVote && spectralFlatness() < MAX_SPEECH_FLATNESS;
+
+        var score = (energyVote ? ENERGY_WEIGHT : 0.0)
+            + (zcrVote ? ZCR_WEIGHT : 0.0)
+            + (flatnessVote ? FLATNESS_WEIGHT : 0.0);
+        var speech = energyVote && score >= threshold;
+
+        if (energy < noiseFloor) {
+            noiseFloor = 0.8 * noiseFloor + 0.2 * energy;
+        } else if (!speech) {
+            noiseFloor = 0.99 * noiseFloor + 0.01 * energy;
+        }
+        noiseFloor = Math.max(noiseFloor, 1.0e-9);
+
+        return speech;
+    }
+
+    /**
+     * Computes geometric over arithmetic mean of the power spectrum in the speech band.
+     * Expects the frame samples in {@code re} with zero padding still to be applied.
+     */
+    private double spectralFlatness() {
+        for (int i = FRAME_SAMPLES; i < re.length; i++) {
+            re[i] = 0.0f;
+            im[i] = 0.0f;
+        }
+        FFT.forward(re, im);
+
+        var logSum = 0.0;
+        var sum = 0.0;
+        for (int k = LOW_BIN; k < HIGH_BIN; k++) {
+            var power = (double) re[k] * re[k] + (double) im[k] * im[k] + 1.0e-12;
+            logSum += Math.log(power);
+            sum += power;
+        }
+        var bins = HIGH_BIN - LOW_BIN;
+        return Math.exp(logSum / bins) / (sum / bins);
+    }
+
+    /**
+     * Output of one {@link #process(byte[])} call.
+     *
+     * @param speech speech audio to forward, possibly empty
+     * @param speechActive whether an utterance is still in progress
+     * @param utteranceEnded whether an utterance ended within this chunk
+     */
+    public record Result(byte[] speech, boolean speechActive, boolean utteranceEnded) {
+        /**
+         * Checks whether this chunk produced audio to forward.
+         *
+         * @return true if speech is not empty
+         */
+        public boolean hasSpeech() {
+            return speech.length > 0;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.zoomtranscriber.core.monitoring;
 
+import com.zoomtranscriber.core.audio.CaptureHealth;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -202,6 +204,47 @@ public class PerformanceMonitor {
         logger.warn("Error recorded: component={}, errorType={}", component, errorType);
     }
     
+    /**
+     * Exports the capture statistics of an input device, tagged with the device.
+     * Register each device once and reuse its CaptureHealth across captures, since
+     * the meters keep reading the instance they were registered with.
+     * 
+     * @param health capture statistics of the device
+     */
+    public void registerCaptureDevice(CaptureHealth health) {
+        var device = health.getDevice();
+        FunctionCounter.builder("zoom.audio.capture.overruns", health, CaptureHealth::getOverruns)
+            .description("Reads that found the line buffer close to overflowing")
+            .tag("device", device)
+            .register(meterRegistry);
+        FunctionCounter.builder("zoom.audio.capture.stalls", health, CaptureHealth::getStalls)
+            .description("Reads that returned much later than the audio they delivered")
+            .tag("device", device)
+            .register(meterRegistry);
+        FunctionCounter.builder("zoom.audio.capture.discontinuities", health, CaptureHealth::getDiscontinuities)
+            .description("Gaps detected in the captured audio")
+            .tag("device", device)
+            .register(meterRegistry);
+        FunctionCounter.builder("zoom.audio.capture.lost.frames", health, CaptureHealth::getLostFrames)
+            .description("Frames lost in detected gaps")
+            .tag("device", device)
+            .register(meterRegistry);
+        Gauge.builder("zoom.audio.capture.buffer.fill", health, CaptureHealth::getFillLevel)
+            .description("Line buffer fill level before the last read (0 to 1)")
+            .tag("device", device)
+            .register(meterRegistry);
+        Gauge.builder("zoom.audio.capture.buffer.size", health, CaptureHealth::getLineBufferBytes)
+            .description("Line buffer size in bytes")
+            .tag("device", device)
+            .register(meterRegistry);
+        Gauge.builder("zoom.audio.capture.jitter", health, CaptureHealth::getJitterMillis)
+            .description("Smoothed deviation of read intervals from the audio they returned in milliseconds")
+            .tag("device", device)
+            .register(meterRegistry);
+        
+        logger.info("Capture metrics registered for device: {}", device);
+    }
+    
     /**
      * Updates system resource metrics.
      * 
@@ -0,0 +1,132 @@
+package com.zoomtranscriber.core.monitoring;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency breakdown of the live audio pipeline.
+ * <p>
+ * Every chunk carries the {@link System#nanoTime()} instant at which its audio was
+ * captured. Each stage records the time elapsed since that instant when the audio
+ * reaches it, so the difference between consecutive stages is the cost of the stage in
+ * between and {@link Stage#TRANSCRIBED} is the glass-to-text latency. Recording is
+ * lock-free and allocation-free; the stages are exported to Micrometer as the
+ * {@code zoom.audio.pipeline.latency} timer tagged by stage.
+ */
+@Component
+public class PipelineLatency implements MeterBinder {
+
+    private final Map<Stage, StageStats> stages = new EnumMap<>(Stage.class);
+
+    /**
+     * Creates the tracker with empty statistics for every stage.
+     */
+    public PipelineLatency() {
+        for (var stage : Stage.values()) {
+            stages.put(stage, new StageStats());
+        }
+    }
+
+    /**
+     * Records that audio captured at {@code captureNanos} has reached a stage.
+     *
+     * @param stage pipeline stage
+     * @param captureNanos capture instant from {@link System#nanoTime()}
+     */
+    public void record(Stage stage, long captureNanos) {
+        var elapsed = System.nanoTime() - captureNanos;
+        if (elapsed >= 0) {
+            stages.get(stage).add(elapsed);
+        }
+    }
+
+    /**
+     * Gets the statistics of every stage.
+     *
+     * @return snapshot per stage, in pipeline order
+     */
+    public Map<Stage, Snapshot> getSnapshot() {
+        var snapshot = new EnumMap<Stage, Snapshot>(Stage.class);
+        stages.forEach((stage, stats) -> snapshot.put(stage, stats.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Clears all statistics.
+     */
+    public void reset() {
+        stages.values().forEach(StageStats::reset);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        stages.forEach((stage, stats) -> {
+            var tag = stage.name().toLowerCase();
+            FunctionTimer.builder("zoom.audio.pipeline.latency", stats,
+                    s -> s.count.sum(), s -> s.totalNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time from audio capture until the audio reaches the stage")
+                .tag("stage", tag)
+                .register(registry);
+            Gauge.builder("zoom.audio.pipeline.latency.max", stats, s -> s.maxNanos.get() / 1_000_000.0)
+                .description("Longest observed time from audio capture to the stage in milliseconds")
+                .tag("stage", tag)
+                .register(registry);
+        });
+    }
+
+    /**
+     * Points in the pipeline at which latency is measured, in pipeline order.
+     */
+    public enum Stage {
+        /** Chunk handed to capture subscribers, after the capture queue. */
+        DELIVERED,
+        /** Processed chunk reached the speech recognizer. */
+        RECOGNITION_INPUT,
+        /** Segment containing the audio was emitted. */
+        TRANSCRIBED
+    }
+
+    /**
+     * Latency statistics of one stage.
+     *
+     * @param count number of observations
+     * @param mean mean latency
+     * @param max longest latency
+     */
+    public record Snapshot(long count, Duration mean, Duration max) {
+    }
+
+    private static final class StageStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        private Snapshot snapshot() {
+            var n = count.sum();
+            return new Snapshot(n, Duration.ofNanos(n > 0 ? totalNanos.sum() / n : 0), Duration.ofNanos(maxNanos.get()));
+        }
+
+        private void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.set(0);
+        }
+    }
+}
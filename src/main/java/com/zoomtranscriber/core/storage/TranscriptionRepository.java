@@ -18,6 +18,8 @@ public interface TranscriptionRepository extends JpaRepository<Transcription, UU
     
     List<Transcription> findByMeetingSessionIdOrderByTimestamp(UUID meetingSessionId);
     
+    List<Transcription> findByMeetingSessionIdAndSegmentNumberBetweenOrderBySegmentNumber(UUID meetingSessionId, Integer fromSegmentNumber, Integer toSegmentNumber);
+    
     @Query("SELECT t FROM Transcription t WHERE t.meetingSession.id = :meetingSessionId ORDER BY t.segmentNumber")
     List<Transcription> findByMeetingSessionIdOrderBySegmentNumberQuery(@Param("meetingSessionId") UUID meetingSessionId);
     
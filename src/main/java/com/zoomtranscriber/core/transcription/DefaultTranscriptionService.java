@@ -8,14 +8,24 @@ import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.core.scheduler.Schedulers;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
  * Default implementation of TranscriptionService.
  * Provides mock transcription functionality for development and testing.
+ * With {@link TranscriptionConfig#interimResults()} each mock segment is preceded by
+ * interim segments of its growing text under the same id.
+ * <p>
+ * Final segments are recorded in the {@link SegmentStore}, which serves full and ranged
+ * history, replay for late subscribers, and exports without waiting on the live stream.
  */
 @Service
 public class DefaultTranscriptionService implements TranscriptionService {
@@ -25,6 +35,16 @@ public class DefaultTranscriptionService implements TranscriptionService {
     private final ConcurrentHashMap<UUID, TranscriptionSession> activeSessions = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, Sinks.Many<TranscriptionSegment>> transcriptionSinks = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, TranscriptionConfig> sessionConfigs = new ConcurrentHashMap<>();
+    private final SegmentStore segmentStore;
+    
+    /**
+     * Creates the transcription service.
+     * 
+     * @param segmentStore history of final segments per meeting
+     */
+    public DefaultTranscriptionService(SegmentStore segmentStore) {
+        this.segmentStore = segmentStore;
+    }
     
     @Override
     public Mono<Void> startTranscription(UUID meetingId, TranscriptionConfig config) {
@@ -48,9 +68,10 @@ public class DefaultTranscriptionService implements TranscriptionService {
             activeSessions.put(meetingId, session);
             sessionConfigs.put(meetingId, config);
             transcriptionSinks.put(meetingId, Sinks.many().multicast().onBackpressureBuffer());
+            segmentStore.open(meetingId);
             
-            // Start mock transcription simulation
-            startMockTranscription(meetingId, config);
+            // Start mock transcription simulation; it runs on its own so stream subscribers see it live
+            Schedulers.boundedElastic().schedule(() -> startMockTranscription(meetingId, config));
             
             logger.info("Transcription started successfully for meeting: {}", meetingId);
         })
@@ -77,6 +98,7 @@ public class DefaultTranscriptionService implements TranscriptionService {
             if (sink != null) {
                 sink.tryEmitComplete();
             }
+            segmentStore.complete(meetingId);
             
             // Clean up
             sessionConfigs.remove(meetingId);
@@ -116,7 +138,46 @@ public class DefaultTranscriptionService implements TranscriptionService {
     
     @Override
     public Flux<TranscriptionSegment> getAllTranscriptionSegments(UUID meetingId) {
-        return getTranscriptionStream(meetingId);
+        return Mono.fromCallable(() -> segmentStore.readAll(meetingId))
+            .flatMapIterable(segments -> segments)
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @Override
+    public Flux<TranscriptionSegment> getTranscriptionSegments(UUID meetingId, int fromSegment, int toSegment) {
+        return Mono.fromCallable(() -> segmentStore.read(meetingId, fromSegment, toSegment))
+            .flatMapIterable(segments -> segments)
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @Override
+    public Flux<TranscriptionSegment> getTranscriptionSegmentsBetween(UUID meetingId, java.time.Duration from, java.time.Duration to) {
+        return Mono.fromCallable(() -> segmentStore.readBetween(meetingId, from.toNanos() / 1e9, to.toNanos() / 1e9))
+            .flatMapIterable(segments -> segments)
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    @Override
+    public Flux<TranscriptionSegment> replayTranscriptionStream(UUID meetingId, int fromSegment) {
+        return Flux.defer(() -> {
+            // Segments appended while the history is read wait here until it has been emitted
+            var live = Sinks.many().unicast().<TranscriptionSegment>onBackpressureBuffer();
+            var replay = segmentStore.follow(meetingId, fromSegment, new SegmentStore.Listener() {
+                @Override
+                public void onSegment(TranscriptionSegment segment) {
+                    live.tryEmitNext(segment);
+                }
+                
+                @Override
+                public void onComplete() {
+                    live.tryEmitComplete();
+                }
+            });
+            return Flux.fromIterable(replay.history())
+                .concatWith(live.asFlux())
+                .doFinally(signal -> replay.cancel().run());
+        })
+        .subscribeOn(Schedulers.boundedElastic());
     }
     
     @Override
@@ -146,16 +207,7 @@ public class DefaultTranscriptionService implements TranscriptionService {
         return Mono.fromCallable(() -> {
             var config = sessionConfigs.get(meetingId);
             if (config != null) {
-                var newConfig = new TranscriptionConfig(
-                    language,
-                    config.enableSpeakerDiarization(),
-                    config.confidenceThreshold(),
-                    config.enablePunctuation(),
-                    config.enableCapitalization(),
-                    config.enableTimestamps(),
-                    config.maxSpeakers(),
-                    config.model()
-                );
+                var newConfig = config.withLanguage(language);
                 sessionConfigs.put(meetingId, newConfig);
             }
             
@@ -180,16 +232,7 @@ public class DefaultTranscriptionService implements TranscriptionService {
         return Mono.fromCallable(() -> {
             var config = sessionConfigs.get(meetingId);
             if (config != null) {
-                var newConfig = new TranscriptionConfig(
-                    config.language(),
-                    enabled,
-                    config.confidenceThreshold(),
-                    config.enablePunctuation(),
-                    config.enableCapitalization(),
-                    config.enableTimestamps(),
-                    config.maxSpeakers(),
-                    config.model()
-                );
+                var newConfig = config.withSpeakerDiarization(enabled);
                 sessionConfigs.put(meetingId, newConfig);
             }
             
@@ -214,16 +257,7 @@ public class DefaultTranscriptionService implements TranscriptionService {
         return Mono.fromCallable(() -> {
             var config = sessionConfigs.get(meetingId);
             if (config != null) {
-                var newConfig = new TranscriptionConfig(
-                    config.language(),
-                    config.enableSpeakerDiarization(),
-                    threshold,
-                    config.enablePunctuation(),
-                    config.enableCapitalization(),
-                    config.enableTimestamps(),
-                    config.maxSpeakers(),
-                    config.model()
-                );
+                var newConfig = config.withConfidenceThreshold(threshold);
                 sessionConfigs.put(meetingId, newConfig);
             }
             
@@ -279,22 +313,17 @@ public class DefaultTranscriptionService implements TranscriptionService {
     @Override
     public Mono<byte[]> exportTranscription(UUID meetingId, ExportFormat format) {
         return Mono.fromCallable(() -> {
-            var session = activeSessions.get(meetingId);
-            if (session == null) {
-                throw new IllegalStateException("No active transcription for meeting: " + meetingId);
-            }
-            
-            // Mock export data
+            var segments = segmentStore.readAll(meetingId);
             var content = switch (format) {
-                case TXT -> exportAsText(meetingId);
-                case JSON -> exportAsJson(meetingId);
-                case SRT -> exportAsSrt(meetingId);
-                case VTT -> exportAsVtt(meetingId);
-                case CSV -> exportAsCsv(meetingId);
-                case DOCX -> exportAsText(meetingId); // Simplified
+                case TXT -> exportAsText(meetingId, segments);
+                case JSON -> exportAsJson(meetingId, segments);
+                case SRT -> exportAsSrt(segments);
+                case VTT -> exportAsVtt(segments);
+                case CSV -> exportAsCsv(segments);
+                case DOCX -> exportAsText(meetingId, segments); // Simplified
             };
             
-            return content.getBytes();
+            return content.getBytes(StandardCharsets.UTF_8);
         })
         .subscribeOn(Schedulers.boundedElastic());
     }
@@ -323,16 +352,24 @@ public class DefaultTranscriptionService implements TranscriptionService {
         for (var text : mockTexts) {
             try {
                 Thread.sleep(3000); // 3 second delay between segments
+                if (!isLive(meetingId, sink)) {
+                    break;
+                }
                 
                 var segment = createMockTranscriptionSegment(meetingId, config, index);
                 if (segment != null) {
+                    if (config.interimResults() && !emitMockInterimSegments(meetingId, sink, segment)) {
+                        break;
+                    }
+                    if (segment.isFinal()) {
+                        segmentStore.append(segment);
+                    }
                     sink.tryEmitNext(segment);
                     
                     // Update session
-                    var session = activeSessions.get(meetingId);
-                    if (session != null) {
-                        activeSessions.put(meetingId, session.withSegmentCount(index + 1));
-                    }
+                    var count = index + 1;
+                    activeSessions.computeIfPresent(meetingId, (id, session) ->
+                        session.status() == TranscriptionStatus.ACTIVE ? session.withSegmentCount(count) : session);
                 }
                 index++;
                 
@@ -343,6 +380,44 @@ public class DefaultTranscriptionService implements TranscriptionService {
         }
     }
     
+    /**
+     * Checks that a mock transcription's session is still active and still owns its stream.
+     */
+    private boolean isLive(UUID meetingId, Sinks.Many<TranscriptionSegment> sink) {
+        var session = activeSessions.get(meetingId);
+        return session != null && session.status() == TranscriptionStatus.ACTIVE
+            && transcriptionSinks.get(meetingId) == sink;
+    }
+    
+    /**
+     * Emits the words of a mock segment as growing interim segments sharing its id.
+     *
+     * @return false if the session stopped before all words were emitted
+     */
+    private boolean emitMockInterimSegments(UUID meetingId, Sinks.Many<TranscriptionSegment> sink,
+                                            TranscriptionSegment segment) throws InterruptedException {
+        var words = segment.getText().split(" ");
+        for (int i = 1; i < words.length; i++) {
+            if (!isLive(meetingId, sink)) {
+                return false;
+            }
+            sink.tryEmitNext(new TranscriptionSegment(
+                segment.getId(),
+                segment.getMeetingId(),
+                LocalDateTime.now(),
+                segment.getSpeakerId(),
+                String.join(" ", Arrays.copyOf(words, i)),
+                segment.getConfidence(),
+                segment.getSegmentNumber(),
+                false,
+                segment.getDuration(),
+                segment.getLanguage()
+            ));
+            Thread.sleep(200);
+        }
+        return isLive(meetingId, sink);
+    }
+    
     /**
      * Creates a mock transcription segment.
      */
@@ -386,30 +461,24 @@ public class DefaultTranscriptionService implements TranscriptionService {
     /**
      * Exports transcription as plain text.
      */
-    private String exportAsText(UUID meetingId) {
-        var session = activeSessions.get(meetingId);
-        if (session == null) {
-            return "No transcription available for this meeting.";
-        }
-        
+    private String exportAsText(UUID meetingId, List<TranscriptionSegment> segments) {
         var config = sessionConfigs.get(meetingId);
+        var language = config != null ? config.language()
+            : segments.stream().map(TranscriptionSegment::getLanguage).filter(Objects::nonNull).findFirst().orElse("en-US");
+        var duration = segments.isEmpty() ? 0.0 : endTime(segments.get(segments.size() - 1));
         var sb = new StringBuilder();
         sb.append("Transcription for Meeting: ").append(meetingId).append("\n");
-        sb.append("Language: ").append(config != null ? config.language() : "en-US").append("\n");
-        sb.append("Segments: ").append(session.segmentCount()).append("\n");
-        sb.append("Duration: ").append(java.time.Duration.between(session.startTime(), LocalDateTime.now()).toMinutes()).append(" minutes\n\n");
+        sb.append("Language: ").append(language).append("\n");
+        sb.append("Segments: ").append(segments.size()).append("\n");
+        sb.append("Duration: ").append((long) (duration / 60)).append(" minutes\n\n");
         
-        // Add mock segments
-        var mockTexts = List.of(
-            "Hello everyone, thank you for joining this meeting.",
-            "Let's start by reviewing the agenda for today.",
-            "First, we'll discuss the project timeline.",
-            "We need to make sure everyone is aligned on the deliverables.",
-            "Does anyone have any questions about the approach?"
-        );
-        
-        for (int i = 0; i < Math.min(session.segmentCount(), mockTexts.size()); i++) {
-            sb.append(i + 1).append(". ").append(mockTexts.get(i)).append("\n\n");
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            sb.append(i + 1).append(". ");
+            if (segment.getSpeakerId() != null) {
+                sb.append(segment.getSpeakerId()).append(": ");
+            }
+            sb.append(segment.getText()).append("\n\n");
         }
         
         return sb.toString();
@@ -418,51 +487,112 @@ public class DefaultTranscriptionService implements TranscriptionService {
     /**
      * Exports transcription as JSON.
      */
-    private String exportAsJson(UUID meetingId) {
+    private String exportAsJson(UUID meetingId, List<TranscriptionSegment> segments) {
+        var entries = segments.stream()
+            .map(segment -> String.format(Locale.ROOT,
+                "{\"segmentNumber\": %d, \"startTime\": %.3f, \"endTime\": %.3f, \"speakerId\": %s, \"text\": %s, \"confidence\": %.3f}",
+                segment.getSegmentNumber(), segment.getStartTime(), endTime(segment),
+                segment.getSpeakerId() != null ? jsonString(segment.getSpeakerId()) : "null",
+                jsonString(segment.getText()), segment.getConfidence()))
+            .collect(Collectors.joining(",\n        "));
+        var duration = segments.isEmpty() ? 0.0 : endTime(segments.get(segments.size() - 1));
         return """
             {
                 "meetingId": "%s",
-                "segments": [],
+                "segments": [
+                    %s
+                ],
                 "stats": {
                     "totalSegments": %d,
-                    "totalDuration": "PT%dM"
+                    "totalDuration": "%s"
                 }
             }
-            """.formatted(meetingId, activeSessions.get(meetingId).segmentCount(), 30);
+            """.formatted(meetingId, entries, segments.size(), java.time.Duration.ofMillis((long) (duration * 1000)));
     }
     
     /**
      * Exports transcription as SRT.
      */
-    private String exportAsSrt(UUID meetingId) {
+    private String exportAsSrt(List<TranscriptionSegment> segments) {
         var sb = new StringBuilder();
-        sb.append("1\n");
-        sb.append("00:00:00,000 --> 00:00:03,000\n");
-        sb.append("Hello everyone, thank you for joining this meeting.\n\n");
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            sb.append(i + 1).append("\n");
+            sb.append(cueTime(segment.getStartTime(), ',')).append(" --> ").append(cueTime(endTime(segment), ',')).append("\n");
+            sb.append(segment.getText()).append("\n\n");
+        }
         return sb.toString();
     }
     
     /**
      * Exports transcription as VTT.
      */
-    private String exportAsVtt(UUID meetingId) {
+    private String exportAsVtt(List<TranscriptionSegment> segments) {
         var sb = new StringBuilder();
         sb.append("WEBVTT\n\n");
-        sb.append("00:00:00.000 --> 00:00:03.000\n");
-        sb.append("Hello everyone, thank you for joining this meeting.\n\n");
+        for (var segment : segments) {
+            sb.append(cueTime(segment.getStartTime(), '.')).append(" --> ").append(cueTime(endTime(segment), '.')).append("\n");
+            sb.append(segment.getText()).append("\n\n");
+        }
         return sb.toString();
     }
     
     /**
      * Exports transcription as CSV.
      */
-    private String exportAsCsv(UUID meetingId) {
+    private String exportAsCsv(List<TranscriptionSegment> segments) {
         var sb = new StringBuilder();
         sb.append("Segment,Speaker,Text,Confidence\n");
-        sb.append("1,Speaker 1,\"Hello everyone, thank you for joining this meeting.\",0.85\n");
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            sb.append(i + 1).append(',')
+                .append(segment.getSpeakerId() != null ? segment.getSpeakerId() : "").append(',')
+                .append('"').append(segment.getText().replace("\"", "\"\"")).append('"').append(',')
+                .append(String.format(Locale.ROOT, "%.2f", segment.getConfidence())).append("\n");
+        }
         return sb.toString();
     }
     
+    /**
+     * Gets the end of a segment in seconds, falling back to its duration when no end time was recorded.
+     */
+    private static double endTime(TranscriptionSegment segment) {
+        if (segment.getEndTime() > segment.getStartTime() || segment.getDuration() == null) {
+            return Math.max(segment.getEndTime(), segment.getStartTime());
+        }
+        return segment.getStartTime() + segment.getDuration().toMillis() / 1000.0;
+    }
+    
+    /**
+     * Formats seconds as a subtitle cue time, hh:mm:ss followed by the separator and milliseconds.
+     */
+    private static String cueTime(double seconds, char separator) {
+        var millis = Math.round(seconds * 1000);
+        return String.format(Locale.ROOT, "%02d:%02d:%02d%c%03d",
+            millis / 3_600_000, millis / 60_000 % 60, millis / 1000 % 60, separator, millis % 1000);
+    }
+    
+    private static String jsonString(String value) {
+        var sb = new StringBuilder("\"");
+        for (var c : value.toCharArray()) {
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+    
     /**
      * Represents an active transcription session.
      */
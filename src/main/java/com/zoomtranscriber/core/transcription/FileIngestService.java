@@ -0,0 +1,350 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.audio.AdpcmWavReader;
+import com.zoomtranscriber.core.audio.AudioCaptureService;
+import com.zoomtranscriber.core.audio.AudioProcessorFactory;
+import com.zoomtranscriber.core.exceptions.AudioException;
+import com.zoomtranscriber.core.exceptions.ValidationException;
+import com.zoomtranscriber.core.storage.MeetingRepository;
+import com.zoomtranscriber.core.storage.TranscriptionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transcribes recorded audio faster than real time.
+ * <p>
+ * Input is cut into independent windows of {@code ingestWindowSeconds}. Each window
+ * runs through its own AudioProcessor and recognition session, and up to
+ * {@code ingestParallelism} windows are transcribed at once; results are stitched back
+ * in window order, placed on the file's timeline and persisted to the meeting if it
+ * exists. Segments are numbered like the {@link SegmentStore} sequence: from 0, or after
+ * the meeting's stored segments, so ingested history reads back through the store's
+ * archive. Only the windows in flight are held in memory, so files of any length can be
+ * ingested.
+ * <p>
+ * PCM WAV, IMA-ADPCM WAV written by the recorder, and headerless PCM with a caller
+ * supplied format are supported. 8 and 16-bit PCM of either signedness and byte order is
+ * converted to signed 16-bit little-endian before it reaches the audio processor.
+ */
+@Service
+public class FileIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileIngestService.class);
+
+    private final AudioConfig audioConfig;
+    private final AudioProcessorFactory processorFactory;
+    private final SpeechRecognizer speechRecognizer;
+    private final SegmentArchive archive;
+
+    /**
+     * Creates the ingest service.
+     *
+     * @param audioConfig audio configuration providing window size and parallelism
+     * @param processorFactory source of per-window audio processors
+     * @param speechRecognizer speech recognition engine
+     * @param meetingRepository meeting repository, if persistence is available
+     * @param transcriptionRepository transcription repository, if persistence is available
+     */
+    public FileIngestService(AudioConfig audioConfig,
+                             AudioProcessorFactory processorFactory,
+                             SpeechRecognizer speechRecognizer,
+                             ObjectProvider<MeetingRepository> meetingRepository,
+                             ObjectProvider<TranscriptionRepository> transcriptionRepository) {
+        this.audioConfig = audioConfig;
+        this.processorFactory = processorFactory;
+        this.speechRecognizer = speechRecognizer;
+        this.archive = new RepositorySegmentArchive(meetingRepository, transcriptionRepository);
+    }
+
+    /**
+     * Transcribes a file from the ingest directory.
+     *
+     * @param meetingId meeting the segments belong to
+     * @param location file path relative to {@code ingestDirectory}
+     * @param rawFormat format of headerless PCM, or null for WAV files
+     * @param config recognition configuration
+     * @return Mono of the ingest result
+     * @throws ValidationException if the file is outside the ingest directory or missing
+     */
+    public Mono<IngestResult> ingestFile(UUID meetingId, String location, AudioFormat rawFormat,
+                                         SpeechRecognizer.RecognitionConfig config) {
+        var path = resolveIngestPath(location);
+        logger.info("Ingesting {} for meeting: {}", path, meetingId);
+        return ingest(meetingId, readWindows(path, rawFormat), config);
+    }
+
+    /**
+     * Transcribes a PCM stream. The stream is read sequentially and closed when done.
+     *
+     * @param meetingId meeting the segments belong to
+     * @param input PCM data
+     * @param format format of the data
+     * @param config recognition configuration
+     * @return Mono of the ingest result
+     */
+    public Mono<IngestResult> ingestStream(UUID meetingId, InputStream input, AudioFormat format,
+                                           SpeechRecognizer.RecognitionConfig config) {
+        return ingest(meetingId, windows(input, format), config);
+    }
+
+    /**
+     * Resolves a location against the ingest directory.
+     *
+     * @param location file path relative to {@code ingestDirectory}
+     * @return absolute, normalized path
+     * @throws ValidationException if the path escapes the directory or is not a file
+     */
+    Path resolveIngestPath(String location) {
+        if (location == null || location.isBlank()) {
+            throw new ValidationException("Ingest path is required");
+        }
+        var root = Paths.get(audioConfig.getIngestDirectory()).toAbsolutePath().normalize();
+        var path = root.resolve(location).normalize();
+        if (!path.startsWith(root)) {
+            throw new ValidationException("Ingest path must be inside " + root);
+        }
+        if (!Files.isRegularFile(path)) {
+            throw new ValidationException("Ingest file not found: " + location);
+        }
+        return path;
+    }
+
+    private Mono<IngestResult> ingest(UUID meetingId, Flux<AudioCaptureService.AudioChunk> windows,
+                                      SpeechRecognizer.RecognitionConfig config) {
+        var startNanos = new AtomicLong();
+        var audioMillis = new AtomicLong();
+        var windowCount = new AtomicInteger();
+        var failedWindows = new AtomicInteger();
+
+        return speechRecognizer.initialize()
+            .doOnSubscribe(subscription -> startNanos.set(System.nanoTime()))
+            .thenMany(windows
+                .doOnNext(window -> {
+                    windowCount.incrementAndGet();
+                    audioMillis.addAndGet(window.duration().toMillis());
+                })
+                .flatMapSequential(window -> transcribeWindow(meetingId, window, config, failedWindows),
+                    audioConfig.getIngestParallelism(), 1))
+            .index((index, segment) -> {
+                segment.setSegmentNumber(index.intValue());
+                return segment;
+            })
+            .collectList()
+            .publishOn(Schedulers.boundedElastic())
+            .map(segments -> {
+                var persisted = persist(meetingId, segments);
+                var result = new IngestResult(
+                    meetingId,
+                    windowCount.get(),
+                    failedWindows.get(),
+                    Duration.ofMillis(audioMillis.get()),
+                    Duration.ofNanos(System.nanoTime() - startNanos.get()),
+                    persisted,
+                    segments
+                );
+                logger.info("Ingested {} of audio for meeting {} in {} ({}x real time, {} segments, {} failed windows)",
+                    result.audioDuration(), meetingId, result.processingTime(),
+                    String.format("%.1f", result.getSpeedup()), segments.size(), result.failedWindows());
+                return result;
+            });
+    }
+
+    /**
+     * Transcribes one window in its own processor and recognition session.
+     */
+    private Flux<TranscriptionSegment> transcribeWindow(UUID meetingId, AudioCaptureService.AudioChunk window,
+                                                        SpeechRecognizer.RecognitionConfig config,
+                                                        AtomicInteger failedWindows) {
+        var windowId = UUID.randomUUID();
+        var sessionId = windowId.toString();
+        var processor = processorFactory.createDetached(windowId);
+        processor.setChunkSizeController(speechRecognizer.getChunkSizeController(sessionId));
+        var offsetSeconds = window.timestamp() / 1000.0;
+
+        return speechRecognizer.startSession(sessionId, config)
+            .thenMany(processor.processAudio(window.data(), window.format())
+                .concatMap(chunk -> speechRecognizer.processAudio(sessionId, chunk)))
+            .concatWith(speechRecognizer.finishSession(sessionId))
+            .map(segment -> {
+                segment.setMeetingId(meetingId);
+                segment.setStartTime(offsetSeconds + segment.getStartTime());
+                segment.setEndTime(offsetSeconds + segment.getEndTime());
+                return segment;
+            })
+            .onErrorResume(error -> {
+                // A bad window should not discard the rest of a long file
+                logger.warn("Failed to transcribe window at {}s for meeting {}", offsetSeconds, meetingId, error);
+                failedWindows.incrementAndGet();
+                return speechRecognizer.stopSession(sessionId).onErrorResume(e -> Mono.empty()).thenMany(Flux.empty());
+            });
+    }
+
+    /**
+     * Opens a file as a stream of windows.
+     */
+    private Flux<AudioCaptureService.AudioChunk> readWindows(Path path, AudioFormat rawFormat) {
+        return Flux.defer(() -> {
+            try {
+                if (rawFormat != null) {
+                    return windows(Files.newInputStream(path), rawFormat);
+                }
+                var stream = AudioSystem.getAudioInputStream(path.toFile());
+                return windows(stream, stream.getFormat());
+            } catch (UnsupportedAudioFileException e) {
+                // Java Sound does not decode IMA-ADPCM; recorder archives are read directly
+                return AdpcmWavReader.replay(path, Duration.ZERO, Duration.ofSeconds(audioConfig.getIngestWindowSeconds()));
+            } catch (IOException e) {
+                return Flux.error(new AudioException("Failed to open ingest file " + path, e,
+                    "INGEST_OPEN_FAILED", "FileIngestService"));
+            }
+        });
+    }
+
+    /**
+     * Cuts a PCM stream into signed 16-bit little-endian windows; timestamps are
+     * milliseconds from the start of the stream.
+     */
+    private Flux<AudioCaptureService.AudioChunk> windows(InputStream input, AudioFormat format) {
+        var encoding = format.getEncoding();
+        if (encoding != AudioFormat.Encoding.PCM_SIGNED && encoding != AudioFormat.Encoding.PCM_UNSIGNED) {
+            return Flux.error(new ValidationException("Unsupported audio encoding for ingest: " + encoding));
+        }
+        var sampleSizeInBits = format.getSampleSizeInBits();
+        if (sampleSizeInBits != 8 && sampleSizeInBits != 16) {
+            return Flux.error(new ValidationException("Unsupported sample size for ingest: " + sampleSizeInBits + " bits"));
+        }
+        var convert = sampleSizeInBits != 16 || encoding != AudioFormat.Encoding.PCM_SIGNED || format.isBigEndian();
+        var windowFormat = convert
+            ? new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false)
+            : format;
+        var frameSize = Math.max(1, format.getFrameSize());
+        var sampleRate = Math.round(format.getSampleRate());
+        var windowBytes = sampleRate * audioConfig.getIngestWindowSeconds() * frameSize;
+
+        return Flux.using(() -> input, stream -> Flux.<AudioCaptureService.AudioChunk, Long>generate(() -> 0L, (frame, sink) -> {
+            try {
+                var data = stream.readNBytes(windowBytes);
+                var frames = data.length / frameSize;
+                if (frames == 0) {
+                    sink.complete();
+                    return frame;
+                }
+                sink.next(new AudioCaptureService.AudioChunk(
+                    convert ? toPcm16LittleEndian(data, frames * frameSize, format) : data,
+                    windowFormat,
+                    Duration.ofNanos(frames * 1_000_000_000L / sampleRate),
+                    frame * 1000L / sampleRate,
+                    0.0
+                ));
+                return frame + frames;
+            } catch (IOException e) {
+                sink.error(new AudioException("Failed to read ingest input", e, "INGEST_READ_FAILED", "FileIngestService"));
+                return frame;
+            }
+        }), stream -> {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close ingest input", e);
+            }
+        });
+    }
+
+    /**
+     * Converts 8 or 16-bit PCM of any signedness and byte order to signed 16-bit
+     * little-endian, keeping the channel layout.
+     *
+     * @param data source PCM
+     * @param length number of source bytes to convert
+     * @param format source format
+     * @return converted PCM
+     */
+    static byte[] toPcm16LittleEndian(byte[] data, int length, AudioFormat format) {
+        var bytesPerSample = format.getSampleSizeInBits() / 8;
+        var unsigned = format.getEncoding() == AudioFormat.Encoding.PCM_UNSIGNED;
+        var samples = length / bytesPerSample;
+        var converted = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            int sample;
+            if (bytesPerSample == 1) {
+                sample = unsigned ? ((data[i] & 0xFF) - 128) << 8 : data[i] << 8;
+            } else {
+                var index = i * 2;
+                var high = format.isBigEndian() ? data[index] : data[index + 1];
+                var low = format.isBigEndian() ? data[index + 1] : data[index];
+                var bits = ((high & 0xFF) << 8) | (low & 0xFF);
+                sample = unsigned ? bits - 32768 : (short) bits;
+            }
+            converted[i * 2] = (byte) sample;
+            converted[i * 2 + 1] = (byte) (sample >> 8);
+        }
+        return converted;
+    }
+
+    /**
+     * Saves the stitched segments to the meeting through the segment archive, renumbering
+     * them to follow the segments it already holds.
+     *
+     * @return number of segments saved
+     */
+    private int persist(UUID meetingId, List<TranscriptionSegment> segments) {
+        if (segments.isEmpty()) {
+            return 0;
+        }
+        try {
+            var first = archive.nextSequence(meetingId);
+            for (int i = 0; i < segments.size(); i++) {
+                segments.get(i).setSegmentNumber(first + i);
+            }
+            if (archive.write(meetingId, first, segments)) {
+                return segments.size();
+            }
+            logger.warn("Meeting {} is not stored; ingested segments were not persisted", meetingId);
+        } catch (Exception e) {
+            logger.error("Failed to persist ingested segments for meeting: {}", meetingId, e);
+        }
+        return 0;
+    }
+
+    /**
+     * Outcome of an ingest run.
+     */
+    public record IngestResult(
+        UUID meetingId,
+        int windows,
+        int failedWindows,
+        Duration audioDuration,
+        Duration processingTime,
+        int persistedSegments,
+        List<TranscriptionSegment> segments
+    ) {
+        /**
+         * Gets how many times faster than real time the audio was processed.
+         *
+         * @return audio duration divided by processing time
+         */
+        public double getSpeedup() {
+            return processingTime.isZero() ? 0.0 : (double) audioDuration.toNanos() / processingTime.toNanos();
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.zoomtranscriber.core.transcription;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Overlaps consecutive recognition windows of one stream and merges their hypotheses so
+ * each word is emitted once.
+ * <p>
+ * Every window is prefixed with the last {@code overlapRatio} of the audio before it, so a
+ * word cut by a window edge is heard whole by the next window. Positions are kept on the
+ * stream's recognition timeline: seconds of audio passed to {@link #prepare(byte[])},
+ * counting overlap once. Words whose midpoint lies in the second half of the overlap the
+ * next window will repeat are held back, since that window sees them whole; held words are
+ * dropped when the next hypothesis arrives and emitted by {@link #flush()} if none does.
+ * Of the rest, words whose midpoint precedes the end of the last emitted word are skipped
+ * by timestamp, and leading words in the overlap that repeat the last emitted words are
+ * skipped by token alignment, which covers engines without word timing and timing jitter
+ * at the edge. Words without timing are spread evenly over their window.
+ * <p>
+ * Windows must be merged in the order they were prepared; a window that fails
+ * recognition may be skipped.
+ */
+final class OverlapMerger {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int BYTES_PER_SAMPLE = 2;
+    private static final int ALIGNMENT_TOKENS = 8;
+
+    private final double overlapRatio;
+    private final ArrayDeque<String> emittedTokens = new ArrayDeque<>();
+    private List<TimedWord> held = List.of();
+    private byte[] tail = new byte[0];
+    private double streamSeconds;
+    private double committedEnd;
+
+    /**
+     * Creates a merger.
+     *
+     * @param overlapRatio share of each window repeated at the start of the next, from 0 (no overlap) to below 1
+     */
+    OverlapMerger(double overlapRatio) {
+        if (overlapRatio < 0.0 || overlapRatio >= 1.0) {
+            throw new IllegalArgumentException("Overlap ratio must be in [0, 1): " + overlapRatio);
+        }
+        this.overlapRatio = overlapRatio;
+    }
+
+    /**
+     * Prefixes a window with the overlap from the previous one.
+     *
+     * @param pcm new 16 kHz mono PCM16 audio of the window
+     * @return audio to recognize and its place on the timeline
+     */
+    synchronized Window prepare(byte[] pcm) {
+        var overlapSeconds = seconds(tail.length);
+        var newSeconds = seconds(pcm.length);
+        var span = new Span(streamSeconds - overlapSeconds, overlapSeconds, streamSeconds + newSeconds,
+            overlapRatio * newSeconds);
+        streamSeconds += newSeconds;
+        if (overlapRatio == 0.0) {
+            return new Window(pcm, span);
+        }
+
+        var audio = Arrays.copyOf(tail, tail.length + pcm.length);
+        System.arraycopy(pcm, 0, audio, tail.length, pcm.length);
+        var tailBytes = (int) (overlapRatio * pcm.length) & ~(BYTES_PER_SAMPLE - 1);
+        tail = Arrays.copyOfRange(audio, audio.length - tailBytes, audio.length);
+        return new Window(audio, span);
+    }
+
+    /**
+     * Merges the hypothesis of a prepared window.
+     *
+     * @param window prepared window
+     * @param hypothesis hypothesis for the window, or null if nothing was recognized
+     * @return text to emit now, empty if none
+     */
+    synchronized String merge(Window window, RecognitionEngine.Hypothesis hypothesis) {
+        var span = window.span();
+        if (hypothesis == null || hypothesis.text() == null || hypothesis.text().isBlank()) {
+            return flush();
+        }
+
+        var words = place(hypothesis, span);
+        var guardEnd = span.end() - span.nextOverlap() / 2;
+        var overlapEnd = span.start() + span.overlap();
+        var emitted = new ArrayList<TimedWord>();
+        var kept = new ArrayList<TimedWord>();
+        for (var word : words) {
+            if (word.midpoint() < committedEnd) {
+                continue; // emitted from the previous window
+            }
+            if (word.midpoint() > guardEnd) {
+                kept.add(word); // the next window hears it whole
+            } else {
+                emitted.add(word);
+            }
+        }
+        held = kept;
+
+        var duplicates = alignedPrefix(emitted, overlapEnd);
+        return emit(emitted.subList(duplicates, emitted.size()));
+    }
+
+    /**
+     * Emits held words and ends the overlap, for an utterance end or the end of the stream.
+     *
+     * @return text to emit now, empty if none
+     */
+    synchronized String flush() {
+        var text = emit(held);
+        held = List.of();
+        tail = new byte[0];
+        return text;
+    }
+
+    /**
+     * Places the words of a hypothesis on the stream timeline.
+     */
+    private static List<TimedWord> place(RecognitionEngine.Hypothesis hypothesis, Span span) {
+        var placed = new ArrayList<TimedWord>();
+        if (!hypothesis.words().isEmpty()) {
+            for (var word : hypothesis.words()) {
+                placed.add(new TimedWord(word.text(), span.start() + word.start(), span.start() + word.end()));
+            }
+            return placed;
+        }
+        var tokens = hypothesis.text().trim().split("\\s+");
+        var step = (span.end() - span.start()) / tokens.length;
+        for (int i = 0; i < tokens.length; i++) {
+            placed.add(new TimedWord(tokens[i], span.start() + i * step, span.start() + (i + 1) * step));
+        }
+        return placed;
+    }
+
+    /**
+     * Counts the leading words in the overlap that repeat the last emitted words.
+     */
+    private int alignedPrefix(List<TimedWord> words, double overlapEnd) {
+        var inOverlap = 0;
+        while (inOverlap < words.size() && words.get(inOverlap).midpoint() < overlapEnd) {
+            inOverlap++;
+        }
+        var recent = new ArrayList<>(emittedTokens);
+        for (int length = Math.min(inOverlap, recent.size()); length > 0; length--) {
+            var matches = true;
+            for (int i = 0; i < length && matches; i++) {
+                matches = recent.get(recent.size() - length + i).equals(normalize(words.get(i).text()));
+            }
+            if (matches) {
+                return length;
+            }
+        }
+        return 0;
+    }
+
+    private String emit(List<TimedWord> words) {
+        if (words.isEmpty()) {
+            return "";
+        }
+        var text = new StringBuilder();
+        for (var word : words) {
+            if (!text.isEmpty()) {
+                text.append(' ');
+            }
+            text.append(word.text());
+            committedEnd = Math.max(committedEnd, word.end());
+            emittedTokens.addLast(normalize(word.text()));
+            if (emittedTokens.size() > ALIGNMENT_TOKENS) {
+                emittedTokens.removeFirst();
+            }
+        }
+        return text.toString();
+    }
+
+    private static String normalize(String token) {
+        return token.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}']", "");
+    }
+
+    private static double seconds(int bytes) {
+        return bytes / (double) (BYTES_PER_SAMPLE * SAMPLE_RATE);
+    }
+
+    /**
+     * Audio of a window to recognize.
+     *
+     * @param audio overlap followed by the window's new audio
+     * @param span place of the audio on the stream timeline
+     */
+    record Window(byte[] audio, Span span) {
+    }
+
+    /**
+     * Window on the stream timeline.
+     *
+     * @param start start of the window including its overlap
+     * @param overlap seconds repeated from the previous window
+     * @param end end of the window
+     * @param nextOverlap seconds of this window the next one will repeat
+     */
+    record Span(double start, double overlap, double end, double nextOverlap) {
+    }
+
+    private record TimedWord(String text, double start, double end) {
+
+        double midpoint() {
+            return (start + end) / 2;
+        }
+    }
+}
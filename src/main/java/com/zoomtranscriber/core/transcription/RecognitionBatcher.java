@@ -0,0 +1,237 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.zoomtranscriber.core.exceptions.SpeechRecognitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects recognition windows from all active streams into micro-batches for the
+ * {@link RecognitionEngine}.
+ * <p>
+ * Windows wait in a queue per stream. A batch takes the oldest window of up to
+ * {@code maxBatchSize} streams and is dispatched as soon as that many streams are waiting
+ * or the oldest waiting window is {@code maxWait} old. Batches run one at a time on a
+ * single dispatcher thread, so windows that arrive while the engine is busy form the next,
+ * larger batch. Because a batch holds at most one window per stream and batches never
+ * overlap, every stream reaches the engine, and gets its results, in submission order.
+ * Streams with more windows waiting go to the back of the line after each batch.
+ * A window the engine fails to recognize fails only its own future.
+ */
+public class RecognitionBatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecognitionBatcher.class);
+
+    private final RecognitionEngine engine;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Object lock = new Object();
+    private final Map<String, ArrayDeque<Pending>> queues = new LinkedHashMap<>();
+    private final Thread dispatcher;
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong windows = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Creates the batcher and starts its dispatcher.
+     *
+     * @param engine engine that recognizes the batches
+     * @param maxBatchSize most windows per batch
+     * @param maxWait longest time a window waits for a batch to fill
+     */
+    public RecognitionBatcher(RecognitionEngine engine, int maxBatchSize, Duration maxWait) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        this.engine = engine;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitNanos = Math.max(0, maxWait.toNanos());
+        this.dispatcher = new Thread(this::dispatch, "recognition-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * Queues a window for recognition.
+     *
+     * @param streamId stream identifier
+     * @param pcm 16 kHz mono PCM16 little-endian audio containing speech
+     * @param config recognition configuration of the stream
+     * @return future of the hypothesis, completed with null if nothing was recognized
+     */
+    public CompletableFuture<RecognitionEngine.Hypothesis> submit(String streamId, byte[] pcm,
+                                                                 SpeechRecognizer.RecognitionConfig config) {
+        var pending = new Pending(new RecognitionEngine.Request(streamId, pcm, config), System.nanoTime());
+        synchronized (lock) {
+            if (closed) {
+                pending.result.completeExceptionally(new SpeechRecognitionException("Recognition batcher is closed"));
+                return pending.result;
+            }
+            queues.computeIfAbsent(streamId, id -> new ArrayDeque<>()).add(pending);
+            lock.notifyAll();
+        }
+        return pending.result;
+    }
+
+    /**
+     * Gets the engine the batches are dispatched to.
+     *
+     * @return recognition engine
+     */
+    public RecognitionEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Gets the number of batches dispatched.
+     *
+     * @return batch count
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Gets the mean number of windows per dispatched batch.
+     *
+     * @return average batch size, or 0 before the first batch
+     */
+    public double getAverageBatchSize() {
+        var count = batches.get();
+        return count == 0 ? 0.0 : windows.get() / (double) count;
+    }
+
+    /**
+     * Stops dispatching and fails the windows still waiting.
+     */
+    @Override
+    public void close() {
+        List<Pending> abandoned = new ArrayList<>();
+        synchronized (lock) {
+            closed = true;
+            queues.values().forEach(abandoned::addAll);
+            queues.clear();
+            lock.notifyAll();
+        }
+        var cause = new SpeechRecognitionException("Recognition batcher is closed");
+        abandoned.forEach(pending -> pending.result.completeExceptionally(cause));
+    }
+
+    private void dispatch() {
+        while (true) {
+            List<Pending> batch;
+            try {
+                batch = awaitBatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == null) {
+                return;
+            }
+            run(batch);
+        }
+    }
+
+    /**
+     * Waits until a batch is full or its oldest window is due, then takes it.
+     *
+     * @return the batch, or null once closed
+     */
+    private List<Pending> awaitBatch() throws InterruptedException {
+        synchronized (lock) {
+            while (!closed) {
+                if (queues.size() >= maxBatchSize) {
+                    return take();
+                }
+                if (queues.isEmpty()) {
+                    lock.wait();
+                    continue;
+                }
+                var remaining = oldestWaiting() + maxWaitNanos - System.nanoTime();
+                if (remaining <= 0) {
+                    return take();
+                }
+                TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+            }
+            return null;
+        }
+    }
+
+    private long oldestWaiting() {
+        var oldest = Long.MAX_VALUE;
+        for (var queue : queues.values()) {
+            oldest = Math.min(oldest, queue.peekFirst().enqueuedNanos);
+        }
+        return oldest;
+    }
+
+    /**
+     * Takes the head window of up to {@code maxBatchSize} streams in queue order and moves
+     * streams that still have windows waiting to the back.
+     */
+    private List<Pending> take() {
+        var batch = new ArrayList<Pending>(Math.min(maxBatchSize, queues.size()));
+        var requeued = new ArrayList<Map.Entry<String, ArrayDeque<Pending>>>();
+        for (Iterator<Map.Entry<String, ArrayDeque<Pending>>> it = queues.entrySet().iterator();
+             it.hasNext() && batch.size() < maxBatchSize; ) {
+            var entry = it.next();
+            batch.add(entry.getValue().pollFirst());
+            it.remove();
+            if (!entry.getValue().isEmpty()) {
+                requeued.add(entry);
+            }
+        }
+        requeued.forEach(entry -> queues.put(entry.getKey(), entry.getValue()));
+        return batch;
+    }
+
+    private void run(List<Pending> batch) {
+        var requests = batch.stream().map(pending -> pending.request).toList();
+        List<RecognitionEngine.Result> results;
+        try {
+            results = engine.recognizeBatch(requests);
+        } catch (RuntimeException e) {
+            logger.warn("Recognition of a batch of {} windows failed: {}", batch.size(), e.getMessage());
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+            return;
+        }
+        batches.incrementAndGet();
+        windows.addAndGet(batch.size());
+        var failed = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            var result = i < results.size() ? results.get(i) : null;
+            if (result != null && result.failure() != null) {
+                failed++;
+                batch.get(i).result.completeExceptionally(result.failure());
+            } else {
+                batch.get(i).result.complete(result != null ? result.hypothesis() : null);
+            }
+        }
+        if (failed > 0) {
+            logger.warn("Recognition of {} of {} windows in a batch failed", failed, batch.size());
+        }
+    }
+
+    private static final class Pending {
+
+        private final RecognitionEngine.Request request;
+        private final long enqueuedNanos;
+        private final CompletableFuture<RecognitionEngine.Hypothesis> result = new CompletableFuture<>();
+
+        Pending(RecognitionEngine.Request request, long enqueuedNanos) {
+            this.request = request;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+}
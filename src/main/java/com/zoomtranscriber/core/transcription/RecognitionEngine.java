@@ -0,0 +1,160 @@
+package com.zoomtranscriber.core.transcription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Speech recognition backend used by {@link SpeechRecognizer}.
+ * <p>
+ * Audio is 16 kHz mono PCM16 little-endian, delivered in stream order for each stream;
+ * a stream is one recognition session. Calls for one stream are never concurrent, but
+ * different streams may be recognized concurrently, so implementations must be
+ * thread-safe across streams.
+ * <p>
+ * {@link RecognitionBatcher} hands the engine windows from many streams at once through
+ * {@link #recognizeBatch(List)}; engines that can infer several windows together should
+ * override it.
+ */
+public interface RecognitionEngine extends AutoCloseable {
+
+    /**
+     * Gets a short name of the engine for logs and status.
+     *
+     * @return engine name
+     */
+    String getName();
+
+    /**
+     * Switches the engine to another model. Streams in progress continue on the new model.
+     *
+     * @param model model name
+     * @throws com.zoomtranscriber.core.exceptions.SpeechRecognitionException if the model cannot be loaded
+     */
+    void loadModel(String model);
+
+    /**
+     * Recognizes the next piece of a stream.
+     *
+     * @param streamId stream identifier
+     * @param pcm 16 kHz mono PCM16 little-endian audio containing speech
+     * @param config recognition configuration of the stream
+     * @return hypothesis for the audio, or null if nothing was recognized
+     * @throws com.zoomtranscriber.core.exceptions.SpeechRecognitionException if recognition fails
+     */
+    Hypothesis recognize(String streamId, byte[] pcm, SpeechRecognizer.RecognitionConfig config);
+
+    /**
+     * Recognizes windows of different streams together. A batch holds at most one window
+     * per stream, so each stream still sees its audio in order. A window that cannot be
+     * recognized fails on its own and does not affect the rest of the batch. The default
+     * recognizes the windows one after another.
+     *
+     * @param requests windows to recognize
+     * @return one result per request, in request order
+     * @throws com.zoomtranscriber.core.exceptions.SpeechRecognitionException if the whole batch fails
+     */
+    default List<Result> recognizeBatch(List<Request> requests) {
+        var results = new ArrayList<Result>(requests.size());
+        for (var request : requests) {
+            try {
+                results.add(Result.of(recognize(request.streamId(), request.pcm(), request.config())));
+            } catch (RuntimeException e) {
+                results.add(Result.failed(e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Releases the state the engine holds for a stream.
+     *
+     * @param streamId stream identifier
+     */
+    default void endStream(String streamId) {
+    }
+
+    /**
+     * Checks whether the engine can currently recognize audio.
+     *
+     * @return true if healthy
+     */
+    default boolean isHealthy() {
+        return true;
+    }
+
+    /**
+     * Releases the engine's resources.
+     */
+    @Override
+    void close();
+
+    /**
+     * Text recognized from a piece of audio.
+     *
+     * @param text recognized text
+     * @param confidence engine confidence (0.0 to 1.0)
+     * @param words words of the text with their timing, or empty if the engine has none
+     */
+    record Hypothesis(String text, double confidence, List<Word> words) {
+
+        public Hypothesis {
+            words = words != null ? List.copyOf(words) : List.of();
+        }
+
+        /**
+         * Creates a hypothesis without word timing.
+         */
+        public Hypothesis(String text, double confidence) {
+            this(text, confidence, List.of());
+        }
+    }
+
+    /**
+     * Word of a hypothesis.
+     *
+     * @param text word as recognized, including attached punctuation
+     * @param start seconds from the start of the recognized audio to the start of the word
+     * @param end seconds from the start of the recognized audio to the end of the word
+     */
+    record Word(String text, double start, double end) {
+    }
+
+    /**
+     * Window of one stream in a batch.
+     *
+     * @param streamId stream identifier
+     * @param pcm 16 kHz mono PCM16 little-endian audio containing speech
+     * @param config recognition configuration of the stream
+     */
+    record Request(String streamId, byte[] pcm, SpeechRecognizer.RecognitionConfig config) {
+    }
+
+    /**
+     * Outcome of one window in a batch.
+     *
+     * @param hypothesis recognized text, or null if nothing was recognized or recognition failed
+     * @param failure why recognition of the window failed, or null if it succeeded
+     */
+    record Result(Hypothesis hypothesis, RuntimeException failure) {
+
+        /**
+         * Creates the result of a recognized window.
+         *
+         * @param hypothesis hypothesis, or null if nothing was recognized
+         * @return result
+         */
+        public static Result of(Hypothesis hypothesis) {
+            return new Result(hypothesis, null);
+        }
+
+        /**
+         * Creates the result of a window that failed.
+         *
+         * @param failure cause of the failure
+         * @return result
+         */
+        public static Result failed(RuntimeException failure) {
+            return new Result(null, failure);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.zoomtranscriber.core.transcription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic in-JVM engine for tests, benchmarks and development.
+ * <p>
+ * Audio louder than twice the stream's sensitivity threshold is recognized as one of a
+ * fixed set of meeting phrases, chosen from the zero-crossing count and length of the
+ * audio, so the same input always yields the same text. Quieter audio yields nothing.
+ * Words are timed as if spoken at an even pace across the audio.
+ */
+public class ReferenceRecognitionEngine implements RecognitionEngine {
+
+    static final List<String> PHRASES = List.of(
+        "Hello everyone",
+        "Thank you for joining",
+        "Let's discuss the agenda",
+        "Any questions?",
+        "I agree with that point",
+        "Let me share my screen",
+        "Can everyone hear me?",
+        "I'll take a look at that",
+        "Great suggestion"
+    );
+
+    private static final int SAMPLE_RATE = 16000;
+
+    private volatile String model = "reference";
+
+    @Override
+    public String getName() {
+        return "reference:" + model;
+    }
+
+    @Override
+    public void loadModel(String model) {
+        this.model = model;
+    }
+
+    @Override
+    public Hypothesis recognize(String streamId, byte[] pcm, SpeechRecognizer.RecognitionConfig config) {
+        var samples = pcm.length / 2;
+        if (samples == 0) {
+            return null;
+        }
+
+        var energy = 0.0;
+        var zeroCrossings = 0;
+        var previous = (short) 0;
+        for (int i = 0; i < samples; i++) {
+            var sample = (short) ((pcm[2 * i] & 0xFF) | (pcm[2 * i + 1] << 8));
+            energy += (double) sample * sample;
+            if (i > 0 && (sample < 0) != (previous < 0)) {
+                zeroCrossings++;
+            }
+            previous = sample;
+        }
+        var rms = Math.sqrt(energy / samples) / 32768.0;
+        if (rms <= 2 * config.sensitivityThreshold()) {
+            return null;
+        }
+
+        var phrase = PHRASES.get(Math.floorMod(31 * zeroCrossings + samples / 160, PHRASES.size()));
+        return new Hypothesis(phrase, Math.min(0.95, 0.6 + rms), spread(phrase, samples / (double) SAMPLE_RATE));
+    }
+
+    /**
+     * Times the words of a phrase as if spoken at an even pace across the audio.
+     */
+    private static List<Word> spread(String phrase, double seconds) {
+        var tokens = phrase.split(" ");
+        var words = new ArrayList<Word>(tokens.length);
+        var step = seconds / tokens.length;
+        for (int i = 0; i < tokens.length; i++) {
+            words.add(new Word(tokens[i], i * step, (i + 1) * step));
+        }
+        return words;
+    }
+
+    @Override
+    public void close() {
+    }
+}
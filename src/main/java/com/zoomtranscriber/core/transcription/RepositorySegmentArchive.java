@@ -0,0 +1,115 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.zoomtranscriber.core.storage.MeetingRepository;
+import com.zoomtranscriber.core.storage.MeetingSession;
+import com.zoomtranscriber.core.storage.Transcription;
+import com.zoomtranscriber.core.storage.TranscriptionRepository;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Archives segments as {@link Transcription} rows of their meeting, with the sequence as
+ * segment number and the start time as an offset from the meeting's start.
+ * <p>
+ * Rows do not keep end times, language or interim state, so segments read back end where
+ * they start. Segments of meetings without a stored session are refused.
+ */
+public class RepositorySegmentArchive implements SegmentArchive {
+
+    private final ObjectProvider<MeetingRepository> meetingRepository;
+    private final ObjectProvider<TranscriptionRepository> transcriptionRepository;
+
+    /**
+     * Creates the archive.
+     *
+     * @param meetingRepository meeting repository, if persistence is available
+     * @param transcriptionRepository transcription repository, if persistence is available
+     */
+    public RepositorySegmentArchive(ObjectProvider<MeetingRepository> meetingRepository,
+                                    ObjectProvider<TranscriptionRepository> transcriptionRepository) {
+        this.meetingRepository = meetingRepository;
+        this.transcriptionRepository = transcriptionRepository;
+    }
+
+    @Override
+    public boolean write(UUID meetingId, int firstSequence, List<TranscriptionSegment> segments) {
+        var meetings = meetingRepository.getIfAvailable();
+        var transcriptions = transcriptionRepository.getIfAvailable();
+        if (meetings == null || transcriptions == null) {
+            return false;
+        }
+        var meeting = meetings.findById(meetingId).orElse(null);
+        if (meeting == null) {
+            return false;
+        }
+
+        var origin = meeting.getStartTime();
+        var entities = new ArrayList<Transcription>(segments.size());
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            var entity = new Transcription();
+            entity.setMeetingSession(meeting);
+            entity.setTimestamp(origin != null
+                ? origin.plusNanos((long) (segment.getStartTime() * 1_000_000_000L))
+                : segment.getTimestamp());
+            entity.setSpeakerId(segment.getSpeakerId());
+            entity.setText(segment.getText());
+            entity.setConfidence(segment.getConfidence());
+            entity.setSegmentNumber(firstSequence + i);
+            entities.add(entity);
+        }
+        transcriptions.saveAll(entities);
+        return true;
+    }
+
+    @Override
+    public List<TranscriptionSegment> read(UUID meetingId, int fromSequence, int toSequence) {
+        var meetings = meetingRepository.getIfAvailable();
+        var transcriptions = transcriptionRepository.getIfAvailable();
+        if (meetings == null || transcriptions == null || fromSequence >= toSequence) {
+            return List.of();
+        }
+        var origin = meetings.findById(meetingId).map(MeetingSession::getStartTime).orElse(null);
+        return transcriptions
+            .findByMeetingSessionIdAndSegmentNumberBetweenOrderBySegmentNumber(meetingId, fromSequence, toSequence - 1)
+            .stream()
+            .map(entity -> toSegment(meetingId, origin, entity))
+            .toList();
+    }
+
+    @Override
+    public int nextSequence(UUID meetingId) {
+        var transcriptions = transcriptionRepository.getIfAvailable();
+        if (transcriptions == null) {
+            return 0;
+        }
+        var last = transcriptions.findMaxSegmentNumberByMeetingSessionId(meetingId);
+        return last != null ? last + 1 : 0;
+    }
+
+    private static TranscriptionSegment toSegment(UUID meetingId, LocalDateTime origin, Transcription entity) {
+        var segment = new TranscriptionSegment(
+            entity.getId(),
+            meetingId,
+            entity.getTimestamp(),
+            entity.getSpeakerId(),
+            entity.getText(),
+            entity.getConfidence(),
+            entity.getSegmentNumber(),
+            true,
+            Duration.ZERO,
+            null
+        );
+        if (origin != null && entity.getTimestamp() != null) {
+            var start = Duration.between(origin, entity.getTimestamp()).toNanos() / 1_000_000_000.0;
+            segment.setStartTime(start);
+            segment.setEndTime(start);
+        }
+        return segment;
+    }
+}
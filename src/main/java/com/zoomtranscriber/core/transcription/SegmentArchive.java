@@ -0,0 +1,61 @@
+package com.zoomtranscriber.core.transcription;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Durable storage that a {@link SegmentStore} spills segments to once they no longer
+ * fit in memory, and reads them back from.
+ * <p>
+ * Segments are addressed by their sequence in the meeting's store: the order in which
+ * final segments were appended, starting at 0.
+ */
+public interface SegmentArchive {
+
+    /**
+     * Archive that keeps nothing, so every segment stays in memory.
+     */
+    SegmentArchive NONE = new SegmentArchive() {
+        @Override
+        public boolean write(UUID meetingId, int firstSequence, List<TranscriptionSegment> segments) {
+            return false;
+        }
+
+        @Override
+        public List<TranscriptionSegment> read(UUID meetingId, int fromSequence, int toSequence) {
+            return List.of();
+        }
+    };
+
+    /**
+     * Writes consecutive segments of a meeting.
+     *
+     * @param meetingId meeting the segments belong to
+     * @param firstSequence sequence of the first segment
+     * @param segments segments in sequence order
+     * @return true if the segments are stored and may be released from memory
+     */
+    boolean write(UUID meetingId, int firstSequence, List<TranscriptionSegment> segments);
+
+    /**
+     * Reads archived segments of a meeting.
+     *
+     * @param meetingId meeting identifier
+     * @param fromSequence first sequence, inclusive
+     * @param toSequence last sequence, exclusive
+     * @return archived segments in the range in sequence order, empty if none
+     */
+    List<TranscriptionSegment> read(UUID meetingId, int fromSequence, int toSequence);
+
+    /**
+     * Gets the sequence that follows the archived segments of a meeting, so a meeting
+     * whose history was released from memory continues its sequence. The default assumes
+     * nothing is archived.
+     *
+     * @param meetingId meeting identifier
+     * @return one past the highest archived sequence, 0 if none
+     */
+    default int nextSequence(UUID meetingId) {
+        return 0;
+    }
+}
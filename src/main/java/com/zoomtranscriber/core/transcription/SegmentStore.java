@@ -0,0 +1,670 @@
+package com.zoomtranscriber.core.transcription;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only history of the final transcription segments of each meeting.
+ * <p>
+ * Segments are addressed by sequence, their position in the meeting's history starting
+ * at 0, and kept in fixed-size chunks: appending is O(1), and a read by sequence or start
+ * time only touches the chunks it covers. Once a meeting holds more than
+ * {@code maxResidentSegments} in memory, its oldest full chunks are written to the
+ * {@link SegmentArchive} on a background thread and released, and reads of them go to the
+ * archive. Completing a meeting archives the rest and, once everything is archived,
+ * releases the meeting; reads of it then go to the archive, and a reopened meeting
+ * continues its sequence from there. Only open meetings take segments, so a late append
+ * never reopens a completed one.
+ * <p>
+ * If the archive refuses a chunk, as it does for meetings that are not persisted, the
+ * meeting keeps its newest {@code maxResidentSegments} in memory and drops older full
+ * chunks with a warning. Finished meetings that could not be archived stay readable
+ * until together they hold more than {@code maxResidentSegments}, when the longest
+ * finished are dropped first.
+ * <p>
+ * {@link #follow} gives a late subscriber the history up to the moment it registered and
+ * then every segment appended after that, without gaps or duplicates.
+ */
+public class SegmentStore implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SegmentStore.class);
+
+    private final ConcurrentHashMap<UUID, MeetingLog> logs = new ConcurrentHashMap<>();
+    private final ArrayDeque<MeetingLog> retained = new ArrayDeque<>();
+    private final AtomicLong spilledChunks = new AtomicLong();
+    private final int chunkSize;
+    private final int maxResidentSegments;
+    private final SegmentArchive archive;
+    private final Executor spillExecutor;
+
+    /**
+     * Creates a store that spills on its own background thread.
+     *
+     * @param chunkSize segments per chunk
+     * @param maxResidentSegments segments of one meeting kept in memory before the oldest chunks are archived
+     * @param archive storage for spilled chunks
+     */
+    public SegmentStore(int chunkSize, int maxResidentSegments, SegmentArchive archive) {
+        this(chunkSize, maxResidentSegments, archive,
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("segment-spill").factory()));
+    }
+
+    SegmentStore(int chunkSize, int maxResidentSegments, SegmentArchive archive, Executor spillExecutor) {
+        if (chunkSize <= 0 || maxResidentSegments < chunkSize) {
+            throw new IllegalArgumentException("Invalid segment store bounds: chunk size " + chunkSize
+                + ", max resident segments " + maxResidentSegments);
+        }
+        this.chunkSize = chunkSize;
+        this.maxResidentSegments = maxResidentSegments;
+        this.archive = archive;
+        this.spillExecutor = spillExecutor;
+    }
+
+    /**
+     * Opens the history of a meeting, or reopens a completed one, so followers wait for
+     * new segments.
+     *
+     * @param meetingId meeting identifier
+     */
+    public void open(UUID meetingId) {
+        while (!logs.computeIfAbsent(meetingId, MeetingLog::new).reopen()) {
+            // Released while we looked it up; the next lookup creates a fresh log
+        }
+    }
+
+    /**
+     * Appends a final segment to its meeting's history. Only an open meeting takes
+     * segments; a completed one stays completed until it is opened again.
+     *
+     * @param segment segment to append
+     * @return sequence of the segment, or -1 if the meeting is not open
+     */
+    public int append(TranscriptionSegment segment) {
+        var log = logs.get(segment.getMeetingId());
+        return log != null ? log.append(segment) : -1;
+    }
+
+    /**
+     * Completes the history of a meeting: followers are completed and the segments still
+     * in memory are archived.
+     *
+     * @param meetingId meeting identifier
+     */
+    public void complete(UUID meetingId) {
+        var log = logs.get(meetingId);
+        if (log != null) {
+            log.complete();
+        }
+    }
+
+    /**
+     * Gets the number of segments in a meeting's history.
+     *
+     * @param meetingId meeting identifier
+     * @return number of segments, 0 if the meeting is unknown
+     */
+    public int size(UUID meetingId) {
+        var log = logs.get(meetingId);
+        return log != null ? log.size() : 0;
+    }
+
+    /**
+     * Reads the whole history of a meeting. Meetings this store has not seen are read
+     * from the archive.
+     *
+     * @param meetingId meeting identifier
+     * @return segments in sequence order
+     */
+    public List<TranscriptionSegment> readAll(UUID meetingId) {
+        return read(meetingId, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads a range of a meeting's history by sequence.
+     *
+     * @param meetingId meeting identifier
+     * @param fromSequence first sequence, inclusive
+     * @param toSequence last sequence, exclusive
+     * @return segments in the range in sequence order
+     */
+    public List<TranscriptionSegment> read(UUID meetingId, int fromSequence, int toSequence) {
+        var log = logs.get(meetingId);
+        if (log == null) {
+            return archive.read(meetingId, Math.max(0, fromSequence), toSequence);
+        }
+        return log.read(fromSequence, toSequence);
+    }
+
+    /**
+     * Reads the segments of a meeting that start within a time range. Start times are
+     * expected not to decrease along the history.
+     *
+     * @param meetingId meeting identifier
+     * @param fromSeconds earliest start in seconds from the start of the meeting, inclusive
+     * @param toSeconds latest start in seconds from the start of the meeting, exclusive
+     * @return segments in the range in sequence order
+     */
+    public List<TranscriptionSegment> readBetween(UUID meetingId, double fromSeconds, double toSeconds) {
+        var log = logs.get(meetingId);
+        var candidates = log != null
+            ? log.readCandidates(fromSeconds, toSeconds)
+            : archive.read(meetingId, 0, Integer.MAX_VALUE);
+        return candidates.stream()
+            .filter(segment -> segment.getStartTime() >= fromSeconds && segment.getStartTime() < toSeconds)
+            .toList();
+    }
+
+    /**
+     * Follows a meeting's history: returns the segments from {@code fromSequence} that
+     * exist now, and passes every segment appended afterwards to the listener until the
+     * meeting completes or the replay is cancelled. The listener is called while the
+     * meeting's history is locked, so it must not block.
+     *
+     * @param meetingId meeting identifier
+     * @param fromSequence first sequence to replay
+     * @param listener receiver of later segments
+     * @return replay holding the history so far
+     */
+    public Replay follow(UUID meetingId, int fromSequence, Listener listener) {
+        var log = logs.get(meetingId);
+        if (log == null) {
+            var history = archive.read(meetingId, Math.max(0, fromSequence), Integer.MAX_VALUE);
+            listener.onComplete();
+            return new Replay(history, () -> {
+            });
+        }
+        return log.follow(Math.max(0, fromSequence), listener);
+    }
+
+    /**
+     * Gets the number of segments held in memory across all meetings.
+     *
+     * @return resident segment count
+     */
+    public int getResidentSegmentCount() {
+        return logs.values().stream().mapToInt(MeetingLog::resident).sum();
+    }
+
+    /**
+     * Gets the number of chunks written to the archive and released.
+     *
+     * @return spilled chunk count
+     */
+    public long getSpilledChunkCount() {
+        return spilledChunks.get();
+    }
+
+    /**
+     * Completes every meeting, so their segments are archived, and waits for the spills
+     * to finish.
+     */
+    @Override
+    public void close() {
+        logs.values().forEach(MeetingLog::complete);
+        if (spillExecutor instanceof ExecutorService executor) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                    logger.warn("Segment spills did not finish before shutdown");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Keeps a finished meeting that could not be archived, dropping the longest finished
+     * ones while the kept meetings hold more than {@code maxResidentSegments} together.
+     */
+    private void retain(MeetingLog log) {
+        var dropped = new ArrayList<MeetingLog>();
+        synchronized (retained) {
+            retained.remove(log);
+            retained.addLast(log);
+            var total = 0;
+            for (var kept : retained) {
+                total += kept.resident();
+            }
+            while (total > maxResidentSegments && retained.size() > 1) {
+                var oldest = retained.pollFirst();
+                total -= oldest.resident();
+                dropped.add(oldest);
+            }
+        }
+        dropped.forEach(MeetingLog::release);
+    }
+
+    /**
+     * Receiver of segments appended to a followed meeting.
+     */
+    public interface Listener {
+
+        /**
+         * Called for each segment appended after the listener registered.
+         *
+         * @param segment appended segment
+         */
+        void onSegment(TranscriptionSegment segment);
+
+        /**
+         * Called once when the meeting completes.
+         */
+        void onComplete();
+    }
+
+    /**
+     * History handed to a follower.
+     *
+     * @param history segments that existed when the follower registered
+     * @param cancel stops passing segments to the listener
+     */
+    public record Replay(List<TranscriptionSegment> history, Runnable cancel) {
+    }
+
+    /**
+     * History of one meeting. Chunks are released in order, except that completion also
+     * releases a partial last chunk; a reopened meeting then starts a new chunk. Sequences
+     * below {@code origin} were archived before this log was created.
+     */
+    private final class MeetingLog {
+
+        private final UUID meetingId;
+        private final List<Chunk> chunks = new ArrayList<>();
+        private final List<Listener> listeners = new ArrayList<>();
+        private final int origin;
+        private int size;
+        private int resident;
+        private int spilling;
+        private int firstResidentChunk;
+        private boolean completed;
+        private boolean archiveRefused;
+        private boolean dropping;
+        private boolean released;
+
+        private MeetingLog(UUID meetingId) {
+            this.meetingId = meetingId;
+            var next = 0;
+            try {
+                next = archive.nextSequence(meetingId);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to look up archived segments of meeting: {}", meetingId, e);
+            }
+            this.origin = next;
+            this.size = next;
+        }
+
+        /**
+         * Reopens the log.
+         *
+         * @return false if the log was released and must be replaced
+         */
+        private synchronized boolean reopen() {
+            if (released) {
+                return false;
+            }
+            completed = false;
+            return true;
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private synchronized int resident() {
+            return resident;
+        }
+
+        /**
+         * Appends a segment.
+         *
+         * @return its sequence, or -1 if the log is completed
+         */
+        private int append(TranscriptionSegment segment) {
+            int sequence;
+            Chunk spill;
+            synchronized (this) {
+                if (completed) {
+                    return -1;
+                }
+                var last = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+                if (last == null || last.segments == null || last.spilling || last.count == chunkSize) {
+                    last = new Chunk(size, new TranscriptionSegment[chunkSize], segment.getStartTime());
+                    chunks.add(last);
+                }
+                last.segments[last.count++] = segment;
+                sequence = size++;
+                resident++;
+                for (var listener : listeners) {
+                    listener.onSegment(segment);
+                }
+                spill = nextSpill();
+                if (archiveRefused) {
+                    dropOverflow();
+                }
+            }
+            if (spill != null) {
+                spillExecutor.execute(() -> spill(spill));
+            }
+            return sequence;
+        }
+
+        /**
+         * Picks the oldest full chunk to archive if the meeting is over its bound.
+         */
+        private Chunk nextSpill() {
+            if (archiveRefused || resident - spilling <= maxResidentSegments) {
+                return null;
+            }
+            for (int i = firstResidentChunk; i < chunks.size(); i++) {
+                var chunk = chunks.get(i);
+                if (chunk.segments == null || chunk.spilling) {
+                    continue;
+                }
+                if (chunk.count < chunkSize) {
+                    return null;
+                }
+                return markSpilling(chunk);
+            }
+            return null;
+        }
+
+        /**
+         * Drops the oldest full chunks while the meeting is over its bound, for meetings
+         * the archive refused.
+         */
+        private void dropOverflow() {
+            var dropped = 0;
+            for (int i = firstResidentChunk; i < chunks.size() && resident > maxResidentSegments; i++) {
+                var chunk = chunks.get(i);
+                if (chunk.segments == null) {
+                    continue;
+                }
+                if (chunk.spilling || chunk.count < chunkSize) {
+                    break;
+                }
+                chunk.segments = null;
+                resident -= chunk.count;
+                dropped += chunk.count;
+            }
+            skipReleasedChunks();
+            if (dropped > 0 && !dropping) {
+                dropping = true;
+                logger.warn("Segments of meeting {} could not be archived; dropping the oldest beyond {}",
+                    meetingId, maxResidentSegments);
+            }
+        }
+
+        private void skipReleasedChunks() {
+            while (firstResidentChunk < chunks.size() && chunks.get(firstResidentChunk).segments == null) {
+                firstResidentChunk++;
+            }
+        }
+
+        /**
+         * Removes a completed log whose segments are all archived from the store.
+         */
+        private void releaseIfArchived() {
+            if (completed && !released && resident == 0 && spilling == 0) {
+                released = true;
+                logs.remove(meetingId, this);
+            }
+        }
+
+        /**
+         * Drops a finished log that could not be archived, unless it was reopened.
+         */
+        private void release() {
+            int count;
+            synchronized (this) {
+                if (!completed || released) {
+                    return;
+                }
+                released = true;
+                count = resident;
+                logs.remove(meetingId, this);
+            }
+            logger.warn("Dropped {} segments of finished meeting {} that could not be archived", count, meetingId);
+        }
+
+        private Chunk markSpilling(Chunk chunk) {
+            chunk.spilling = true;
+            spilling += chunk.count;
+            return chunk;
+        }
+
+        private void spill(Chunk chunk) {
+            List<TranscriptionSegment> segments;
+            synchronized (this) {
+                segments = List.copyOf(Arrays.asList(chunk.segments).subList(0, chunk.count));
+            }
+            var stored = false;
+            try {
+                stored = archive.write(meetingId, chunk.base, segments);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to archive segments {}-{} of meeting: {}",
+                    chunk.base, chunk.base + segments.size() - 1, meetingId, e);
+            }
+            boolean keep;
+            synchronized (this) {
+                chunk.spilling = false;
+                spilling -= chunk.count;
+                if (stored) {
+                    chunk.segments = null;
+                    resident -= chunk.count;
+                    spilledChunks.incrementAndGet();
+                    skipReleasedChunks();
+                    releaseIfArchived();
+                    return;
+                }
+                keep = !archiveRefused && completed;
+                if (!archiveRefused) {
+                    archiveRefused = true;
+                    logger.warn("Segments of meeting {} could not be archived; keeping the newest {} in memory",
+                        meetingId, maxResidentSegments);
+                }
+                dropOverflow();
+            }
+            if (keep) {
+                retain(this);
+            }
+        }
+
+        private void complete() {
+            var spills = new ArrayList<Chunk>();
+            boolean refused;
+            synchronized (this) {
+                if (completed) {
+                    return;
+                }
+                completed = true;
+                listeners.forEach(Listener::onComplete);
+                listeners.clear();
+                refused = archiveRefused;
+                if (!refused) {
+                    for (int i = firstResidentChunk; i < chunks.size(); i++) {
+                        var chunk = chunks.get(i);
+                        if (chunk.segments != null && !chunk.spilling) {
+                            spills.add(markSpilling(chunk));
+                        }
+                    }
+                    releaseIfArchived();
+                }
+            }
+            if (refused) {
+                retain(this);
+            }
+            spills.forEach(chunk -> spillExecutor.execute(() -> spill(chunk)));
+        }
+
+        private Replay follow(int fromSequence, Listener listener) {
+            int end;
+            Listener registered = listener;
+            synchronized (this) {
+                end = size;
+                if (fromSequence > end) {
+                    registered = skipping(listener, fromSequence - end);
+                }
+                if (completed) {
+                    listener.onComplete();
+                } else {
+                    listeners.add(registered);
+                }
+            }
+            var unregister = registered;
+            return new Replay(read(fromSequence, end), () -> {
+                synchronized (this) {
+                    listeners.remove(unregister);
+                }
+            });
+        }
+
+        private List<TranscriptionSegment> read(int fromSequence, int toSequence) {
+            var pieces = new ArrayList<Piece>();
+            synchronized (this) {
+                var from = Math.max(0, fromSequence);
+                var to = Math.min(toSequence, size);
+                if (from < origin && from < to) {
+                    pieces.add(new Piece(from, Math.min(to, origin), null));
+                    from = Math.min(to, origin);
+                }
+                for (int i = chunkAt(from); from < to && i < chunks.size(); i++) {
+                    var chunk = chunks.get(i);
+                    var start = Math.max(from, chunk.base);
+                    var end = Math.min(to, chunk.base + chunk.count);
+                    if (start >= end) {
+                        continue;
+                    }
+                    var segments = chunk.segments;
+                    var previous = pieces.isEmpty() ? null : pieces.get(pieces.size() - 1);
+                    if (segments != null) {
+                        pieces.add(new Piece(start, end,
+                            List.copyOf(Arrays.asList(segments).subList(start - chunk.base, end - chunk.base))));
+                    } else if (previous != null && previous.segments() == null && previous.to() == start) {
+                        pieces.set(pieces.size() - 1, new Piece(previous.from(), end, null)); // one archive read
+                    } else {
+                        pieces.add(new Piece(start, end, null));
+                    }
+                }
+            }
+
+            var result = new ArrayList<TranscriptionSegment>();
+            for (var piece : pieces) {
+                result.addAll(piece.segments() != null
+                    ? piece.segments()
+                    : archive.read(meetingId, piece.from(), piece.to()));
+            }
+            return result;
+        }
+
+        /**
+         * Reads the chunks that may hold segments starting within a time range.
+         */
+        private List<TranscriptionSegment> readCandidates(double fromSeconds, double toSeconds) {
+            int from;
+            int to;
+            synchronized (this) {
+                if (chunks.isEmpty()) {
+                    from = 0;
+                    to = size;
+                } else {
+                    // Chunks before the last one starting ahead of the range hold earlier segments only
+                    var first = lastChunkStartingBefore(fromSeconds);
+                    var afterLast = lastChunkStartingBefore(toSeconds) + 1;
+                    from = first >= 0 ? chunks.get(first).base : 0;
+                    to = afterLast < chunks.size() ? chunks.get(afterLast).base : size;
+                }
+            }
+            return read(from, to);
+        }
+
+        /**
+         * Finds the last chunk whose first segment starts before a time, or -1.
+         */
+        private int lastChunkStartingBefore(double seconds) {
+            int low = 0;
+            int high = chunks.size() - 1;
+            while (low <= high) {
+                var mid = (low + high) >>> 1;
+                if (chunks.get(mid).firstStart < seconds) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return high;
+        }
+
+        /**
+         * Finds the chunk holding a sequence.
+         */
+        private int chunkAt(int sequence) {
+            int low = 0;
+            int high = chunks.size() - 1;
+            while (low < high) {
+                var mid = (low + high + 1) >>> 1;
+                if (chunks.get(mid).base <= sequence) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private static Listener skipping(Listener listener, int count) {
+            var remaining = new AtomicInteger(count);
+            return new Listener() {
+                @Override
+                public void onSegment(TranscriptionSegment segment) {
+                    if (remaining.getAndUpdate(n -> Math.max(0, n - 1)) == 0) {
+                        listener.onSegment(segment);
+                    }
+                }
+
+                @Override
+                public void onComplete() {
+                    listener.onComplete();
+                }
+            };
+        }
+    }
+
+    /**
+     * Segments {@code base} to {@code base + count - 1} of a meeting; {@code segments} is
+     * null once the chunk is archived.
+     */
+    private static final class Chunk {
+
+        private final int base;
+        private final double firstStart;
+        private TranscriptionSegment[] segments;
+        private int count;
+        private boolean spilling;
+
+        private Chunk(int base, TranscriptionSegment[] segments, double firstStart) {
+            this.base = base;
+            this.segments = segments;
+            this.firstStart = firstStart;
+        }
+    }
+
+    /**
+     * Part of a read: resident segments, or a range to read from the archive if null.
+     */
+    private record Piece(int from, int to, List<TranscriptionSegment> segments) {
+    }
+}
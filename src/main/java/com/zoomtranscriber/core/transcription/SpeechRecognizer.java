@@ -1,5 +1,12 @@
 package com.zoomtranscriber.core.transcription;
 
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.audio.AudioCaptureService;
+import com.zoomtranscriber.core.audio.ChunkSizeController;
+import com.zoomtranscriber.core.audio.MultiSourceMixer;
+import com.zoomtranscriber.core.audio.StreamingResampler;
+import com.zoomtranscriber.core.audio.VoiceActivityDetector;
+import com.zoomtranscriber.core.monitoring.PipelineLatency;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -8,15 +15,46 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import java.util.UUID;
 
+import javax.sound.sampled.AudioFormat;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Speech recognition engine for real-time transcription.
  * Processes audio data and generates text transcriptions.
+ * Audio in any supported capture format is downmixed and resampled per session to
+ * 16 kHz mono PCM16 before recognition, and, when voice activity detection is
+ * enabled, only speech regions reach the recognition engine.
+ * Multi-source frames are recognized as a mixdown and their segments attributed to the
+ * channel that was loudest for most of the segment.
+ * <p>
+ * Segment {@code startTime} and {@code endTime} are seconds on the audio stream, taken
+ * from the sample offsets of the chunks whose audio produced the text, so they are exact
+ * to the chunk rather than to the time the segment was emitted.
+ * <p>
+ * Each session owns a {@link ChunkSizeController} fed with the recognition time and queue
+ * wait of every chunk; the session's audio processor reads it to size its chunks.
+ * <p>
+ * Recognition itself is delegated to a {@link RecognitionEngine}; audio quieter than the
+ * session's sensitivity threshold never reaches the engine. Windows from all meetings go
+ * through one {@link RecognitionBatcher}, so the engine infers them in micro-batches while
+ * each meeting's windows stay in order; no thread is held while a window waits.
+ * <p>
+ * Sessions with {@link RecognitionConfig#interimResults()} also emit the text buffered so
+ * far as non-final segments, at most once per {@code interimUpdateIntervalMs} and only when
+ * it changed. Interim segments carry the id of the segment being built, and the final
+ * segment that closes it at a sentence or utterance boundary reuses that id so clients can
+ * replace the interim text in place.
+ * <p>
+ * Consecutive windows of a session overlap by {@code recognitionOverlapRatio}, and an
+ * {@link OverlapMerger} aligns their hypotheses by word timing and tokens so words spanning
+ * a window edge are recognized whole and emitted once.
  */
 @Component
 public class SpeechRecognizer {
@@ -26,28 +64,57 @@ public class SpeechRecognizer {
     private static final int SAMPLE_RATE = 16000;
     private static final int CHANNELS = 1;
     private static final int SAMPLE_SIZE = 16;
-    private static final Duration CHUNK_DURATION = Duration.ofMillis(1000); // 1 second chunks
-    private static final int CHUNK_SIZE = (int) (SAMPLE_RATE * CHANNELS * (SAMPLE_SIZE / 8) * CHUNK_DURATION.toMillis() / 1000);
+    private static final AudioFormat RECOGNITION_FORMAT = new AudioFormat(SAMPLE_RATE, SAMPLE_SIZE, CHANNELS, true, false);
     
     private final ConcurrentHashMap<String, RecognitionSession> activeSessions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, StreamingResampler> sessionResamplers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, VoiceActivityDetector> sessionDetectors = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SpeakerTally> sessionSpeakers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ChunkSizeController> sessionChunkSizers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, OverlapMerger> sessionMergers = new ConcurrentHashMap<>();
+    private final AudioConfig audioConfig;
+    private final PipelineLatency pipelineLatency;
+    private final RecognitionBatcher batcher;
+    private final RecognitionEngine engine;
     private String currentModel = "whisper-1";
-    private boolean initialized = false;
+    private volatile boolean initialized = false;
     
     /**
-     * Initializes the speech recognition engine.
+     * Creates the speech recognizer.
+     * 
+     * @param audioConfig audio configuration providing voice activity detection settings
+     * @param pipelineLatency latency tracker updated as audio arrives and segments are emitted
+     * @param batcher batcher in front of the engine that turns speech into text
+     */
+    public SpeechRecognizer(AudioConfig audioConfig, PipelineLatency pipelineLatency, RecognitionBatcher batcher) {
+        this.audioConfig = audioConfig;
+        this.pipelineLatency = pipelineLatency;
+        this.batcher = batcher;
+        this.engine = batcher.getEngine();
+    }
+    
+    /**
+     * Initializes the speech recognition engine. The model is loaded once; later calls
+     * complete without touching the engine.
      * 
      * @return Mono that completes when initialization is successful
      */
     public Mono<Void> initialize() {
         return Mono.fromRunnable(() -> {
-            logger.info("Initializing speech recognition engine with model: {}", currentModel);
-            
-            // Initialize speech recognition engine
-            // In a real implementation, this would load the actual speech recognition model
-            // For now, we'll simulate initialization
-            
-            initialized = true;
-            logger.info("Speech recognition engine initialized successfully");
+            if (initialized) {
+                return;
+            }
+            synchronized (this) {
+                if (initialized) {
+                    return;
+                }
+                logger.info("Initializing speech recognition engine {} with model: {}", engine.getName(), currentModel);
+                
+                engine.loadModel(currentModel);
+                
+                initialized = true;
+                logger.info("Speech recognition engine initialized successfully");
+            }
         })
         .subscribeOn(Schedulers.boundedElastic())
         .then();
@@ -74,7 +141,8 @@ public class SpeechRecognizer {
                 LocalDateTime.now(),
                 new StringBuilder(),
                 0,
-                0.0
+                0.0,
+                new SegmentTiming()
             );
             
             activeSessions.put(meetingId, session);
@@ -91,64 +159,238 @@ public class SpeechRecognizer {
      * @return Mono that completes when session stops successfully
      */
     public Mono<Void> stopSession(String meetingId) {
-        return Mono.fromRunnable(() -> {
+        return finishSession(meetingId).then();
+    }
+    
+    /**
+     * Stops a recognition session and emits a final segment for any text still buffered.
+     * 
+     * @param meetingId meeting identifier
+     * @return Mono of the final segment, empty if nothing was pending
+     */
+    public Mono<TranscriptionSegment> finishSession(String meetingId) {
+        return Mono.fromCallable(() -> {
             var session = activeSessions.remove(meetingId);
-            if (session != null) {
-                logger.info("Recognition session stopped for meeting: {}", meetingId);
-                
-                // Generate final segment if there's pending text
-                if (session.textBuffer().length() > 0) {
-                    var finalSegment = createTranscriptionSegment(session, true);
-                    // In a real implementation, this would be published to a stream
-                    logger.debug("Generated final transcription segment: {}", finalSegment.getText());
-                }
-            } else {
+            sessionResamplers.remove(meetingId);
+            sessionSpeakers.remove(meetingId);
+            sessionChunkSizers.remove(meetingId);
+            var merger = sessionMergers.remove(meetingId);
+            engine.endStream(meetingId);
+            var detector = sessionDetectors.remove(meetingId);
+            if (detector != null) {
+                logger.info("Voice activity forwarded {}% of audio for meeting: {}",
+                    Math.round(detector.getForwardedRatio() * 100), meetingId);
+            }
+            if (session == null) {
                 logger.warn("No active session found for meeting: {}", meetingId);
+                return null;
             }
+            
+            logger.info("Recognition session stopped for meeting: {}", meetingId);
+            
+            if (merger != null) {
+                appendText(session, merger.flush());
+            }
+            // Generate final segment if there's pending text
+            var finalSegment = session.textBuffer().length() > 0 ? createTranscriptionSegment(session, true) : null;
+            if (finalSegment != null) {
+                logger.debug("Generated final transcription segment: {}", finalSegment.getText());
+            }
+            return finalSegment;
         })
-        .subscribeOn(Schedulers.boundedElastic())
-        .then();
+        .subscribeOn(Schedulers.boundedElastic());
     }
     
     /**
      * Processes audio data for speech recognition.
+     * The data must already be 16 kHz mono PCM16 little-endian.
      * 
      * @param meetingId meeting identifier
      * @param audioData raw audio data
      * @return Flux of TranscriptionSegment objects
      */
     public Flux<TranscriptionSegment> processAudio(String meetingId, byte[] audioData) {
-        return Mono.fromCallable(() -> {
-            var session = activeSessions.get(meetingId);
-            if (session == null) {
-                logger.warn("No active session for meeting: {}", meetingId);
-                return null;
+        return processAudio(meetingId, audioData, RECOGNITION_FORMAT);
+    }
+    
+    /**
+     * Processes audio data captured in an arbitrary PCM format for speech recognition.
+     * The data is converted to 16 kHz mono with a per-session streaming resampler, so
+     * consecutive calls for the same meeting must be made in stream order. The data is
+     * assumed to follow the previous call's audio directly and to have been captured now.
+     * 
+     * @param meetingId meeting identifier
+     * @param audioData raw audio data
+     * @param format format of the audio data
+     * @return Flux of TranscriptionSegment objects
+     */
+    public Flux<TranscriptionSegment> processAudio(String meetingId, byte[] audioData, AudioFormat format) {
+        return recognize(meetingId, audioData, format, -1.0, System.nanoTime());
+    }
+    
+    /**
+     * Processes a positioned audio chunk, timing segments from its sample offset and
+     * measuring latency from its capture instant.
+     * 
+     * @param meetingId meeting identifier
+     * @param chunk audio chunk in stream order
+     * @return Flux of TranscriptionSegment objects
+     */
+    public Flux<TranscriptionSegment> processAudio(String meetingId, AudioCaptureService.AudioChunk chunk) {
+        return recognize(meetingId, chunk.data(), chunk.format(), chunk.getStartSeconds(), chunk.captureNanos());
+    }
+    
+    private Flux<TranscriptionSegment> recognize(String meetingId, byte[] audioData, AudioFormat format,
+                                                 double startSeconds, long captureNanos) {
+        return Mono.fromCallable(() -> prepareWindow(meetingId, audioData, format, startSeconds, captureNanos))
+            .flatMap(window -> recognizeSpeech(window)
+                .mapNotNull(hypothesis -> completeWindow(window, hypothesis.orElse(null))))
+            .flux()
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+    
+    /**
+     * Converts a chunk to speech-only recognition audio and advances the stream position.
+     * 
+     * @return the window, or null if the meeting has no session
+     */
+    private Window prepareWindow(String meetingId, byte[] audioData, AudioFormat format,
+                                 double startSeconds, long captureNanos) {
+        var session = activeSessions.get(meetingId);
+        if (session == null) {
+            logger.warn("No active session for meeting: {}", meetingId);
+            return null;
+        }
+        
+        var processingStart = System.nanoTime();
+        pipelineLatency.record(PipelineLatency.Stage.RECOGNITION_INPUT, captureNanos);
+        var frames = audioData.length / Math.max(1, format.getFrameSize());
+        var chunkStart = startSeconds >= 0 ? startSeconds : session.timing().streamEnd;
+        var chunkEnd = chunkStart + frames / (double) format.getSampleRate();
+        session.timing().streamEnd = chunkEnd;
+        
+        // Convert audio data to 16 kHz mono and keep only speech regions
+        var pcm = toRecognitionFormat(meetingId, audioData, format);
+        var utteranceEnded = false;
+        if (audioConfig.isEnableVoiceActivityDetection()) {
+            var activity = detectVoiceActivity(meetingId, pcm);
+            pcm = activity.speech();
+            utteranceEnded = activity.utteranceEnded();
+        }
+        
+        var samples = convertToSamples(pcm);
+        var overlapped = samples.length > 0 ? getOverlapMerger(meetingId).prepare(pcm) : null;
+        return new Window(session, overlapped, samples, utteranceEnded,
+            chunkStart, chunkEnd, captureNanos, processingStart);
+    }
+    
+    /**
+     * Buffers the window's text and cuts a segment at sentence or utterance boundaries.
+     * 
+     * @param window recognized window
+     * @param hypothesis engine hypothesis, or null if nothing was recognized
+     * @return the segment, or null if none is complete
+     */
+    private TranscriptionSegment completeWindow(Window window, RecognitionEngine.Hypothesis hypothesis) {
+        var session = window.session();
+        getChunkSizeController(session.meetingId()).record(
+            (long) ((window.chunkEnd() - window.chunkStart()) * 1_000_000_000L),
+            System.nanoTime() - window.processingStart(),
+            window.processingStart() - window.captureNanos()
+        );
+        
+        var merger = sessionMergers.get(session.meetingId());
+        if (merger == null) {
+            return null; // no speech yet, or the session has finished and flushed its text
+        }
+        if (window.samples().length == 0) {
+            // Nothing to overlap with; words held back for this window are emitted now
+            appendText(session, merger.flush());
+            // End of an utterance is a natural segment boundary
+            if (window.utteranceEnded() && session.textBuffer().length() > 0) {
+                var segment = createTranscriptionSegment(session, true);
+                session.textBuffer().setLength(0);
+                return segment;
             }
-            
-            // Convert audio data to samples
-            var samples = convertToSamples(audioData);
-            
-            // Process audio for speech recognition
-            var recognizedText = recognizeSpeech(samples, session.config());
-            
-            if (recognizedText != null && !recognizedText.trim().isEmpty()) {
-                // Append to session buffer
-                session.textBuffer().append(recognizedText).append(" ");
-                session = session.withSegmentCount(session.segmentCount() + 1);
-                
-                // Check if we should create a segment (sentence boundary)
-                if (shouldCreateSegment(recognizedText)) {
-                    var segment = createTranscriptionSegment(session, false);
-                    session.textBuffer().setLength(0); // Clear buffer
-                    return segment;
-                }
+            return null;
+        }
+        
+        var recognizedText = merger.merge(window.overlapped(), hypothesis);
+        if (window.utteranceEnded()) {
+            recognizedText = (recognizedText + " " + merger.flush()).trim();
+        }
+        if (!recognizedText.isEmpty()) {
+            // Append to session buffer
+            session.timing().addSpeech(window.chunkStart(), window.chunkEnd(), window.captureNanos());
+            if (hypothesis != null) {
+                session.timing().addConfidence(hypothesis.confidence());
             }
+            appendText(session, recognizedText);
+            session = session.withSegmentCount(session.segmentCount() + 1);
             
-            return null;
-        })
-        .filter(segment -> segment != null)
-        .flux()
-        .subscribeOn(Schedulers.boundedElastic());
+            // Check if we should create a segment (sentence or utterance boundary)
+            if (shouldCreateSegment(recognizedText) || window.utteranceEnded()) {
+                var segment = createTranscriptionSegment(session, true);
+                session.textBuffer().setLength(0); // Clear buffer
+                return segment;
+            }
+            if (session.config().interimResults()) {
+                return createInterimSegment(session);
+            }
+        }
+        
+        return null;
+    }
+    
+    private static void appendText(RecognitionSession session, String text) {
+        if (!text.isEmpty()) {
+            session.textBuffer().append(text).append(" ");
+        }
+    }
+    
+    /**
+     * Processes a time-aligned multi-source frame. The channels are mixed for recognition,
+     * and the loudest channel counts towards the speaker of the next segment, so separate
+     * local and remote channels attribute speech without voice embeddings. With echo
+     * cancellation enabled the capture service has already removed the remote channel's
+     * echo from the microphone channel, so far-end speech is recognized once.
+     *
+     * @param meetingId meeting identifier
+     * @param frame frame from {@link com.zoomtranscriber.core.audio.MultiSourceCaptureService}
+     * @return Flux of TranscriptionSegment objects
+     */
+    public Flux<TranscriptionSegment> processFrame(String meetingId, MultiSourceMixer.Frame frame) {
+        var channel = frame.dominantChannel(audioConfig.getNoiseThreshold());
+        if (channel >= 0) {
+            sessionSpeakers.computeIfAbsent(meetingId, id -> new SpeakerTally())
+                .add(frame.channelLabels().get(channel));
+        }
+        var format = new AudioFormat(frame.format().getSampleRate(), 16, 1, true, false);
+        return recognize(meetingId, frame.mixdown(), format,
+            frame.startSample() / (double) format.getSampleRate(), frame.captureNanos());
+    }
+    
+    /**
+     * Gets the chunk size controller of a meeting, creating it if the session has not
+     * processed audio yet, so a processor can be wired before or after the session starts.
+     * 
+     * @param meetingId meeting identifier
+     * @return the meeting's chunk size controller
+     */
+    public ChunkSizeController getChunkSizeController(String meetingId) {
+        return sessionChunkSizers.computeIfAbsent(meetingId, id -> createChunkSizeController());
+    }
+    
+    private OverlapMerger getOverlapMerger(String meetingId) {
+        return sessionMergers.computeIfAbsent(meetingId, id -> new OverlapMerger(audioConfig.getRecognitionOverlapRatio()));
+    }
+    
+    private ChunkSizeController createChunkSizeController() {
+        var min = Duration.ofMillis(audioConfig.getRecognitionChunkMinMs());
+        return audioConfig.isAdaptiveChunkSizing()
+            ? new ChunkSizeController(min, Duration.ofMillis(Math.max(audioConfig.getRecognitionChunkMinMs(),
+                audioConfig.getRecognitionChunkMaxMs())))
+            : ChunkSizeController.fixed(min);
     }
     
     /**
@@ -179,7 +421,7 @@ public class SpeechRecognizer {
         return Mono.fromRunnable(() -> {
             logger.info("Updating speech recognition model to: {}", model);
             
-            // In a real implementation, this would load the new model
+            engine.loadModel(model);
             this.currentModel = model;
             
             logger.info("Speech recognition model updated to: {}", model);
@@ -207,43 +449,23 @@ public class SpeechRecognizer {
     }
     
     /**
-     * Simulates speech recognition from audio samples.
-     * In a real implementation, this would use an actual speech recognition engine.
+     * Recognizes a window through the batcher, skipping audio below the sensitivity threshold.
      * 
-     * @param samples audio samples
-     * @param config recognition configuration
-     * @return recognized text or null if no speech detected
+     * @param window window to recognize
+     * @return Mono of the hypothesis, empty Optional if no speech detected
      */
-    private String recognizeSpeech(double[] samples, RecognitionConfig config) {
+    private Mono<Optional<RecognitionEngine.Hypothesis>> recognizeSpeech(Window window) {
         // Simple energy-based speech detection
-        var energy = calculateAudioEnergy(samples);
-        var threshold = config.sensitivityThreshold();
-        
-        if (energy < threshold) {
-            return null; // No speech detected
+        var samples = window.samples();
+        if (samples.length == 0 || calculateAudioEnergy(samples) < window.session().config().sensitivityThreshold()) {
+            return Mono.just(Optional.empty()); // No speech detected
         }
         
-        // Simulate recognition with random text for demo purposes
-        // In a real implementation, this would call the actual speech recognition API
-        var possibleTexts = new String[]{
-            "Hello everyone",
-            "Thank you for joining",
-            "Let's discuss the agenda",
-            "Any questions?",
-            "I agree with that point",
-            "Let me share my screen",
-            "Can everyone hear me?",
-            "I'll take a look at that",
-            "Great suggestion"
-        };
-        
-        // Return text based on energy level (higher energy = more likely to have speech)
-        if (energy > threshold * 2) {
-            var randomIndex = (int) (Math.random() * possibleTexts.length);
-            return possibleTexts[randomIndex];
-        }
-        
-        return null;
+        var session = window.session();
+        return Mono.fromFuture(() -> batcher.submit(session.meetingId(), window.overlapped().audio(), session.config()))
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .publishOn(Schedulers.boundedElastic());
     }
     
     /**
@@ -276,7 +498,7 @@ public class SpeechRecognizer {
     }
     
     /**
-     * Creates a transcription segment from session data.
+     * Creates a transcription segment from session data and starts a new pending segment.
      * 
      * @param session recognition session
      * @param isFinal whether this is a final segment
@@ -288,12 +510,53 @@ public class SpeechRecognizer {
             return null;
         }
         
-        var confidence = calculateConfidence(text, session.config());
-        var speakerId = session.config().enableSpeakerDiarization() ? 
-            "Speaker_" + (session.segmentCount() % 5 + 1) : null;
+        var timing = session.timing();
+        var tally = sessionSpeakers.get(session.meetingId());
+        var segment = buildSegment(session, text, tally != null ? tally.takeDominant() : null, isFinal);
+        if (timing.hasSpeech()) {
+            pipelineLatency.record(PipelineLatency.Stage.TRANSCRIBED, timing.captureNanos);
+            timing.clearSpeech();
+        }
+        timing.clearConfidence();
+        timing.clearSegment();
+        return segment;
+    }
+    
+    /**
+     * Creates an interim segment for the text buffered so far, if the session's last
+     * interim update is old enough and the text changed since.
+     * 
+     * @param session recognition session
+     * @return interim TranscriptionSegment, or null if throttled or unchanged
+     */
+    private TranscriptionSegment createInterimSegment(RecognitionSession session) {
+        var text = session.textBuffer().toString().trim();
+        var timing = session.timing();
+        var now = System.nanoTime();
+        if (text.isEmpty() || text.equals(timing.interimText)
+            || (timing.interimText != null
+                && now - timing.interimNanos < audioConfig.getInterimUpdateIntervalMs() * 1_000_000L)) {
+            return null;
+        }
+        timing.interimText = text;
+        timing.interimNanos = now;
+        
+        var tally = sessionSpeakers.get(session.meetingId());
+        return buildSegment(session, text, tally != null ? tally.peekDominant() : null, false);
+    }
+    
+    private TranscriptionSegment buildSegment(RecognitionSession session, String text, String channelSpeaker,
+                                              boolean isFinal) {
+        var timing = session.timing();
+        var confidence = timing.hypotheses > 0
+            ? timing.confidenceSum / timing.hypotheses
+            : calculateConfidence(text, session.config());
+        var speakerId = !session.config().enableSpeakerDiarization() ? null
+            : channelSpeaker != null ? channelSpeaker
+            : "Speaker_" + (session.segmentCount() % 5 + 1);
         
-        return new TranscriptionSegment(
-            java.util.UUID.randomUUID(),
+        var segment = new TranscriptionSegment(
+            timing.segmentId(),
             UUID.fromString(session.meetingId()),
             LocalDateTime.now(),
             speakerId,
@@ -301,9 +564,14 @@ public class SpeechRecognizer {
             confidence,
             session.segmentCount(),
             isFinal,
-            Duration.ofMillis(1000), // Estimated duration
+            timing.hasSpeech() ? Duration.ofNanos((long) ((timing.end - timing.start) * 1_000_000_000L)) : Duration.ofMillis(1000),
             session.config().language()
         );
+        if (timing.hasSpeech()) {
+            segment.setStartTime(timing.start);
+            segment.setEndTime(timing.end);
+        }
+        return segment;
     }
     
     /**
@@ -333,6 +601,48 @@ public class SpeechRecognizer {
         return Math.max(0.0, Math.min(1.0, baseConfidence));
     }
     
+    /**
+     * Converts audio to the recognition format, keeping resampler state per meeting.
+     * 
+     * @param meetingId meeting identifier
+     * @param audioData raw audio data
+     * @param format format of the audio data
+     * @return 16 kHz mono PCM16 little-endian data
+     */
+    private byte[] toRecognitionFormat(String meetingId, byte[] audioData, AudioFormat format) {
+        var resampler = sessionResamplers.compute(meetingId, (id, existing) ->
+            existing != null && existing.getSourceFormat().matches(format)
+                ? existing
+                : new StreamingResampler(format, SAMPLE_RATE));
+        
+        if (resampler.isPassthrough()) {
+            return audioData;
+        }
+        
+        synchronized (resampler) {
+            return resampler.process(audioData);
+        }
+    }
+    
+    /**
+     * Runs the meeting's voice activity detector over 16 kHz mono audio.
+     * 
+     * @param meetingId meeting identifier
+     * @param pcm 16 kHz mono PCM16 little-endian data
+     * @return speech regions and utterance boundaries
+     */
+    private VoiceActivityDetector.Result detectVoiceActivity(String meetingId, byte[] pcm) {
+        var detector = sessionDetectors.computeIfAbsent(meetingId, id -> new VoiceActivityDetector(
+            audioConfig.getVoiceActivityThreshold(),
+            audioConfig.getVoiceActivityMinDurationMs(),
+            audioConfig.getVoiceActivityMaxSilenceMs()
+        ));
+        
+        synchronized (detector) {
+            return detector.process(pcm);
+        }
+    }
+    
     /**
      * Converts raw audio data to sample array.
      * 
@@ -359,10 +669,118 @@ public class SpeechRecognizer {
         LocalDateTime startTime,
         StringBuilder textBuffer,
         int segmentCount,
-        double averageEnergy
+        double averageEnergy,
+        SegmentTiming timing
     ) {
         public RecognitionSession withSegmentCount(int newCount) {
-            return new RecognitionSession(meetingId, config, startTime, textBuffer, newCount, averageEnergy);
+            return new RecognitionSession(meetingId, config, startTime, textBuffer, newCount, averageEnergy, timing);
+        }
+    }
+    
+    /**
+     * Audio of one chunk prepared for recognition.
+     */
+    private record Window(
+        RecognitionSession session,
+        OverlapMerger.Window overlapped,
+        double[] samples,
+        boolean utteranceEnded,
+        double chunkStart,
+        double chunkEnd,
+        long captureNanos,
+        long processingStart
+    ) {
+    }
+    
+    /**
+     * Stream position of a session and the audio span, engine confidence, id and last
+     * interim update of its pending text. Only touched by the session's own, ordered
+     * processing calls.
+     */
+    private static final class SegmentTiming {
+        
+        private double streamEnd;
+        private double start = -1.0;
+        private double end;
+        private long captureNanos;
+        private double confidenceSum;
+        private int hypotheses;
+        private UUID segmentId;
+        private String interimText;
+        private long interimNanos;
+        
+        private void addSpeech(double chunkStart, double chunkEnd, long chunkCaptureNanos) {
+            if (start < 0) {
+                start = chunkStart;
+            }
+            end = chunkEnd;
+            captureNanos = chunkCaptureNanos;
+        }
+        
+        private boolean hasSpeech() {
+            return start >= 0;
+        }
+        
+        private void clearSpeech() {
+            start = -1.0;
+        }
+        
+        private void addConfidence(double confidence) {
+            confidenceSum += confidence;
+            hypotheses++;
+        }
+        
+        private void clearConfidence() {
+            confidenceSum = 0.0;
+            hypotheses = 0;
+        }
+        
+        private UUID segmentId() {
+            if (segmentId == null) {
+                segmentId = UUID.randomUUID();
+            }
+            return segmentId;
+        }
+        
+        private void clearSegment() {
+            segmentId = null;
+            interimText = null;
+        }
+    }
+    
+    /**
+     * Counts the frames each channel dominated since the last segment.
+     */
+    private static final class SpeakerTally {
+        
+        private final Map<String, Integer> frames = new HashMap<>();
+        
+        private synchronized void add(String label) {
+            frames.merge(label, 1, Integer::sum);
+        }
+        
+        /**
+         * Gets the label that dominated most frames and starts a new count.
+         */
+        private synchronized String takeDominant() {
+            var dominant = peekDominant();
+            frames.clear();
+            return dominant;
+        }
+        
+        /**
+         * Gets the label that dominated most frames so far.
+         */
+        private synchronized String peekDominant() {
+            String dominant = null;
+            var most = 0;
+            for (var entry : frames.entrySet()) {
+                if (entry.getValue() > most) {
+                    dominant = entry.getKey();
+                    most = entry.getValue();
+                }
+            }
+            return dominant;
         }
     }
     
@@ -387,8 +805,30 @@ public class SpeechRecognizer {
         boolean enablePunctuation,
         boolean enableCapitalization,
         String model,
-        int maxAlternatives
+        int maxAlternatives,
+        boolean interimResults
     ) {
+        /**
+         * Creates a recognition configuration without interim results.
+         */
+        public RecognitionConfig(String language, boolean enableSpeakerDiarization, double sensitivityThreshold,
+                                 boolean enablePunctuation, boolean enableCapitalization, String model,
+                                 int maxAlternatives) {
+            this(language, enableSpeakerDiarization, sensitivityThreshold, enablePunctuation,
+                enableCapitalization, model, maxAlternatives, false);
+        }
+        
+        /**
+         * Creates a copy of this configuration with interim results switched on or off.
+         * 
+         * @param enabled whether to emit interim segments
+         * @return RecognitionConfig with the setting applied
+         */
+        public RecognitionConfig withInterimResults(boolean enabled) {
+            return new RecognitionConfig(language, enableSpeakerDiarization, sensitivityThreshold,
+                enablePunctuation, enableCapitalization, model, maxAlternatives, enabled);
+        }
+        
         /**
          * Creates a default recognition configuration.
          * 
@@ -47,13 +47,45 @@ public interface TranscriptionService {
     Flux<TranscriptionSegment> getTranscriptionStream(UUID meetingId);
     
     /**
-     * Gets all transcription segments for a meeting.
+     * Gets all final transcription segments recorded so far for a meeting.
+     * The Flux completes with the history and does not wait for the meeting to end.
      * 
      * @param meetingId the meeting identifier
      * @return Flux of all TranscriptionSegment objects
      */
     Flux<TranscriptionSegment> getAllTranscriptionSegments(UUID meetingId);
     
+    /**
+     * Gets a range of final transcription segments by sequence, their position in the
+     * meeting's history starting at 0.
+     * 
+     * @param meetingId the meeting identifier
+     * @param fromSegment first sequence, inclusive
+     * @param toSegment last sequence, exclusive
+     * @return Flux of the TranscriptionSegment objects in the range
+     */
+    Flux<TranscriptionSegment> getTranscriptionSegments(UUID meetingId, int fromSegment, int toSegment);
+    
+    /**
+     * Gets the final transcription segments that start within a period of a meeting.
+     * 
+     * @param meetingId the meeting identifier
+     * @param from earliest start from the start of the meeting, inclusive
+     * @param to latest start from the start of the meeting, exclusive
+     * @return Flux of the TranscriptionSegment objects in the period
+     */
+    Flux<TranscriptionSegment> getTranscriptionSegmentsBetween(UUID meetingId, java.time.Duration from, java.time.Duration to);
+    
+    /**
+     * Replays the final transcription segments of a meeting from a sequence, then follows
+     * new ones until transcription stops.
+     * 
+     * @param meetingId the meeting identifier
+     * @param fromSegment first sequence to replay
+     * @return Flux of TranscriptionSegment objects without gaps or duplicates
+     */
+    Flux<TranscriptionSegment> replayTranscriptionStream(UUID meetingId, int fromSegment);
+    
     /**
      * Processes audio data for transcription.
      * 
@@ -155,8 +187,71 @@ public interface TranscriptionService {
         boolean enableCapitalization,
         boolean enableTimestamps,
         int maxSpeakers,
-        String model
+        String model,
+        boolean interimResults
     ) {
+        /**
+         * Creates a transcription configuration without interim results.
+         */
+        public TranscriptionConfig(String language, boolean enableSpeakerDiarization, double confidenceThreshold,
+                                   boolean enablePunctuation, boolean enableCapitalization, boolean enableTimestamps,
+                                   int maxSpeakers, String model) {
+            this(language, enableSpeakerDiarization, confidenceThreshold, enablePunctuation, enableCapitalization,
+                enableTimestamps, maxSpeakers, model, false);
+        }
+        
+        /**
+         * Creates a copy of this configuration with the language replaced.
+         * 
+         * @param language language code
+         * @return TranscriptionConfig with the language applied
+         */
+        public TranscriptionConfig withLanguage(String language) {
+            return new TranscriptionConfig(language, enableSpeakerDiarization, confidenceThreshold, enablePunctuation,
+                enableCapitalization, enableTimestamps, maxSpeakers, model, interimResults);
+        }
+        
+        /**
+         * Creates a copy of this configuration with speaker diarization switched on or off.
+         * 
+         * @param enabled whether to attribute segments to speakers
+         * @return TranscriptionConfig with the setting applied
+         */
+        public TranscriptionConfig withSpeakerDiarization(boolean enabled) {
+            return new TranscriptionConfig(language, enabled, confidenceThreshold, enablePunctuation,
+                enableCapitalization, enableTimestamps, maxSpeakers, model, interimResults);
+        }
+        
+        /**
+         * Creates a copy of this configuration with the confidence threshold replaced.
+         * 
+         * @param threshold confidence threshold (0.0 to 1.0)
+         * @return TranscriptionConfig with the threshold applied
+         */
+        public TranscriptionConfig withConfidenceThreshold(double threshold) {
+            return new TranscriptionConfig(language, enableSpeakerDiarization, threshold, enablePunctuation,
+                enableCapitalization, enableTimestamps, maxSpeakers, model, interimResults);
+        }
+        
+        /**
+         * Creates the recognizer settings for this configuration. Settings the transcription
+         * configuration has no equivalent for keep their recognizer defaults.
+         * 
+         * @return RecognitionConfig for the speech recognizer
+         */
+        public SpeechRecognizer.RecognitionConfig toRecognitionConfig() {
+            var defaults = SpeechRecognizer.RecognitionConfig.defaultConfig();
+            return new SpeechRecognizer.RecognitionConfig(
+                language,
+                enableSpeakerDiarization,
+                defaults.sensitivityThreshold(),
+                enablePunctuation,
+                enableCapitalization,
+                model,
+                defaults.maxAlternatives()
+            ).withInterimResults(interimResults);
+        }
+        
         /**
          * Creates a default transcription configuration.
          * 
@@ -0,0 +1,522 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.zoomtranscriber.core.exceptions.SpeechRecognitionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a local recognizer binary as a pool of long-lived worker processes, so models
+ * stay loaded and warm between requests instead of being loaded per request.
+ * <p>
+ * Requests are written to a worker's stdin as frames of a big-endian 32-bit header
+ * length, a UTF-8 JSON header, a big-endian 32-bit payload length and the payload:
+ * <pre>
+ * {"seq":7,"type":"audio","stream":"...","language":"en-US","sampleRate":16000} + PCM16 LE mono
+ * {"seq":8,"type":"end","stream":"..."}
+ * {"seq":9,"type":"load","model":"..."}
+ * {"seq":10,"type":"ping"}
+ * </pre>
+ * The worker answers every frame with one JSON line on stdout carrying the same
+ * {@code seq}, such as {@code {"seq":7,"text":"hello","confidence":0.91}}, or
+ * {@code {"seq":7,"error":"..."}}; an empty or missing text means nothing was recognized.
+ * Audio replies may add {@code "words":[{"text":"hello","start":0.12,"end":0.48}]} with
+ * times in seconds from the start of the frame's audio.
+ * Replies may arrive out of order. Stderr is discarded.
+ * <p>
+ * A stream sticks to the least loaded worker at its first audio so the worker can keep
+ * decoder state. The windows of a batch are written to their workers before any reply
+ * is awaited, so a batch spread over the pool is inferred in parallel and each worker
+ * can decode the windows queued on its stdin back to back; a window whose worker fails
+ * or rejects it fails alone. A worker that times out,
+ * fails to write or exits is destroyed and restarted with exponential backoff, either by
+ * the next request routed to it or by the health check, which also pings idle workers.
+ * The current model is loaded into every restarted worker before it takes requests.
+ */
+public class WorkerProcessRecognitionEngine implements RecognitionEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkerProcessRecognitionEngine.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final long EXIT_TIMEOUT_MS = 1000;
+    private static final int SAMPLE_RATE = 16000;
+
+    private final List<String> command;
+    private final long requestTimeoutMs;
+    private final long healthCheckIntervalMs;
+    private final long restartBackoffMs;
+    private final List<Worker> workers = new ArrayList<>();
+    private final Map<String, Worker> streamWorkers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Object healthLock = new Object();
+    private final Thread healthThread;
+    private volatile String model;
+    private volatile boolean closed;
+
+    /**
+     * Creates the pool and starts its workers.
+     *
+     * @param command recognizer command line
+     * @param poolSize number of worker processes
+     * @param requestTimeout longest wait for a reply before the worker is restarted
+     * @param healthCheckInterval interval between health checks
+     * @param restartBackoff delay before the first restart of a failed worker
+     */
+    public WorkerProcessRecognitionEngine(List<String> command, int poolSize, Duration requestTimeout,
+                                          Duration healthCheckInterval, Duration restartBackoff) {
+        if (command == null || command.isEmpty()) {
+            throw new IllegalArgumentException("Recognition worker command must not be empty");
+        }
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Recognition worker pool size must be positive: " + poolSize);
+        }
+        this.command = List.copyOf(command);
+        this.requestTimeoutMs = Math.max(1, requestTimeout.toMillis());
+        this.healthCheckIntervalMs = Math.max(1, healthCheckInterval.toMillis());
+        this.restartBackoffMs = Math.max(1, restartBackoff.toMillis());
+
+        for (int i = 0; i < poolSize; i++) {
+            var worker = new Worker(i);
+            workers.add(worker);
+            worker.startIfDue();
+        }
+        healthThread = Thread.ofVirtual().name("recognition-worker-health").start(this::checkHealth);
+    }
+
+    @Override
+    public String getName() {
+        var current = model;
+        return "worker:" + command.get(0) + (current != null ? ":" + current : "");
+    }
+
+    @Override
+    public void loadModel(String model) {
+        var previous = this.model;
+        this.model = model;
+        for (var worker : workers) {
+            if (!worker.isAlive()) {
+                continue; // loads the model when it restarts
+            }
+            var header = header("load").put("model", model);
+            try {
+                worker.request(header, new byte[0]);
+            } catch (IOException | RuntimeException e) {
+                this.model = previous;
+                throw SpeechRecognitionException.modelLoadFailed(model, e, null);
+            }
+        }
+        logger.info("Loaded model {} into {} recognition workers", model, workers.size());
+    }
+
+    @Override
+    public Hypothesis recognize(String streamId, byte[] pcm, SpeechRecognizer.RecognitionConfig config) {
+        var worker = workerFor(streamId);
+        try {
+            return toHypothesis(worker.request(audioHeader(streamId, config), pcm));
+        } catch (IOException e) {
+            throw failure(worker, e);
+        }
+    }
+
+    /**
+     * Writes every window of the batch before waiting for any reply, so windows on
+     * different workers are inferred in parallel. Every submitted window is awaited,
+     * even after another has failed, so none is left pending on its worker.
+     */
+    @Override
+    public List<Result> recognizeBatch(List<Request> requests) {
+        var results = new ArrayList<Result>(requests.size());
+        var routed = new ArrayList<Worker>(requests.size());
+        var headers = new ArrayList<ObjectNode>(requests.size());
+        var replies = new ArrayList<CompletableFuture<JsonNode>>(requests.size());
+        for (var request : requests) {
+            var worker = workerFor(request.streamId());
+            var header = audioHeader(request.streamId(), request.config());
+            CompletableFuture<JsonNode> reply = null;
+            try {
+                reply = worker.submit(header, request.pcm());
+                results.add(null);
+            } catch (IOException e) {
+                results.add(Result.failed(failure(worker, e)));
+            }
+            routed.add(worker);
+            headers.add(header);
+            replies.add(reply);
+        }
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (replies.get(i) == null) {
+                continue;
+            }
+            try {
+                results.set(i, Result.of(toHypothesis(routed.get(i).await(headers.get(i), replies.get(i)))));
+            } catch (IOException e) {
+                results.set(i, Result.failed(failure(routed.get(i), e)));
+            } catch (RuntimeException e) {
+                results.set(i, Result.failed(e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Gets the worker a stream is bound to, binding it to the least loaded live worker
+     * on its first window.
+     */
+    private Worker workerFor(String streamId) {
+        return streamWorkers.computeIfAbsent(streamId, id -> {
+            var chosen = workers.stream()
+                .min(Comparator.comparing(Worker::isAlive).reversed()
+                    .thenComparingInt(candidate -> candidate.streams.get()))
+                .orElseThrow();
+            chosen.streams.incrementAndGet();
+            return chosen;
+        });
+    }
+
+    private ObjectNode audioHeader(String streamId, SpeechRecognizer.RecognitionConfig config) {
+        return header("audio")
+            .put("stream", streamId)
+            .put("language", config.language())
+            .put("sampleRate", SAMPLE_RATE);
+    }
+
+    private static Hypothesis toHypothesis(JsonNode reply) {
+        var text = reply.path("text").asText("").trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        var words = new ArrayList<Word>();
+        for (var word : reply.path("words")) {
+            words.add(new Word(word.path("text").asText(), word.path("start").asDouble(), word.path("end").asDouble()));
+        }
+        return new Hypothesis(text, Math.max(0.0, Math.min(1.0, reply.path("confidence").asDouble(0.0))), words);
+    }
+
+    private SpeechRecognitionException failure(Worker worker, IOException cause) {
+        return new SpeechRecognitionException("Recognition worker " + worker.index + " failed: "
+            + cause.getMessage(), cause, null, model, 0.0);
+    }
+
+    @Override
+    public void endStream(String streamId) {
+        var worker = streamWorkers.remove(streamId);
+        if (worker == null) {
+            return;
+        }
+        worker.streams.decrementAndGet();
+        try {
+            worker.request(header("end").put("stream", streamId), new byte[0]);
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Failed to end stream {} on recognition worker {}: {}", streamId, worker.index, e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isHealthy() {
+        return !closed && workers.stream().anyMatch(Worker::isAlive);
+    }
+
+    /**
+     * Gets the number of workers with a running process.
+     *
+     * @return live worker count
+     */
+    public int getLiveWorkerCount() {
+        return (int) workers.stream().filter(Worker::isAlive).count();
+    }
+
+    /**
+     * Gets the number of times workers were restarted after a failure.
+     *
+     * @return restart count
+     */
+    public long getRestartCount() {
+        return workers.stream().mapToLong(worker -> worker.restarts.get()).sum();
+    }
+
+    /**
+     * Gets the number of requests waiting for a worker's reply.
+     *
+     * @return pending request count
+     */
+    int getPendingRequestCount() {
+        return workers.stream().mapToInt(worker -> worker.pending.size()).sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        healthThread.interrupt();
+        workers.forEach(worker -> worker.terminate(new IOException("Recognition engine closed")));
+        streamWorkers.clear();
+    }
+
+    private ObjectNode header(String type) {
+        return MAPPER.createObjectNode().put("seq", sequence.incrementAndGet()).put("type", type);
+    }
+
+    /**
+     * Restarts dead workers whose backoff elapsed and pings live ones.
+     */
+    private void checkHealth() {
+        while (!closed) {
+            synchronized (healthLock) {
+                try {
+                    healthLock.wait(healthCheckIntervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            for (var worker : workers) {
+                if (closed) {
+                    return;
+                }
+                if (!worker.isAlive()) {
+                    worker.startIfDue();
+                    continue;
+                }
+                try {
+                    worker.request(header("ping"), new byte[0]);
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Recognition worker {} failed health check: {}", worker.index, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private final class Worker {
+
+        private final int index;
+        private final Map<Long, CompletableFuture<JsonNode>> pending = new ConcurrentHashMap<>();
+        private final AtomicInteger streams = new AtomicInteger();
+        private final AtomicLong restarts = new AtomicLong();
+        private volatile Process process;
+        private DataOutputStream input;
+        private volatile int failures;
+        private long nextStartNanos;
+
+        Worker(int index) {
+            this.index = index;
+        }
+
+        boolean isAlive() {
+            var current = process;
+            return current != null && current.isAlive();
+        }
+
+        /**
+         * Sends a frame and waits for its reply, restarting the worker if it fails.
+         */
+        JsonNode request(ObjectNode header, byte[] payload) throws IOException {
+            return await(header, submit(header, payload));
+        }
+
+        /**
+         * Sends a frame without waiting for its reply.
+         */
+        CompletableFuture<JsonNode> submit(ObjectNode header, byte[] payload) throws IOException {
+            var seq = header.get("seq").asLong();
+            var reply = new CompletableFuture<JsonNode>();
+            pending.put(seq, reply);
+            try {
+                send(header, payload);
+            } catch (IOException e) {
+                pending.remove(seq);
+                throw e;
+            }
+            return reply;
+        }
+
+        /**
+         * Waits for the reply to a submitted frame, restarting the worker if none arrives.
+         */
+        JsonNode await(ObjectNode header, CompletableFuture<JsonNode> reply) throws IOException {
+            try {
+                var node = reply.get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+                if (node.hasNonNull("error")) {
+                    throw new SpeechRecognitionException("Recognition worker " + index + " rejected "
+                        + header.get("type").asText() + ": " + node.get("error").asText());
+                }
+                return node;
+            } catch (TimeoutException e) {
+                terminate(new IOException("No reply within " + requestTimeoutMs + " ms"));
+                throw new IOException("Recognition worker " + index + " timed out after " + requestTimeoutMs + " ms", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for recognition worker " + index, e);
+            } finally {
+                pending.remove(header.get("seq").asLong());
+            }
+        }
+
+        private synchronized void send(ObjectNode header, byte[] payload) throws IOException {
+            if (!isAlive() && !startIfDue()) {
+                throw new IOException("Recognition worker " + index + " is restarting");
+            }
+            var headerBytes = MAPPER.writeValueAsBytes(header);
+            try {
+                input.writeInt(headerBytes.length);
+                input.write(headerBytes);
+                input.writeInt(payload.length);
+                input.write(payload);
+                input.flush();
+            } catch (IOException e) {
+                terminate(e);
+                throw e;
+            }
+        }
+
+        /**
+         * Starts the process if it is not running and its restart backoff has elapsed.
+         *
+         * @return true if the process is running
+         */
+        synchronized boolean startIfDue() {
+            if (isAlive()) {
+                return true;
+            }
+            if (closed || System.nanoTime() < nextStartNanos) {
+                return false;
+            }
+            try {
+                var started = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+                process = started;
+                input = new DataOutputStream(new BufferedOutputStream(started.getOutputStream()));
+                Thread.ofVirtual().name("recognition-worker-" + index).start(() -> readReplies(started));
+                logger.info("Started recognition worker {} (pid {})", index, started.pid());
+            } catch (IOException e) {
+                logger.warn("Failed to start recognition worker {}: {}", index, e.getMessage());
+                scheduleRestart();
+                return false;
+            }
+
+            var current = model;
+            if (current != null) {
+                var header = header("load").put("model", current);
+                var reply = new CompletableFuture<JsonNode>();
+                var seq = header.get("seq").asLong();
+                pending.put(seq, reply);
+                try {
+                    var headerBytes = MAPPER.writeValueAsBytes(header);
+                    input.writeInt(headerBytes.length);
+                    input.write(headerBytes);
+                    input.writeInt(0);
+                    input.flush();
+                    var node = reply.get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+                    if (node.hasNonNull("error")) {
+                        throw new IOException(node.get("error").asText());
+                    }
+                } catch (IOException | ExecutionException | TimeoutException e) {
+                    logger.warn("Recognition worker {} failed to load model {}: {}", index, current, e.getMessage());
+                    terminate(new IOException("Model load failed", e));
+                    return false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    terminate(new IOException("Interrupted loading model", e));
+                    return false;
+                } finally {
+                    pending.remove(seq);
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Completes pending requests from the worker's reply lines until its stdout closes.
+         */
+        private void readReplies(Process source) {
+            try (var reader = new BufferedReader(new InputStreamReader(source.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    JsonNode node;
+                    try {
+                        node = MAPPER.readTree(line);
+                    } catch (IOException e) {
+                        logger.debug("Ignoring malformed reply from recognition worker {}: {}", index, line);
+                        continue;
+                    }
+                    failures = 0;
+                    var reply = pending.remove(node.path("seq").asLong(-1));
+                    if (reply != null) {
+                        reply.complete(node);
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("Recognition worker {} output closed: {}", index, e.getMessage());
+            }
+            if (process == source) {
+                if (!closed) {
+                    logger.warn("Recognition worker {} exited", index);
+                }
+                terminate(new IOException("Recognition worker " + index + " exited"));
+            }
+        }
+
+        /**
+         * Destroys the process, fails and forgets its pending requests and schedules a restart.
+         */
+        synchronized void terminate(IOException cause) {
+            var current = process;
+            process = null;
+            for (var it = pending.values().iterator(); it.hasNext(); ) {
+                var reply = it.next();
+                it.remove();
+                reply.completeExceptionally(cause);
+            }
+            if (current == null) {
+                return;
+            }
+            current.destroy();
+            try {
+                if (!current.waitFor(EXIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    current.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                current.destroyForcibly();
+            }
+            if (!closed) {
+                restarts.incrementAndGet();
+                scheduleRestart();
+            }
+        }
+
+        private void scheduleRestart() {
+            var backoff = Math.min(restartBackoffMs << Math.min(failures, 16), MAX_BACKOFF_MS);
+            failures++;
+            nextStartNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+            logger.info("Recognition worker {} restarts in {} ms", index, backoff);
+        }
+    }
+}
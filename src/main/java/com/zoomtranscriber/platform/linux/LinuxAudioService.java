@@ -1,6 +1,10 @@
 package com.zoomtranscriber.platform.linux;
 
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.audio.AudioBufferLease;
+import com.zoomtranscriber.core.audio.AudioBufferPool;
 import com.zoomtranscriber.core.audio.AudioCaptureService;
+import com.zoomtranscriber.core.audio.AudioDeviceRegistry;
 import com.zoomtranscriber.core.audio.PlatformAudioService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,9 +25,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -31,6 +37,9 @@ import java.util.regex.Pattern;
 /**
  * Linux-specific implementation of audio services.
  * Uses ALSA, PulseAudio, and Java Sound API for audio operations.
+ * The device cache, which includes a {@code pactl} call, is rebuilt only when the
+ * AudioDeviceRegistry reports a device change or the cache is older than
+ * {@code deviceRefreshIntervalMs}, not on every device query.
  */
 @Component
 public class LinuxAudioService implements PlatformAudioService {
@@ -42,12 +51,23 @@ public class LinuxAudioService implements PlatformAudioService {
     private static final Path PULSE_AUDIO_PATH = Paths.get("/run/user/1000/pulse");
     private static final Path ALSA_DEVICES_PATH = Paths.get("/proc/asound/cards");
     
+    private final AudioConfig audioConfig;
     private final ConcurrentHashMap<String, AudioDevice> deviceCache = new ConcurrentHashMap<>();
+    private final long deviceRefreshIntervalNanos;
+    private volatile boolean deviceCacheStale = true;
+    private volatile long deviceCacheRefreshedNanos;
+    private final Set<PipeAudioCapture> activeCaptures = ConcurrentHashMap.newKeySet();
     private boolean initialized = false;
     private String currentMixerId;
     private boolean pulseAudioAvailable = false;
     private boolean alsaAvailable = false;
     
+    public LinuxAudioService(AudioConfig audioConfig, AudioDeviceRegistry deviceRegistry) {
+        this.audioConfig = audioConfig;
+        this.deviceRefreshIntervalNanos = Duration.ofMillis(audioConfig.getDeviceRefreshIntervalMs()).toNanos();
+        deviceRegistry.getChanges().subscribe(devices -> deviceCacheStale = true);
+    }
+    
     @Override
     public Mono<Void> initialize() {
         return Mono.fromRunnable(() -> {
@@ -86,7 +106,10 @@ public class LinuxAudioService implements PlatformAudioService {
             logger.info("Shutting down Linux audio service");
             
             try {
+                activeCaptures.forEach(PipeAudioCapture::shutdown);
+                activeCaptures.clear();
                 deviceCache.clear();
+                deviceCacheStale = true;
                 initialized = false;
                 logger.info("Linux audio service shut down successfully");
                 
@@ -101,7 +124,7 @@ public class LinuxAudioService implements PlatformAudioService {
     
     @Override
     public Flux<AudioDevice> getInputDevices() {
-        return Mono.fromRunnable(this::refreshDeviceCache)
+        return Mono.fromRunnable(this::refreshDeviceCacheIfStale)
             .flatMapMany(ignored -> Flux.fromIterable(deviceCache.values()))
             .filter(device -> device.type() == AudioDevice.AudioDeviceType.INPUT || 
                               device.type() == AudioDevice.AudioDeviceType.DUPLEX)
@@ -110,7 +133,7 @@ public class LinuxAudioService implements PlatformAudioService {
     
     @Override
     public Flux<AudioDevice> getOutputDevices() {
-        return Mono.fromRunnable(this::refreshDeviceCache)
+        return Mono.fromRunnable(this::refreshDeviceCacheIfStale)
             .flatMapMany(ignored -> Flux.fromIterable(deviceCache.values()))
             .filter(device -> device.type() == AudioDevice.AudioDeviceType.OUTPUT || 
                               device.type() == AudioDevice.AudioDeviceType.DUPLEX)
@@ -265,18 +288,29 @@ public class LinuxAudioService implements PlatformAudioService {
     
     @Override
     public Flux<byte[]> captureSystemAudio(AudioFormat format) {
+        return captureSystemAudioBuffers(format).map(LinuxAudioService::toByteArray);
+    }
+    
+    /**
+     * Captures system audio into pooled buffers without a per-chunk copy.
+     * Each lease holds whole frames and must be released by the subscriber.
+     * 
+     * @param format the desired audio format
+     * @return Flux of audio buffer leases
+     */
+    public Flux<AudioBufferLease> captureSystemAudioBuffers(AudioFormat format) {
         return Mono.fromCallable(() -> {
             logger.info("Starting system audio capture on Linux");
             
             if (pulseAudioAvailable) {
-                return capturePulseAudioSystemAudio(format);
+                return pulseAudioCaptureCommand(format);
             } else if (alsaAvailable) {
-                return captureAlsaSystemAudio(format);
+                return alsaCaptureCommand(format);
             } else {
                 throw new RuntimeException("No audio subsystem available for system capture");
             }
         })
-        .flatMapMany(captureFunction -> captureFunction)
+        .flatMapMany(command -> capturePipe(command, format))
         .subscribeOn(Schedulers.boundedElastic());
     }
     
@@ -395,11 +429,22 @@ public class LinuxAudioService implements PlatformAudioService {
         .then();
     }
     
+    /**
+     * Refreshes the device cache if devices changed or the cache has expired.
+     */
+    private void refreshDeviceCacheIfStale() {
+        if (deviceCacheStale || System.nanoTime() - deviceCacheRefreshedNanos >= deviceRefreshIntervalNanos) {
+            refreshDeviceCache();
+        }
+    }
+    
     /**
      * Refreshes the device cache with current system devices.
      */
-    private void refreshDeviceCache() {
+    private synchronized void refreshDeviceCache() {
         try {
+            deviceCacheStale = false;
+            deviceCacheRefreshedNanos = System.nanoTime();
             deviceCache.clear();
             
             var mixers = AudioSystem.getMixerInfo();
@@ -465,87 +510,55 @@ public class LinuxAudioService implements PlatformAudioService {
     }
     
     /**
-     * Captures system audio using PulseAudio.
+     * Builds the parec command line for system audio capture.
      */
-    private Flux<byte[]> capturePulseAudioSystemAudio(AudioFormat format) {
-        return Flux.create(emitter -> {
-            var captureThread = new Thread(() -> {
-                try {
-                    // Use pactl or parec to capture system audio
-                    var process = Runtime.getRuntime().exec(new String[]{
-                        "parec", 
-                        "--format=s16le", 
-                        "--rate=" + (int)format.getSampleRate(),
-                        "--channels=" + format.getChannels(),
-                        "--raw"
-                    });
-                    
-                    var inputStream = process.getInputStream();
-                    var buffer = new byte[4096];
-                    
-                    while (!emitter.isCancelled()) {
-                        var bytesRead = inputStream.read(buffer);
-                        if (bytesRead > 0) {
-                            var audioData = new byte[bytesRead];
-                            System.arraycopy(buffer, 0, audioData, 0, bytesRead);
-                            emitter.next(audioData);
-                        }
-                    }
-                    
-                } catch (Exception e) {
-                    if (!emitter.isCancelled()) {
-                        emitter.error(e);
-                    }
-                } finally {
-                    emitter.complete();
-                }
-            });
-            
-            captureThread.setDaemon(true);
-            captureThread.start();
-        });
+    private List<String> pulseAudioCaptureCommand(AudioFormat format) {
+        return List.of(
+            "parec",
+            "--format=s16le",
+            "--rate=" + (int)format.getSampleRate(),
+            "--channels=" + format.getChannels(),
+            "--raw"
+        );
     }
     
     /**
-     * Captures system audio using ALSA.
+     * Builds the arecord command line for system audio capture.
      */
-    private Flux<byte[]> captureAlsaSystemAudio(AudioFormat format) {
-        return Flux.create(emitter -> {
-            var captureThread = new Thread(() -> {
-                try {
-                    // Use arecord to capture system audio
-                    var process = Runtime.getRuntime().exec(new String[]{
-                        "arecord",
-                        "-f", "S16_LE",
-                        "-r", String.valueOf((int)format.getSampleRate()),
-                        "-c", String.valueOf(format.getChannels()),
-                        "-t", "raw"
-                    });
-                    
-                    var inputStream = process.getInputStream();
-                    var buffer = new byte[4096];
-                    
-                    while (!emitter.isCancelled()) {
-                        var bytesRead = inputStream.read(buffer);
-                        if (bytesRead > 0) {
-                            var audioData = new byte[bytesRead];
-                            System.arraycopy(buffer, 0, audioData, 0, bytesRead);
-                            emitter.next(audioData);
-                        }
-                    }
-                    
-                } catch (Exception e) {
-                    if (!emitter.isCancelled()) {
-                        emitter.error(e);
-                    }
-                } finally {
-                    emitter.complete();
-                }
-            });
-            
-            captureThread.setDaemon(true);
-            captureThread.start();
-        });
+    private List<String> alsaCaptureCommand(AudioFormat format) {
+        return List.of(
+            "arecord",
+            "-q",
+            "-f", "S16_LE",
+            "-r", String.valueOf((int)format.getSampleRate()),
+            "-c", String.valueOf(format.getChannels()),
+            "-t", "raw"
+        );
+    }
+    
+    /**
+     * Streams a capture process through a pipe into a pool sized to bufferSizeMs of
+     * whole 16-bit frames. The process lives as long as the subscription.
+     */
+    private Flux<AudioBufferLease> capturePipe(List<String> command, AudioFormat format) {
+        var frameBytes = 2 * format.getChannels();
+        var framesPerBuffer = Math.max(1, (int) (format.getSampleRate() * audioConfig.getBufferSizeMs() / 1000));
+        var pool = new AudioBufferPool(audioConfig.getBufferCount(), framesPerBuffer * frameBytes,
+            audioConfig.isUseDirectBuffers());
+        var capture = new PipeAudioCapture(command, frameBytes, pool, audioConfig.getCaptureRestartAttempts(),
+            Duration.ofMillis(audioConfig.getCaptureRestartBackoffMs()));
+        
+        return capture.capture()
+            .doOnSubscribe(subscription -> activeCaptures.add(capture))
+            .doFinally(signal -> activeCaptures.remove(capture));
+    }
+    
+    private static byte[] toByteArray(AudioBufferLease lease) {
+        try {
+            return lease.toByteArray();
+        } finally {
+            lease.release();
+        }
     }
     
     /**
@@ -596,7 +609,7 @@ public class LinuxAudioService implements PlatformAudioService {
     private Flux<byte[]> captureAlsaApplicationAudio(int pid, AudioFormat format) {
         // ALSA application-specific capture is complex and would require
         // additional setup. For now, fall back to system capture.
-        return captureAlsaSystemAudio(format);
+        return capturePipe(alsaCaptureCommand(format), format).map(LinuxAudioService::toByteArray);
     }
     
     /**
@@ -0,0 +1,292 @@
+package com.zoomtranscriber.platform.linux;
+
+import com.zoomtranscriber.core.audio.AudioBufferLease;
+import com.zoomtranscriber.core.audio.AudioBufferPool;
+import com.zoomtranscriber.core.exceptions.AudioException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams raw PCM from a capture process such as {@code parec} or {@code arecord}.
+ * <p>
+ * The process stdout is read through a channel straight into pooled buffers that always
+ * hold whole frames; a partial frame at the end of a read is carried into the next buffer.
+ * The reader only reads while downstream has outstanding demand, so a stalled subscriber
+ * leaves audio in the pipe and blocks the process instead of growing the heap. The process
+ * is destroyed when the subscription is cancelled. If it exits on its own it is restarted
+ * with exponential backoff, and the flux fails with an AudioException once more than
+ * {@code maxRestarts} consecutive runs ended without producing audio.
+ * <p>
+ * Subscribers own one reference on every lease they receive and must release it.
+ */
+final class PipeAudioCapture {
+
+    private static final Logger logger = LoggerFactory.getLogger(PipeAudioCapture.class);
+
+    private static final long MAX_BACKOFF_MS = 30_000;
+    private static final long DEMAND_POLL_MS = 100;
+    private static final long EXIT_TIMEOUT_MS = 1000;
+
+    private final List<String> command;
+    private final int frameBytes;
+    private final AudioBufferPool pool;
+    private final int maxRestarts;
+    private final long restartBackoffMs;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a pipe capture.
+     *
+     * @param command capture process command line
+     * @param frameBytes bytes per frame across all channels
+     * @param pool buffers to read into; each must hold at least one frame
+     * @param maxRestarts consecutive unproductive restarts before the flux fails
+     * @param restartBackoff delay before the first restart
+     */
+    PipeAudioCapture(List<String> command, int frameBytes, AudioBufferPool pool, int maxRestarts,
+                     Duration restartBackoff) {
+        if (frameBytes <= 0 || pool.getBufferBytes() < frameBytes) {
+            throw new IllegalArgumentException("Buffer size " + pool.getBufferBytes()
+                + " cannot hold a frame of " + frameBytes + " bytes");
+        }
+        this.command = List.copyOf(command);
+        this.frameBytes = frameBytes;
+        this.pool = pool;
+        this.maxRestarts = maxRestarts;
+        this.restartBackoffMs = Math.max(1, restartBackoff.toMillis());
+    }
+
+    /**
+     * Starts a capture process per subscription.
+     *
+     * @return flux of leases holding whole frames
+     */
+    Flux<AudioBufferLease> capture() {
+        return Flux.<AudioBufferLease>create(sink -> {
+                var session = new Session(sink);
+                sessions.add(session);
+                sink.onRequest(requested -> session.signal());
+                sink.onDispose(session::stop);
+                session.start();
+            })
+            .doOnDiscard(AudioBufferLease.class, AudioBufferLease::release);
+    }
+
+    /**
+     * Stops every running capture and completes its flux.
+     */
+    void shutdown() {
+        for (var session : sessions) {
+            session.stop();
+            session.sink.complete();
+        }
+    }
+
+    /**
+     * Gets the number of subscriptions with a capture loop running.
+     *
+     * @return active session count
+     */
+    int getActiveSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Gets the pool the capture reads into.
+     *
+     * @return buffer pool
+     */
+    AudioBufferPool getPool() {
+        return pool;
+    }
+
+    private final class Session {
+
+        private final FluxSink<AudioBufferLease> sink;
+        private final Object lock = new Object();
+        private final byte[] partialFrame = new byte[frameBytes];
+        private volatile boolean stopped;
+        private volatile Process process;
+
+        Session(FluxSink<AudioBufferLease> sink) {
+            this.sink = sink;
+        }
+
+        void start() {
+            var thread = new Thread(this::run, "pipe-capture-" + command.get(0));
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void signal() {
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            signal();
+            var current = process;
+            if (current != null) {
+                current.destroy();
+            }
+        }
+
+        private void run() {
+            var failures = 0;
+            var backoff = restartBackoffMs;
+            try {
+                while (!stopped) {
+                    var produced = false;
+                    try {
+                        produced = pump(launch());
+                    } catch (IOException e) {
+                        if (!stopped) {
+                            logger.warn("Capture process {} failed: {}", command.get(0), e.getMessage());
+                        }
+                    } finally {
+                        terminate();
+                    }
+                    if (stopped) {
+                        break;
+                    }
+
+                    if (produced) {
+                        failures = 0;
+                        backoff = restartBackoffMs;
+                    }
+                    if (++failures > maxRestarts) {
+                        sink.error(new AudioException("Capture process " + command.get(0) + " exited "
+                            + failures + " times without producing audio", "PIPE_CAPTURE_FAILED", "LinuxAudioService"));
+                        return;
+                    }
+                    logger.warn("Capture process {} exited, restarting in {} ms (attempt {}/{})",
+                        command.get(0), backoff, failures, maxRestarts);
+                    pause(backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+                }
+            } catch (RuntimeException e) {
+                if (!stopped) {
+                    sink.error(e);
+                }
+            } finally {
+                sessions.remove(this);
+                terminate();
+            }
+        }
+
+        private Process launch() throws IOException {
+            var started = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+            process = started;
+            if (stopped) {
+                started.destroy();
+            }
+            logger.debug("Started capture process {} (pid {})", command.get(0), started.pid());
+            return started;
+        }
+
+        /**
+         * Reads the process output until it ends or the session stops.
+         *
+         * @return true if at least one lease was emitted
+         */
+        private boolean pump(Process source) throws IOException {
+            var produced = false;
+            var carried = 0;
+            try (var channel = Channels.newChannel(source.getInputStream())) {
+                while (awaitDemand()) {
+                    var lease = pool.acquire();
+                    var target = lease.buffer().duplicate();
+                    target.put(partialFrame, 0, carried);
+
+                    int read;
+                    try {
+                        read = channel.read(target);
+                    } catch (IOException e) {
+                        lease.release();
+                        throw e;
+                    }
+                    if (read < 0) {
+                        lease.release();
+                        return produced;
+                    }
+
+                    var filled = target.position();
+                    var whole = filled - filled % frameBytes;
+                    carried = filled - whole;
+                    target.get(whole, partialFrame, 0, carried);
+                    if (whole == 0) {
+                        lease.release();
+                        continue;
+                    }
+
+                    lease.buffer().limit(whole);
+                    produced = true;
+                    sink.next(lease);
+                }
+            }
+            return produced;
+        }
+
+        private boolean awaitDemand() {
+            synchronized (lock) {
+                while (!stopped && sink.requestedFromDownstream() == 0) {
+                    try {
+                        lock.wait(DEMAND_POLL_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return false;
+                    }
+                }
+                return !stopped;
+            }
+        }
+
+        private void pause(long millis) {
+            var deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+            synchronized (lock) {
+                var remaining = millis;
+                while (!stopped && remaining > 0) {
+                    try {
+                        lock.wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        stopped = true;
+                        return;
+                    }
+                    remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                }
+            }
+        }
+
+        private void terminate() {
+            var current = process;
+            if (current == null) {
+                return;
+            }
+            process = null;
+            current.destroy();
+            try {
+                if (!current.waitFor(EXIT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    current.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                current.destroyForcibly();
+            }
+        }
+    }
+}
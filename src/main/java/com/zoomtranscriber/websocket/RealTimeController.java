@@ -10,6 +10,9 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,6 +23,10 @@ import java.util.concurrent.CopyOnWriteArrayList;
 /**
  * WebSocket controller for real-time communication.
  * Handles real-time updates for transcription, meeting detection, and summaries.
+ * <p>
+ * While a meeting has listening clients, its transcription stream, including interim
+ * segments when the request asked for them, is forwarded through
+ * {@link #sendTranscriptionSegment}.
  */
 @Controller
 public class RealTimeController {
@@ -33,6 +40,12 @@ public class RealTimeController {
     // Store active transcription sessions
     private final ConcurrentHashMap<UUID, List<String>> activeTranscriptionSessions = new ConcurrentHashMap<>();
 
+    // Text last sent for each open segment, per meeting
+    private final ConcurrentHashMap<UUID, ConcurrentHashMap<UUID, String>> sentSegmentText = new ConcurrentHashMap<>();
+
+    // Subscription forwarding each meeting's transcription stream to its clients
+    private final ConcurrentHashMap<UUID, Disposable> segmentForwarders = new ConcurrentHashMap<>();
+
     public RealTimeController(SimpMessagingTemplate messagingTemplate,
                              ZoomDetectionService zoomDetectionService,
                              TranscriptionService transcriptionService) {
@@ -127,6 +140,8 @@ public class RealTimeController {
             // Add client to active transcription session
             activeTranscriptionSessions.computeIfAbsent(request.meetingId(), k -> new CopyOnWriteArrayList<>())
                     .add(request.clientId());
+            // The new client has no text to apply deltas to; resend open segments in full
+            sentSegmentText.remove(request.meetingId());
 
             // Start transcription
             var config = new com.zoomtranscriber.core.transcription.TranscriptionService.TranscriptionConfig(
@@ -137,10 +152,22 @@ public class RealTimeController {
                 request.enableCapitalization(),
                 request.enableTimestamps(),
                 request.maxSpeakers(),
-                request.model()
+                request.model(),
+                request.interimResults()
             );
 
-            transcriptionService.startTranscription(request.meetingId(), config).subscribe();
+            // The first client starts the transcription and its forwarding; later ones join it
+            var meetingId = request.meetingId();
+            var forwarder = Disposables.swap();
+            if (segmentForwarders.putIfAbsent(meetingId, forwarder) == null) {
+                forwarder.update(transcriptionService.startTranscription(meetingId, config)
+                    .thenMany(Flux.defer(() -> transcriptionService.getTranscriptionStream(meetingId)))
+                    .doFinally(signal -> segmentForwarders.remove(meetingId, forwarder))
+                    .subscribe(
+                        segment -> sendTranscriptionSegment(meetingId, segment),
+                        error -> logger.error("Transcription stream failed for meeting: {}", meetingId, error)
+                    ));
+            }
 
             return new TranscriptionStatusMessage(
                 request.meetingId(),
@@ -175,6 +202,11 @@ public class RealTimeController {
                 clients.remove(request.clientId());
                 if (clients.isEmpty()) {
                     activeTranscriptionSessions.remove(request.meetingId());
+                    sentSegmentText.remove(request.meetingId());
+                    var forwarder = segmentForwarders.remove(request.meetingId());
+                    if (forwarder != null) {
+                        forwarder.dispose();
+                    }
                     // Stop transcription only when no clients are listening
                     transcriptionService.stopTranscription(request.meetingId()).subscribe();
                 }
@@ -252,24 +284,47 @@ public class RealTimeController {
 
     /**
      * Sends transcription segment updates to clients.
+     * Interim and final segments sharing an id are sent as deltas against the text last
+     * sent for that id; an unchanged interim update is not sent at all.
      */
     public void sendTranscriptionSegment(UUID meetingId, TranscriptionSegment segment) {
         List<String> clients = activeTranscriptionSessions.get(meetingId);
         if (clients != null && !clients.isEmpty()) {
+            var text = segment.getText() != null ? segment.getText() : "";
+            var sent = sentSegmentText.computeIfAbsent(meetingId, k -> new ConcurrentHashMap<>());
+            String previous = null;
+            if (segment.getId() != null) {
+                previous = segment.isFinal() ? sent.remove(segment.getId()) : sent.put(segment.getId(), text);
+            }
+            if (!segment.isFinal() && text.equals(previous)) {
+                return;
+            }
+            var replaceFrom = previous != null ? commonPrefixLength(previous, text) : 0;
+
             TranscriptionSegmentMessage message = new TranscriptionSegmentMessage(
                 meetingId,
                 segment.getId(),
-                segment.getText(),
+                text.substring(replaceFrom),
                 segment.getSpeakerId(),
                 segment.getConfidence(),
                 segment.getTimestamp(),
-                segment.isFinal()
+                segment.isFinal(),
+                replaceFrom
             );
 
             messagingTemplate.convertAndSend("/topic/transcription/" + meetingId, message);
         }
     }
 
+    private static int commonPrefixLength(String a, String b) {
+        var length = Math.min(a.length(), b.length());
+        var i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
     /**
      * Sends meeting event updates to clients.
      */
@@ -311,13 +366,18 @@ public class RealTimeController {
     public record TranscriptionRequest(String clientId, UUID meetingId, String language, 
                                    boolean enableSpeakerDiarization, double confidenceThreshold,
                                    boolean enablePunctuation, boolean enableCapitalization,
-                                   boolean enableTimestamps, int maxSpeakers, String model) {}
+                                   boolean enableTimestamps, int maxSpeakers, String model,
+                                   boolean interimResults) {}
     
     public record TranscriptionStatusMessage(UUID meetingId, String status, String message, LocalDateTime timestamp) {}
     
+    /**
+     * Update of a segment: clients keep the first {@code replaceFrom} characters of the text
+     * they hold for {@code segmentId} and append {@code text}.
+     */
     public record TranscriptionSegmentMessage(UUID meetingId, UUID segmentId, String text, 
                                          String speakerId, double confidence, LocalDateTime timestamp, 
-                                         boolean isFinal) {}
+                                         boolean isFinal, int replaceFrom) {}
     
     public record SummaryRequest(String clientId, UUID meetingId, String summaryType, String customPrompt) {}
     
@@ -0,0 +1,141 @@
+package com.zoomtranscriber.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoomtranscriber.core.exceptions.ValidationException;
+import com.zoomtranscriber.core.transcription.FileIngestService;
+import com.zoomtranscriber.security.JwtAuthenticationFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Mono;
+
+import javax.sound.sampled.AudioFormat;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for API IngestController class.
+ * Tests the REST API endpoint for batch transcription of recordings; authentication is
+ * left out of the slice.
+ */
+@WebMvcTest(controllers = IngestController.class,
+    excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthenticationFilter.class))
+@AutoConfigureMockMvc(addFilters = false)
+@DisplayName("API IngestController Tests")
+class IngestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private FileIngestService fileIngestService;
+
+    private UUID testMeetingId;
+
+    @BeforeEach
+    void setUp() {
+        testMeetingId = UUID.randomUUID();
+        when(fileIngestService.ingestFile(eq(testMeetingId), anyString(), any(), any()))
+            .thenReturn(Mono.just(new FileIngestService.IngestResult(
+                testMeetingId, 4, 1, Duration.ofMinutes(2), Duration.ofSeconds(10), 0, List.of())));
+    }
+
+    @Test
+    @DisplayName("Should ingest a WAV file and report the summary")
+    void shouldIngestWavFile() throws Exception {
+        var request = new IngestController.IngestFileRequest(testMeetingId, "meeting.wav", "en-US",
+            null, null, null, null);
+
+        perform(request)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.success").value(true))
+            .andExpect(jsonPath("$.windows").value(4))
+            .andExpect(jsonPath("$.failedWindows").value(1))
+            .andExpect(jsonPath("$.speedup").value(12.0));
+
+        verify(fileIngestService).ingestFile(eq(testMeetingId), eq("meeting.wav"), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Should pass the raw PCM format to the ingest service")
+    void shouldPassRawFormat() throws Exception {
+        var request = new IngestController.IngestFileRequest(testMeetingId, "meeting.pcm", null,
+            8000, 2, 16, true);
+
+        perform(request).andExpect(status().isOk());
+
+        var format = ArgumentCaptor.forClass(AudioFormat.class);
+        verify(fileIngestService).ingestFile(eq(testMeetingId), eq("meeting.pcm"), format.capture(), any());
+        assertEquals(8000f, format.getValue().getSampleRate());
+        assertEquals(2, format.getValue().getChannels());
+        assertEquals(16, format.getValue().getSampleSizeInBits());
+        assertTrue(format.getValue().isBigEndian());
+    }
+
+    @Test
+    @DisplayName("Should return bad request for invalid input")
+    void shouldRejectInvalidInput() throws Exception {
+        when(fileIngestService.ingestFile(eq(testMeetingId), eq("meeting.pcm"), any(), any()))
+            .thenReturn(Mono.error(new ValidationException("Unsupported sample size for ingest: 24 bits")));
+        var request = new IngestController.IngestFileRequest(testMeetingId, "meeting.pcm", null,
+            16000, 1, 24, false);
+
+        perform(request)
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.success").value(false))
+            .andExpect(jsonPath("$.message").value("Unsupported sample size for ingest: 24 bits"));
+    }
+
+    @Test
+    @DisplayName("Should return bad request for paths outside the ingest directory")
+    void shouldRejectPathOutsideIngestDirectory() throws Exception {
+        when(fileIngestService.ingestFile(eq(testMeetingId), eq("../secret.wav"), any(), any()))
+            .thenThrow(new ValidationException("Ingest path must be inside /data/ingest"));
+        var request = new IngestController.IngestFileRequest(testMeetingId, "../secret.wav", null,
+            null, null, null, null);
+
+        perform(request).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return server error when ingest fails")
+    void shouldHandleIngestFailure() throws Exception {
+        when(fileIngestService.ingestFile(eq(testMeetingId), eq("broken.wav"), any(), any()))
+            .thenReturn(Mono.error(new RuntimeException("Engine unavailable")));
+        var request = new IngestController.IngestFileRequest(testMeetingId, "broken.wav", null,
+            null, null, null, null);
+
+        perform(request)
+            .andExpect(status().isInternalServerError())
+            .andExpect(jsonPath("$.success").value(false));
+    }
+
+    private ResultActions perform(IngestController.IngestFileRequest body) throws Exception {
+        var result = mockMvc.perform(post("/api/ingest/file")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
@@ -0,0 +1,95 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AudioBufferPool and AudioBufferLease reference counting.
+ */
+@DisplayName("AudioBufferPool Tests")
+class AudioBufferPoolTest {
+
+    @Test
+    @DisplayName("Should lease direct buffers holding a copy of the data")
+    void shouldLeaseDirectBuffers() {
+        var pool = new AudioBufferPool(2, 8, true);
+        var data = new byte[]{1, 2, 3, 4, 5};
+
+        var lease = pool.acquire(data, 4);
+
+        assertTrue(lease.isDirect());
+        assertEquals(4, lease.length());
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, lease.toByteArray());
+        assertEquals(1, pool.getAvailableCount());
+    }
+
+    @Test
+    @DisplayName("Should return the buffer to the pool after the last release")
+    void shouldRecycleAfterLastRelease() {
+        var pool = new AudioBufferPool(1, 8, true);
+        var lease = pool.acquire(new byte[8], 8);
+
+        lease.retain();
+        assertFalse(lease.release());
+        assertEquals(0, pool.getAvailableCount());
+
+        assertTrue(lease.release());
+        assertEquals(1, pool.getAvailableCount());
+        assertSame(lease, pool.acquire(new byte[2], 2));
+        assertEquals(0, pool.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should reject use of a fully released lease")
+    void shouldRejectUseAfterRelease() {
+        var pool = new AudioBufferPool(1, 8, false);
+        var lease = pool.acquire(new byte[8], 8);
+        lease.release();
+
+        assertThrows(IllegalStateException.class, lease::release);
+        assertThrows(IllegalStateException.class, lease::retain);
+        assertEquals(1, pool.getAvailableCount());
+    }
+
+    @Test
+    @DisplayName("Should fall back to heap buffers when the pool is exhausted")
+    void shouldFallBackWhenExhausted() {
+        var pool = new AudioBufferPool(1, 8, true);
+        pool.acquire(new byte[8], 8);
+
+        var overflow = pool.acquire(new byte[]{9, 9}, 2);
+
+        assertFalse(overflow.isDirect());
+        assertArrayEquals(new byte[]{9, 9}, overflow.toByteArray());
+        assertEquals(1, pool.getMissCount());
+        assertTrue(overflow.release());
+        assertEquals(0, pool.getAvailableCount());
+    }
+
+    @Test
+    @DisplayName("Should lease empty buffers for in-place producers")
+    void shouldLeaseEmptyBuffers() {
+        var pool = new AudioBufferPool(1, 8, true);
+
+        var lease = pool.acquire();
+        assertEquals(8, lease.length());
+        lease.buffer().put(0, (byte) 7).limit(1);
+
+        assertArrayEquals(new byte[]{7}, lease.toByteArray());
+        assertTrue(lease.release());
+        assertEquals(8, pool.acquire().length());
+    }
+
+    @Test
+    @DisplayName("Should wrap heap arrays without copying")
+    void shouldWrapWithoutCopy() {
+        var data = new byte[]{1, 2, 3};
+
+        var lease = AudioBufferLease.wrap(data);
+
+        assertSame(data, lease.toByteArray());
+        assertEquals(1, lease.referenceCount());
+    }
+}
@@ -0,0 +1,138 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AudioChunkRing overflow policies and ordering.
+ */
+@DisplayName("AudioChunkRing Tests")
+class AudioChunkRingTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+    private static final double SILENCE = 0.01;
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two")
+    void shouldRoundCapacityUp() {
+        assertEquals(1, new AudioChunkRing<>(1, AudioChunkRing.OverflowPolicy.DROP_OLDEST, SILENCE, 0).capacity());
+        assertEquals(8, new AudioChunkRing<>(5, AudioChunkRing.OverflowPolicy.DROP_OLDEST, SILENCE, 0).capacity());
+        assertEquals(64, new AudioChunkRing<>(64, AudioChunkRing.OverflowPolicy.DROP_OLDEST, SILENCE, 0).capacity());
+        assertThrows(IllegalArgumentException.class,
+            () -> new AudioChunkRing<>(0, AudioChunkRing.OverflowPolicy.DROP_OLDEST, SILENCE, 0));
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest frames when full")
+    void shouldDropOldestWhenFull() {
+        var ring = new AudioChunkRing<AudioCaptureService.AudioChunk>(4, AudioChunkRing.OverflowPolicy.DROP_OLDEST, SILENCE, 0);
+
+        for (int i = 0; i < 6; i++) {
+            assertTrue(ring.offer(chunk(i, 0.5)));
+        }
+
+        assertEquals(4, ring.size());
+        assertEquals(2L, ring.poll().timestamp());
+        var stats = ring.getStats();
+        assertEquals(6, stats.offeredFrames());
+        assertEquals(2, stats.droppedFrames());
+        assertEquals(0, stats.droppedSilentFrames());
+    }
+
+    @Test
+    @DisplayName("Should drop incoming silent frames before queued speech")
+    void shouldDropSilentFramesFirst() {
+        var ring = new AudioChunkRing<AudioCaptureService.AudioChunk>(2, AudioChunkRing.OverflowPolicy.DROP_SILENT_FIRST, SILENCE, 0);
+        ring.offer(chunk(0, 0.5));
+        ring.offer(chunk(1, 0.5));
+
+        assertFalse(ring.offer(chunk(2, 0.0)));
+        assertEquals(2, ring.size());
+
+        assertTrue(ring.offer(chunk(3, 0.5)));
+        assertEquals(1L, ring.poll().timestamp());
+        assertEquals(3L, ring.poll().timestamp());
+
+        var stats = ring.getStats();
+        assertEquals(2, stats.droppedFrames());
+        assertEquals(1, stats.droppedSilentFrames());
+    }
+
+    @Test
+    @DisplayName("Should release pooled chunks it drops or clears")
+    void shouldReleaseDroppedPooledChunks() {
+        var pool = new AudioBufferPool(4, 16, true);
+        var ring = new AudioChunkRing<AudioCaptureService.PooledAudioChunk>(2, AudioChunkRing.OverflowPolicy.DROP_OLDEST, SILENCE, 0);
+
+        for (int i = 0; i < 4; i++) {
+            ring.offer(new AudioCaptureService.PooledAudioChunk(
+                pool.acquire(new byte[16], 16), FORMAT, Duration.ofMillis(100), i, 0.5));
+        }
+        assertEquals(2, pool.getAvailableCount());
+
+        ring.clear();
+        assertEquals(4, pool.getAvailableCount());
+    }
+
+    @Test
+    @DisplayName("Should bound the producer wait under the block policy")
+    void shouldBoundBlockingWait() {
+        var ring = new AudioChunkRing<AudioCaptureService.AudioChunk>(1, AudioChunkRing.OverflowPolicy.BLOCK, SILENCE, 20);
+        ring.offer(chunk(0, 0.5));
+
+        var start = System.nanoTime();
+        assertTrue(ring.offer(chunk(1, 0.5)));
+        var elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs >= 20 && elapsedMs < 1000, "waited " + elapsedMs + "ms");
+        assertEquals(1L, ring.poll().timestamp());
+        assertEquals(1, ring.getStats().droppedFrames());
+    }
+
+    @Test
+    @DisplayName("Should deliver frames in order to a concurrent consumer")
+    void shouldDeliverInOrderConcurrently() throws Exception {
+        var ring = new AudioChunkRing<AudioCaptureService.AudioChunk>(16, AudioChunkRing.OverflowPolicy.DROP_OLDEST, SILENCE, 0);
+        var total = 100_000;
+        var received = new ArrayList<Long>();
+
+        var consumer = new Thread(() -> {
+            while (true) {
+                var chunk = ring.poll();
+                if (chunk == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (chunk.timestamp() < 0) {
+                    return;
+                }
+                received.add(chunk.timestamp());
+            }
+        });
+        consumer.start();
+
+        for (int i = 0; i < total; i++) {
+            ring.offer(chunk(i, 0.5));
+        }
+        ring.offer(chunk(-1, 0.5));
+        consumer.join(5000);
+
+        assertFalse(consumer.isAlive());
+
+        for (int i = 1; i < received.size(); i++) {
+            assertTrue(received.get(i) > received.get(i - 1));
+        }
+        assertEquals(total, received.size() + ring.getStats().droppedFrames());
+    }
+
+    private static AudioCaptureService.AudioChunk chunk(long timestamp, double volume) {
+        return new AudioCaptureService.AudioChunk(new byte[0], FORMAT, Duration.ofMillis(100), timestamp, volume);
+    }
+}
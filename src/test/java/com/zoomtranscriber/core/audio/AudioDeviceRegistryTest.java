@@ -0,0 +1,112 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AudioDeviceRegistry caching and change detection.
+ */
+@DisplayName("AudioDeviceRegistry Tests")
+class AudioDeviceRegistryTest {
+
+    private final AtomicInteger enumerations = new AtomicInteger();
+    private final AtomicReference<List<AudioCaptureService.AudioSource>> devices = new AtomicReference<>();
+    private final AtomicReference<String> signal = new AtomicReference<>("card0");
+    private AudioDeviceRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        devices.set(List.of(source("builtin", true)));
+        registry = new AudioDeviceRegistry(() -> {
+            enumerations.incrementAndGet();
+            return devices.get();
+        }, signal::get, Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("Should enumerate once and serve lookups from the snapshot")
+    void shouldEnumerateOnce() {
+        var snapshot = registry.getSnapshot();
+
+        assertEquals(1, snapshot.generation());
+        assertEquals("builtin", snapshot.defaultSource().id());
+        assertTrue(registry.find("builtin").isPresent());
+        assertTrue(registry.find("missing").isEmpty());
+        registry.getSnapshot();
+        assertEquals(1, enumerations.get());
+    }
+
+    @Test
+    @DisplayName("Should re-enumerate only when the change signal moves")
+    void shouldFollowChangeSignal() {
+        registry.poll();
+        registry.poll();
+        assertEquals(1, enumerations.get());
+
+        devices.set(List.of(source("builtin", true), source("usb-headset", false)));
+        signal.set("card0,card1");
+        registry.poll();
+
+        assertEquals(2, enumerations.get());
+        assertEquals(2, registry.getSnapshot().generation());
+        assertTrue(registry.find("usb-headset").isPresent());
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot and publish nothing when devices are unchanged")
+    void shouldSkipUnchangedEnumeration() {
+        var published = new ArrayList<AudioDeviceRegistry.Snapshot>();
+        registry.getChanges().subscribe(published::add);
+        var first = registry.refresh();
+
+        var second = registry.refresh();
+
+        assertSame(first, second);
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    @DisplayName("Should refresh periodically when no change signal exists")
+    void shouldRefreshPeriodicallyWithoutSignal() {
+        var periodic = new AudioDeviceRegistry(() -> {
+            enumerations.incrementAndGet();
+            return devices.get();
+        }, () -> null, Duration.ZERO);
+
+        periodic.poll();
+        periodic.poll();
+
+        assertEquals(2, enumerations.get());
+    }
+
+    @Test
+    @DisplayName("Should keep the previous snapshot when enumeration fails")
+    void shouldKeepSnapshotOnFailure() {
+        var failing = new AtomicReference<Boolean>(false);
+        var flaky = new AudioDeviceRegistry(() -> {
+            if (failing.get()) {
+                throw new IllegalStateException("mixer went away");
+            }
+            return devices.get();
+        }, signal::get, Duration.ofHours(1));
+        var snapshot = flaky.getSnapshot();
+
+        failing.set(true);
+
+        assertSame(snapshot, flaky.refresh());
+    }
+
+    private static AudioCaptureService.AudioSource source(String id, boolean isDefault) {
+        return new AudioCaptureService.AudioSource(id, id, id + " input",
+            AudioCaptureService.AudioSource.AudioSourceType.MICROPHONE, isDefault, true);
+    }
+}
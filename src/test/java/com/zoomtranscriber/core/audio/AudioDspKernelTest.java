@@ -0,0 +1,104 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AudioDspKernel.
+ * Tests in-place processing, metering, and gain state.
+ */
+@DisplayName("AudioDspKernel Tests")
+class AudioDspKernelTest {
+
+    private final AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
+    private AudioDspKernel kernel;
+
+    @BeforeEach
+    void setUp() {
+        kernel = new AudioDspKernel();
+    }
+
+    @Test
+    @DisplayName("Should pass audio through unchanged when processing is disabled")
+    void shouldPassThroughWhenProcessingDisabled() {
+        var data = pcm16(new short[]{0, 16384, -16384, 32767, -32767});
+        var original = data.clone();
+
+        var rms = kernel.process(data, format, false, false);
+
+        assertArrayEquals(original, data);
+        var fullScale = 32767.0 / 32768.0;
+        assertEquals(Math.sqrt((0.25 + 0.25 + 2 * fullScale * fullScale) / 5.0), rms, 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should report zero energy for silence")
+    void shouldReportZeroEnergyForSilence() {
+        var data = new byte[3200];
+
+        assertEquals(0.0, kernel.process(data, format, true, true));
+        assertEquals(0.0, kernel.getLastPeak());
+    }
+
+    @Test
+    @DisplayName("Should move gain towards target amplitude")
+    void shouldMoveGainTowardsTargetAmplitude() {
+        var samples = new short[1600];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) (i % 2 == 0 ? 3277 : -3277); // ~0.1 peak
+        }
+
+        for (int i = 0; i < 50; i++) {
+            kernel.process(pcm16(samples), format, false, true);
+        }
+
+        assertEquals(8.0, kernel.getCurrentGain(), 0.1);
+        assertEquals(0.8, kernel.getLastPeak(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Should reset gain state")
+    void shouldResetGainState() {
+        kernel.process(pcm16(new short[]{1000, -1000}), format, false, true);
+        assertNotEquals(1.0, kernel.getCurrentGain());
+
+        kernel.reset();
+
+        assertEquals(1.0, kernel.getCurrentGain());
+    }
+
+    @Test
+    @DisplayName("Should suppress steady noise per channel in spectral mode")
+    void shouldSuppressNoiseInSpectralMode() {
+        var stereo = new AudioFormat(16000, 16, 2, true, false);
+        var random = new java.util.Random(7);
+        kernel.setNoiseReductionMode(AudioDspKernel.NoiseReductionMode.SPECTRAL);
+
+        var rms = 0.0;
+        for (int chunk = 0; chunk < 40; chunk++) {
+            var samples = new short[3200];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = (short) (random.nextGaussian() * 1000);
+            }
+            rms = kernel.process(pcm16(samples), stereo, true, false);
+        }
+
+        // Input RMS is ~0.03; the floored Wiener gain takes it down by 10-20 dB
+        assertTrue(rms < 0.01, "rms " + rms);
+        assertEquals(AudioDspKernel.NoiseReductionMode.SPECTRAL, kernel.getNoiseReductionMode());
+    }
+
+    private static byte[] pcm16(short[] samples) {
+        var data = new byte[samples.length * 2];
+        for (int i = 0; i < samples.length; i++) {
+            data[2 * i] = (byte) samples[i];
+            data[2 * i + 1] = (byte) (samples[i] >> 8);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,191 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.detection.ZoomDetectionService;
+import com.zoomtranscriber.core.transcription.SpeechRecognizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import javax.sound.sampled.AudioFormat;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AudioProcessorFactory.
+ * Tests per-meeting isolation and processor reclamation.
+ */
+@DisplayName("AudioProcessorFactory Tests")
+class AudioProcessorFactoryTest {
+
+    private final AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
+    private AudioConfig audioConfig;
+    private AudioProcessorFactory factory;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        audioConfig = new AudioConfig();
+        factory = new AudioProcessorFactory(audioConfig, mock(ObjectProvider.class), mock(ObjectProvider.class));
+    }
+
+    @Test
+    @DisplayName("Should return the same processor for the same meeting")
+    void shouldReturnSameProcessorForSameMeeting() {
+        var meetingId = UUID.randomUUID();
+
+        var first = factory.forMeeting(meetingId);
+        var second = factory.forMeeting(meetingId);
+
+        assertSame(first, second);
+        assertEquals(meetingId, first.getMeetingId());
+        assertEquals(1, factory.getActiveProcessorCount());
+    }
+
+    @Test
+    @DisplayName("Should keep buffered audio isolated between meetings")
+    void shouldKeepBufferedAudioIsolatedBetweenMeetings() {
+        var meetingA = factory.forMeeting(UUID.randomUUID());
+        var meetingB = factory.forMeeting(UUID.randomUUID());
+
+        // 50ms of audio is not enough for a 100ms chunk, so it stays buffered
+        StepVerifier.create(meetingA.processAudio(new byte[1600], format))
+            .verifyComplete();
+
+        assertNotSame(meetingA, meetingB);
+        assertEquals(1600, meetingA.getBufferSize());
+        assertEquals(0, meetingB.getBufferSize());
+    }
+
+    @Test
+    @DisplayName("Should size meeting chunks with the recognizer's chunk size controller")
+    @SuppressWarnings("unchecked")
+    void shouldUseRecognizerChunkSizeController() {
+        var meetingId = UUID.randomUUID();
+        var recognizer = mock(SpeechRecognizer.class);
+        when(recognizer.getChunkSizeController(meetingId.toString()))
+            .thenReturn(ChunkSizeController.fixed(Duration.ofMillis(200)));
+        ObjectProvider<SpeechRecognizer> provider = mock(ObjectProvider.class);
+        doAnswer(invocation -> {
+            ((Consumer<SpeechRecognizer>) invocation.getArgument(0)).accept(recognizer);
+            return null;
+        }).when(provider).ifAvailable(any());
+        factory = new AudioProcessorFactory(audioConfig, mock(ObjectProvider.class), provider);
+
+        // 300ms of audio makes one 200ms chunk and leaves the rest buffered
+        var chunks = factory.forMeeting(meetingId).processAudio(new byte[9600], format).collectList().block();
+
+        assertNotNull(chunks);
+        assertEquals(1, chunks.size());
+        assertEquals(3200, factory.forMeeting(meetingId).getBufferSize());
+        verify(recognizer, times(1)).getChunkSizeController(meetingId.toString());
+    }
+
+    @Test
+    @DisplayName("Should cancel echo of the reference stream when enabled in config")
+    @SuppressWarnings("unchecked")
+    void shouldCancelEchoWhenEnabled() {
+        audioConfig.setEnableEchoCancellation(true);
+        factory = new AudioProcessorFactory(audioConfig, mock(ObjectProvider.class), mock(ObjectProvider.class));
+        var processor = factory.forMeeting(UUID.randomUUID());
+        processor.setNoiseReductionEnabled(false);
+        processor.setAutoGainControlEnabled(false);
+        assertTrue(processor.isEchoCancellationEnabled());
+
+        var random = new Random(5);
+        var history = new short[40];
+        var inputEnergy = 0.0;
+        var outputEnergy = 0.0;
+        processor.processAudio(new byte[3200], format).blockLast();
+        for (int chunk = 0; chunk < 40; chunk++) {
+            var reference = ByteBuffer.allocate(3200).order(ByteOrder.LITTLE_ENDIAN);
+            var microphone = ByteBuffer.allocate(3200).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < 1600; i++) {
+                var sample = (short) (random.nextGaussian() * 3000);
+                reference.putShort(sample);
+                // Echo arrives 40 samples late at half level
+                microphone.putShort((short) (history[i % 40] / 2));
+                history[i % 40] = sample;
+            }
+            processor.processReference(reference.array(), format);
+            var output = processor.processAudio(microphone.array(), format).blockLast();
+            if (chunk >= 30) {
+                inputEnergy += energy(microphone.array());
+                outputEnergy += energy(output.data());
+            }
+        }
+
+        assertTrue(10 * Math.log10(inputEnergy / outputEnergy) > 15.0);
+        assertTrue(processor.getEchoReturnLossEnhancement() > 15.0);
+    }
+
+    private static double energy(byte[] pcm) {
+        var samples = ByteBuffer.wrap(pcm).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer();
+        var sum = 0.0;
+        while (samples.hasRemaining()) {
+            var sample = samples.get();
+            sum += (double) sample * sample;
+        }
+        return sum;
+    }
+
+    @Test
+    @DisplayName("Should release processor when meeting ends")
+    void shouldReleaseProcessorWhenMeetingEnds() {
+        var meetingId = UUID.randomUUID();
+        var processor = factory.forMeeting(meetingId);
+
+        assertTrue(factory.release(meetingId));
+        assertFalse(factory.release(meetingId));
+        assertEquals(0, factory.getActiveProcessorCount());
+        assertNotSame(processor, factory.forMeeting(meetingId));
+    }
+
+    @Test
+    @DisplayName("Should reclaim idle processors")
+    @SuppressWarnings("unchecked")
+    void shouldReclaimIdleProcessors() throws InterruptedException {
+        audioConfig.setProcessorIdleTimeoutMs(1);
+        factory = new AudioProcessorFactory(audioConfig, mock(ObjectProvider.class), mock(ObjectProvider.class));
+        factory.forMeeting(UUID.randomUUID());
+
+        Thread.sleep(5);
+        factory.reclaimIdleProcessors();
+
+        assertEquals(0, factory.getActiveProcessorCount());
+    }
+
+    @Test
+    @DisplayName("Should subscribe to meeting-ended events when detection is available")
+    @SuppressWarnings("unchecked")
+    void shouldSubscribeToMeetingEndedEvents() {
+        var meetingId = UUID.randomUUID();
+        var events = Sinks.many().multicast().<ZoomDetectionService.MeetingEvent>directBestEffort();
+        var detectionService = mock(ZoomDetectionService.class);
+        when(detectionService.getMeetingEvents()).thenReturn(events.asFlux());
+        ObjectProvider<ZoomDetectionService> provider = mock(ObjectProvider.class);
+        doAnswer(invocation -> {
+            ((Consumer<ZoomDetectionService>) invocation.getArgument(0)).accept(detectionService);
+            return null;
+        }).when(provider).ifAvailable(any());
+
+        factory = new AudioProcessorFactory(audioConfig, provider, mock(ObjectProvider.class));
+        factory.forMeeting(meetingId);
+        events.tryEmitNext(new ZoomDetectionService.MeetingEvent(meetingId,
+            ZoomDetectionService.MeetingEvent.MeetingEventType.MEETING_ENDED,
+            LocalDateTime.now(), "123", "Zoom Meeting"));
+
+        assertEquals(0, factory.getActiveProcessorCount());
+    }
+}
@@ -0,0 +1,86 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CaptureHealth overrun, stall, jitter and gap detection.
+ */
+@DisplayName("CaptureHealth Tests")
+class CaptureHealthTest {
+
+    private static final long MS = 1_000_000L;
+    private static final int READ = 1600; // 100 ms at 16 kHz
+
+    private CaptureHealth health;
+
+    @BeforeEach
+    void setUp() {
+        health = new CaptureHealth("mic");
+        health.begin(16000, 12800);
+    }
+
+    @Test
+    @DisplayName("Should report an overrun when the line buffer is nearly full")
+    void shouldDetectOverrun() {
+        assertFalse(health.recordFill(6400, 12800));
+        assertEquals(0.5, health.getFillLevel());
+
+        assertTrue(health.recordFill(12000, 12800));
+        assertEquals(1, health.getOverruns());
+    }
+
+    @Test
+    @DisplayName("Should keep steady reads free of stalls, gaps and jitter")
+    void shouldAcceptSteadyReads() {
+        for (int i = 0; i < 50; i++) {
+            assertEquals(0, health.recordRead(i * 100 * MS, READ, 0));
+        }
+
+        assertEquals(0, health.getStalls());
+        assertEquals(0, health.getDiscontinuities());
+        assertEquals(0.0, health.getJitterMillis(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should count a stall without a gap when the line buffered the audio")
+    void shouldDetectStallWithoutLoss() {
+        health.recordRead(0, READ, 0);
+
+        // The read came back 300 ms late, but the missing audio is still in the line
+        assertEquals(0, health.recordRead(400 * MS, READ, 2 * READ));
+
+        assertEquals(1, health.getStalls());
+        assertEquals(0, health.getDiscontinuities());
+        assertTrue(health.getJitterMillis() > 0);
+    }
+
+    @Test
+    @DisplayName("Should report frames lost when audio is missing from the line")
+    void shouldDetectGap() {
+        health.recordRead(0, READ, 0);
+
+        var lost = health.recordRead(400 * MS, READ, 0);
+
+        assertEquals(3 * READ, lost);
+        assertEquals(1, health.getDiscontinuities());
+        assertEquals(3 * READ, health.getLostFrames());
+
+        // The clock is re-aligned, so the next on-time read is contiguous
+        assertEquals(0, health.recordRead(500 * MS, READ, 0));
+    }
+
+    @Test
+    @DisplayName("Should keep counters across captures of the same device")
+    void shouldAccumulateAcrossCaptures() {
+        health.recordRead(0, READ, 0);
+        health.recordRead(400 * MS, READ, 0);
+
+        health.begin(16000, 12800);
+        assertEquals(0, health.recordRead(10_000 * MS, READ, 0));
+        assertEquals(1, health.getDiscontinuities());
+    }
+}
@@ -0,0 +1,101 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChunkSizeController window adaptation.
+ */
+@DisplayName("ChunkSizeController Tests")
+class ChunkSizeControllerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("Should start at the smallest window")
+    void shouldStartAtMinimum() {
+        var controller = new ChunkSizeController(Duration.ofMillis(100), Duration.ofMillis(1000));
+
+        assertEquals(Duration.ofMillis(100), controller.getChunkDuration());
+        assertEquals(3200, controller.getChunkBytes(new AudioFormat(16000, 16, 1, true, false)));
+        assertEquals(-1.0, controller.getProcessingRatio());
+    }
+
+    @Test
+    @DisplayName("Should grow the window when recognition is slower than real time")
+    void shouldGrowWhenBehind() {
+        var controller = new ChunkSizeController(Duration.ofMillis(100), Duration.ofMillis(1000));
+
+        report(controller, ChunkSizeController.SETTLE_OBSERVATIONS, 100 * MS, 95 * MS, 0);
+
+        assertEquals(Duration.ofMillis(150), controller.getChunkDuration());
+        assertEquals(1, controller.getAdjustments());
+    }
+
+    @Test
+    @DisplayName("Should grow the window when chunks queue up even if recognition is fast")
+    void shouldGrowWhenQueued() {
+        var controller = new ChunkSizeController(Duration.ofMillis(100), Duration.ofMillis(1000));
+
+        report(controller, ChunkSizeController.SETTLE_OBSERVATIONS, 100 * MS, 10 * MS, 250 * MS);
+
+        assertEquals(Duration.ofMillis(150), controller.getChunkDuration());
+    }
+
+    @Test
+    @DisplayName("Should stay within bounds and shrink back once idle")
+    void shouldClampAndShrink() {
+        var controller = new ChunkSizeController(Duration.ofMillis(100), Duration.ofMillis(200));
+
+        report(controller, 20, 100 * MS, 100 * MS, 0);
+        assertEquals(Duration.ofMillis(200), controller.getChunkDuration());
+
+        report(controller, 40, 200 * MS, 10 * MS, 0);
+        assertEquals(Duration.ofMillis(100), controller.getChunkDuration());
+    }
+
+    @Test
+    @DisplayName("Should wait for several observations between changes")
+    void shouldSettleBetweenChanges() {
+        var controller = new ChunkSizeController(Duration.ofMillis(100), Duration.ofMillis(1000));
+
+        report(controller, ChunkSizeController.SETTLE_OBSERVATIONS - 1, 100 * MS, 200 * MS, 0);
+        assertEquals(Duration.ofMillis(100), controller.getChunkDuration());
+
+        report(controller, 1, 100 * MS, 200 * MS, 0);
+        report(controller, ChunkSizeController.SETTLE_OBSERVATIONS - 1, 150 * MS, 300 * MS, 0);
+        assertEquals(Duration.ofMillis(150), controller.getChunkDuration());
+    }
+
+    @Test
+    @DisplayName("Should never change a fixed window")
+    void shouldKeepFixedWindow() {
+        var controller = ChunkSizeController.fixed(Duration.ofMillis(100));
+
+        report(controller, 10, 100 * MS, 500 * MS, 1000 * MS);
+
+        assertEquals(Duration.ofMillis(100), controller.getChunkDuration());
+        assertEquals(0, controller.getAdjustments());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid bounds")
+    void shouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new ChunkSizeController(Duration.ZERO, Duration.ofMillis(100)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new ChunkSizeController(Duration.ofMillis(200), Duration.ofMillis(100)));
+    }
+
+    private static void report(ChunkSizeController controller, int times, long audioNanos,
+                               long processingNanos, long waitNanos) {
+        for (int i = 0; i < times; i++) {
+            controller.record(audioNanos, processingNanos, waitNanos);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.monitoring.PerformanceMonitor;
+import com.zoomtranscriber.core.monitoring.PipelineLatency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.TargetDataLine;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DefaultAudioCaptureService chunk delivery, driven by a scripted line.
+ */
+@DisplayName("DefaultAudioCaptureService Tests")
+class DefaultAudioCaptureServiceTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+
+    private final BlockingQueue<byte[]> reads = new LinkedBlockingQueue<>();
+    private DefaultAudioCaptureService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        var line = mock(TargetDataLine.class);
+        when(line.getBufferSize()).thenReturn(12800);
+        when(line.read(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+            var pcm = reads.poll(10, TimeUnit.MILLISECONDS);
+            if (pcm == null) {
+                return 0;
+            }
+            System.arraycopy(pcm, 0, invocation.getArgument(0), 0, pcm.length);
+            return pcm.length;
+        });
+
+        service = new DefaultAudioCaptureService(new AudioConfig(), new PipelineLatency(),
+            new PerformanceMonitor(new SimpleMeterRegistry()),
+            new AudioDeviceRegistry(List::of, () -> null, Duration.ofHours(1))) {
+            @Override
+            TargetDataLine openLine(String sourceId, AudioFormat format) {
+                return line;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service.isCapturing()) {
+            service.stopCapture().block();
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver chunks still queued at stop before completing the stream")
+    void shouldDeliverQueuedChunksBeforeCompleting() {
+        service.startCapture(null, FORMAT).block();
+        for (int i = 1; i <= 3; i++) {
+            reads.add(pcm(i));
+        }
+        await(() -> service.getCaptureQueueStats().offeredFrames() == 3);
+
+        StepVerifier.create(service.getAudioStream(), 0)
+            .then(() -> await(() -> service.getSubscriberCount() == 1))
+            .then(() -> service.stopCapture().block())
+            .thenRequest(Long.MAX_VALUE)
+            .assertNext(chunk -> assertEquals(1, chunk.data()[0]))
+            .assertNext(chunk -> assertEquals(2, chunk.data()[0]))
+            .assertNext(chunk -> assertEquals(3, chunk.data()[0]))
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, service.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("Should complete the stream of a subscriber with nothing queued")
+    void shouldCompleteWithoutQueuedChunks() {
+        service.startCapture(null, FORMAT).block();
+
+        StepVerifier.create(service.getAudioStream())
+            .then(() -> await(() -> service.getSubscriberCount() == 1))
+            .then(() -> service.stopCapture().block())
+            .expectComplete()
+            .verify(Duration.ofSeconds(5));
+    }
+
+    private static byte[] pcm(int value) {
+        var pcm = new byte[320];
+        pcm[0] = (byte) value;
+        return pcm;
+    }
+
+    private static void await(BooleanSupplier condition) {
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5s");
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EchoCanceller.
+ */
+@DisplayName("EchoCanceller Tests")
+class EchoCancellerTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int CHUNK = 1600;
+
+    @Test
+    @DisplayName("Should size blocks and partitions from the sample rate and tail")
+    void shouldSizeFilter() {
+        var canceller = new EchoCanceller(SAMPLE_RATE, 128);
+
+        assertEquals(128, canceller.getBlockSize());
+        assertEquals(16, canceller.getPartitionCount());
+        assertThrows(IllegalArgumentException.class, () -> new EchoCanceller(SAMPLE_RATE, 0));
+    }
+
+    @Test
+    @DisplayName("Should remove a delayed echo of the reference")
+    void shouldCancelEcho() {
+        var canceller = new EchoCanceller(SAMPLE_RATE, 128);
+        var reference = noise(new Random(1), SAMPLE_RATE * 5, 0.1);
+        var microphone = echo(reference);
+
+        var output = run(canceller, reference, microphone);
+
+        var from = SAMPLE_RATE * 4;
+        var erle = 10 * Math.log10(energy(microphone, from, microphone.length - 128)
+            / energy(output, from + 128, output.length));
+        assertTrue(erle > 20.0, "ERLE " + erle + " dB");
+        assertTrue(canceller.getErleDb() > 20.0);
+    }
+
+    @Test
+    @DisplayName("Should keep near-end speech and stay converged through double talk")
+    void shouldHandleDoubleTalk() {
+        var canceller = new EchoCanceller(SAMPLE_RATE, 128);
+        var length = SAMPLE_RATE * 8;
+        var reference = noise(new Random(2), length, 0.1);
+        var microphone = echo(reference);
+        var near = new float[length];
+        for (int i = SAMPLE_RATE * 4; i < SAMPLE_RATE * 6; i++) {
+            near[i] = (float) (0.4 * Math.sin(2 * Math.PI * 180 * i / SAMPLE_RATE));
+            microphone[i] += near[i];
+        }
+
+        var output = run(canceller, reference, microphone);
+
+        // The near-end tone comes through the canceller almost intact
+        var talkFrom = SAMPLE_RATE * 4 + 2000;
+        var talkTo = SAMPLE_RATE * 6 - 2000;
+        var residual = 0.0;
+        for (int i = talkFrom; i < talkTo; i++) {
+            var difference = output[i + 128] - near[i];
+            residual += difference * difference;
+        }
+        assertTrue(10 * Math.log10(energy(near, talkFrom, talkTo) / residual) > 15.0);
+
+        // And the echo is still cancelled once the near end stops
+        var from = SAMPLE_RATE * 7;
+        var erle = 10 * Math.log10(energy(microphone, from, length - 128) / energy(output, from + 128, length));
+        assertTrue(erle > 20.0, "ERLE " + erle + " dB");
+    }
+
+    @Test
+    @DisplayName("Should pass microphone audio through when no reference is queued")
+    void shouldPassThroughWithoutReference() {
+        var canceller = new EchoCanceller(SAMPLE_RATE, 64);
+        var microphone = noise(new Random(3), CHUNK * 2, 0.2);
+        var output = microphone.clone();
+
+        canceller.process(output, 0, output.length);
+
+        var delay = canceller.getBlockSize();
+        for (int i = 0; i < output.length - delay; i++) {
+            assertEquals(microphone[i], output[i + delay], 1e-6);
+        }
+        assertEquals(0.0, canceller.getErleDb());
+    }
+
+    private static float[] run(EchoCanceller canceller, float[] reference, float[] microphone) {
+        var output = microphone.clone();
+        for (int offset = 0; offset < output.length; offset += CHUNK) {
+            var count = Math.min(CHUNK, output.length - offset);
+            canceller.offerReference(reference, offset, count);
+            canceller.process(output, offset, count);
+        }
+        return output;
+    }
+
+    /**
+     * Room response with a 30-sample direct path and two reflections.
+     */
+    private static float[] echo(float[] reference) {
+        var microphone = new float[reference.length];
+        for (int i = 0; i < reference.length; i++) {
+            var value = 0.4 * at(reference, i - 30) - 0.2 * at(reference, i - 31)
+                + 0.1 * at(reference, i - 250) + 0.05 * at(reference, i - 900);
+            microphone[i] = (float) value;
+        }
+        return microphone;
+    }
+
+    private static float at(float[] samples, int index) {
+        return index < 0 ? 0.0f : samples[index];
+    }
+
+    private static float[] noise(Random random, int length, double deviation) {
+        var samples = new float[length];
+        for (int i = 0; i < length; i++) {
+            samples[i] = (float) (random.nextGaussian() * deviation);
+        }
+        return samples;
+    }
+
+    private static double energy(float[] samples, int from, int to) {
+        var sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += samples[i] * samples[i];
+        }
+        return sum;
+    }
+}
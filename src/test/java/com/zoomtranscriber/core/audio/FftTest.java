@@ -0,0 +1,60 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Fft.
+ */
+@DisplayName("Fft Tests")
+class FftTest {
+
+    @Test
+    @DisplayName("Should place a pure tone in a single bin")
+    void shouldResolvePureTone() {
+        var fft = new Fft(64);
+        var re = new float[64];
+        var im = new float[64];
+        for (int i = 0; i < 64; i++) {
+            re[i] = (float) Math.cos(2 * Math.PI * 5 * i / 64);
+        }
+
+        fft.forward(re, im);
+
+        assertEquals(32.0, Math.hypot(re[5], im[5]), 1e-3);
+        assertEquals(32.0, Math.hypot(re[59], im[59]), 1e-3);
+        assertEquals(0.0, Math.hypot(re[6], im[6]), 1e-3);
+    }
+
+    @Test
+    @DisplayName("Should invert the forward transform")
+    void shouldRoundTrip() {
+        var fft = new Fft(256);
+        var random = new Random(7L);
+        var original = new float[256];
+        var re = new float[256];
+        var im = new float[256];
+        for (int i = 0; i < 256; i++) {
+            original[i] = random.nextFloat() * 2 - 1;
+            re[i] = original[i];
+        }
+
+        fft.forward(re, im);
+        fft.inverse(re, im);
+
+        for (int i = 0; i < 256; i++) {
+            assertEquals(original[i], re[i], 1e-5);
+            assertEquals(0.0f, im[i], 1e-5);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject sizes that are not powers of two")
+    void shouldRejectInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new Fft(100));
+    }
+}
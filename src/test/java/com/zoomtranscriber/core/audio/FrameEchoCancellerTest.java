@@ -0,0 +1,91 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FrameEchoCanceller.
+ */
+@DisplayName("FrameEchoCanceller Tests")
+class FrameEchoCancellerTest {
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int FRAME = 1600;
+
+    @Test
+    @DisplayName("Should remove the remote channel's echo from the microphone before mixing")
+    void shouldCancelEchoBeforeMixing() {
+        var canceller = new FrameEchoCanceller(SAMPLE_RATE, 128, new boolean[] {true, false});
+        var random = new Random(1);
+        var delayed = new short[40];
+
+        MultiSourceMixer.Frame input = null;
+        MultiSourceMixer.Frame output = null;
+        for (int f = 0; f < 50; f++) {
+            var remote = new short[FRAME];
+            var local = new short[FRAME];
+            for (int i = 0; i < FRAME; i++) {
+                remote[i] = (short) (random.nextGaussian() * 3000);
+                local[i] = (short) (delayed[i % delayed.length] / 2);
+                delayed[i % delayed.length] = remote[i];
+            }
+            input = frame(f * (long) FRAME, local, remote);
+            output = canceller.process(input);
+        }
+
+        var erle = 10 * Math.log10(energy(input.channel(0)) / energy(output.channel(0)));
+        assertTrue(erle > 20.0, "ERLE " + erle + " dB");
+        assertArrayEquals(input.channel(1), output.channel(1));
+        assertEquals(input.channelLevels()[1], output.channelLevels()[1]);
+        assertTrue(output.channelLevels()[0] < input.channelLevels()[0] / 10);
+        assertEquals(1, output.dominantChannel(0.001));
+        assertEquals(input.captureNanos(), output.captureNanos());
+        assertTrue(energy(output.mixdown()) < energy(input.mixdown()));
+    }
+
+    @Test
+    @DisplayName("Should pass frames through without a far-end channel")
+    void shouldPassThroughWithoutFarEnd() {
+        var canceller = new FrameEchoCanceller(SAMPLE_RATE, 128, new boolean[] {true, true});
+        var input = frame(0, new short[FRAME], new short[FRAME]);
+
+        assertSame(input, canceller.process(input));
+        assertNull(canceller.getEchoCanceller(0));
+    }
+
+    private static MultiSourceMixer.Frame frame(long startSample, short[] local, short[] remote) {
+        var data = new byte[local.length * 4];
+        for (int i = 0; i < local.length; i++) {
+            data[i * 4] = (byte) local[i];
+            data[i * 4 + 1] = (byte) (local[i] >> 8);
+            data[i * 4 + 2] = (byte) remote[i];
+            data[i * 4 + 3] = (byte) (remote[i] >> 8);
+        }
+        var levels = new double[] {level(local), level(remote)};
+        return new MultiSourceMixer.Frame(startSample, new AudioFormat(SAMPLE_RATE, 16, 2, true, false),
+            List.of("local", "remote"), data, levels);
+    }
+
+    private static double level(short[] samples) {
+        var energy = 0.0;
+        for (var sample : samples) {
+            energy += (double) sample * sample;
+        }
+        return Math.sqrt(energy / samples.length) / 32768.0;
+    }
+
+    private static double energy(byte[] pcm) {
+        var sum = 0.0;
+        for (int i = 0; i < pcm.length; i += 2) {
+            var sample = (short) ((pcm[i] & 0xFF) | (pcm[i + 1] << 8));
+            sum += (double) sample * sample;
+        }
+        return sum;
+    }
+}
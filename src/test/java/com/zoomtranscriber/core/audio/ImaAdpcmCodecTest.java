@@ -0,0 +1,187 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for ImaAdpcmCodec, AdpcmWavWriter and AdpcmWavReader.
+ */
+@DisplayName("ImaAdpcmCodec Tests")
+class ImaAdpcmCodecTest {
+
+    private static final AudioFormat MONO = new AudioFormat(16000, 16, 1, true, false);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should reconstruct a tone with high signal-to-noise ratio")
+    void shouldRoundTripBlock() {
+        var samples = sine(ImaAdpcmCodec.SAMPLES_PER_BLOCK, 440, 12000);
+        var block = new byte[ImaAdpcmCodec.BLOCK_BYTES];
+        var codec = new ImaAdpcmCodec();
+        // Let the step index adapt before measuring
+        codec.encodeBlock(samples, 0, samples.length, block, 0);
+        codec.encodeBlock(samples, 0, samples.length, block, 0);
+
+        var decoded = new short[ImaAdpcmCodec.SAMPLES_PER_BLOCK];
+        ImaAdpcmCodec.decodeBlock(block, 0, decoded, 0);
+
+        assertEquals(samples[0], decoded[0]);
+        assertTrue(snr(samples, decoded, 0, samples.length) > 25.0);
+    }
+
+    @Test
+    @DisplayName("Should store recordings at about a quarter of the PCM size")
+    void shouldCompressFourToOne() throws Exception {
+        var pcm = toPcm(sine(16000 * 10, 300, 8000));
+        var path = directory.resolve("ratio.wav");
+
+        try (var writer = new AdpcmWavWriter(path, MONO, pcm.length)) {
+            assertEquals(pcm.length, writer.write(ByteBuffer.wrap(pcm)));
+            assertEquals(0, writer.getRemaining());
+        }
+
+        var ratio = (double) pcm.length / Files.size(path);
+        assertTrue(ratio > 3.9 && ratio <= 4.0, "ratio " + ratio);
+    }
+
+    @Test
+    @DisplayName("Should seek to a time position without decoding earlier blocks")
+    void shouldSeekByTime() throws Exception {
+        var samples = sine(16000 * 3, 523, 10000);
+        var path = write(toPcm(samples), MONO);
+
+        try (var reader = new AdpcmWavReader(path)) {
+            assertEquals(samples.length, reader.getSampleCount());
+            assertEquals(Duration.ofSeconds(3), reader.getDuration());
+
+            var full = reader.read(0, samples.length);
+            var start = reader.sampleAt(Duration.ofMillis(1750));
+            assertEquals(28000, start);
+
+            try (var seeking = new AdpcmWavReader(path)) {
+                var slice = seeking.read(start, 1600);
+                var expected = new byte[slice.length];
+                System.arraycopy(full, (int) start * 2, expected, 0, expected.length);
+                assertArrayEquals(expected, slice);
+            }
+            assertEquals(0, reader.read(samples.length, 100).length);
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay a recording as ordered audio chunks")
+    void shouldReplayAsChunks() throws Exception {
+        var samples = sine(16000 * 2 + 123, 700, 9000);
+        var path = write(toPcm(samples), MONO);
+
+        var chunks = AdpcmWavReader.replay(path, Duration.ZERO, Duration.ofMillis(100)).collectList().block();
+
+        assertNotNull(chunks);
+        assertEquals(21, chunks.size());
+        assertEquals(0L, chunks.get(0).timestamp());
+        assertEquals(1000L, chunks.get(10).timestamp());
+        assertEquals(16000L, chunks.get(10).sampleOffset());
+        assertEquals(1.0, chunks.get(10).getStartSeconds(), 1e-9);
+        assertEquals(Duration.ofMillis(100), chunks.get(0).duration());
+        assertTrue(MONO.matches(chunks.get(0).format()));
+
+        var joined = new ByteArrayOutputStream();
+        chunks.forEach(chunk -> joined.writeBytes(chunk.data()));
+        var decoded = toSamples(joined.toByteArray());
+        assertEquals(samples.length, decoded.length);
+        assertTrue(snr(samples, decoded, ImaAdpcmCodec.SAMPLES_PER_BLOCK, samples.length) > 25.0);
+    }
+
+    @Test
+    @DisplayName("Should record stereo meeting audio as mono ADPCM when configured")
+    @SuppressWarnings("unchecked")
+    void shouldRecordAdpcmSegments() throws Exception {
+        var config = new AudioConfig();
+        config.setRecordingDirectory(directory.toString());
+        config.setRecordingFormat("adpcm");
+        var recorder = new MeetingAudioRecorder(config, mock(ObjectProvider.class),
+            mock(ObjectProvider.class), mock(ObjectProvider.class));
+        var stereo = new AudioFormat(16000, 16, 2, true, false);
+        var mono = sine(16000, 440, 6000);
+        var interleaved = new short[mono.length * 2];
+        for (int i = 0; i < mono.length; i++) {
+            interleaved[2 * i] = mono[i];
+            interleaved[2 * i + 1] = mono[i];
+        }
+
+        var meetingId = UUID.randomUUID();
+        recorder.startRecording(meetingId, stereo);
+        recorder.append(meetingId, ByteBuffer.wrap(toPcm(interleaved)));
+        var segments = recorder.stopRecording(meetingId);
+
+        assertEquals(1, segments.size());
+        try (var reader = new AdpcmWavReader(segments.get(0))) {
+            assertEquals(mono.length, reader.getSampleCount());
+            var decoded = toSamples(reader.read(0, mono.length));
+            assertTrue(snr(mono, decoded, ImaAdpcmCodec.SAMPLES_PER_BLOCK, mono.length) > 25.0);
+        }
+    }
+
+    private Path write(byte[] pcm, AudioFormat format) throws Exception {
+        var path = directory.resolve(UUID.randomUUID() + ".wav");
+        try (var writer = new AdpcmWavWriter(path, format, pcm.length)) {
+            // Uneven writes exercise block buffering across calls
+            var buffer = ByteBuffer.wrap(pcm);
+            while (buffer.hasRemaining()) {
+                writer.write(buffer.slice(buffer.position(), Math.min(1234, buffer.remaining())));
+                buffer.position(Math.min(buffer.limit(), buffer.position() + 1234));
+            }
+        }
+        return path;
+    }
+
+    private static short[] sine(int length, double frequency, double amplitude) {
+        var samples = new short[length];
+        for (int i = 0; i < length; i++) {
+            samples[i] = (short) (amplitude * Math.sin(2 * Math.PI * frequency * i / 16000.0));
+        }
+        return samples;
+    }
+
+    private static byte[] toPcm(short[] samples) {
+        var buffer = ByteBuffer.allocate(samples.length * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (var sample : samples) {
+            buffer.putShort(sample);
+        }
+        return buffer.array();
+    }
+
+    private static short[] toSamples(byte[] pcm) {
+        var samples = new short[pcm.length / 2];
+        ByteBuffer.wrap(pcm).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(samples);
+        return samples;
+    }
+
+    private static double snr(short[] expected, short[] actual, int from, int to) {
+        var signal = 0.0;
+        var noise = 0.0;
+        for (int i = from; i < to; i++) {
+            signal += (double) expected[i] * expected[i];
+            var error = (double) expected[i] - actual[i];
+            noise += error * error;
+        }
+        return 10 * Math.log10(signal / Math.max(noise, 1e-9));
+    }
+}
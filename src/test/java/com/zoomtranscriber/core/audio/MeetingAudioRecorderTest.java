@@ -0,0 +1,144 @@
+package com.zoomtranscriber.core.audio;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.storage.MeetingRepository;
+import com.zoomtranscriber.core.storage.MeetingSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for MeetingAudioRecorder and MappedWavWriter.
+ */
+@DisplayName("MeetingAudioRecorder Tests")
+class MeetingAudioRecorderTest {
+
+    private final AudioFormat format = new AudioFormat(16000, 16, 1, true, false);
+
+    @TempDir
+    Path recordingDirectory;
+
+    private AudioConfig audioConfig;
+    private ObjectProvider<MeetingRepository> repositoryProvider;
+    private MeetingAudioRecorder recorder;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        audioConfig = new AudioConfig();
+        audioConfig.setRecordingDirectory(recordingDirectory.toString());
+        repositoryProvider = mock(ObjectProvider.class);
+        recorder = new MeetingAudioRecorder(audioConfig, repositoryProvider,
+            mock(ObjectProvider.class), mock(ObjectProvider.class));
+    }
+
+    @Test
+    @DisplayName("Should write a valid WAV file with patched header")
+    void shouldWriteValidWav() throws Exception {
+        var meetingId = UUID.randomUUID();
+        var pcm = pcm(3200);
+
+        var path = recorder.startRecording(meetingId, format);
+        assertTrue(recorder.append(meetingId, ByteBuffer.wrap(pcm)));
+        var segments = recorder.stopRecording(meetingId);
+
+        assertEquals(1, segments.size());
+        assertEquals(path, segments.get(0));
+        assertEquals(MappedWavWriter.HEADER_BYTES + pcm.length, Files.size(path));
+        try (var stream = AudioSystem.getAudioInputStream(path.toFile())) {
+            assertEquals(1600, stream.getFrameLength());
+            assertEquals(16000, stream.getFormat().getSampleRate());
+            assertArrayEquals(pcm, stream.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Should rotate to a new segment when the size limit is reached")
+    void shouldRotateSegments() throws Exception {
+        audioConfig.setMaxRecordingSizeBytes(MappedWavWriter.HEADER_BYTES + 1000);
+        var meetingId = UUID.randomUUID();
+        var pcm = pcm(3000);
+
+        recorder.startRecording(meetingId, format);
+        recorder.append(meetingId, ByteBuffer.wrap(pcm));
+        var segments = recorder.stopRecording(meetingId);
+
+        assertEquals(3, segments.size());
+        var joined = new ByteArrayOutputStream();
+        for (var segment : segments) {
+            try (var stream = AudioSystem.getAudioInputStream(segment.toFile())) {
+                joined.writeBytes(stream.readAllBytes());
+            }
+        }
+        assertArrayEquals(pcm, joined.toByteArray());
+        // The empty segment opened after the last rotation is discarded
+        assertFalse(Files.exists(recordingDirectory.resolve(meetingId + "-004.wav")));
+    }
+
+    @Test
+    @DisplayName("Should keep the header current after a scheduled flush")
+    void shouldPatchHeaderOnFlush() throws Exception {
+        var meetingId = UUID.randomUUID();
+        var path = recorder.startRecording(meetingId, format);
+        recorder.append(meetingId, ByteBuffer.wrap(pcm(640)));
+
+        recorder.flushRecordings();
+
+        var header = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(640, header.getInt(40));
+        assertEquals(36 + 640, header.getInt(4));
+        recorder.stopRecording(meetingId);
+    }
+
+    @Test
+    @DisplayName("Should store the first segment path on the meeting")
+    @SuppressWarnings("unchecked")
+    void shouldLinkRecordingToMeeting() {
+        var meetingId = UUID.randomUUID();
+        var meeting = new MeetingSession("Standup");
+        var repository = mock(MeetingRepository.class);
+        when(repository.findById(meetingId)).thenReturn(Optional.of(meeting));
+        doAnswer(invocation -> {
+            ((Consumer<MeetingRepository>) invocation.getArgument(0)).accept(repository);
+            return null;
+        }).when(repositoryProvider).ifAvailable(any());
+
+        var path = recorder.startRecording(meetingId, format);
+
+        assertEquals(path.toString(), meeting.getAudioFilePath());
+        verify(repository).save(meeting);
+        recorder.stopRecording(meetingId);
+    }
+
+    @Test
+    @DisplayName("Should ignore audio for meetings that are not recorded")
+    void shouldIgnoreUnknownMeeting() {
+        assertFalse(recorder.append(UUID.randomUUID(), ByteBuffer.wrap(pcm(10))));
+        assertTrue(recorder.stopRecording(UUID.randomUUID()).isEmpty());
+    }
+
+    private static byte[] pcm(int length) {
+        var data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        return data;
+    }
+}
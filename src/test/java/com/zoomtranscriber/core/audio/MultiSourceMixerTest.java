@@ -0,0 +1,136 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MultiSourceMixer clock alignment, padding and frame views.
+ */
+@DisplayName("MultiSourceMixer Tests")
+class MultiSourceMixerTest {
+
+    private static final int FRAME = 160;
+
+    @Test
+    @DisplayName("Should wait for every channel before emitting a frame")
+    void shouldWaitForEveryChannel() {
+        var mixer = new MultiSourceMixer(16000, List.of("local", "remote"), FRAME, 800);
+
+        mixer.write(0, 0, constant(FRAME, 1000));
+        assertNull(mixer.poll(FRAME));
+
+        mixer.write(1, 0, constant(FRAME, -2000));
+        var frame = mixer.poll(FRAME);
+
+        assertNotNull(frame);
+        assertEquals(0, frame.startSample());
+        assertEquals(2, frame.format().getChannels());
+        assertEquals(FRAME, frame.getSamples());
+        assertEquals(1000, sampleAt(frame.channel(0), 0));
+        assertEquals(-2000, sampleAt(frame.channel(1), FRAME - 1));
+        assertEquals(FRAME, mixer.getEmittedSamples());
+    }
+
+    @Test
+    @DisplayName("Should place a late-starting source at its clock position")
+    void shouldAlignLateSource() {
+        var mixer = new MultiSourceMixer(16000, List.of("local", "remote"), FRAME, 800);
+
+        mixer.write(0, 0, constant(2 * FRAME, 1000));
+        mixer.write(1, 40, constant(2 * FRAME - 40, 500));
+
+        var frame = mixer.poll(2 * FRAME);
+        var remote = frame.channel(1);
+        assertEquals(0, sampleAt(remote, 39));
+        assertEquals(500, sampleAt(remote, 40));
+        assertEquals(40, mixer.getPaddedSamples());
+    }
+
+    @Test
+    @DisplayName("Should pad a stalled source once its frame is overdue")
+    void shouldPadStalledSource() {
+        var mixer = new MultiSourceMixer(16000, List.of("local", "remote"), FRAME, 800);
+        mixer.write(0, 0, constant(FRAME, 1000));
+
+        assertNull(mixer.poll(FRAME + 799));
+        var frame = mixer.poll(FRAME + 800);
+
+        assertNotNull(frame);
+        assertEquals(0.0, frame.channelLevels()[1]);
+        assertEquals(FRAME, mixer.getPaddedSamples());
+    }
+
+    @Test
+    @DisplayName("Should keep small timing jitter contiguous and re-align large gaps")
+    void shouldTolerateJitterButRealignGaps() {
+        var mixer = new MultiSourceMixer(16000, List.of("local"), FRAME, 80);
+
+        mixer.write(0, 0, constant(FRAME, 100));
+        mixer.write(0, FRAME + 50, constant(FRAME, 200));
+        assertEquals(0, mixer.getPaddedSamples());
+
+        mixer.write(0, 3 * FRAME + 100, constant(FRAME, 300));
+        assertEquals(FRAME + 100, mixer.getPaddedSamples());
+
+        assertEquals(100, sampleAt(mixer.poll(0).channel(0), 0));
+        assertEquals(200, sampleAt(mixer.poll(0).channel(0), 0));
+    }
+
+    @Test
+    @DisplayName("Should drop audio that arrives after its frame was emitted")
+    void shouldDropLateAudio() {
+        var mixer = new MultiSourceMixer(16000, List.of("local", "remote"), FRAME, 80);
+        mixer.write(0, 0, constant(2 * FRAME, 1000));
+        assertNotNull(mixer.poll(FRAME + 80));
+
+        mixer.write(1, FRAME - 40, constant(FRAME + 40, 700));
+
+        assertEquals(40, mixer.getDroppedSamples());
+        var frame = mixer.poll(2 * FRAME);
+        assertEquals(FRAME, frame.startSample());
+        assertEquals(700, sampleAt(frame.channel(1), 0));
+    }
+
+    @Test
+    @DisplayName("Should mix channels with saturation and find the dominant one")
+    void shouldMixAndFindDominantChannel() {
+        var mixer = new MultiSourceMixer(16000, List.of("local", "remote"), FRAME, 800);
+        mixer.write(0, 0, constant(FRAME, 30000));
+        mixer.write(1, 0, constant(FRAME, 10000));
+
+        var frame = mixer.poll(0);
+
+        assertEquals(Short.MAX_VALUE, sampleAt(frame.mixdown(), 0));
+        assertEquals(0, frame.dominantChannel(0.01));
+        assertEquals(-1, frame.dominantChannel(0.99));
+        assertEquals(30000 / 32768.0, frame.getVolumeLevel(), 1e-6);
+    }
+
+    @Test
+    @DisplayName("Should skip ahead instead of buffering silence when nothing is pending")
+    void shouldSkipIdleFrames() {
+        var mixer = new MultiSourceMixer(16000, List.of("local"), FRAME, 80);
+
+        mixer.write(0, 10 * FRAME + 20, constant(FRAME, 100));
+
+        assertEquals(10 * FRAME, mixer.getEmittedSamples());
+        assertEquals(20, mixer.getPaddedSamples());
+    }
+
+    private static byte[] constant(int samples, int value) {
+        var pcm = new byte[samples * 2];
+        for (int i = 0; i < pcm.length; i += 2) {
+            pcm[i] = (byte) value;
+            pcm[i + 1] = (byte) (value >> 8);
+        }
+        return pcm;
+    }
+
+    private static int sampleAt(byte[] pcm, int index) {
+        return (short) ((pcm[2 * index] & 0xFF) | (pcm[2 * index + 1] << 8));
+    }
+}
@@ -0,0 +1,80 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PcmRingBuffer.
+ * Tests wrap-around, growth, and size tracking.
+ */
+@DisplayName("PcmRingBuffer Tests")
+class PcmRingBufferTest {
+
+    @Test
+    @DisplayName("Should round capacity up to a power of two")
+    void shouldRoundCapacityUpToPowerOfTwo() {
+        assertEquals(1024, new PcmRingBuffer(1000).capacity());
+        assertEquals(1024, new PcmRingBuffer(1024).capacity());
+        assertEquals(2048, new PcmRingBuffer(1025).capacity());
+    }
+
+    @Test
+    @DisplayName("Should preserve byte order across wrap-around")
+    void shouldPreserveByteOrderAcrossWrapAround() {
+        var buffer = new PcmRingBuffer(8);
+        buffer.write(new byte[]{1, 2, 3, 4, 5, 6});
+        var out = new byte[4];
+        assertEquals(4, buffer.read(out, 0, 4));
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, out);
+
+        buffer.write(new byte[]{7, 8, 9, 10, 11});
+        assertEquals(7, buffer.size());
+        assertEquals(8, buffer.capacity());
+
+        var rest = new byte[7];
+        assertEquals(7, buffer.read(rest, 0, 7));
+        assertArrayEquals(new byte[]{5, 6, 7, 8, 9, 10, 11}, rest);
+        assertEquals(0, buffer.size());
+    }
+
+    @Test
+    @DisplayName("Should grow without losing buffered data")
+    void shouldGrowWithoutLosingBufferedData() {
+        var buffer = new PcmRingBuffer(4);
+        buffer.write(new byte[]{1, 2, 3});
+        buffer.skip(2);
+        buffer.write(new byte[]{4, 5, 6, 7, 8, 9});
+
+        assertEquals(7, buffer.size());
+        assertEquals(8, buffer.capacity());
+        assertEquals(9, buffer.totalWritten());
+        assertEquals(2, buffer.totalRead());
+
+        var out = new byte[7];
+        buffer.read(out, 0, 7);
+        assertArrayEquals(new byte[]{3, 4, 5, 6, 7, 8, 9}, out);
+    }
+
+    @Test
+    @DisplayName("Should peek without consuming")
+    void shouldPeekWithoutConsuming() {
+        var buffer = new PcmRingBuffer(16);
+        buffer.write(new byte[]{1, 2, 3});
+
+        var out = new byte[8];
+        assertEquals(3, buffer.peek(out, 0, 8));
+        assertEquals(3, buffer.size());
+
+        buffer.clear();
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.read(out, 0, 8));
+    }
+
+    @Test
+    @DisplayName("Should reject non-positive capacity")
+    void shouldRejectNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new PcmRingBuffer(0));
+    }
+}
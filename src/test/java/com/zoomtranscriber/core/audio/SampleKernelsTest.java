@@ -0,0 +1,108 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.sound.sampled.AudioFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bit-exactness tests for the vectorized SampleKernels against the scalar reference.
+ * Sample counts include sizes that are not multiples of any vector length to cover loop tails.
+ */
+@DisplayName("SampleKernels Tests")
+class SampleKernelsTest {
+
+    private final SampleKernels scalar = ScalarSampleKernels.INSTANCE;
+    private final SampleKernels vector = new VectorSampleKernels();
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 15, 16, 33, 1600, 4411})
+    @DisplayName("Should decode PCM16 identically")
+    void shouldDecodePcm16Identically(int count) {
+        var pcm = randomPcm16(count, 1L);
+        var expected = new float[count];
+        var actual = new float[count];
+
+        scalar.decodePcm16(pcm, expected, count);
+        vector.decodePcm16(pcm, actual, count);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 15, 16, 33, 1600, 4411})
+    @DisplayName("Should find the same peak")
+    void shouldFindSamePeak(int count) {
+        var samples = new float[count];
+        scalar.decodePcm16(randomPcm16(count, 2L), samples, count);
+
+        assertEquals(Float.floatToIntBits(scalar.peak(samples, count)),
+            Float.floatToIntBits(vector.peak(samples, count)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(floats = {0.0f, 0.5f, 1.0f, 1.37f, 8.0f, 100.0f})
+    @DisplayName("Should apply gain and encode identically, including clipping")
+    void shouldApplyGainAndEncodeIdentically(float gain) {
+        var count = 4411;
+        var samples = new float[count];
+        scalar.decodePcm16(randomPcm16(count, 3L), samples, count);
+        var expected = new byte[count * 2];
+        var actual = new byte[count * 2];
+
+        var expectedEnergy = scalar.gainAndEncodePcm16(samples, count, gain, expected);
+        var actualEnergy = vector.gainAndEncodePcm16(samples, count, gain, actual);
+
+        assertArrayEquals(expected, actual);
+        assertEquals(Double.doubleToLongBits(expectedEnergy), Double.doubleToLongBits(actualEnergy));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 7, 15, 16, 33, 1600, 4411})
+    @DisplayName("Should compute identical PCM16 energy")
+    void shouldComputeIdenticalEnergy(int count) {
+        var pcm = randomPcm16(count, 4L);
+
+        assertEquals(Double.doubleToLongBits(scalar.pcm16Energy(pcm, count)),
+            Double.doubleToLongBits(vector.pcm16Energy(pcm, count)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    @DisplayName("Should produce identical DSP kernel output")
+    void shouldProduceIdenticalDspKernelOutput(boolean noiseReduction) {
+        var format = new AudioFormat(16000, 16, 1, true, false);
+        var scalarKernel = new AudioDspKernel(scalar);
+        var vectorKernel = new AudioDspKernel(vector);
+
+        for (int chunk = 0; chunk < 20; chunk++) {
+            var expected = randomPcm16(1600, chunk);
+            var actual = expected.clone();
+
+            var expectedRms = scalarKernel.process(expected, format, noiseReduction, true);
+            var actualRms = vectorKernel.process(actual, format, noiseReduction, true);
+
+            assertArrayEquals(expected, actual);
+            assertEquals(expectedRms, actualRms);
+            assertEquals(scalarKernel.getCurrentGain(), vectorKernel.getCurrentGain());
+        }
+    }
+
+    private static byte[] randomPcm16(int count, long seed) {
+        var random = new Random(seed);
+        var data = new byte[count * 2];
+        random.nextBytes(data);
+        if (count > 1) {
+            // Make sure the extremes are exercised
+            data[0] = 0x00;
+            data[1] = (byte) 0x80;
+            data[2] = (byte) 0xff;
+            data[3] = 0x7f;
+        }
+        return data;
+    }
+}
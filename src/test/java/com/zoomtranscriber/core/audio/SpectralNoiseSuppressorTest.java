@@ -0,0 +1,137 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpectralNoiseSuppressor.
+ */
+@DisplayName("SpectralNoiseSuppressor Tests")
+class SpectralNoiseSuppressorTest {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    @Test
+    @DisplayName("Should size frames to about 32 ms")
+    void shouldSizeFrames() {
+        assertEquals(512, new SpectralNoiseSuppressor(16000).getFrameSize());
+        assertEquals(256, new SpectralNoiseSuppressor(8000).getFrameSize());
+        assertEquals(2048, new SpectralNoiseSuppressor(48000).getFrameSize());
+        assertThrows(IllegalArgumentException.class, () -> new SpectralNoiseSuppressor(0));
+    }
+
+    @Test
+    @DisplayName("Should reconstruct clean audio delayed by one frame")
+    void shouldReconstructWithLatency() {
+        var suppressor = new SpectralNoiseSuppressor(SAMPLE_RATE);
+        var random = new Random(1);
+        var clean = new float[SAMPLE_RATE];
+        for (int i = SAMPLE_RATE / 2; i < clean.length; i++) {
+            clean[i] = (float) (random.nextGaussian() * 0.2);
+        }
+
+        var output = clean.clone();
+        // Odd chunk sizes cross frame boundaries at different offsets
+        for (int offset = 0; offset < output.length; offset += 1234) {
+            suppressor.process(output, offset, Math.min(1234, output.length - offset), 1);
+        }
+
+        var latency = suppressor.getLatencySamples();
+        for (int i = SAMPLE_RATE / 2; i < clean.length - latency; i++) {
+            assertEquals(clean[i], output[i + latency], 1e-3);
+        }
+    }
+
+    @Test
+    @DisplayName("Should attenuate stationary noise once the floor is learned")
+    void shouldAttenuateStationaryNoise() {
+        var suppressor = new SpectralNoiseSuppressor(SAMPLE_RATE);
+        var noise = noise(new Random(2), SAMPLE_RATE * 3, 0.05);
+
+        suppressor.process(noise, 0, noise.length, 1);
+
+        var lastSecond = SAMPLE_RATE * 2;
+        var reduction = 10 * Math.log10(energy(noise(new Random(2), SAMPLE_RATE * 3, 0.05), lastSecond, noise.length)
+            / energy(noise, lastSecond, noise.length));
+        assertTrue(reduction > 12.0, "reduction " + reduction + " dB");
+    }
+
+    @Test
+    @DisplayName("Should improve the SNR of speech-like bursts in noise")
+    void shouldImproveSnr() {
+        var suppressor = new SpectralNoiseSuppressor(SAMPLE_RATE);
+        var length = SAMPLE_RATE * 6;
+        var clean = new float[length];
+        for (int i = SAMPLE_RATE; i < length; i++) {
+            // 200 ms syllables with a gliding pitch and 150 ms gaps
+            var position = i % 5600;
+            if (position < 3200) {
+                var envelope = Math.sin(Math.PI * position / 3200);
+                var pitch = 140 + 40 * Math.sin(2 * Math.PI * i / length);
+                var phase = 2 * Math.PI * pitch * i / SAMPLE_RATE;
+                clean[i] = (float) (0.3 * envelope * (Math.sin(phase) + 0.5 * Math.sin(3 * phase) + 0.3 * Math.sin(5 * phase)));
+            }
+        }
+        var noise = noise(new Random(3), length, 0.05);
+        var noisy = new float[length];
+        for (int i = 0; i < length; i++) {
+            noisy[i] = clean[i] + noise[i];
+        }
+
+        var output = noisy.clone();
+        suppressor.process(output, 0, length, 1);
+
+        var latency = suppressor.getLatencySamples();
+        var from = SAMPLE_RATE * 3;
+        var before = snr(clean, noisy, 0, from, length);
+        var after = snr(clean, output, latency, from, length - latency);
+        assertTrue(after - before > 5.0, "SNR " + before + " dB -> " + after + " dB");
+    }
+
+    @Test
+    @DisplayName("Should forget the noise floor on reset")
+    void shouldResetState() {
+        var suppressor = new SpectralNoiseSuppressor(SAMPLE_RATE);
+        var noise = noise(new Random(4), SAMPLE_RATE, 0.05);
+        suppressor.process(noise, 0, noise.length, 1);
+        assertTrue(suppressor.getNoisePower(32) > 0.0f);
+
+        suppressor.reset();
+
+        assertEquals(0.0f, suppressor.getNoisePower(32));
+        var silence = new float[1024];
+        suppressor.process(silence, 0, silence.length, 1);
+        assertEquals(0.0, energy(silence, 0, silence.length));
+    }
+
+    private static float[] noise(Random random, int length, double deviation) {
+        var samples = new float[length];
+        for (int i = 0; i < length; i++) {
+            samples[i] = (float) (random.nextGaussian() * deviation);
+        }
+        return samples;
+    }
+
+    private static double energy(float[] samples, int from, int to) {
+        var sum = 0.0;
+        for (int i = from; i < to; i++) {
+            sum += samples[i] * samples[i];
+        }
+        return sum;
+    }
+
+    private static double snr(float[] clean, float[] signal, int delay, int from, int to) {
+        var speech = 0.0;
+        var error = 0.0;
+        for (int i = from; i < to; i++) {
+            speech += clean[i] * clean[i];
+            var difference = signal[i + delay] - clean[i];
+            error += difference * difference;
+        }
+        return 10 * Math.log10(speech / error);
+    }
+}
@@ -0,0 +1,136 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for StreamingResampler.
+ */
+@DisplayName("StreamingResampler Tests")
+class StreamingResamplerTest {
+
+    private static final AudioFormat HIGH_QUALITY = new AudioFormat(44100, 16, 2, true, false);
+
+    @Test
+    @DisplayName("Should return 16 kHz mono data unchanged")
+    void shouldPassThroughTargetFormat() {
+        var resampler = new StreamingResampler(new AudioFormat(16000, 16, 1, true, false), 16000);
+        var data = new byte[]{1, 2, 3, 4};
+
+        assertTrue(resampler.isPassthrough());
+        assertSame(data, resampler.process(data));
+    }
+
+    @Test
+    @DisplayName("Should resample 44.1 kHz stereo to 16 kHz mono preserving frequency")
+    void shouldResampleAndPreserveFrequency() {
+        var resampler = new StreamingResampler(HIGH_QUALITY, 16000);
+        var input = stereoSine(44100, 44100, 1000.0, 0.5, 0.5);
+
+        var output = resampler.process(input);
+        var samples = decode(output);
+
+        assertEquals(16000, samples.length, 1);
+        // 1 kHz over one second crosses zero about 2000 times
+        assertEquals(2000, zeroCrossings(samples, 200), 4);
+        assertEquals(0.5, peak(samples, 200), 0.02);
+    }
+
+    @Test
+    @DisplayName("Should suppress content above the target Nyquist frequency")
+    void shouldSuppressAliasing() {
+        var resampler = new StreamingResampler(HIGH_QUALITY, 16000);
+        var input = stereoSine(44100, 44100, 12000.0, 0.5, 0.5);
+
+        var samples = decode(resampler.process(input));
+
+        assertTrue(peak(samples, 200) < 0.005, "aliased peak " + peak(samples, 200));
+    }
+
+    @Test
+    @DisplayName("Should produce identical output regardless of chunk boundaries")
+    void shouldBeIndependentOfChunking() {
+        var input = stereoSine(44100, 44100, 440.0, 0.3, 0.6);
+        var whole = new StreamingResampler(HIGH_QUALITY, 16000).process(input);
+
+        var chunked = new StreamingResampler(HIGH_QUALITY, 16000);
+        var out = new ByteArrayOutputStream();
+        var position = 0;
+        var sizes = new int[]{1, 3, 4409, 17640, 7, 2};
+        var index = 0;
+        while (position < input.length) {
+            var size = Math.min(sizes[index++ % sizes.length], input.length - position);
+            var part = new byte[size];
+            System.arraycopy(input, position, part, 0, size);
+            out.writeBytes(chunked.process(part));
+            position += size;
+        }
+
+        assertArrayEquals(whole, out.toByteArray());
+    }
+
+    @Test
+    @DisplayName("Should downmix stereo by averaging channels")
+    void shouldDownmixStereo() {
+        var resampler = new StreamingResampler(new AudioFormat(16000, 16, 2, true, false), 16000);
+        var input = stereoSine(1600, 16000, 500.0, 0.5, -0.5);
+
+        var samples = decode(resampler.process(input));
+
+        assertEquals(1600, samples.length);
+        assertEquals(0.0, peak(samples, 0), 1e-4);
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported sample sizes")
+    void shouldRejectUnsupportedSampleSize() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new StreamingResampler(new AudioFormat(48000, 24, 2, true, false), 16000));
+    }
+
+    private static byte[] stereoSine(int frames, int sampleRate, double frequency, double leftAmplitude, double rightAmplitude) {
+        var data = new byte[frames * 4];
+        for (int i = 0; i < frames; i++) {
+            var value = Math.sin(2 * Math.PI * frequency * i / sampleRate);
+            writeShort(data, i * 4, (short) Math.round(value * leftAmplitude * 32767));
+            writeShort(data, i * 4 + 2, (short) Math.round(value * rightAmplitude * 32767));
+        }
+        return data;
+    }
+
+    private static void writeShort(byte[] data, int offset, short value) {
+        data[offset] = (byte) value;
+        data[offset + 1] = (byte) (value >> 8);
+    }
+
+    private static double[] decode(byte[] pcm) {
+        var samples = new double[pcm.length / 2];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (short) ((pcm[2 * i + 1] << 8) | (pcm[2 * i] & 0xFF)) / 32768.0;
+        }
+        return samples;
+    }
+
+    private static int zeroCrossings(double[] samples, int skip) {
+        var crossings = 0;
+        for (int i = skip + 1; i < samples.length; i++) {
+            if ((samples[i - 1] < 0) != (samples[i] < 0)) {
+                crossings++;
+            }
+        }
+        return crossings * samples.length / (samples.length - skip - 1);
+    }
+
+    private static double peak(double[] samples, int skip) {
+        var peak = 0.0;
+        for (int i = skip; i < samples.length; i++) {
+            peak = Math.max(peak, Math.abs(samples[i]));
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,134 @@
+package com.zoomtranscriber.core.audio;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VoiceActivityDetector.
+ */
+@DisplayName("VoiceActivityDetector Tests")
+class VoiceActivityDetectorTest {
+
+    private static final int SAMPLE_RATE = 16000;
+
+    @Test
+    @DisplayName("Should forward nothing for silence")
+    void shouldIgnoreSilence() {
+        var detector = new VoiceActivityDetector(0.5, 100, 300);
+
+        var result = detector.process(new byte[SAMPLE_RATE * 2]);
+
+        assertFalse(result.hasSpeech());
+        assertFalse(result.speechActive());
+        assertEquals(0.0, detector.getForwardedRatio());
+    }
+
+    @Test
+    @DisplayName("Should reject steady broadband noise")
+    void shouldRejectNoise() {
+        var detector = new VoiceActivityDetector(0.5, 100, 300);
+
+        var result = detector.process(noise(SAMPLE_RATE * 2, 0.2, 1L));
+
+        assertFalse(result.hasSpeech());
+    }
+
+    @Test
+    @DisplayName("Should forward voiced speech including its onset")
+    void shouldForwardSpeechWithOnset() {
+        var detector = new VoiceActivityDetector(0.5, 100, 300);
+        detector.process(new byte[SAMPLE_RATE]);
+
+        var speech = voiced(SAMPLE_RATE / 2, 0.3);
+        var result = detector.process(speech);
+
+        assertTrue(result.speechActive());
+        assertEquals(speech.length, result.speech().length);
+        assertArrayEquals(speech, result.speech());
+    }
+
+    @Test
+    @DisplayName("Should end the utterance after the maximum silence")
+    void shouldEndUtteranceAfterMaxSilence() {
+        var detector = new VoiceActivityDetector(0.5, 100, 300);
+        detector.process(voiced(SAMPLE_RATE / 2, 0.3));
+
+        var hangover = detector.process(new byte[SAMPLE_RATE / 5 * 2]); // 200 ms
+        assertTrue(hangover.speechActive());
+        assertFalse(hangover.utteranceEnded());
+        assertEquals(SAMPLE_RATE / 5 * 2, hangover.speech().length);
+
+        var ended = detector.process(new byte[SAMPLE_RATE / 5 * 2]); // 200 ms more
+        assertTrue(ended.utteranceEnded());
+        assertFalse(ended.speechActive());
+        assertEquals(SAMPLE_RATE / 10 * 2, ended.speech().length);
+    }
+
+    @Test
+    @DisplayName("Should discard bursts shorter than the minimum duration")
+    void shouldDiscardShortBursts() {
+        var detector = new VoiceActivityDetector(0.5, 200, 300);
+        var audio = new byte[SAMPLE_RATE * 2];
+        var burst = voiced(SAMPLE_RATE / 20, 0.3); // 50 ms
+        System.arraycopy(burst, 0, audio, SAMPLE_RATE, burst.length);
+
+        var result = detector.process(audio);
+
+        assertFalse(result.hasSpeech());
+    }
+
+    @Test
+    @DisplayName("Should produce the same decisions regardless of chunk boundaries")
+    void shouldBeIndependentOfChunking() {
+        var audio = new byte[SAMPLE_RATE * 4];
+        var speech = voiced(SAMPLE_RATE, 0.3);
+        System.arraycopy(speech, 0, audio, SAMPLE_RATE, speech.length);
+
+        var whole = new VoiceActivityDetector(0.5, 100, 300).process(audio).speech().length;
+
+        var chunked = new VoiceActivityDetector(0.5, 100, 300);
+        var forwarded = 0;
+        for (int position = 0; position < audio.length; position += 1001) {
+            var part = new byte[Math.min(1001, audio.length - position)];
+            System.arraycopy(audio, position, part, 0, part.length);
+            forwarded += chunked.process(part).speech().length;
+        }
+
+        assertEquals(whole, forwarded);
+    }
+
+    /**
+     * Synthesizes a vowel-like harmonic signal with a 140 Hz fundamental.
+     */
+    private static byte[] voiced(int samples, double amplitude) {
+        var pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            var t = (double) i / SAMPLE_RATE;
+            var value = 0.0;
+            for (int harmonic = 1; harmonic <= 10; harmonic++) {
+                value += Math.sin(2 * Math.PI * 140 * harmonic * t) / harmonic;
+            }
+            writeSample(pcm, i, value * amplitude / 2);
+        }
+        return pcm;
+    }
+
+    private static byte[] noise(int samples, double amplitude, long seed) {
+        var random = new Random(seed);
+        var pcm = new byte[samples * 2];
+        for (int i = 0; i < samples; i++) {
+            writeSample(pcm, i, random.nextGaussian() * amplitude / 3);
+        }
+        return pcm;
+    }
+
+    private static void writeSample(byte[] pcm, int index, double value) {
+        var sample = (short) Math.round(Math.max(-1.0, Math.min(1.0, value)) * 32767);
+        pcm[2 * index] = (byte) sample;
+        pcm[2 * index + 1] = (byte) (sample >> 8);
+    }
+}
@@ -1,5 +1,6 @@
 package com.zoomtranscriber.core.monitoring;
 
+import com.zoomtranscriber.core.audio.CaptureHealth;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -264,4 +265,20 @@ class PerformanceMonitorTest {
         assertEquals(0.0, summary.averageAiServiceTime());
         assertEquals(0, summary.totalOperations());
     }
-}
\ No newline at end of file
+    
+    @Test
+    @DisplayName("Should export capture statistics tagged by device")
+    void shouldExportCaptureStatisticsByDevice() {
+        var health = new CaptureHealth("usb-mic");
+        health.begin(16000, 12800);
+        health.recordFill(12800, 12800);
+        
+        performanceMonitor.registerCaptureDevice(health);
+        
+        var overruns = meterRegistry.find("zoom.audio.capture.overruns").tag("device", "usb-mic").functionCounter();
+        assertNotNull(overruns);
+        assertEquals(1.0, overruns.count());
+        assertEquals(1.0, meterRegistry.get("zoom.audio.capture.buffer.fill").tag("device", "usb-mic").gauge().value());
+        assertEquals(12800.0, meterRegistry.get("zoom.audio.capture.buffer.size").tag("device", "usb-mic").gauge().value());
+    }
+}
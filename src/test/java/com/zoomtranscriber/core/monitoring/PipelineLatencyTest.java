@@ -0,0 +1,46 @@
+package com.zoomtranscriber.core.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PipelineLatency stage statistics.
+ */
+@DisplayName("PipelineLatency Tests")
+class PipelineLatencyTest {
+
+    @Test
+    @DisplayName("Should track count, mean and max per stage")
+    void shouldTrackStatisticsPerStage() {
+        var latency = new PipelineLatency();
+        var now = System.nanoTime();
+
+        latency.record(PipelineLatency.Stage.DELIVERED, now - Duration.ofMillis(10).toNanos());
+        latency.record(PipelineLatency.Stage.DELIVERED, now - Duration.ofMillis(30).toNanos());
+
+        var delivered = latency.getSnapshot().get(PipelineLatency.Stage.DELIVERED);
+        assertEquals(2, delivered.count());
+        assertTrue(delivered.mean().toMillis() >= 20);
+        assertTrue(delivered.max().toMillis() >= 30);
+        assertEquals(0, latency.getSnapshot().get(PipelineLatency.Stage.TRANSCRIBED).count());
+    }
+
+    @Test
+    @DisplayName("Should ignore capture instants in the future and clear on reset")
+    void shouldIgnoreFutureInstantsAndReset() {
+        var latency = new PipelineLatency();
+
+        latency.record(PipelineLatency.Stage.TRANSCRIBED, System.nanoTime() + Duration.ofSeconds(1).toNanos());
+        assertEquals(0, latency.getSnapshot().get(PipelineLatency.Stage.TRANSCRIBED).count());
+
+        latency.record(PipelineLatency.Stage.TRANSCRIBED, System.nanoTime());
+        latency.reset();
+        var transcribed = latency.getSnapshot().get(PipelineLatency.Stage.TRANSCRIBED);
+        assertEquals(0, transcribed.count());
+        assertEquals(Duration.ZERO, transcribed.max());
+    }
+}
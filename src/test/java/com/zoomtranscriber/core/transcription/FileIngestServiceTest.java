@@ -0,0 +1,251 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.audio.AdpcmWavWriter;
+import com.zoomtranscriber.core.audio.AudioProcessorFactory;
+import com.zoomtranscriber.core.exceptions.ValidationException;
+import com.zoomtranscriber.core.monitoring.PipelineLatency;
+import com.zoomtranscriber.core.storage.MeetingRepository;
+import com.zoomtranscriber.core.storage.MeetingSession;
+import com.zoomtranscriber.core.storage.Transcription;
+import com.zoomtranscriber.core.storage.TranscriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for FileIngestService.
+ */
+@DisplayName("FileIngestService Tests")
+class FileIngestServiceTest {
+
+    private static final AudioFormat FORMAT = new AudioFormat(16000, 16, 1, true, false);
+
+    @TempDir
+    Path ingestDirectory;
+
+    private AudioConfig audioConfig;
+    private ObjectProvider<MeetingRepository> meetingRepository;
+    private ObjectProvider<TranscriptionRepository> transcriptionRepository;
+    private FileIngestService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        audioConfig = new AudioConfig();
+        audioConfig.setIngestDirectory(ingestDirectory.toString());
+        audioConfig.setIngestWindowSeconds(1);
+        audioConfig.setIngestParallelism(4);
+        audioConfig.setEnableVoiceActivityDetection(false);
+        meetingRepository = mock(ObjectProvider.class);
+        transcriptionRepository = mock(ObjectProvider.class);
+        service = new FileIngestService(audioConfig,
+            new AudioProcessorFactory(audioConfig, mock(ObjectProvider.class), mock(ObjectProvider.class)),
+            new SpeechRecognizer(audioConfig, new PipelineLatency(),
+                new RecognitionBatcher(new ReferenceRecognitionEngine(), 1, Duration.ZERO)),
+            meetingRepository, transcriptionRepository);
+    }
+
+    @Test
+    @DisplayName("Should transcribe WAV windows in parallel and stitch them in order")
+    void shouldStitchWindowsInOrder() throws Exception {
+        var meetingId = UUID.randomUUID();
+        writeWav("meeting.wav", tone(16000 * 10 + 800));
+
+        var result = service.ingestFile(meetingId, "meeting.wav", null,
+            SpeechRecognizer.RecognitionConfig.defaultConfig()).block();
+
+        assertNotNull(result);
+        assertEquals(11, result.windows());
+        assertEquals(0, result.failedWindows());
+        assertEquals(Duration.ofMillis(10050), result.audioDuration());
+        assertFalse(result.segments().isEmpty());
+
+        var previousStart = -1.0;
+        for (int i = 0; i < result.segments().size(); i++) {
+            var segment = result.segments().get(i);
+            assertEquals(meetingId, segment.getMeetingId());
+            assertEquals(i, segment.getSegmentNumber());
+            assertTrue(segment.getStartTime() >= previousStart);
+            previousStart = segment.getStartTime();
+        }
+        assertTrue(previousStart >= 9.0);
+    }
+
+    @Test
+    @DisplayName("Should ingest headerless PCM streams")
+    void shouldIngestRawStream() {
+        var result = service.ingestStream(UUID.randomUUID(), new ByteArrayInputStream(tone(16000 * 3)), FORMAT,
+            SpeechRecognizer.RecognitionConfig.defaultConfig()).block();
+
+        assertNotNull(result);
+        assertEquals(3, result.windows());
+        assertEquals(Duration.ofSeconds(3), result.audioDuration());
+        assertTrue(result.getSpeedup() > 0.0);
+    }
+
+    @Test
+    @DisplayName("Should ingest IMA-ADPCM archives written by the recorder")
+    void shouldIngestAdpcmArchive() throws Exception {
+        var pcm = tone(16000 * 2);
+        try (var writer = new AdpcmWavWriter(ingestDirectory.resolve("archive.wav"), FORMAT, pcm.length)) {
+            writer.write(ByteBuffer.wrap(pcm));
+        }
+
+        var result = service.ingestFile(UUID.randomUUID(), "archive.wav", null,
+            SpeechRecognizer.RecognitionConfig.defaultConfig()).block();
+
+        assertNotNull(result);
+        assertEquals(2, result.windows());
+        assertEquals(Duration.ofSeconds(2), result.audioDuration());
+    }
+
+    @Test
+    @DisplayName("Should persist stitched segments to an existing meeting")
+    void shouldPersistToMeeting() throws Exception {
+        var meetingId = UUID.randomUUID();
+        var transcriptions = storedMeeting(meetingId);
+        writeWav("backfill.wav", tone(16000 * 2));
+
+        var result = service.ingestFile(meetingId, "backfill.wav", null,
+            SpeechRecognizer.RecognitionConfig.defaultConfig()).block();
+
+        assertNotNull(result);
+        assertEquals(result.segments().size(), result.persistedSegments());
+        var saved = savedRows(transcriptions);
+        assertEquals(result.segments().size(), saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            assertEquals(i, saved.get(i).getSegmentNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("Should continue the sequence of segments the meeting already holds")
+    void shouldContinueArchivedSequence() throws Exception {
+        var meetingId = UUID.randomUUID();
+        var transcriptions = storedMeeting(meetingId);
+        when(transcriptions.findMaxSegmentNumberByMeetingSessionId(meetingId)).thenReturn(4);
+        writeWav("backfill.wav", tone(16000 * 2));
+
+        var result = service.ingestFile(meetingId, "backfill.wav", null,
+            SpeechRecognizer.RecognitionConfig.defaultConfig()).block();
+
+        assertNotNull(result);
+        assertFalse(result.segments().isEmpty());
+        var saved = savedRows(transcriptions);
+        for (int i = 0; i < saved.size(); i++) {
+            assertEquals(5 + i, saved.get(i).getSegmentNumber());
+            assertEquals(5 + i, result.segments().get(i).getSegmentNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("Should convert big-endian and unsigned PCM to signed little-endian")
+    void shouldConvertToSignedLittleEndian() {
+        var bigEndian = new AudioFormat(16000, 16, 1, true, true);
+        var unsigned8 = new AudioFormat(AudioFormat.Encoding.PCM_UNSIGNED, 16000, 8, 1, 1, 16000, false);
+        var unsigned16 = new AudioFormat(AudioFormat.Encoding.PCM_UNSIGNED, 16000, 16, 1, 2, 16000, false);
+
+        assertArrayEquals(new byte[]{0x34, 0x12, (byte) 0xCC, (byte) 0xED},
+            FileIngestService.toPcm16LittleEndian(new byte[]{0x12, 0x34, (byte) 0xED, (byte) 0xCC}, 4, bigEndian));
+        assertArrayEquals(new byte[]{0, 0, 0, 127, 0, (byte) 0x80},
+            FileIngestService.toPcm16LittleEndian(new byte[]{(byte) 0x80, (byte) 0xFF, 0}, 3, unsigned8));
+        assertArrayEquals(new byte[]{0, 0, (byte) 0xFF, 127},
+            FileIngestService.toPcm16LittleEndian(new byte[]{0, (byte) 0x80, (byte) 0xFF, (byte) 0xFF}, 4, unsigned16));
+    }
+
+    @Test
+    @DisplayName("Should transcribe big-endian PCM like the same audio in little-endian")
+    void shouldIngestBigEndianStream() {
+        var pcm = tone(16000 * 2);
+        var swapped = new byte[pcm.length];
+        for (int i = 0; i < pcm.length; i += 2) {
+            swapped[i] = pcm[i + 1];
+            swapped[i + 1] = pcm[i];
+        }
+        var config = SpeechRecognizer.RecognitionConfig.defaultConfig();
+
+        var expected = service.ingestStream(UUID.randomUUID(), new ByteArrayInputStream(pcm), FORMAT, config).block();
+        var actual = service.ingestStream(UUID.randomUUID(), new ByteArrayInputStream(swapped),
+            new AudioFormat(16000, 16, 1, true, true), config).block();
+
+        assertNotNull(expected);
+        assertNotNull(actual);
+        assertEquals(texts(expected.segments()), texts(actual.segments()));
+    }
+
+    @Test
+    @DisplayName("Should reject sample sizes the processor cannot handle")
+    void shouldRejectUnsupportedSampleSize() {
+        var format = new AudioFormat(16000, 24, 1, true, false);
+        var ingest = service.ingestStream(UUID.randomUUID(), new ByteArrayInputStream(new byte[300]), format,
+            SpeechRecognizer.RecognitionConfig.defaultConfig());
+
+        assertThrows(ValidationException.class, ingest::block);
+    }
+
+    @Test
+    @DisplayName("Should reject paths outside the ingest directory")
+    void shouldRejectPathTraversal() {
+        var config = SpeechRecognizer.RecognitionConfig.defaultConfig();
+
+        assertThrows(ValidationException.class,
+            () -> service.ingestFile(UUID.randomUUID(), "../outside.wav", null, config));
+        assertThrows(ValidationException.class,
+            () -> service.ingestFile(UUID.randomUUID(), "missing.wav", null, config));
+    }
+
+    private TranscriptionRepository storedMeeting(UUID meetingId) {
+        var meetings = mock(MeetingRepository.class);
+        var transcriptions = mock(TranscriptionRepository.class);
+        when(meetings.findById(meetingId)).thenReturn(Optional.of(new MeetingSession("Backfill")));
+        when(transcriptions.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(meetingRepository.getIfAvailable()).thenReturn(meetings);
+        when(transcriptionRepository.getIfAvailable()).thenReturn(transcriptions);
+        return transcriptions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Transcription> savedRows(TranscriptionRepository transcriptions) {
+        var captor = ArgumentCaptor.forClass(List.class);
+        verify(transcriptions).saveAll(captor.capture());
+        return (List<Transcription>) captor.getValue();
+    }
+
+    private void writeWav(String name, byte[] pcm) throws Exception {
+        var stream = new AudioInputStream(new ByteArrayInputStream(pcm), FORMAT, pcm.length / 2);
+        AudioSystem.write(stream, AudioFileFormat.Type.WAVE, ingestDirectory.resolve(name).toFile());
+    }
+
+    private static List<String> texts(List<TranscriptionSegment> segments) {
+        return segments.stream().map(TranscriptionSegment::getText).toList();
+    }
+
+    private static byte[] tone(int samples) {
+        var buffer = ByteBuffer.allocate(samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < samples; i++) {
+            buffer.putShort((short) (12000 * Math.sin(2 * Math.PI * 300 * i / 16000.0)));
+        }
+        return buffer.array();
+    }
+}
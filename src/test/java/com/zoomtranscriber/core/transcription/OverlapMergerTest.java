@@ -0,0 +1,123 @@
+package com.zoomtranscriber.core.transcription;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OverlapMerger.
+ */
+@DisplayName("OverlapMerger Tests")
+class OverlapMergerTest {
+
+    private static final int ONE_SECOND = 32000;
+
+    @Test
+    @DisplayName("Should prefix each window with the tail of the previous one")
+    void shouldOverlapWindows() {
+        var merger = new OverlapMerger(0.25);
+
+        var first = merger.prepare(new byte[ONE_SECOND]);
+        var second = merger.prepare(new byte[ONE_SECOND]);
+
+        assertEquals(ONE_SECOND, first.audio().length);
+        assertEquals(ONE_SECOND + ONE_SECOND / 4, second.audio().length);
+        assertEquals(0.75, second.span().start(), 1e-9);
+        assertEquals(0.25, second.span().overlap(), 1e-9);
+        assertEquals(2.0, second.span().end(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should emit a word cut by the window edge once, from the next window")
+    void shouldDeduplicateTimedWords() {
+        var merger = new OverlapMerger(0.25);
+        var first = merger.prepare(new byte[ONE_SECOND]);
+        var second = merger.prepare(new byte[ONE_SECOND]);
+
+        var firstText = merger.merge(first, hypothesis(
+            new RecognitionEngine.Word("hello", 0.1, 0.4),
+            new RecognitionEngine.Word("world", 0.5, 0.8),
+            new RecognitionEngine.Word("agai", 0.85, 1.0)));
+        var secondText = merger.merge(second, hypothesis(
+            new RecognitionEngine.Word("world", 0.0, 0.05),
+            new RecognitionEngine.Word("again", 0.1, 0.25),
+            new RecognitionEngine.Word("friends", 0.4, 0.7)));
+
+        assertEquals("hello world", firstText);
+        assertEquals("again friends", secondText);
+    }
+
+    @Test
+    @DisplayName("Should drop repeated words in the overlap despite timing jitter")
+    void shouldAlignTokens() {
+        var merger = new OverlapMerger(0.25);
+        var first = merger.prepare(new byte[ONE_SECOND]);
+        var second = merger.prepare(new byte[ONE_SECOND]);
+
+        merger.merge(first, hypothesis(
+            new RecognitionEngine.Word("See", 0.1, 0.3),
+            new RecognitionEngine.Word("you", 0.4, 0.6),
+            new RecognitionEngine.Word("soon", 0.65, 0.8)));
+        var secondText = merger.merge(second, hypothesis(
+            new RecognitionEngine.Word("soon.", 0.06, 0.24),
+            new RecognitionEngine.Word("Bye", 0.4, 0.6)));
+
+        assertEquals("Bye", secondText);
+    }
+
+    @Test
+    @DisplayName("Should merge hypotheses without word timings")
+    void shouldMergeUntimedWords() {
+        var merger = new OverlapMerger(0.25);
+        var first = merger.prepare(new byte[ONE_SECOND]);
+        var second = merger.prepare(new byte[ONE_SECOND]);
+
+        assertEquals("one two three", merger.merge(first, new RecognitionEngine.Hypothesis("one two three", 0.9)));
+        assertEquals("four five six",
+            merger.merge(second, new RecognitionEngine.Hypothesis("three four five six", 0.9)));
+    }
+
+    @Test
+    @DisplayName("Should emit held words when the next window recognizes nothing")
+    void shouldFlushHeldWords() {
+        var merger = new OverlapMerger(0.25);
+        var first = merger.prepare(new byte[ONE_SECOND]);
+        var second = merger.prepare(new byte[ONE_SECOND]);
+
+        merger.merge(first, hypothesis(
+            new RecognitionEngine.Word("thanks", 0.2, 0.5),
+            new RecognitionEngine.Word("all", 0.9, 1.0)));
+
+        assertEquals("all", merger.merge(second, null));
+        assertEquals("", merger.flush());
+    }
+
+    @Test
+    @DisplayName("Should pass windows through unchanged without overlap")
+    void shouldPassThroughWithoutOverlap() {
+        var merger = new OverlapMerger(0.0);
+        var pcm = new byte[ONE_SECOND];
+
+        var window = merger.prepare(pcm);
+
+        assertSame(pcm, window.audio());
+        assertEquals("last word", merger.merge(window, hypothesis(
+            new RecognitionEngine.Word("last", 0.5, 0.8),
+            new RecognitionEngine.Word("word", 0.9, 1.0))));
+    }
+
+    @Test
+    @DisplayName("Should reject overlap ratios outside [0, 1)")
+    void shouldRejectInvalidRatio() {
+        assertThrows(IllegalArgumentException.class, () -> new OverlapMerger(1.0));
+        assertThrows(IllegalArgumentException.class, () -> new OverlapMerger(-0.1));
+    }
+
+    private static RecognitionEngine.Hypothesis hypothesis(RecognitionEngine.Word... words) {
+        var text = String.join(" ", List.of(words).stream().map(RecognitionEngine.Word::text).toList());
+        return new RecognitionEngine.Hypothesis(text, 0.9, List.of(words));
+    }
+}
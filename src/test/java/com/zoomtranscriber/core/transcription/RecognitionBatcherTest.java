@@ -0,0 +1,189 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.zoomtranscriber.core.exceptions.SpeechRecognitionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RecognitionBatcher.
+ */
+@DisplayName("RecognitionBatcher Tests")
+class RecognitionBatcherTest {
+
+    private final SpeechRecognizer.RecognitionConfig config = SpeechRecognizer.RecognitionConfig.defaultConfig();
+    private final RecordingEngine engine = new RecordingEngine();
+    private RecognitionBatcher batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should dispatch windows of different meetings together once the batch is full")
+    void shouldBatchAcrossMeetings() throws Exception {
+        batcher = new RecognitionBatcher(engine, 3, Duration.ofSeconds(30));
+
+        var a = batcher.submit("a", new byte[]{1}, config);
+        var b = batcher.submit("b", new byte[]{2}, config);
+        var c = batcher.submit("c", new byte[]{3}, config);
+
+        assertEquals("a:1", a.get(5, TimeUnit.SECONDS).text());
+        assertEquals("b:2", b.get(5, TimeUnit.SECONDS).text());
+        assertEquals("c:3", c.get(5, TimeUnit.SECONDS).text());
+        assertEquals(List.of(3), engine.batchSizes);
+        assertEquals(3.0, batcher.getAverageBatchSize(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should dispatch a partial batch when the oldest window is due")
+    void shouldDispatchAtDeadline() throws Exception {
+        batcher = new RecognitionBatcher(engine, 8, Duration.ofMillis(20));
+
+        var started = System.nanoTime();
+        var result = batcher.submit("a", new byte[]{1}, config).get(5, TimeUnit.SECONDS);
+
+        assertEquals("a:1", result.text());
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertEquals(List.of(1), engine.batchSizes);
+    }
+
+    @Test
+    @DisplayName("Should keep each meeting's windows in order and one per batch")
+    void shouldPreserveStreamOrder() throws Exception {
+        batcher = new RecognitionBatcher(engine, 4, Duration.ofMillis(5));
+        engine.gate = new CountDownLatch(1);
+        var results = new ArrayList<CompletableFuture<RecognitionEngine.Hypothesis>>();
+
+        for (int i = 0; i < 5; i++) {
+            results.add(batcher.submit("a", new byte[]{(byte) i}, config));
+            results.add(batcher.submit("b", new byte[]{(byte) (10 + i)}, config));
+        }
+        engine.gate.countDown();
+        for (var result : results) {
+            result.get(5, TimeUnit.SECONDS);
+        }
+
+        assertEquals(List.of("a:0", "a:1", "a:2", "a:3", "a:4"), engine.seen("a"));
+        assertEquals(List.of("b:10", "b:11", "b:12", "b:13", "b:14"), engine.seen("b"));
+        assertTrue(engine.batches.stream().allMatch(batch ->
+            batch.stream().map(RecognitionEngine.Request::streamId).distinct().count() == batch.size()));
+    }
+
+    @Test
+    @DisplayName("Should fail every window of a failed batch")
+    void shouldPropagateFailures() {
+        batcher = new RecognitionBatcher(engine, 2, Duration.ofSeconds(30));
+        engine.failure = new SpeechRecognitionException("engine down");
+
+        var a = batcher.submit("a", new byte[]{1}, config);
+        var b = batcher.submit("b", new byte[]{2}, config);
+
+        var error = assertThrows(ExecutionException.class, () -> a.get(5, TimeUnit.SECONDS));
+        assertSame(engine.failure, error.getCause());
+        assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should fail only the window the engine could not recognize")
+    void shouldIsolateWindowFailures() throws Exception {
+        batcher = new RecognitionBatcher(engine, 3, Duration.ofSeconds(30));
+        engine.failingStream = "b";
+
+        var a = batcher.submit("a", new byte[]{1}, config);
+        var b = batcher.submit("b", new byte[]{2}, config);
+        var c = batcher.submit("c", new byte[]{3}, config);
+
+        assertEquals("a:1", a.get(5, TimeUnit.SECONDS).text());
+        var error = assertThrows(ExecutionException.class, () -> b.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SpeechRecognitionException.class, error.getCause());
+        assertEquals("c:3", c.get(5, TimeUnit.SECONDS).text());
+    }
+
+    @Test
+    @DisplayName("Should fail waiting windows when closed")
+    void shouldFailPendingOnClose() {
+        batcher = new RecognitionBatcher(engine, 8, Duration.ofSeconds(30));
+        var pending = batcher.submit("a", new byte[]{1}, config);
+
+        batcher.close();
+
+        assertThrows(ExecutionException.class, () -> pending.get(5, TimeUnit.SECONDS));
+        assertTrue(batcher.submit("a", new byte[]{2}, config).isCompletedExceptionally());
+    }
+
+    /**
+     * Engine that answers "stream:first byte" and records the batches it was given.
+     */
+    private static final class RecordingEngine implements RecognitionEngine {
+
+        private final List<List<Request>> batches = Collections.synchronizedList(new ArrayList<>());
+        private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        private volatile CountDownLatch gate;
+        private volatile RuntimeException failure;
+        private volatile String failingStream;
+
+        @Override
+        public String getName() {
+            return "recording";
+        }
+
+        @Override
+        public void loadModel(String model) {
+        }
+
+        @Override
+        public Hypothesis recognize(String streamId, byte[] pcm, SpeechRecognizer.RecognitionConfig config) {
+            if (streamId.equals(failingStream)) {
+                throw new SpeechRecognitionException("cannot recognize " + streamId);
+            }
+            return new Hypothesis(streamId + ":" + pcm[0], 0.9);
+        }
+
+        @Override
+        public List<Result> recognizeBatch(List<Request> requests) {
+            var latch = gate;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            batches.add(List.copyOf(requests));
+            batchSizes.add(requests.size());
+            return RecognitionEngine.super.recognizeBatch(requests);
+        }
+
+        private List<String> seen(String streamId) {
+            synchronized (batches) {
+                return batches.stream()
+                    .flatMap(List::stream)
+                    .filter(request -> request.streamId().equals(streamId))
+                    .map(request -> streamId + ":" + request.pcm()[0])
+                    .toList();
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
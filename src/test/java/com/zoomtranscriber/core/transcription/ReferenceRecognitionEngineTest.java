@@ -0,0 +1,67 @@
+package com.zoomtranscriber.core.transcription;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReferenceRecognitionEngine.
+ */
+@DisplayName("ReferenceRecognitionEngine Tests")
+class ReferenceRecognitionEngineTest {
+
+    private final ReferenceRecognitionEngine engine = new ReferenceRecognitionEngine();
+    private final SpeechRecognizer.RecognitionConfig config = SpeechRecognizer.RecognitionConfig.defaultConfig();
+
+    @Test
+    @DisplayName("Should recognize the same audio as the same text")
+    void shouldBeDeterministic() {
+        var audio = tone(440, 0.3, 3200);
+
+        var first = engine.recognize("a", audio, config);
+        var second = engine.recognize("b", audio, config);
+
+        assertNotNull(first);
+        assertEquals(first, second);
+        assertTrue(ReferenceRecognitionEngine.PHRASES.contains(first.text()));
+        assertTrue(first.confidence() > 0.0 && first.confidence() <= 1.0);
+    }
+
+    @Test
+    @DisplayName("Should recognize nothing in quiet or empty audio")
+    void shouldIgnoreQuietAudio() {
+        assertNull(engine.recognize("a", tone(440, 0.015, 3200), config));
+        assertNull(engine.recognize("a", new byte[0], config));
+    }
+
+    @Test
+    @DisplayName("Should pick phrases from the content of the audio")
+    void shouldVaryWithAudio() {
+        var texts = new java.util.HashSet<String>();
+        for (int frequency = 200; frequency <= 2000; frequency += 100) {
+            texts.add(engine.recognize("a", tone(frequency, 0.3, 3200), config).text());
+        }
+
+        assertTrue(texts.size() > 1);
+    }
+
+    @Test
+    @DisplayName("Should report the loaded model in its name")
+    void shouldLoadModel() {
+        engine.loadModel("whisper-tiny");
+
+        assertEquals("reference:whisper-tiny", engine.getName());
+    }
+
+    private static byte[] tone(int frequency, double amplitude, int samples) {
+        var buffer = ByteBuffer.allocate(samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 0; i < samples; i++) {
+            buffer.putShort((short) (Math.sin(2 * Math.PI * frequency * i / 16000.0) * amplitude * 32767));
+        }
+        return buffer.array();
+    }
+}
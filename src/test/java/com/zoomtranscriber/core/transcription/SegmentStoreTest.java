@@ -0,0 +1,311 @@
+package com.zoomtranscriber.core.transcription;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SegmentStore.
+ */
+@DisplayName("SegmentStore Tests")
+class SegmentStoreTest {
+
+    private final UUID meetingId = UUID.randomUUID();
+    private final MemoryArchive archive = new MemoryArchive();
+
+    @Test
+    @DisplayName("Should append in sequence and read ranges across chunks")
+    void shouldReadRanges() {
+        var store = newStore(4, 100);
+        store.open(meetingId);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, store.append(segment(i)));
+        }
+
+        assertEquals(10, store.size(meetingId));
+        assertEquals(List.of("s3", "s4", "s5", "s6", "s7", "s8"), texts(store.read(meetingId, 3, 9)));
+        assertEquals(10, store.readAll(meetingId).size());
+        assertEquals(List.of("s9"), texts(store.read(meetingId, 9, 50)));
+        assertTrue(store.read(meetingId, 12, 20).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should spill the oldest full chunks and read them back from the archive")
+    void shouldSpillToArchive() {
+        var store = newStore(4, 8);
+        store.open(meetingId);
+
+        for (int i = 0; i < 11; i++) {
+            store.append(segment(i));
+        }
+
+        assertEquals(1, store.getSpilledChunkCount());
+        assertEquals(7, store.getResidentSegmentCount());
+        assertEquals(List.of(0, 1, 2, 3), new ArrayList<>(archive.segments(meetingId).keySet()));
+        assertEquals(List.of("s2", "s3", "s4", "s5"), texts(store.read(meetingId, 2, 6)));
+        assertEquals(11, store.readAll(meetingId).size());
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest segments in memory when the archive refuses them")
+    void shouldCapSegmentsWhenArchiveRefuses() {
+        archive.accept = false;
+        var store = newStore(4, 8);
+        store.open(meetingId);
+
+        for (int i = 0; i < 20; i++) {
+            store.append(segment(i));
+        }
+
+        assertEquals(0, store.getSpilledChunkCount());
+        assertEquals(8, store.getResidentSegmentCount());
+        assertEquals(1, archive.writes);
+        assertEquals(20, store.size(meetingId));
+        assertEquals(List.of("s12", "s13", "s14", "s15", "s16", "s17", "s18", "s19"), texts(store.readAll(meetingId)));
+    }
+
+    @Test
+    @DisplayName("Should drop the longest finished meetings that could not be archived")
+    void shouldDropOldestRefusedMeetings() {
+        archive.accept = false;
+        var store = newStore(4, 8);
+        store.open(meetingId);
+        var other = UUID.randomUUID();
+
+        for (int i = 0; i < 6; i++) {
+            store.append(segment(i));
+        }
+        store.complete(meetingId);
+        assertEquals(6, store.readAll(meetingId).size());
+        store.open(other);
+        for (int i = 0; i < 6; i++) {
+            store.append(segment(other, i));
+        }
+        store.complete(other);
+
+        assertTrue(store.readAll(meetingId).isEmpty());
+        assertEquals(6, store.readAll(other).size());
+        assertEquals(6, store.getResidentSegmentCount());
+    }
+
+    @Test
+    @DisplayName("Should release a completed meeting from memory once it is archived")
+    void shouldReleaseArchivedMeetings() {
+        var store = newStore(4, 8);
+        store.open(meetingId);
+        for (int i = 0; i < 6; i++) {
+            store.append(segment(i));
+        }
+
+        store.complete(meetingId);
+
+        assertEquals(0, store.getResidentSegmentCount());
+        assertEquals(0, store.size(meetingId));
+        assertEquals(List.of("s0", "s1", "s2", "s3", "s4", "s5"), texts(store.readAll(meetingId)));
+        assertEquals(List.of("s2", "s3"), texts(store.readBetween(meetingId, 4.0, 8.0)));
+    }
+
+    @Test
+    @DisplayName("Should read segments by start time")
+    void shouldReadByTime() {
+        var store = newStore(4, 8);
+        store.open(meetingId);
+        for (int i = 0; i < 20; i++) {
+            store.append(segment(i));
+        }
+
+        assertEquals(List.of("s5", "s6", "s7"), texts(store.readBetween(meetingId, 10.0, 16.0)));
+        assertEquals(List.of("s0"), texts(store.readBetween(meetingId, 0.0, 1.0)));
+        assertTrue(store.readBetween(meetingId, 100.0, 200.0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should replay history to a late follower and then pass on new segments")
+    void shouldReplayAndFollow() {
+        var store = newStore(4, 8);
+        store.open(meetingId);
+        for (int i = 0; i < 10; i++) {
+            store.append(segment(i));
+        }
+        var listener = new RecordingListener();
+
+        var replay = store.follow(meetingId, 7, listener);
+        store.append(segment(10));
+        store.append(segment(11));
+        store.complete(meetingId);
+        store.append(segment(12));
+
+        assertEquals(List.of("s7", "s8", "s9"), texts(replay.history()));
+        assertEquals(List.of("s10", "s11"), texts(listener.segments));
+        assertTrue(listener.completed);
+    }
+
+    @Test
+    @DisplayName("Should skip segments a follower asked to start after")
+    void shouldFollowFromFutureSequence() {
+        var store = newStore(4, 8);
+        store.open(meetingId);
+        store.append(segment(0));
+        var listener = new RecordingListener();
+
+        var replay = store.follow(meetingId, 3, listener);
+        for (int i = 1; i < 5; i++) {
+            store.append(segment(i));
+        }
+        replay.cancel().run();
+        store.append(segment(5));
+
+        assertTrue(replay.history().isEmpty());
+        assertEquals(List.of("s3", "s4"), texts(listener.segments));
+    }
+
+    @Test
+    @DisplayName("Should archive everything on completion and continue the sequence when reopened")
+    void shouldArchiveOnCompletion() {
+        var store = newStore(4, 8);
+        store.open(meetingId);
+        for (int i = 0; i < 6; i++) {
+            store.append(segment(i));
+        }
+
+        store.complete(meetingId);
+        store.open(meetingId);
+        var sequence = store.append(segment(6));
+
+        assertEquals(6, sequence);
+        assertEquals(1, store.getResidentSegmentCount());
+        assertEquals(6, archive.segments(meetingId).size());
+        assertEquals(List.of("s4", "s5", "s6"), texts(store.read(meetingId, 4, 7)));
+        assertEquals(List.of("s2", "s3", "s4", "s5", "s6"), texts(store.readBetween(meetingId, 4.0, 14.0)));
+    }
+
+    @Test
+    @DisplayName("Should ignore appends to a completed meeting until it is reopened")
+    void shouldNotReopenOnAppend() {
+        archive.accept = false;
+        var store = newStore(4, 8);
+        store.open(meetingId);
+        store.append(segment(0));
+        store.complete(meetingId);
+
+        assertEquals(-1, store.append(segment(1)));
+        assertEquals(-1, store.append(segment(UUID.randomUUID(), 0)));
+        var listener = new RecordingListener();
+        store.follow(meetingId, 0, listener);
+        assertTrue(listener.completed);
+        assertEquals(List.of("s0"), texts(store.readAll(meetingId)));
+
+        store.open(meetingId);
+        assertEquals(1, store.append(segment(1)));
+    }
+
+    @Test
+    @DisplayName("Should read meetings it has not seen from the archive")
+    void shouldReadUnknownMeetingsFromArchive() {
+        var other = UUID.randomUUID();
+        archive.write(other, 0, List.of(segment(other, 0), segment(other, 1)));
+        var store = newStore(4, 8);
+        var listener = new RecordingListener();
+
+        var replay = store.follow(other, 0, listener);
+
+        assertEquals(List.of("s0", "s1"), texts(store.readAll(other)));
+        assertEquals(List.of("s0", "s1"), texts(replay.history()));
+        assertTrue(listener.completed);
+    }
+
+    @Test
+    @DisplayName("Should reject a bound smaller than a chunk")
+    void shouldRejectInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new SegmentStore(0, 8, archive, Runnable::run));
+        assertThrows(IllegalArgumentException.class, () -> new SegmentStore(16, 8, archive, Runnable::run));
+    }
+
+    private SegmentStore newStore(int chunkSize, int maxResidentSegments) {
+        return new SegmentStore(chunkSize, maxResidentSegments, archive, Runnable::run);
+    }
+
+    private TranscriptionSegment segment(int index) {
+        return segment(meetingId, index);
+    }
+
+    private static TranscriptionSegment segment(UUID meeting, int index) {
+        var segment = new TranscriptionSegment(UUID.randomUUID(), meeting, LocalDateTime.now(), null,
+            "s" + index, 0.9, index, true, Duration.ofSeconds(2), "en-US");
+        segment.setStartTime(index * 2.0);
+        segment.setEndTime(index * 2.0 + 2.0);
+        return segment;
+    }
+
+    private static List<String> texts(List<TranscriptionSegment> segments) {
+        return segments.stream().map(TranscriptionSegment::getText).toList();
+    }
+
+    /**
+     * Archive held in memory that can be told to refuse writes.
+     */
+    private static final class MemoryArchive implements SegmentArchive {
+
+        private final Map<UUID, TreeMap<Integer, TranscriptionSegment>> stored = new ConcurrentHashMap<>();
+        private volatile boolean accept = true;
+        private volatile int writes;
+
+        @Override
+        public boolean write(UUID meetingId, int firstSequence, List<TranscriptionSegment> segments) {
+            writes++;
+            if (!accept) {
+                return false;
+            }
+            var meeting = segments(meetingId);
+            for (int i = 0; i < segments.size(); i++) {
+                meeting.put(firstSequence + i, segments.get(i));
+            }
+            return true;
+        }
+
+        @Override
+        public List<TranscriptionSegment> read(UUID meetingId, int fromSequence, int toSequence) {
+            return List.copyOf(segments(meetingId).subMap(fromSequence, toSequence).values());
+        }
+
+        @Override
+        public int nextSequence(UUID meetingId) {
+            var meeting = segments(meetingId);
+            return meeting.isEmpty() ? 0 : meeting.lastKey() + 1;
+        }
+
+        private TreeMap<Integer, TranscriptionSegment> segments(UUID meetingId) {
+            return stored.computeIfAbsent(meetingId, id -> new TreeMap<>());
+        }
+    }
+
+    /**
+     * Listener that records what it is given.
+     */
+    private static final class RecordingListener implements SegmentStore.Listener {
+
+        private final List<TranscriptionSegment> segments = new ArrayList<>();
+        private boolean completed;
+
+        @Override
+        public void onSegment(TranscriptionSegment segment) {
+            segments.add(segment);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
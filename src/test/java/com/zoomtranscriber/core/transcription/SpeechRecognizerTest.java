@@ -0,0 +1,177 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.zoomtranscriber.config.AudioConfig;
+import com.zoomtranscriber.core.audio.MultiSourceMixer;
+import com.zoomtranscriber.core.monitoring.PipelineLatency;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sound.sampled.AudioFormat;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpeechRecognizer interim results.
+ */
+@DisplayName("SpeechRecognizer Tests")
+class SpeechRecognizerTest {
+
+    private static final int CHUNK_SAMPLES = 1600;
+
+    private final String meetingId = UUID.randomUUID().toString();
+    private AudioConfig audioConfig;
+    private PipelineLatency pipelineLatency;
+    private ScriptedEngine engine;
+    private SpeechRecognizer recognizer;
+
+    @BeforeEach
+    void setUp() {
+        audioConfig = new AudioConfig();
+        audioConfig.setEnableVoiceActivityDetection(false);
+        audioConfig.setRecognitionOverlapRatio(0.0);
+        pipelineLatency = new PipelineLatency();
+        engine = new ScriptedEngine();
+        recognizer = new SpeechRecognizer(audioConfig, pipelineLatency,
+            new RecognitionBatcher(engine, 1, Duration.ZERO));
+        recognizer.initialize().block();
+    }
+
+    @Test
+    @DisplayName("Should emit interim segments at most once per update interval")
+    void shouldThrottleInterimSegments() {
+        audioConfig.setInterimUpdateIntervalMs(60_000);
+        start(true);
+
+        var first = process("Hello");
+        var second = process("everyone");
+        var last = process("today.");
+
+        assertEquals(1, first.size());
+        assertFalse(first.get(0).isFinal());
+        assertEquals("Hello", first.get(0).getText());
+        assertTrue(second.isEmpty());
+        assertEquals(1, last.size());
+        assertTrue(last.get(0).isFinal());
+        assertEquals("Hello everyone today.", last.get(0).getText());
+        assertEquals(first.get(0).getId(), last.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should start a new interim segment right after a final one")
+    void shouldStartNewInterimAfterFinal() {
+        audioConfig.setInterimUpdateIntervalMs(60_000);
+        start(true);
+
+        var first = process("Hello");
+        process("everyone.");
+        var next = process("Welcome");
+
+        assertEquals(1, next.size());
+        assertFalse(next.get(0).isFinal());
+        assertEquals("Welcome", next.get(0).getText());
+        assertNotEquals(first.get(0).getId(), next.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should emit every change of the buffered text without an update interval")
+    void shouldEmitEveryChangeWithoutInterval() {
+        audioConfig.setInterimUpdateIntervalMs(0);
+        start(true);
+
+        var first = process("Hello");
+        var second = process("everyone");
+
+        assertEquals("Hello", first.get(0).getText());
+        assertEquals("Hello everyone", second.get(0).getText());
+        assertEquals(first.get(0).getId(), second.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should not emit interim segments unless the session asks for them")
+    void shouldSkipInterimWhenDisabled() {
+        audioConfig.setInterimUpdateIntervalMs(0);
+        start(false);
+
+        assertTrue(process("Hello").isEmpty());
+        var last = process("everyone.");
+
+        assertEquals(1, last.size());
+        assertTrue(last.get(0).isFinal());
+        assertEquals("Hello everyone.", last.get(0).getText());
+    }
+
+    @Test
+    @DisplayName("Should measure frame latency from the frame's capture instant")
+    void shouldUseFrameCaptureInstant() {
+        start(false);
+        var pcm = tone();
+        var stereo = new byte[pcm.length * 2];
+        for (int i = 0; i < pcm.length; i += 2) {
+            stereo[i * 2] = pcm[i];
+            stereo[i * 2 + 1] = pcm[i + 1];
+        }
+        var frame = new MultiSourceMixer.Frame(0, new AudioFormat(16000, 16, 2, true, false),
+            List.of("local", "remote"), stereo, new double[] {0.2, 0.0},
+            System.nanoTime() - Duration.ofSeconds(5).toNanos());
+        engine.texts.add("Hello.");
+
+        recognizer.processFrame(meetingId, frame).collectList().block();
+
+        var input = pipelineLatency.getSnapshot().get(PipelineLatency.Stage.RECOGNITION_INPUT);
+        assertEquals(1, input.count());
+        assertTrue(input.max().compareTo(Duration.ofSeconds(5)) >= 0, "latency " + input.max());
+    }
+
+    private void start(boolean interimResults) {
+        recognizer.startSession(meetingId,
+            SpeechRecognizer.RecognitionConfig.defaultConfig().withInterimResults(interimResults)).block();
+    }
+
+    private List<TranscriptionSegment> process(String text) {
+        engine.texts.add(text);
+        return recognizer.processAudio(meetingId, tone()).collectList().block();
+    }
+
+    private static byte[] tone() {
+        var pcm = new byte[CHUNK_SAMPLES * 2];
+        for (int i = 0; i < CHUNK_SAMPLES; i++) {
+            var sample = (short) (8000 * Math.sin(2 * Math.PI * 440 * i / 16000.0));
+            pcm[2 * i] = (byte) sample;
+            pcm[2 * i + 1] = (byte) (sample >> 8);
+        }
+        return pcm;
+    }
+
+    /**
+     * Engine that recognizes each window as the next queued text.
+     */
+    private static final class ScriptedEngine implements RecognitionEngine {
+
+        private final Queue<String> texts = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public String getName() {
+            return "scripted";
+        }
+
+        @Override
+        public void loadModel(String model) {
+        }
+
+        @Override
+        public Hypothesis recognize(String streamId, byte[] pcm, SpeechRecognizer.RecognitionConfig config) {
+            var text = texts.poll();
+            return text != null ? new Hypothesis(text, 0.9) : null;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
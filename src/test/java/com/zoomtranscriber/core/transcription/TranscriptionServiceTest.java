@@ -656,6 +656,26 @@ class TranscriptionServiceTest {
         assertTrue(config.enableTimestamps());
         assertEquals(10, config.maxSpeakers());
         assertEquals("whisper-1", config.model());
+        assertFalse(config.interimResults());
+    }
+    
+    @Test
+    @DisplayName("Should carry interim results through to the recognizer configuration")
+    void shouldCarryInterimResultsToRecognizer() {
+        // When
+        var config = TranscriptionService.TranscriptionConfig.fast().withLanguage("de-DE");
+        var recognition = new TranscriptionConfig(
+            config.language(), config.enableSpeakerDiarization(), config.confidenceThreshold(),
+            config.enablePunctuation(), config.enableCapitalization(), config.enableTimestamps(),
+            config.maxSpeakers(), config.model(), true
+        ).toRecognitionConfig();
+        
+        // Then
+        assertTrue(recognition.interimResults());
+        assertEquals("de-DE", recognition.language());
+        assertEquals("whisper-tiny", recognition.model());
+        assertFalse(recognition.enableSpeakerDiarization());
+        assertFalse(config.toRecognitionConfig().interimResults());
     }
     
     @Test
@@ -0,0 +1,201 @@
+package com.zoomtranscriber.core.transcription;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoomtranscriber.core.exceptions.SpeechRecognitionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WorkerProcessRecognitionEngine against a fake worker process.
+ */
+@DisplayName("WorkerProcessRecognitionEngine Tests")
+class WorkerProcessRecognitionEngineTest {
+
+    private final SpeechRecognizer.RecognitionConfig config = SpeechRecognizer.RecognitionConfig.defaultConfig();
+    private WorkerProcessRecognitionEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should send framed audio and parse the worker's hypothesis")
+    void shouldRecognizeThroughWorker() {
+        engine = newEngine(2, Duration.ofSeconds(5));
+        engine.loadModel("base.en");
+
+        var hypothesis = engine.recognize("meeting-1", new byte[640], config);
+
+        assertEquals("base.en heard 640 bytes", hypothesis.text());
+        assertEquals(0.9, hypothesis.confidence(), 1e-9);
+        assertEquals(2, engine.getLiveWorkerCount());
+        assertTrue(engine.isHealthy());
+    }
+
+    @Test
+    @DisplayName("Should spread a batch over the pool and return hypotheses in request order")
+    void shouldRecognizeBatch() {
+        engine = newEngine(2, Duration.ofSeconds(5), Duration.ofHours(1));
+
+        var results = engine.recognizeBatch(List.of(
+            new RecognitionEngine.Request("meeting-1", new byte[2], config),
+            new RecognitionEngine.Request("meeting-2", new byte[0], config),
+            new RecognitionEngine.Request("meeting-3", new byte[6], config)
+        ));
+
+        assertEquals(3, results.size());
+        assertEquals("none heard 2 bytes", results.get(0).hypothesis().text());
+        assertNull(results.get(1).hypothesis());
+        assertNull(results.get(1).failure());
+        assertEquals("none heard 6 bytes", results.get(2).hypothesis().text());
+        assertEquals(0, engine.getPendingRequestCount());
+    }
+
+    @Test
+    @DisplayName("Should fail only the window a worker rejects and leave nothing pending")
+    void shouldIsolateBatchFailures() {
+        engine = newEngine(2, Duration.ofSeconds(5), Duration.ofHours(1));
+
+        var results = engine.recognizeBatch(List.of(
+            new RecognitionEngine.Request("meeting-1", new byte[2], config),
+            new RecognitionEngine.Request("reject", new byte[4], config),
+            new RecognitionEngine.Request("meeting-3", new byte[6], config)
+        ));
+
+        assertEquals("none heard 2 bytes", results.get(0).hypothesis().text());
+        assertInstanceOf(SpeechRecognitionException.class, results.get(1).failure());
+        assertNull(results.get(1).hypothesis());
+        assertEquals("none heard 6 bytes", results.get(2).hypothesis().text());
+        assertEquals(0, engine.getPendingRequestCount());
+        assertEquals(0, engine.getRestartCount());
+    }
+
+    @Test
+    @DisplayName("Should return no hypothesis when the worker recognizes nothing")
+    void shouldReturnNullForEmptyText() {
+        engine = newEngine(1, Duration.ofSeconds(5));
+
+        assertNull(engine.recognize("meeting-1", new byte[0], config));
+    }
+
+    @Test
+    @DisplayName("Should restart a worker that exits and reload its model")
+    void shouldRestartCrashedWorker() throws Exception {
+        engine = newEngine(1, Duration.ofSeconds(5));
+        engine.loadModel("base.en");
+
+        assertThrows(SpeechRecognitionException.class, () -> engine.recognize("crash", new byte[2], config));
+        awaitLive(1);
+
+        assertEquals("base.en heard 4 bytes", engine.recognize("meeting-1", new byte[4], config).text());
+        assertEquals(1, engine.getRestartCount());
+    }
+
+    @Test
+    @DisplayName("Should restart a worker that stops answering")
+    void shouldRestartHungWorker() throws Exception {
+        engine = newEngine(1, Duration.ofSeconds(2));
+
+        assertThrows(SpeechRecognitionException.class, () -> engine.recognize("hang", new byte[2], config));
+        awaitLive(1);
+
+        assertNotNull(engine.recognize("meeting-1", new byte[2], config));
+        assertEquals(1, engine.getRestartCount());
+    }
+
+    @Test
+    @DisplayName("Should surface worker errors as recognition failures")
+    void shouldSurfaceWorkerErrors() {
+        engine = newEngine(1, Duration.ofSeconds(5));
+
+        assertThrows(SpeechRecognitionException.class, () -> engine.loadModel("missing"));
+    }
+
+    private WorkerProcessRecognitionEngine newEngine(int poolSize, Duration timeout) {
+        return newEngine(poolSize, timeout, Duration.ofMillis(50));
+    }
+
+    /**
+     * Creates an engine whose health check pings no sooner than the given interval, so
+     * tests counting pending requests do not see an in-flight ping.
+     */
+    private WorkerProcessRecognitionEngine newEngine(int poolSize, Duration timeout, Duration healthCheckInterval) {
+        var java = ProcessHandle.current().info().command().orElse("java");
+        return new WorkerProcessRecognitionEngine(
+            List.of(java, "-cp", System.getProperty("java.class.path"), FakeWorker.class.getName()),
+            poolSize, timeout, healthCheckInterval, Duration.ofMillis(10));
+    }
+
+    private void awaitLive(int workers) throws InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (engine.getLiveWorkerCount() < workers && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(workers, engine.getLiveWorkerCount());
+    }
+
+    /**
+     * Worker that echoes the size of each audio frame, exits on stream "crash", rejects
+     * stream "reject" and stops answering on stream "hang".
+     */
+    public static final class FakeWorker {
+
+        public static void main(String[] args) throws Exception {
+            var mapper = new ObjectMapper();
+            var in = new DataInputStream(System.in);
+            var out = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+            var model = "none";
+            while (true) {
+                byte[] header;
+                byte[] payload;
+                try {
+                    header = in.readNBytes(in.readInt());
+                    payload = in.readNBytes(in.readInt());
+                } catch (EOFException e) {
+                    return;
+                }
+                var request = mapper.readTree(header);
+                var reply = mapper.createObjectNode().put("seq", request.get("seq").asLong());
+                switch (request.get("type").asText()) {
+                    case "load" -> {
+                        if (request.get("model").asText().equals("missing")) {
+                            reply.put("error", "no such model");
+                        } else {
+                            model = request.get("model").asText();
+                        }
+                    }
+                    case "audio" -> {
+                        var stream = request.get("stream").asText();
+                        if (stream.equals("crash")) {
+                            System.exit(1);
+                        }
+                        if (stream.equals("hang")) {
+                            Thread.sleep(Long.MAX_VALUE);
+                        }
+                        if (stream.equals("reject")) {
+                            reply.put("error", "unsupported audio");
+                        } else if (payload.length > 0) {
+                            reply.put("text", model + " heard " + payload.length + " bytes").put("confidence", 0.9);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+                out.println(mapper.writeValueAsString(reply));
+            }
+        }
+    }
+}
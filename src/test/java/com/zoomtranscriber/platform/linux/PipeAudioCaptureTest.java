@@ -0,0 +1,128 @@
+package com.zoomtranscriber.platform.linux;
+
+import com.zoomtranscriber.core.audio.AudioBufferLease;
+import com.zoomtranscriber.core.audio.AudioBufferPool;
+import com.zoomtranscriber.core.exceptions.AudioException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PipeAudioCapture, using shell commands in place of parec.
+ */
+@DisplayName("PipeAudioCapture Tests")
+@EnabledOnOs({OS.LINUX, OS.MAC})
+class PipeAudioCaptureTest {
+
+    @Test
+    @DisplayName("Should emit only whole frames and carry partial frames over")
+    void shouldEmitWholeFrames() {
+        var pool = new AudioBufferPool(4, 400, false);
+        var capture = capture("head -c 4003 /dev/zero; sleep 5", pool, 0);
+
+        var total = capture.capture()
+            .map(lease -> {
+                try {
+                    assertEquals(0, lease.length() % 4);
+                    return lease.length();
+                } finally {
+                    lease.release();
+                }
+            })
+            .scan(0, Integer::sum)
+            .takeUntil(bytes -> bytes >= 4000)
+            .blockLast(Duration.ofSeconds(5));
+
+        assertEquals(4000, total);
+        assertEquals(4, pool.getAvailableCount());
+    }
+
+    @Test
+    @DisplayName("Should read only as much as downstream requests")
+    void shouldHonourDemand() {
+        var pool = new AudioBufferPool(2, 64, false);
+        var capture = capture("cat /dev/zero", pool, 0);
+
+        StepVerifier.create(capture.capture().doOnNext(AudioBufferLease::release), 2)
+            .expectNextCount(2)
+            .expectNoEvent(Duration.ofMillis(300))
+            .thenCancel()
+            .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, pool.getAcquiredCount());
+        assertEquals(0, pool.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should destroy the capture process when the subscription is cancelled")
+    void shouldDestroyProcessOnCancel() throws Exception {
+        var pool = new AudioBufferPool(4, 64, false);
+        var capture = capture("exec cat /dev/zero", pool, 0);
+
+        capture.capture().doOnNext(AudioBufferLease::release).take(3).blockLast(Duration.ofSeconds(5));
+
+        var deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (capture.getActiveSessionCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, capture.getActiveSessionCount());
+        assertTrue(ProcessHandle.current().children()
+            .noneMatch(child -> child.info().command().orElse("").endsWith("cat")));
+    }
+
+    @Test
+    @DisplayName("Should restart a process that exits after producing audio")
+    void shouldRestartAfterExit() {
+        var pool = new AudioBufferPool(4, 400, false);
+        var capture = capture("head -c 400 /dev/zero", pool, 1);
+
+        var bytes = capture.capture()
+            .map(lease -> {
+                try {
+                    return lease.length();
+                } finally {
+                    lease.release();
+                }
+            })
+            .scan(0, Integer::sum)
+            .takeUntil(total -> total >= 1200)
+            .blockLast(Duration.ofSeconds(5));
+
+        assertEquals(1200, bytes);
+    }
+
+    @Test
+    @DisplayName("Should fail after repeated restarts without audio")
+    void shouldFailAfterRestartAttempts() {
+        var pool = new AudioBufferPool(2, 64, false);
+        var capture = capture("exit 1", pool, 2);
+
+        StepVerifier.create(capture.capture())
+            .expectErrorSatisfies(error -> {
+                assertInstanceOf(AudioException.class, error);
+                assertEquals("PIPE_CAPTURE_FAILED", ((AudioException) error).getErrorCode());
+                assertTrue(error.getMessage().contains("3 times"));
+            })
+            .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    @DisplayName("Should reject buffers smaller than a frame")
+    void shouldRejectUndersizedBuffers() {
+        var pool = new AudioBufferPool(1, 3, false);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new PipeAudioCapture(List.of("true"), 4, pool, 0, Duration.ofMillis(10)));
+    }
+
+    private static PipeAudioCapture capture(String script, AudioBufferPool pool, int maxRestarts) {
+        return new PipeAudioCapture(List.of("sh", "-c", script), 4, pool, maxRestarts, Duration.ofMillis(10));
+    }
+}
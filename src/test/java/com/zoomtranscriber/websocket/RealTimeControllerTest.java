@@ -0,0 +1,152 @@
+package com.zoomtranscriber.websocket;
+
+import com.zoomtranscriber.core.detection.ZoomDetectionService;
+import com.zoomtranscriber.core.transcription.TranscriptionSegment;
+import com.zoomtranscriber.core.transcription.TranscriptionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for RealTimeController segment delivery.
+ */
+@DisplayName("RealTimeController Tests")
+class RealTimeControllerTest {
+
+    private final UUID meetingId = UUID.randomUUID();
+    private SimpMessagingTemplate messagingTemplate;
+    private TranscriptionService transcriptionService;
+    private Sinks.Many<TranscriptionSegment> stream;
+    private RealTimeController controller;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        transcriptionService = mock(TranscriptionService.class);
+        stream = Sinks.many().multicast().onBackpressureBuffer();
+        when(transcriptionService.startTranscription(any(), any())).thenReturn(Mono.empty());
+        when(transcriptionService.getTranscriptionStream(meetingId)).thenReturn(stream.asFlux());
+        controller = new RealTimeController(messagingTemplate, mock(ZoomDetectionService.class), transcriptionService);
+        controller.startTranscription(new RealTimeController.TranscriptionRequest(
+            "client-1", meetingId, "en-US", false, 0.5, true, true, true, 2, "whisper-1", true));
+    }
+
+    @Test
+    @DisplayName("Should start transcription with interim results and forward its stream")
+    void shouldForwardInterimStream() {
+        var config = ArgumentCaptor.forClass(TranscriptionService.TranscriptionConfig.class);
+        verify(transcriptionService).startTranscription(eq(meetingId), config.capture());
+        assertTrue(config.getValue().interimResults());
+        assertTrue(config.getValue().toRecognitionConfig().interimResults());
+
+        var segmentId = UUID.randomUUID();
+        stream.tryEmitNext(segment(segmentId, "Hello", false));
+        stream.tryEmitNext(segment(segmentId, "Hello everyone.", true));
+
+        var messages = sentMessages(2);
+        assertFalse(messages[0].isFinal());
+        assertEquals(" everyone.", messages[1].text());
+        assertTrue(messages[1].isFinal());
+    }
+
+    @Test
+    @DisplayName("Should forward the stream once and stop when the last client leaves")
+    void shouldForwardOncePerMeeting() {
+        var second = new RealTimeController.TranscriptionRequest(
+            "client-2", meetingId, "en-US", false, 0.5, true, true, true, 2, "whisper-1", true);
+        controller.startTranscription(second);
+        when(transcriptionService.stopTranscription(meetingId)).thenReturn(Mono.empty());
+
+        stream.tryEmitNext(segment(UUID.randomUUID(), "Welcome.", true));
+        sentMessages(1);
+
+        controller.stopTranscription(second);
+        controller.stopTranscription(new RealTimeController.TranscriptionRequest(
+            "client-1", meetingId, "en-US", false, 0.5, true, true, true, 2, "whisper-1", true));
+        stream.tryEmitNext(segment(UUID.randomUUID(), "Anyone there?", true));
+
+        sentMessages(1);
+        verify(transcriptionService, times(1)).startTranscription(any(), any());
+        verify(transcriptionService).stopTranscription(meetingId);
+    }
+
+    @Test
+    @DisplayName("Should send interim updates as deltas and the final segment against them")
+    void shouldSendDeltas() {
+        var segmentId = UUID.randomUUID();
+
+        controller.sendTranscriptionSegment(meetingId, segment(segmentId, "Hello", false));
+        controller.sendTranscriptionSegment(meetingId, segment(segmentId, "Hello everyone", false));
+        controller.sendTranscriptionSegment(meetingId, segment(segmentId, "Hello everyone.", true));
+
+        var messages = sentMessages(3);
+        assertEquals("Hello", messages[0].text());
+        assertEquals(0, messages[0].replaceFrom());
+        assertEquals(" everyone", messages[1].text());
+        assertEquals(5, messages[1].replaceFrom());
+        assertEquals(".", messages[2].text());
+        assertEquals(14, messages[2].replaceFrom());
+        assertTrue(messages[2].isFinal());
+    }
+
+    @Test
+    @DisplayName("Should skip interim updates that change nothing")
+    void shouldSkipUnchangedInterim() {
+        var segmentId = UUID.randomUUID();
+
+        controller.sendTranscriptionSegment(meetingId, segment(segmentId, "Hello", false));
+        controller.sendTranscriptionSegment(meetingId, segment(segmentId, "Hello", false));
+
+        sentMessages(1);
+    }
+
+    @Test
+    @DisplayName("Should replace revised interim text from the first changed character")
+    void shouldReplaceRevisedText() {
+        var segmentId = UUID.randomUUID();
+
+        controller.sendTranscriptionSegment(meetingId, segment(segmentId, "Let me share", false));
+        controller.sendTranscriptionSegment(meetingId, segment(segmentId, "Let me shape", false));
+
+        var messages = sentMessages(2);
+        assertEquals("pe", messages[1].text());
+        assertEquals(10, messages[1].replaceFrom());
+    }
+
+    @Test
+    @DisplayName("Should send segments without interim history in full")
+    void shouldSendNewSegmentsInFull() {
+        controller.sendTranscriptionSegment(meetingId, segment(UUID.randomUUID(), "Any questions?", true));
+
+        var messages = sentMessages(1);
+        assertEquals("Any questions?", messages[0].text());
+        assertEquals(0, messages[0].replaceFrom());
+    }
+
+    private RealTimeController.TranscriptionSegmentMessage[] sentMessages(int count) {
+        var captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(count)).convertAndSend(anyString(), captor.capture());
+        return captor.getAllValues().stream()
+            .map(RealTimeController.TranscriptionSegmentMessage.class::cast)
+            .toArray(RealTimeController.TranscriptionSegmentMessage[]::new);
+    }
+
+    private TranscriptionSegment segment(UUID id, String text, boolean isFinal) {
+        return new TranscriptionSegment(id, meetingId, LocalDateTime.now(), null, text, 0.9, 1, isFinal,
+            Duration.ofSeconds(1), "en-US");
+    }
+}